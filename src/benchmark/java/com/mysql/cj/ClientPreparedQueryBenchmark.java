@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.jdbc.JdbcPropertySetImpl;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+
+/**
+ * Measures binding parameters and encoding a client-side prepared statement into a COM_QUERY packet, the per-execution work done by
+ * {@link com.mysql.cj.jdbc.ClientPreparedStatement} before anything is written to the socket. The query is set up exactly as ClientPreparedStatement does but
+ * over a {@link ReplayNativeSession}, so no connection is needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientPreparedQueryBenchmark {
+
+    private static final String SQL = "INSERT INTO orders (id, customer, total, created, note, status) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final BigDecimal total = new BigDecimal("1234.50");
+    private final Timestamp created = Timestamp.valueOf("2024-01-15 10:30:00.123456");
+
+    private ClientPreparedQuery query;
+    private QueryBindings bindings;
+    private long id = 0;
+
+    @Setup
+    public void setup() {
+        NativeSession session = new ReplayNativeSession(new JdbcPropertySetImpl());
+        this.query = new ClientPreparedQuery(session);
+        this.query.setOriginalSql(SQL);
+        this.query.setQueryInfo(new QueryInfo(SQL, session, "UTF-8"));
+        int parameterCount = this.query.getQueryInfo().getStaticSqlParts().length - 1;
+        this.query.setParameterCount(parameterCount);
+        this.bindings = new NativeQueryBindings(parameterCount, session, NativeQueryBindValue::new);
+        this.query.setQueryBindings(this.bindings);
+    }
+
+    @Benchmark
+    public int bindAndEncode() {
+        QueryBindings b = this.bindings;
+        b.setLong(0, ++this.id);
+        b.setString(1, "O'Reilly Media, Inc.");
+        b.setBigDecimal(2, this.total);
+        b.setTimestamp(3, this.created, null, null, MysqlType.TIMESTAMP);
+        b.setNull(4);
+        b.setInt(5, 1);
+        NativePacketPayload packet = this.query.fillSendPacket(b);
+        return packet.getPosition();
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.jdbc.JdbcPropertySetImpl;
+
+/**
+ * Measures {@link QueryInfo} parsing, which is done for every client-side prepared statement that isn't found in the prepared statements cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryInfoBenchmark {
+
+    private static final String SELECT = "SELECT c.id, c.name, o.total FROM customers c JOIN orders o ON o.customer_id = c.id WHERE c.id = ? AND o.status = 'open'";
+    private static final String INSERT = "INSERT INTO orders (customer_id, status, total, created) VALUES (?, ?, ?, NOW()) ON DUPLICATE KEY UPDATE total = VALUES(total)";
+    private static final String UPDATE = "/* update batch */ UPDATE orders SET status = ?, note = 'it''s \"done\"' -- trailing comment\n WHERE id = ? AND `key` = ?";
+
+    @Param({ "SELECT", "INSERT", "UPDATE" })
+    public String statement;
+
+    @Param({ "false", "true" })
+    public boolean rewriteBatchedStatements;
+
+    private String sql;
+    private NativeSession session;
+
+    @Setup
+    public void setup() {
+        JdbcPropertySetImpl propertySet = new JdbcPropertySetImpl();
+        propertySet.getBooleanProperty(PropertyKey.rewriteBatchedStatements).setValue(this.rewriteBatchedStatements);
+        this.session = new ReplayNativeSession(propertySet);
+        this.sql = "SELECT".equals(this.statement) ? SELECT : "INSERT".equals(this.statement) ? INSERT : UPDATE;
+    }
+
+    @Benchmark
+    public QueryInfo parse() {
+        return new QueryInfo(this.sql, this.session, "UTF-8");
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.mysql.cj.benchmark.ReplaySocketConnection;
+import com.mysql.cj.conf.HostInfo;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+import com.mysql.cj.protocol.a.NativeProtocol;
+import com.mysql.cj.protocol.a.NativeServerSession;
+
+/**
+ * A {@link NativeSession} wired to a {@link ReplaySocketConnection} instead of a server. The canned stream starts with a server greeting so the protocol
+ * initializes its server session and charset settings as in a real connection, without authenticating. Good enough for benchmarking code paths that build
+ * queries or packets locally.
+ */
+public class ReplayNativeSession extends NativeSession {
+
+    private static final long serialVersionUID = 1L;
+
+    public ReplayNativeSession(PropertySet propertySet) {
+        super(new HostInfo(), propertySet);
+        this.protocol = NativeProtocol.getInstance(this, new ReplaySocketConnection(serverGreeting("8.4.0"), propertySet), propertySet, getLog(), null);
+        this.protocol.beforeHandshake();
+    }
+
+    /**
+     * Builds a framed Protocol::HandshakeV10 packet.
+     *
+     * @param serverVersion
+     *            server version string
+     * @return the packet bytes, including the 4 bytes header
+     */
+    public static byte[] serverGreeting(String serverVersion) {
+        int capabilities = NativeServerSession.CLIENT_LONG_PASSWORD | NativeServerSession.CLIENT_FOUND_ROWS | NativeServerSession.CLIENT_LONG_FLAG
+                | NativeServerSession.CLIENT_CONNECT_WITH_DB | NativeServerSession.CLIENT_TRANSACTIONS | NativeServerSession.CLIENT_SECURE_CONNECTION
+                | NativeServerSession.CLIENT_MULTI_STATEMENTS | NativeServerSession.CLIENT_MULTI_RESULTS | NativeServerSession.CLIENT_PS_MULTI_RESULTS
+                | NativeServerSession.CLIENT_PLUGIN_AUTH | NativeServerSession.CLIENT_SESSION_TRACK | NativeServerSession.CLIENT_DEPRECATE_EOF;
+        NativePacketPayload payload = new NativePacketPayload(128);
+        payload.writeInteger(IntegerDataType.INT1, 10);
+        payload.writeBytes(StringSelfDataType.STRING_TERM, serverVersion.getBytes(StandardCharsets.US_ASCII));
+        payload.writeInteger(IntegerDataType.INT4, 1);
+        payload.writeBytes(StringLengthDataType.STRING_FIXED, "abcdefgh".getBytes(StandardCharsets.US_ASCII));
+        payload.writeInteger(IntegerDataType.INT1, 0);
+        payload.writeInteger(IntegerDataType.INT2, capabilities & 0xffff);
+        payload.writeInteger(IntegerDataType.INT1, 255); // utf8mb4_0900_ai_ci
+        payload.writeInteger(IntegerDataType.INT2, NativeServerSession.SERVER_STATUS_AUTOCOMMIT);
+        payload.writeInteger(IntegerDataType.INT2, capabilities >>> 16);
+        payload.writeInteger(IntegerDataType.INT1, 21);
+        payload.writeBytes(StringLengthDataType.STRING_FIXED, new byte[10]);
+        payload.writeBytes(StringSelfDataType.STRING_TERM, "ijklmnopqrst".getBytes(StandardCharsets.US_ASCII));
+        payload.writeBytes(StringSelfDataType.STRING_TERM, "caching_sha2_password".getBytes(StandardCharsets.US_ASCII));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int length = payload.getPosition();
+        out.write(length & 0xff);
+        out.write(length >>> 8 & 0xff);
+        out.write(length >>> 16 & 0xff);
+        out.write(0);
+        out.write(payload.getByteBuffer(), 0, length);
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.exceptions.ExceptionInterceptor;
+import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.FullReadInputStream;
+import com.mysql.cj.protocol.NetworkResources;
+import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.protocol.SocketConnection;
+import com.mysql.cj.protocol.SocketFactory;
+
+/**
+ * A {@link SocketConnection} that doesn't connect anywhere. Reads replay the same canned bytes over and over and writes are discarded, so protocol code can be
+ * benchmarked without a server and without I/O costs.
+ */
+public class ReplaySocketConnection implements SocketConnection {
+
+    private final PropertySet propertySet;
+    private FullReadInputStream mysqlInput;
+    private final BufferedOutputStream mysqlOutput;
+
+    public ReplaySocketConnection(byte[] cannedData, PropertySet propertySet) {
+        this.propertySet = propertySet;
+        this.mysqlInput = new FullReadInputStream(new ReplayInputStream(cannedData));
+        this.mysqlOutput = new BufferedOutputStream(new OutputStream() {
+
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+
+        }, 16384);
+    }
+
+    /**
+     * Input stream that returns the same bytes in an endless loop.
+     */
+    public static class ReplayInputStream extends InputStream {
+
+        private final byte[] data;
+        private int position = 0;
+
+        public ReplayInputStream(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public int read() {
+            int b = this.data[this.position++] & 0xff;
+            if (this.position == this.data.length) {
+                this.position = 0;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            int count = Math.min(len, this.data.length - this.position);
+            System.arraycopy(this.data, this.position, b, off, count);
+            this.position += count;
+            if (this.position == this.data.length) {
+                this.position = 0;
+            }
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return this.data.length - this.position;
+        }
+
+    }
+
+    @Override
+    public void connect(String host, int port, PropertySet propSet, ExceptionInterceptor exceptionInterceptor, Log log, int loginTimeout) {
+    }
+
+    @Override
+    public void performTlsHandshake(ServerSession serverSession) throws IOException {
+    }
+
+    @Override
+    public void forceClose() {
+    }
+
+    @Override
+    public NetworkResources getNetworkResources() {
+        return null;
+    }
+
+    @Override
+    public String getHost() {
+        return "localhost";
+    }
+
+    @Override
+    public int getPort() {
+        return 3306;
+    }
+
+    @Override
+    public Socket getMysqlSocket() {
+        return null;
+    }
+
+    @Override
+    public FullReadInputStream getMysqlInput() {
+        return this.mysqlInput;
+    }
+
+    @Override
+    public void setMysqlInput(FullReadInputStream mysqlInput) {
+        this.mysqlInput = mysqlInput;
+    }
+
+    @Override
+    public BufferedOutputStream getMysqlOutput() {
+        return this.mysqlOutput;
+    }
+
+    @Override
+    public boolean isSSLEstablished() {
+        return false;
+    }
+
+    @Override
+    public SocketFactory getSocketFactory() {
+        return null;
+    }
+
+    @Override
+    public void setSocketFactory(SocketFactory socketFactory) {
+    }
+
+    @Override
+    public ExceptionInterceptor getExceptionInterceptor() {
+        return null;
+    }
+
+    @Override
+    public PropertySet getPropertySet() {
+        return this.propertySet;
+    }
+
+}
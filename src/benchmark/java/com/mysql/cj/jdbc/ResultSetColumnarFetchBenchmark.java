@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.jdbc.result.BytesColumnVector;
+import com.mysql.cj.jdbc.result.ColumnarResultSet;
+import com.mysql.cj.jdbc.result.DoubleColumnVector;
+import com.mysql.cj.jdbc.result.IntColumnVector;
+import com.mysql.cj.jdbc.result.LongColumnVector;
+
+import testsuite.fakeserver.FakeMysqlServer;
+import testsuite.fakeserver.FakeResultSet;
+
+/**
+ * Compares reading a large result set cell by cell through the ResultSet getters with reading it in batches through
+ * {@link ColumnarResultSet#fetchColumns}, against an in-process {@link FakeMysqlServer}. Run it with "-prof gc" to see the allocation per execution.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultSetColumnarFetchBenchmark {
+
+    private static final String QUERY = "SELECT id, quantity, amount, label FROM events WHERE id > ?";
+    private static final int BATCH_SIZE = 256;
+
+    @Param({ "false", "true" })
+    public boolean useServerPrepStmts;
+
+    @Param({ "1000" })
+    public int rows;
+
+    private FakeMysqlServer server;
+    private Connection connection;
+    private PreparedStatement statement;
+
+    private long[] ids = new long[BATCH_SIZE];
+    private int[] quantities = new int[BATCH_SIZE];
+    private double[] amounts = new double[BATCH_SIZE];
+    private LongColumnVector idVector = new LongColumnVector(1, this.ids, new byte[BATCH_SIZE / 8]);
+    private IntColumnVector quantityVector = new IntColumnVector(2, this.quantities, new byte[BATCH_SIZE / 8]);
+    private DoubleColumnVector amountVector = new DoubleColumnVector(3, this.amounts, new byte[BATCH_SIZE / 8]);
+    private BytesColumnVector labelVector = new BytesColumnVector(4, new byte[BATCH_SIZE * 16], new int[BATCH_SIZE + 1], new byte[BATCH_SIZE / 8]);
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        FakeResultSet rs = new FakeResultSet("test", "events").addColumn("id", MysqlType.BIGINT).addColumn("quantity", MysqlType.INT)
+                .addColumn("amount", MysqlType.DOUBLE).addColumn("label", MysqlType.VARCHAR);
+        for (int r = 0; r < this.rows; r++) {
+            rs.addRow(1_000_000_000L + r, r % 100, r * 1.25, "event " + r);
+        }
+        this.server = FakeMysqlServer.start("resultsetcolumnarfetchbenchmark").setRecordQueries(false);
+        this.server.addResponse(QUERY, rs);
+        this.server.addResponse(QUERY.replace("?", "0"), rs);
+
+        this.connection = DriverManager.getConnection(this.server.getUrl("test") + "&useServerPrepStmts=" + this.useServerPrepStmts);
+        this.statement = this.connection.prepareStatement(QUERY);
+        this.statement.setInt(1, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        this.connection.close();
+        this.server.stop();
+    }
+
+    @Benchmark
+    public void readWithGetters(Blackhole bh) throws SQLException {
+        try (ResultSet rs = this.statement.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getLong(1));
+                bh.consume(rs.getInt(2));
+                bh.consume(rs.getDouble(3));
+                bh.consume(rs.getBytes(4));
+            }
+        }
+    }
+
+    @Benchmark
+    public void readWithFetchColumns(Blackhole bh) throws SQLException {
+        try (ResultSet rs = this.statement.executeQuery()) {
+            ColumnarResultSet columnar = rs.unwrap(ColumnarResultSet.class);
+            int n;
+            while ((n = columnar.fetchColumns(this.idVector, this.quantityVector, this.amountVector, this.labelVector)) > 0) {
+                for (int i = 0; i < n; i++) {
+                    bh.consume(this.ids[i]);
+                    bh.consume(this.quantities[i]);
+                    bh.consume(this.amounts[i]);
+                }
+                bh.consume(this.labelVector.getData());
+            }
+        }
+    }
+
+}
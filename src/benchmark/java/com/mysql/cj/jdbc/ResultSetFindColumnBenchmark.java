@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.mysql.cj.MysqlType;
+
+import testsuite.fakeserver.FakeMysqlServer;
+import testsuite.fakeserver.FakeResultSet;
+
+/**
+ * Measures the ORM-style access pattern of reading every column by label, on a query that returns a few rows of a 20 columns table, against an in-process
+ * {@link FakeMysqlServer}. Run it with "-prof gc" to see the allocation per execution.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultSetFindColumnBenchmark {
+
+    private static final String QUERY = "SELECT * FROM customers WHERE id > ?";
+    private static final int COLUMNS = 20;
+
+    @Param({ "false", "true" })
+    public boolean useServerPrepStmts;
+
+    @Param({ "false", "true" })
+    public boolean cacheResultSetMetadata;
+
+    @Param({ "5" })
+    public int rows;
+
+    private FakeMysqlServer server;
+    private Connection connection;
+    private PreparedStatement statement;
+    private String[] labels;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        FakeResultSet rs = new FakeResultSet("test", "customers");
+        this.labels = new String[COLUMNS];
+        for (int i = 0; i < COLUMNS; i++) {
+            this.labels[i] = "Column_" + i;
+            rs.addColumn(this.labels[i].toLowerCase(), MysqlType.VARCHAR);
+        }
+        for (int r = 0; r < this.rows; r++) {
+            Object[] row = new Object[COLUMNS];
+            for (int i = 0; i < COLUMNS; i++) {
+                row[i] = "value " + r + "/" + i;
+            }
+            rs.addRow(row);
+        }
+        this.server = FakeMysqlServer.start("resultsetfindcolumnbenchmark").setRecordQueries(false);
+        this.server.addResponse(QUERY, rs);
+        this.server.addResponse(QUERY.replace("?", "0"), rs);
+
+        this.connection = DriverManager.getConnection(this.server.getUrl("test") + "&useServerPrepStmts=" + this.useServerPrepStmts
+                + "&cacheResultSetMetadata=" + this.cacheResultSetMetadata);
+        this.statement = this.connection.prepareStatement(QUERY);
+        this.statement.setInt(1, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        this.connection.close();
+        this.server.stop();
+    }
+
+    @Benchmark
+    public void executeAndReadByLabel(Blackhole bh) throws SQLException {
+        try (ResultSet rs = this.statement.executeQuery()) {
+            while (rs.next()) {
+                for (String label : this.labels) {
+                    bh.consume(rs.getString(label));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.MysqlType;
+
+import testsuite.fakeserver.FakeMysqlServer;
+import testsuite.fakeserver.FakeResultSet;
+
+/**
+ * Measures a loop of {@link Statement#executeQuery(String)} calls against a {@link FakeMysqlServer}, with and without
+ * "includeThreadNamesAsStatementComment". The fake server runs in the same JVM and its share of the allocation is the same in all variants, so run it with
+ * "-prof gc" to compare the allocation per query on the client side.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatementExecuteQueryBenchmark {
+
+    private static final String QUERY = "SELECT name FROM customers WHERE id = 1";
+
+    @Param({ "false", "true" })
+    public boolean includeThreadNamesAsStatementComment;
+
+    private FakeMysqlServer server;
+    private Connection connection;
+    private Statement statement;
+
+    @Setup
+    public void setup() throws SQLException {
+        this.server = FakeMysqlServer.start("statementexecutequerybenchmark").setRecordQueries(false);
+        this.server.addResponse(QUERY, new FakeResultSet("test", "customers").addColumn("name", MysqlType.VARCHAR).addRow("Customer"));
+        this.connection = DriverManager.getConnection(
+                this.server.getUrl("test") + "&includeThreadNamesAsStatementComment=" + this.includeThreadNamesAsStatementComment);
+        this.statement = this.connection.createStatement();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        this.connection.close();
+        this.server.stop();
+    }
+
+    @Benchmark
+    public int executeQuery() throws SQLException {
+        try (ResultSet rs = this.statement.executeQuery(QUERY)) {
+            return rs.next() ? 1 : 0;
+        }
+    }
+
+}
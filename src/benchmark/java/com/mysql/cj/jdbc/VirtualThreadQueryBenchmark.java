@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.MysqlType;
+
+import testsuite.fakeserver.FakeMysqlServer;
+import testsuite.fakeserver.FakeResultSet;
+
+/**
+ * Measures running 10,000 concurrent queries, each one in its own task, through a pool of connections to a {@link FakeMysqlServer} that answers with a fixed
+ * latency. Compares a fixed pool of platform threads, the usual setup in application servers, with one virtual thread per task.
+ *
+ * With virtual threads the throughput is only bound by the number of connections, as long as no virtual thread gets pinned to its carrier thread while it
+ * waits for a connection or blocks in a socket read. The "virtual" variant requires Java 21 or later.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class VirtualThreadQueryBenchmark {
+
+    private static final String QUERY = "SELECT name FROM customers WHERE id = ?";
+
+    @Param({ "platform", "virtual" })
+    public String threads;
+
+    @Param({ "10000" })
+    public int tasks;
+
+    @Param({ "1000" })
+    public int connections;
+
+    @Param({ "200" })
+    public int platformThreads;
+
+    @Param({ "5" })
+    public long latencyMillis;
+
+    private FakeMysqlServer server;
+    private BlockingQueue<Connection> pool;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        FakeResultSet rs = new FakeResultSet("test", "customers").addColumn("name", MysqlType.VARCHAR).addRow("Customer");
+        this.server = FakeMysqlServer.start("virtualthreadquerybenchmark").setRecordQueries(false);
+        this.server.addResponse(QUERY, rs);
+        this.server.addResponse(QUERY.replace("?", "1"), rs);
+
+        this.pool = new ArrayBlockingQueue<>(this.connections);
+        for (int i = 0; i < this.connections; i++) {
+            this.pool.add(DriverManager.getConnection(this.server.getUrl("test")));
+        }
+        this.server.setResponseLatency(this.latencyMillis);
+
+        if ("virtual".equals(this.threads)) {
+            this.executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } else {
+            this.executor = Executors.newFixedThreadPool(this.platformThreads);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        this.executor.shutdown();
+        for (Connection conn : this.pool) {
+            conn.close();
+        }
+        this.server.stop();
+    }
+
+    @Benchmark
+    public int concurrentQueries() throws Exception {
+        List<Future<Integer>> results = new ArrayList<>(this.tasks);
+        for (int i = 0; i < this.tasks; i++) {
+            results.add(this.executor.submit(this::query));
+        }
+        int rows = 0;
+        for (Future<Integer> result : results) {
+            rows += result.get();
+        }
+        return rows;
+    }
+
+    private int query() throws Exception {
+        Connection conn = this.pool.take();
+        try (PreparedStatement pstmt = conn.prepareStatement(QUERY)) {
+            pstmt.setInt(1, 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? 1 : 0;
+            }
+        } finally {
+            this.pool.put(conn);
+        }
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
+
+/**
+ * Measures the {@link NativePacketPayload} integer and string codecs. Each invocation writes or reads a full set of values covering all length-encoded integer
+ * widths and a mix of short and long strings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NativePacketPayloadBenchmark {
+
+    private static final long[] LENENC_INTEGERS = { 0, 1, 250, 251, 65535, 65536, 16777215, 16777216, Long.MAX_VALUE };
+    private static final long[] FIXED_INTEGERS = { 0, 1, 127, 255, 4096, 65535, 1 << 20, Integer.MAX_VALUE };
+    private static final String[] STRINGS = { "", "a", "id", "customer_name", "2024-01-15 10:30:00.123456",
+            "The quick brown fox jumps over the lazy dog. The quick brown fox jumps over the lazy dog. The quick brown fox jumps over the lazy dog. "
+                    + "The quick brown fox jumps over the lazy dog. The quick brown fox jumps over the lazy dog. The quick brown fox jumps over the lazy dog." };
+
+    private byte[][] stringBytes;
+    private String bulkInsert;
+    private NativePacketPayload writePayload;
+    private NativePacketPayload bulkPayload;
+    private NativePacketPayload integersPayload;
+    private NativePacketPayload stringsPayload;
+
+    @Setup
+    public void setup() {
+        this.stringBytes = new byte[STRINGS.length][];
+        for (int i = 0; i < STRINGS.length; i++) {
+            this.stringBytes[i] = STRINGS[i].getBytes(StandardCharsets.UTF_8);
+        }
+        this.writePayload = new NativePacketPayload(1024);
+
+        StringBuilder sb = new StringBuilder("INSERT INTO orders (id, customer, total) VALUES ");
+        for (int i = 0; i < 50000; i++) {
+            sb.append(i == 0 ? "(" : ",(").append(i).append(", 'customer ").append(i).append("', ").append(i * 3).append(".25)");
+        }
+        this.bulkInsert = sb.toString();
+        this.bulkPayload = new NativePacketPayload(16);
+
+        this.integersPayload = new NativePacketPayload(1024);
+        for (long i : LENENC_INTEGERS) {
+            this.integersPayload.writeInteger(IntegerDataType.INT_LENENC, i);
+        }
+        for (long i : FIXED_INTEGERS) {
+            this.integersPayload.writeInteger(IntegerDataType.INT4, i);
+        }
+
+        this.stringsPayload = new NativePacketPayload(1024);
+        for (byte[] s : this.stringBytes) {
+            this.stringsPayload.writeBytes(StringSelfDataType.STRING_LENENC, s);
+        }
+        for (byte[] s : this.stringBytes) {
+            this.stringsPayload.writeBytes(StringSelfDataType.STRING_TERM, s);
+        }
+    }
+
+    @Benchmark
+    public int writeIntegers() {
+        NativePacketPayload payload = this.writePayload;
+        payload.setPosition(0);
+        for (long i : LENENC_INTEGERS) {
+            payload.writeInteger(IntegerDataType.INT_LENENC, i);
+        }
+        for (long i : FIXED_INTEGERS) {
+            payload.writeInteger(IntegerDataType.INT4, i);
+        }
+        return payload.getPosition();
+    }
+
+    @Benchmark
+    public long readIntegers() {
+        NativePacketPayload payload = this.integersPayload;
+        payload.setPosition(0);
+        long sum = 0;
+        for (int i = 0; i < LENENC_INTEGERS.length; i++) {
+            sum += payload.readInteger(IntegerDataType.INT_LENENC);
+        }
+        for (int i = 0; i < FIXED_INTEGERS.length; i++) {
+            sum += payload.readInteger(IntegerDataType.INT4);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int writeStrings() {
+        NativePacketPayload payload = this.writePayload;
+        payload.setPosition(0);
+        for (byte[] s : this.stringBytes) {
+            payload.writeBytes(StringSelfDataType.STRING_LENENC, s);
+        }
+        for (byte[] s : this.stringBytes) {
+            payload.writeBytes(StringLengthDataType.STRING_FIXED, s);
+        }
+        return payload.getPosition();
+    }
+
+    @Benchmark
+    public void readStrings(Blackhole bh) {
+        NativePacketPayload payload = this.stringsPayload;
+        payload.setPosition(0);
+        for (int i = 0; i < this.stringBytes.length; i++) {
+            bh.consume(payload.readString(StringSelfDataType.STRING_LENENC, "UTF-8"));
+        }
+        for (int i = 0; i < this.stringBytes.length; i++) {
+            bh.consume(payload.readString(StringSelfDataType.STRING_TERM, "UTF-8"));
+        }
+    }
+
+    @Benchmark
+    public void readBytes(Blackhole bh) {
+        NativePacketPayload payload = this.stringsPayload;
+        payload.setPosition(0);
+        for (int i = 0; i < this.stringBytes.length; i++) {
+            bh.consume(payload.readBytes(StringSelfDataType.STRING_LENENC));
+        }
+        for (int i = 0; i < this.stringBytes.length; i++) {
+            bh.consume(payload.readBytes(StringSelfDataType.STRING_TERM));
+        }
+    }
+
+    @Benchmark
+    public int writeBulkQueryViaByteArray() {
+        NativePacketPayload payload = this.bulkPayload;
+        payload.setPosition(0);
+        payload.writeBytes(StringLengthDataType.STRING_FIXED, this.bulkInsert.getBytes(StandardCharsets.UTF_8));
+        return payload.getPosition();
+    }
+
+    @Benchmark
+    public int writeBulkQueryDirect() {
+        NativePacketPayload payload = this.bulkPayload;
+        payload.setPosition(0);
+        payload.writeString(this.bulkInsert, "UTF-8");
+        return payload.getPosition();
+    }
+
+}
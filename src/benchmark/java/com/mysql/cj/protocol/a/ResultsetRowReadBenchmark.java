@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.benchmark.ReplaySocketConnection;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.jdbc.JdbcPropertySetImpl;
+import com.mysql.cj.log.NullLogger;
+import com.mysql.cj.protocol.Resultset.Concurrency;
+import com.mysql.cj.protocol.ResultsetRow;
+import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
+import com.mysql.cj.result.DefaultColumnDefinition;
+import com.mysql.cj.result.Field;
+
+/**
+ * Measures reading text protocol rows with {@link NativeProtocol#read(Class, com.mysql.cj.protocol.ProtocolEntityFactory)} from a replayed stream of row
+ * packets. Run with '-prof gc' to see the allocation rate per row: buffered result sets ('reuseRowPacket=false') allocate one payload per row while streaming
+ * result sets ('reuseRowPacket=true') reuse the protocol's packet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultsetRowReadBenchmark {
+
+    private static final String[][] ROWS = { { "1", "Alice", "1234.50", "2024-01-15 10:30:00", "0.125" },
+            { "2", "Bob", "99.99", "2024-02-29 23:59:59", "3.14159" }, { "3", "Carol Smith-Jones", "1000000.00", "2023-12-31 00:00:00", "-1.5E10" },
+            { "4", null, "0.01", "2024-06-01 12:00:00", null } };
+
+    @Param({ "false", "true" })
+    public boolean reuseRowPacket;
+
+    private NativeProtocol protocol;
+    private TextRowFactory rowFactory;
+
+    @Setup
+    public void setup() {
+        PropertySet propertySet = new JdbcPropertySetImpl();
+        this.protocol = NativeProtocol.getInstance(null, new ReplaySocketConnection(buildRowPackets(), propertySet), propertySet, new NullLogger("benchmark"),
+                null);
+        this.protocol.serverSession = new NativeServerSession(propertySet);
+
+        Field[] fields = new Field[] { new Field("t", "id", 63, "ISO8859_1", MysqlType.INT, 11), new Field("t", "name", 255, "UTF-8", MysqlType.VARCHAR, 100),
+                new Field("t", "amount", 63, "ISO8859_1", MysqlType.DECIMAL, 12), new Field("t", "created", 63, "ISO8859_1", MysqlType.DATETIME, 19),
+                new Field("t", "ratio", 63, "ISO8859_1", MysqlType.DOUBLE, 22) };
+        this.rowFactory = new TextRowFactory(this.protocol, new DefaultColumnDefinition(fields), Concurrency.READ_ONLY, this.reuseRowPacket);
+    }
+
+    private static byte[] buildRowPackets() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte sequence = 0;
+        for (String[] row : ROWS) {
+            NativePacketPayload payload = new NativePacketPayload(256);
+            for (String value : row) {
+                if (value == null) {
+                    payload.writeInteger(NativeConstants.IntegerDataType.INT1, 0xfb);
+                } else {
+                    payload.writeBytes(StringSelfDataType.STRING_LENENC, value.getBytes());
+                }
+            }
+            int length = payload.getPosition();
+            out.write(length & 0xff);
+            out.write(length >>> 8 & 0xff);
+            out.write(length >>> 16 & 0xff);
+            out.write(sequence++);
+            out.write(payload.getByteBuffer(), 0, length);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public ResultsetRow readRow() throws IOException {
+        return this.protocol.read(ResultsetRow.class, this.rowFactory);
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.jdbc.JdbcPropertySetImpl;
+import com.mysql.cj.protocol.ValueDecoder;
+import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
+import com.mysql.cj.result.BigDecimalValueFactory;
+import com.mysql.cj.result.DoubleValueFactory;
+import com.mysql.cj.result.Field;
+import com.mysql.cj.result.IntegerValueFactory;
+import com.mysql.cj.result.LocalDateTimeValueFactory;
+import com.mysql.cj.result.LongValueFactory;
+import com.mysql.cj.result.SqlTimestampValueFactory;
+import com.mysql.cj.result.StringValueFactory;
+import com.mysql.cj.result.ValueFactory;
+
+/**
+ * Measures decoding of single column values with {@link MysqlTextValueDecoder} and {@link MysqlBinaryValueDecoder} into the {@link ValueFactory}
+ * implementations used by result set getters. Values are encoded as they would appear in text and binary protocol rows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValueDecoderBenchmark {
+
+    private final ValueDecoder textDecoder = new MysqlTextValueDecoder();
+    private final ValueDecoder binaryDecoder = new MysqlBinaryValueDecoder();
+
+    private ValueFactory<Integer> integerVf;
+    private ValueFactory<Long> longVf;
+    private ValueFactory<Double> doubleVf;
+    private ValueFactory<BigDecimal> bigDecimalVf;
+    private ValueFactory<Timestamp> timestampVf;
+    private ValueFactory<LocalDateTime> localDateTimeVf;
+    private ValueFactory<String> stringVf;
+    private Field varcharField;
+
+    private final byte[] textInt = ascii("1234567");
+    private final byte[] textLong = ascii("-9007199254740993");
+    private final byte[] textDouble = ascii("12345.678901");
+    private final byte[] textDecimal = ascii("1234567.89");
+    private final byte[] textDatetime = ascii("2024-01-15 10:30:00.123456");
+    private final byte[] textString = "Carol Smith-Jones, Zürich".getBytes(StandardCharsets.UTF_8);
+
+    private byte[] binaryInt;
+    private byte[] binaryLong;
+    private byte[] binaryDouble;
+    private byte[] binaryDatetime;
+
+    @Setup
+    public void setup() {
+        PropertySet propertySet = new JdbcPropertySetImpl();
+        this.integerVf = new IntegerValueFactory(propertySet);
+        this.longVf = new LongValueFactory(propertySet);
+        this.doubleVf = new DoubleValueFactory(propertySet);
+        this.bigDecimalVf = new BigDecimalValueFactory(propertySet);
+        this.timestampVf = new SqlTimestampValueFactory(propertySet, null, TimeZone.getDefault(), TimeZone.getDefault());
+        this.localDateTimeVf = new LocalDateTimeValueFactory(propertySet);
+        this.stringVf = new StringValueFactory(propertySet);
+        this.varcharField = new Field("t", "name", 255, "UTF-8", MysqlType.VARCHAR, 100);
+
+        NativePacketPayload p = new NativePacketPayload(8);
+        p.writeInteger(IntegerDataType.INT4, 1234567);
+        this.binaryInt = p.getByteBuffer().clone();
+        p = new NativePacketPayload(8);
+        p.writeInteger(IntegerDataType.INT8, -9007199254740993L);
+        this.binaryLong = p.getByteBuffer().clone();
+        p = new NativePacketPayload(8);
+        p.writeInteger(IntegerDataType.INT8, Double.doubleToLongBits(12345.678901));
+        this.binaryDouble = p.getByteBuffer().clone();
+        p = new NativePacketPayload(11);
+        p.writeInteger(IntegerDataType.INT2, 2024);
+        p.writeInteger(IntegerDataType.INT1, 1);
+        p.writeInteger(IntegerDataType.INT1, 15);
+        p.writeInteger(IntegerDataType.INT1, 10);
+        p.writeInteger(IntegerDataType.INT1, 30);
+        p.writeInteger(IntegerDataType.INT1, 0);
+        p.writeInteger(IntegerDataType.INT4, 123456);
+        this.binaryDatetime = p.getByteBuffer().clone();
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public Integer textInt() {
+        return this.textDecoder.decodeInt4(this.textInt, 0, this.textInt.length, this.integerVf);
+    }
+
+    @Benchmark
+    public Long textLong() {
+        return this.textDecoder.decodeInt8(this.textLong, 0, this.textLong.length, this.longVf);
+    }
+
+    @Benchmark
+    public Double textDouble() {
+        return this.textDecoder.decodeDouble(this.textDouble, 0, this.textDouble.length, this.doubleVf);
+    }
+
+    @Benchmark
+    public BigDecimal textDecimal() {
+        return this.textDecoder.decodeDecimal(this.textDecimal, 0, this.textDecimal.length, this.bigDecimalVf);
+    }
+
+    @Benchmark
+    public Timestamp textDatetimeToTimestamp() {
+        return this.textDecoder.decodeDatetime(this.textDatetime, 0, this.textDatetime.length, 6, this.timestampVf);
+    }
+
+    @Benchmark
+    public LocalDateTime textDatetimeToLocalDateTime() {
+        return this.textDecoder.decodeDatetime(this.textDatetime, 0, this.textDatetime.length, 6, this.localDateTimeVf);
+    }
+
+    @Benchmark
+    public String textString() {
+        return this.textDecoder.decodeByteArray(this.textString, 0, this.textString.length, this.varcharField, this.stringVf);
+    }
+
+    @Benchmark
+    public Integer binaryInt() {
+        return this.binaryDecoder.decodeInt4(this.binaryInt, 0, 4, this.integerVf);
+    }
+
+    @Benchmark
+    public Long binaryLong() {
+        return this.binaryDecoder.decodeInt8(this.binaryLong, 0, 8, this.longVf);
+    }
+
+    @Benchmark
+    public Double binaryDouble() {
+        return this.binaryDecoder.decodeDouble(this.binaryDouble, 0, 8, this.doubleVf);
+    }
+
+    @Benchmark
+    public BigDecimal binaryDecimal() {
+        return this.binaryDecoder.decodeDecimal(this.textDecimal, 0, this.textDecimal.length, this.bigDecimalVf);
+    }
+
+    @Benchmark
+    public Timestamp binaryDatetimeToTimestamp() {
+        return this.binaryDecoder.decodeDatetime(this.binaryDatetime, 0, 11, 6, this.timestampVf);
+    }
+
+    @Benchmark
+    public LocalDateTime binaryDatetimeToLocalDateTime() {
+        return this.binaryDecoder.decodeDatetime(this.binaryDatetime, 0, 11, 6, this.localDateTimeVf);
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.x;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.protobuf.ByteString;
+import com.mysql.cj.benchmark.ReplaySocketConnection.ReplayInputStream;
+import com.mysql.cj.protocol.FullReadInputStream;
+import com.mysql.cj.x.protobuf.Mysqlx.ServerMessages;
+import com.mysql.cj.x.protobuf.MysqlxResultset.Row;
+import com.mysql.cj.xdevapi.DocFilterParams;
+
+/**
+ * Measures building X Protocol messages with {@link XMessageBuilder} and writing them with {@link SyncMessageSender} to a discarding stream, and reading
+ * row messages with {@link SyncMessageReader} from a replayed stream.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XMessageBuilderBenchmark {
+
+    private static final List<String> DOCUMENTS = Arrays.asList("{\"_id\": \"00001\", \"name\": \"Alice\", \"age\": 31, \"tags\": [\"a\", \"b\"]}",
+            "{\"_id\": \"00002\", \"name\": \"Bob\", \"age\": 42, \"address\": {\"city\": \"Lisbon\", \"zip\": \"1000-001\"}}");
+    private static final List<Object> SQL_ARGS = Arrays.asList(42, "open", 1234.5, true);
+
+    private final XMessageBuilder builder = new XMessageBuilder();
+    private SyncMessageSender sender;
+    private SyncMessageReader reader;
+
+    @Setup
+    public void setup() throws IOException {
+        this.sender = new SyncMessageSender(new OutputStream() {
+
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+
+        });
+
+        Row row = Row.newBuilder().addField(ByteString.copyFrom(new byte[] { 84 })).addField(ByteString.copyFrom("Alice\0", StandardCharsets.UTF_8))
+                .addField(ByteString.copyFrom(DOCUMENTS.get(0) + "\0", StandardCharsets.UTF_8)).build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int size = 1 + row.getSerializedSize();
+        out.write(size & 0xff);
+        out.write(size >>> 8 & 0xff);
+        out.write(size >>> 16 & 0xff);
+        out.write(size >>> 24 & 0xff);
+        out.write(ServerMessages.Type.RESULTSET_ROW_VALUE);
+        row.writeTo(out);
+        this.reader = new SyncMessageReader(new FullReadInputStream(new ReplayInputStream(out.toByteArray())), null);
+    }
+
+    @Benchmark
+    public XMessage buildSqlStatement() {
+        XMessage message = this.builder.buildSqlStatement("SELECT * FROM orders WHERE id = ? AND status = ? AND total > ? AND active = ?", SQL_ARGS);
+        this.sender.send(message);
+        return message;
+    }
+
+    @Benchmark
+    public XMessage buildDocInsert() {
+        XMessage message = this.builder.buildDocInsert("test", "people", DOCUMENTS, false);
+        this.sender.send(message);
+        return message;
+    }
+
+    @Benchmark
+    public XMessage buildFind() {
+        DocFilterParams filterParams = new DocFilterParams("test", "people");
+        filterParams.setCriteria("age > :age AND name LIKE :name");
+        filterParams.addArg("age", 30);
+        filterParams.addArg("name", "A%");
+        filterParams.setFields("name AS name", "age AS age", "address.city AS city");
+        filterParams.setOrder("age DESC");
+        filterParams.setLimit(10L);
+        XMessage message = this.builder.buildFind(filterParams);
+        this.sender.send(message);
+        return message;
+    }
+
+    @Benchmark
+    public XMessage readRow() throws IOException {
+        return this.reader.readMessage(Optional.empty(), ServerMessages.Type.RESULTSET_ROW_VALUE);
+    }
+
+}
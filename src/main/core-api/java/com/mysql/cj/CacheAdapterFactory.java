@@ -26,4 +26,24 @@ public interface CacheAdapterFactory<K, V> {
 
     CacheAdapter<K, V> getInstance(Lock lock, String url, int cacheMaxSize, int maxKeySize);
 
+    /**
+     * Creates a cache for the connection owning the given session. Factories of caches shared among connections override this method to tell apart the
+     * values that depend on the session settings; by default the session is ignored.
+     *
+     * @param lock
+     *            the connection lock
+     * @param session
+     *            the session of the connection
+     * @param url
+     *            the connection URL
+     * @param cacheMaxSize
+     *            the maximum number of entries
+     * @param maxKeySize
+     *            the maximum length of the keys cached
+     * @return the cache
+     */
+    default CacheAdapter<K, V> getInstance(Lock lock, Session session, String url, int cacheMaxSize, int maxKeySize) {
+        return getInstance(lock, url, cacheMaxSize, maxKeySize);
+    }
+
 }
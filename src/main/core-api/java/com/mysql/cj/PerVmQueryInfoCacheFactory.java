@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.conf.RuntimeProperty;
+import com.mysql.cj.util.ClockCache;
+import com.mysql.cj.util.LRUCache;
+
+/**
+ * A {@link CacheAdapterFactory} for the parsed representation of prepared statements that shares the cached entries among all the connections created in the
+ * same JVM with the same connection URL.
+ * <p>
+ * Parsed statements depend on the settings they were parsed with: 'characterEncoding', 'rewriteBatchedStatements', 'dontCheckOnDuplicateKeyUpdateInSQL' and
+ * the server SQL mode NO_BACKSLASH_ESCAPES. Each connection URL gets one {@link ClockCache} per combination of these settings and 'prepStmtCacheSize', which
+ * bounds it, and each lookup goes to the cache matching the current settings of the connection. Lookups don't take any locks, so connections don't contend
+ * with each other on cache hits.
+ * <p>
+ * The caches of up to {@value #MAX_CACHED_URLS} connection URLs are kept. Beyond that, the caches of a URL not used recently are dropped. Connections already
+ * using them keep doing so, but new connections with that URL start over with empty caches.
+ */
+public class PerVmQueryInfoCacheFactory implements CacheAdapterFactory<String, QueryInfo> {
+
+    static final int MAX_CACHED_URLS = 256;
+
+    static final ClockCache<String, ConcurrentHashMap<String, ClockCache<String, QueryInfo>>> queryInfoCachesByUrl = new ClockCache<>(MAX_CACHED_URLS);
+
+    /** Serializes the creation of the caches of a URL, so that all the connections with the same URL share them. */
+    private static final Lock queryInfoCachesByUrlLock = new ReentrantLock();
+
+    @Override
+    public CacheAdapter<String, QueryInfo> getInstance(Lock lock, String url, int cacheMaxSize, int maxKeySize) {
+        return getInstance(lock, null, url, cacheMaxSize, maxKeySize);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Without a session, the connection settings are unknown and all values go to the same cache, regardless of the settings they were parsed with.
+     */
+    @Override
+    public CacheAdapter<String, QueryInfo> getInstance(Lock lock, Session session, String url, int cacheMaxSize, int maxKeySize) {
+        return new PerVmQueryInfoCache(lock, session, getCachesBySettings(url), cacheMaxSize, maxKeySize);
+    }
+
+    private static ConcurrentHashMap<String, ClockCache<String, QueryInfo>> getCachesBySettings(String url) {
+        ConcurrentHashMap<String, ClockCache<String, QueryInfo>> caches = queryInfoCachesByUrl.get(url);
+        if (caches == null) {
+            queryInfoCachesByUrlLock.lock();
+            try {
+                caches = queryInfoCachesByUrl.get(url);
+                if (caches == null) {
+                    caches = new ConcurrentHashMap<>();
+                    queryInfoCachesByUrl.put(url, caches);
+                }
+            } finally {
+                queryInfoCachesByUrlLock.unlock();
+            }
+        }
+        return caches;
+    }
+
+    /**
+     * Returns the caches shared by the connections created with the given URL, one per combination of parser settings and cache size, whose hit, miss and
+     * eviction counts can be used to monitor their effectiveness.
+     *
+     * @param url
+     *            the connection URL
+     * @return the shared caches, empty if no connection with this URL cached any statement yet or if they were dropped
+     */
+    public static Collection<ClockCache<String, QueryInfo>> getCaches(String url) {
+        Map<String, ClockCache<String, QueryInfo>> caches = queryInfoCachesByUrl.get(url);
+        return caches == null ? Collections.emptyList() : Collections.unmodifiableCollection(caches.values());
+    }
+
+    static class PerVmQueryInfoCache implements CacheAdapter<String, QueryInfo> {
+
+        private final Lock lock;
+        private final Session session;
+        private final ConcurrentHashMap<String, ClockCache<String, QueryInfo>> cachesBySettings;
+        private final int cacheMaxSize;
+        private final int cacheSqlLimit;
+
+        private final RuntimeProperty<String> characterEncoding;
+        private final RuntimeProperty<Boolean> rewriteBatchedStatements;
+        private final RuntimeProperty<Boolean> dontCheckOnDuplicateKeyUpdateInSQL;
+
+        /** The settings of the last lookup and their cache, to avoid looking the cache up again while the settings don't change. */
+        private volatile CurrentCache currentCache;
+
+        /** Entries put by this connection, which are the ones removed by {@link #invalidateAll()}. Guarded by the lock. */
+        private final LRUCache<QueryInfo, OwnEntry> ownEntries;
+
+        PerVmQueryInfoCache(Lock lock, Session session, ConcurrentHashMap<String, ClockCache<String, QueryInfo>> cachesBySettings, int cacheMaxSize,
+                int maxKeySize) {
+            this.lock = lock;
+            this.session = session;
+            this.cachesBySettings = cachesBySettings;
+            this.cacheMaxSize = cacheMaxSize;
+            this.cacheSqlLimit = maxKeySize;
+            this.ownEntries = new LRUCache<>(cacheMaxSize);
+
+            PropertySet propertySet = session == null ? null : session.getPropertySet();
+            this.characterEncoding = propertySet == null ? null : propertySet.getStringProperty(PropertyKey.characterEncoding);
+            this.rewriteBatchedStatements = propertySet == null ? null : propertySet.getBooleanProperty(PropertyKey.rewriteBatchedStatements);
+            this.dontCheckOnDuplicateKeyUpdateInSQL = propertySet == null ? null
+                    : propertySet.getBooleanProperty(PropertyKey.dontCheckOnDuplicateKeyUpdateInSQL);
+        }
+
+        /**
+         * Returns the cache for the current settings of the connection.
+         *
+         * @return the cache
+         */
+        private ClockCache<String, QueryInfo> getCache() {
+            String encoding = null;
+            int flags = 0;
+            if (this.session != null) {
+                encoding = this.characterEncoding.getValue();
+                flags = (this.session.getServerSession().isNoBackslashEscapesSet() ? 1 : 0) | (this.rewriteBatchedStatements.getValue() ? 2 : 0)
+                        | (this.dontCheckOnDuplicateKeyUpdateInSQL.getValue() ? 4 : 0);
+            }
+
+            CurrentCache current = this.currentCache;
+            if (current == null || current.flags != flags || !Objects.equals(current.encoding, encoding)) {
+                ClockCache<String, QueryInfo> cache = this.cachesBySettings.computeIfAbsent(flags + ":" + this.cacheMaxSize + ":" + encoding,
+                        k -> new ClockCache<>(this.cacheMaxSize));
+                current = new CurrentCache(encoding, flags, cache);
+                this.currentCache = current;
+            }
+            return current.cache;
+        }
+
+        @Override
+        public QueryInfo get(String key) {
+            if (key == null || key.length() > this.cacheSqlLimit) {
+                return null;
+            }
+            return getCache().get(key);
+        }
+
+        @Override
+        public void put(String key, QueryInfo value) {
+            if (key == null || key.length() > this.cacheSqlLimit) {
+                return;
+            }
+            ClockCache<String, QueryInfo> cache = getCache();
+            cache.put(key, value);
+
+            this.lock.lock();
+            try {
+                this.ownEntries.put(value, new OwnEntry(key, cache));
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        @Override
+        public void invalidate(String key) {
+            getCache().remove(key);
+        }
+
+        @Override
+        public void invalidateAll(Set<String> keys) {
+            ClockCache<String, QueryInfo> cache = getCache();
+            for (String key : keys) {
+                cache.remove(key);
+            }
+        }
+
+        /**
+         * Removes the entries put by this connection that are still cached. Entries put by other connections sharing the cache are kept.
+         */
+        @Override
+        public void invalidateAll() {
+            this.lock.lock();
+            try {
+                for (Map.Entry<QueryInfo, OwnEntry> e : this.ownEntries.entrySet()) {
+                    e.getValue().cache.remove(e.getValue().key, e.getKey());
+                }
+                this.ownEntries.clear();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private static final class CurrentCache {
+
+            final String encoding;
+            final int flags;
+            final ClockCache<String, QueryInfo> cache;
+
+            CurrentCache(String encoding, int flags, ClockCache<String, QueryInfo> cache) {
+                this.encoding = encoding;
+                this.flags = flags;
+                this.cache = cache;
+            }
+
+        }
+
+        private static final class OwnEntry {
+
+            final String key;
+            final ClockCache<String, QueryInfo> cache;
+
+            OwnEntry(String key, ClockCache<String, QueryInfo> cache) {
+                this.key = key;
+                this.cache = cache;
+            }
+
+        }
+
+    }
+
+}
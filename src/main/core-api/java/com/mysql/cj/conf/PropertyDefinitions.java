@@ -687,6 +687,10 @@ public class PropertyDefinitions {
                 new IntegerPropertyDefinition(PropertyKey.callableStmtCacheSize, 100, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.callableStmtCacheSize"), "3.1.2", CATEGORY_PERFORMANCE, 5, 0, Integer.MAX_VALUE),
 
+                new MemorySizePropertyDefinition(PropertyKey.cursorFetchTargetSize, 0, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.cursorFetchTargetSize"), "9.0.0", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE),
+
                 new IntegerPropertyDefinition(PropertyKey.defaultFetchSize, 0, RUNTIME_MODIFIABLE, Messages.getString("ConnectionProperties.defaultFetchSize"),
                         "3.1.9", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
 
@@ -706,6 +710,10 @@ public class PropertyDefinitions {
                 new IntegerPropertyDefinition(PropertyKey.metadataCacheSize, 50, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.metadataCacheSize"), "3.1.1", CATEGORY_PERFORMANCE, 5, 1, Integer.MAX_VALUE),
 
+                new MemorySizePropertyDefinition(PropertyKey.offHeapResultSetSpillThreshold, 0, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.offHeapResultSetSpillThreshold"), "9.0.0", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE),
+
                 new IntegerPropertyDefinition(PropertyKey.prepStmtCacheSize, 25, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.prepStmtCacheSize"), "3.0.10", CATEGORY_PERFORMANCE, 10, 0, Integer.MAX_VALUE),
 
@@ -715,9 +723,23 @@ public class PropertyDefinitions {
                 new StringPropertyDefinition(PropertyKey.queryInfoCacheFactory, PerConnectionLRUFactory.class.getName(), RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.queryInfoCacheFactory"), "5.1.1", CATEGORY_PERFORMANCE, 12),
 
+                new BooleanPropertyDefinition(PropertyKey.resetPooledConnectionState, DEFAULT_VALUE_TRUE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.resetPooledConnectionState"), "9.0.0", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
+
+                new MemorySizePropertyDefinition(PropertyKey.resultSetHeapBudget, 0, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.resultSetHeapBudget"), "9.0.0", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE),
+
+                new BooleanPropertyDefinition(PropertyKey.reuseStreamingResultRows, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.reuseStreamingResultRows"), "9.0.0", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
+
                 new BooleanPropertyDefinition(PropertyKey.rewriteBatchedStatements, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.rewriteBatchedStatements"), "3.1.13", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
 
+                new IntegerPropertyDefinition(PropertyKey.streamingReadAheadRows, 0, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.streamingReadAheadRows"), "9.0.0", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE),
+
                 new BooleanPropertyDefinition(PropertyKey.useCursorFetch, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.useCursorFetch"), "5.0.0", CATEGORY_PERFORMANCE, Integer.MAX_VALUE),
 
@@ -727,6 +749,9 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.useLocalTransactionState, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.useLocalTransactionState"), "5.1.7", CATEGORY_PERFORMANCE, 6),
 
+                new BooleanPropertyDefinition(PropertyKey.useOffHeapResultSetRows, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.useOffHeapResultSetRows"), "9.0.0", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
+
                 new BooleanPropertyDefinition(PropertyKey.useReadAheadInput, DEFAULT_VALUE_TRUE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.useReadAheadInput"), "3.1.5", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
 
@@ -890,7 +915,14 @@ public class PropertyDefinitions {
                 new StringPropertyDefinition(PropertyKey.xdevapiCompressionAlgorithms, "zstd_stream,lz4_message,deflate_stream", RUNTIME_NOT_MODIFIABLE,
                         Messages.getString("ConnectionProperties.xdevapiCompressionAlgorithms"), "8.0.22", CATEGORY_XDEVAPI, Integer.MIN_VALUE),
                 new StringPropertyDefinition(PropertyKey.xdevapiCompressionExtensions, DEFAULT_VALUE_NULL_STRING, RUNTIME_NOT_MODIFIABLE,
-                        Messages.getString("ConnectionProperties.xdevapiCompressionExtensions"), "8.0.22", CATEGORY_XDEVAPI, Integer.MIN_VALUE)
+                        Messages.getString("ConnectionProperties.xdevapiCompressionExtensions"), "8.0.22", CATEGORY_XDEVAPI, Integer.MIN_VALUE),
+                new BooleanPropertyDefinition(PropertyKey.xdevapiUseAsyncProtocol, DEFAULT_VALUE_FALSE, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.xdevapiUseAsyncProtocol"), "9.0.0", CATEGORY_XDEVAPI, Integer.MIN_VALUE),
+                new IntegerPropertyDefinition(PropertyKey.xdevapiAsyncEventLoopThreads, 0, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.xdevapiAsyncEventLoopThreads"), "9.0.0", CATEGORY_XDEVAPI, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE),
+                new BooleanPropertyDefinition(PropertyKey.xdevapiLazyDocumentParsing, DEFAULT_VALUE_FALSE, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.xdevapiLazyDocumentParsing"), "9.0.0", CATEGORY_XDEVAPI, Integer.MIN_VALUE)
                 //
         };
 
@@ -92,6 +92,7 @@ public enum PropertyKey {
     connectTimeout("connectTimeout", true), //
     continueBatchOnError("continueBatchOnError", true), //
     createDatabaseIfNotExist("createDatabaseIfNotExist", true), //
+    cursorFetchTargetSize("cursorFetchTargetSize", true), //
     customCharsetMapping("customCharsetMapping", true), //
     databaseTerm("databaseTerm", true), //
     defaultAuthenticationPlugin("defaultAuthenticationPlugin", true), //
@@ -163,6 +164,7 @@ public enum PropertyKey {
     nullDatabaseMeansCurrent("nullDatabaseMeansCurrent", "nullCatalogMeansCurrent", true), //
     ociConfigFile("ociConfigFile", true), //
     ociConfigProfile("ociConfigProfile", true), //
+    offHeapResultSetSpillThreshold("offHeapResultSetSpillThreshold", true), //
     openTelemetry("openTelemetry", true), //
     overrideSupportsIntegrityEnhancementFacility("overrideSupportsIntegrityEnhancementFacility", true), //
     packetDebugBufferSize("packetDebugBufferSize", true), //
@@ -192,9 +194,12 @@ public enum PropertyKey {
     replicationConnectionGroup("replicationConnectionGroup", true), //
     reportMetricsIntervalMillis("reportMetricsIntervalMillis", true), //
     requireSSL("requireSSL", true), //
+    resetPooledConnectionState("resetPooledConnectionState", true), //
     resourceId("resourceId", true), //
+    resultSetHeapBudget("resultSetHeapBudget", true), //
     resultSetSizeThreshold("resultSetSizeThreshold", true), //
     retriesAllDown("retriesAllDown", true), //
+    reuseStreamingResultRows("reuseStreamingResultRows", true), //
     rewriteBatchedStatements("rewriteBatchedStatements", true), //
     rollbackOnPooledClose("rollbackOnPooledClose", true), //
     scrollTolerantForwardOnly("scrollTolerantForwardOnly", true), //
@@ -216,6 +221,7 @@ public enum PropertyKey {
     socksProxyRemoteDns("socksProxyRemoteDns", true), //
     sslContextProvider("sslContextProvider", true), //
     sslMode("sslMode", true), //
+    streamingReadAheadRows("streamingReadAheadRows", true), //
     strictUpdates("strictUpdates", true), //
     tcpKeepAlive("tcpKeepAlive", true), //
     tcpNoDelay("tcpNoDelay", true), //
@@ -245,6 +251,7 @@ public enum PropertyKey {
     useLocalSessionState("useLocalSessionState", true), //
     useLocalTransactionState("useLocalTransactionState", true), //
     useNanosForElapsedTime("useNanosForElapsedTime", true), //
+    useOffHeapResultSetRows("useOffHeapResultSetRows", true), //
     useOldAliasMetadataBehavior("useOldAliasMetadataBehavior", true), //
     useOnlyServerErrorMessages("useOnlyServerErrorMessages", true), //
     useReadAheadInput("useReadAheadInput", true), //
@@ -255,6 +262,7 @@ public enum PropertyKey {
     useUsageAdvisor("useUsageAdvisor", true), //
     verifyServerCertificate("verifyServerCertificate", true), //
 
+    xdevapiAsyncEventLoopThreads("xdevapi.asyncEventLoopThreads", "xdevapiAsyncEventLoopThreads", true), //
     xdevapiAsyncResponseTimeout("xdevapi.asyncResponseTimeout", "xdevapiAsyncResponseTimeout", true), //
     xdevapiAuth("xdevapi.auth", "xdevapiAuth", true), //
     xdevapiConnectTimeout("xdevapi.connect-timeout", "xdevapiConnectTimeout", true), //
@@ -265,6 +273,7 @@ public enum PropertyKey {
     xdevapiDnsSrv("xdevapi.dns-srv", "xdevapiDnsSrv", true), //
     xdevapiFallbackToSystemKeyStore("xdevapi.fallback-to-system-keystore", "xdevapiFallbackToSystemKeyStore", true), //
     xdevapiFallbackToSystemTrustStore("xdevapi.fallback-to-system-truststore", "xdevapiFallbackToSystemTrustStore", true), //
+    xdevapiLazyDocumentParsing("xdevapi.lazyDocumentParsing", "xdevapiLazyDocumentParsing", true), //
     xdevapiSslKeyStorePassword("xdevapi.ssl-keystore-password", "xdevapiSslKeystorePassword", true), //
     xdevapiSslKeyStoreType("xdevapi.ssl-keystore-type", "xdevapiSslKeystoreType", true), //
     xdevapiSslKeyStoreUrl("xdevapi.ssl-keystore", "xdevapiSslKeystore", true), //
@@ -274,6 +283,7 @@ public enum PropertyKey {
     xdevapiSslTrustStoreUrl("xdevapi.ssl-truststore", "xdevapiSslTruststore", true), //
     xdevapiTlsCiphersuites("xdevapi.tls-ciphersuites", "xdevapiTlsCiphersuites", true), //
     xdevapiTlsVersions("xdevapi.tls-versions", "xdevapiTlsVersions", true), //
+    xdevapiUseAsyncProtocol("xdevapi.useAsyncProtocol", "xdevapiUseAsyncProtocol", true), //
 
     yearIsDateType("yearIsDateType", true), //
     zeroDateTimeBehavior("zeroDateTimeBehavior", true) //
@@ -20,8 +20,7 @@
 
 package com.mysql.cj.protocol;
 
-import java.util.Map;
-
+import com.mysql.cj.result.ColumnLabelIndex;
 import com.mysql.cj.result.Field;
 
 /**
@@ -45,21 +44,21 @@ public interface ColumnDefinition extends ProtocolEntity {
 
     boolean hasBuiltIndexMapping();
 
-    public Map<String, Integer> getColumnLabelToIndex();
-
-    void setColumnLabelToIndex(Map<String, Integer> columnLabelToIndex);
-
-    public Map<String, Integer> getFullColumnNameToIndex();
-
-    void setFullColumnNameToIndex(Map<String, Integer> fullColNameToIndex);
-
-    public Map<String, Integer> getColumnNameToIndex();
-
-    void setColumnNameToIndex(Map<String, Integer> colNameToIndex);
-
-    public Map<String, Integer> getColumnToIndexCache();
+    /**
+     * Returns the case-insensitive index of column labels and names built by {@link #buildIndexMapping()}.
+     *
+     * @return the {@link ColumnLabelIndex} or null if it wasn't built yet
+     */
+    ColumnLabelIndex getColumnLabelIndex();
 
-    public void setColumnToIndexCache(Map<String, Integer> columnToIndexCache);
+    /**
+     * Sets a column label index built from other column definition with the same metadata. It's only used after checking that it applies to the fields of this
+     * column definition.
+     *
+     * @param columnLabelIndex
+     *            the {@link ColumnLabelIndex} to share
+     */
+    void setColumnLabelIndex(ColumnLabelIndex columnLabelIndex);
 
     void initializeFrom(ColumnDefinition columnDefinition);
 
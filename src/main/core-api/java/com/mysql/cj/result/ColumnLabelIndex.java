@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.result;
+
+import java.util.Objects;
+
+/**
+ * A case-insensitive index of the column labels, column names and full column names of a result set, used to resolve column lookups by name.
+ *
+ * Names are kept in open addressing hash tables, with linear probing, sized to a power of two at most two thirds full. The hash code of a name is computed on
+ * the fly from its case folded chars so lookups neither allocate nor lock, and the same index can be shared by all the result sets that have the same
+ * metadata. Only the column labels table is built upfront; the column names and full column names tables are built on the first lookup that needs them.
+ * Tables never change once built, so sharing an index between threads is safe.
+ *
+ * As required by JDBC, when several columns have the same name the first one is returned.
+ */
+public class ColumnLabelIndex {
+
+    private final String[] labels;
+    private final String[] originalNames;
+    private final String[] tableNames;
+
+    private final NameTable labelTable;
+    private NameTable originalNameTable = null;
+    private NameTable fullNameTable = null;
+
+    public ColumnLabelIndex(Field[] fields) {
+        int numFields = fields.length;
+        this.labels = new String[numFields];
+        this.originalNames = new String[numFields];
+        this.tableNames = new String[numFields];
+        for (int i = 0; i < numFields; i++) {
+            this.labels[i] = fields[i].getName();
+            this.originalNames[i] = fields[i].getOriginalName();
+            this.tableNames[i] = fields[i].getTableName();
+        }
+        this.labelTable = new NameTable(this.labels);
+    }
+
+    /**
+     * Finds the index of a column by its label, by its original name if allowed, or by its full name, in this order.
+     *
+     * @param name
+     *            the column label or name, case-insensitive
+     * @param useColumnNames
+     *            whether original column names are also looked up
+     * @return the 0-based index of the first matching column or -1 if there is none
+     */
+    public int findColumn(String name, boolean useColumnNames) {
+        int hash = hash(name);
+        int index = this.labelTable.get(name, hash);
+        if (index == -1 && useColumnNames) {
+            NameTable table = this.originalNameTable;
+            if (table == null) {
+                this.originalNameTable = table = new NameTable(this.originalNames);
+            }
+            index = table.get(name, hash);
+        }
+        if (index == -1) {
+            NameTable table = this.fullNameTable;
+            if (table == null) {
+                String[] fullNames = new String[this.labels.length];
+                for (int i = 0; i < fullNames.length; i++) {
+                    fullNames[i] = this.tableNames[i] + "." + this.labels[i]; // Same as Field.getFullName().
+                }
+                this.fullNameTable = table = new NameTable(fullNames);
+            }
+            index = table.get(name, hash);
+        }
+        return index;
+    }
+
+    /**
+     * Checks whether this index was built from fields with the same names as the given ones, i.e., if it can be used to look up columns in them.
+     *
+     * @param fields
+     *            the fields to check
+     * @return true if this index applies to the given fields
+     */
+    public boolean isIndexOf(Field[] fields) {
+        if (fields.length != this.labels.length) {
+            return false;
+        }
+        for (int i = 0; i < fields.length; i++) {
+            if (!Objects.equals(this.labels[i], fields[i].getName()) || !Objects.equals(this.originalNames[i], fields[i].getOriginalName())
+                    || !Objects.equals(this.tableNames[i], fields[i].getTableName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes a hash code that is the same for all strings that are equal ignoring case, as in {@link String#equalsIgnoreCase(String)}.
+     *
+     * @param name
+     *            the string
+     * @return the hash code
+     */
+    static int hash(String name) {
+        int h = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < 0x80) {
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+            } else {
+                c = Character.toLowerCase(Character.toUpperCase(c));
+            }
+            h = 31 * h + c;
+        }
+        return h ^ h >>> 16;
+    }
+
+    private static class NameTable {
+
+        private final String[] names;
+        private final int[] hashes;
+        private final int[] indexes;
+        private final int mask;
+
+        NameTable(String[] columnNames) {
+            int size = Integer.highestOneBit(Math.max(columnNames.length * 3 / 2, 1)) << 1;
+            this.names = new String[size];
+            this.hashes = new int[size];
+            this.indexes = new int[size];
+            this.mask = size - 1;
+
+            for (int i = 0; i < columnNames.length; i++) {
+                String name = columnNames[i];
+                if (name == null) {
+                    continue;
+                }
+                int hash = hash(name);
+                int slot = hash & this.mask;
+                while (this.names[slot] != null && !(this.hashes[slot] == hash && this.names[slot].equalsIgnoreCase(name))) {
+                    slot = slot + 1 & this.mask;
+                }
+                if (this.names[slot] == null) { // Keep the first column with this name.
+                    this.names[slot] = name;
+                    this.hashes[slot] = hash;
+                    this.indexes[slot] = i;
+                }
+            }
+        }
+
+        int get(String name, int hash) {
+            int slot = hash & this.mask;
+            String candidate;
+            while ((candidate = this.names[slot]) != null) {
+                if (this.hashes[slot] == hash && candidate.equalsIgnoreCase(name)) {
+                    return this.indexes[slot];
+                }
+                slot = slot + 1 & this.mask;
+            }
+            return -1;
+        }
+
+    }
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded, thread-safe cache that evicts entries using the CLOCK (second chance) policy.
+ * <p>
+ * Lookups don't take any locks and don't reorder entries, they just mark the entry found as recently referenced. Insertions and removals are serialized by an
+ * internal lock. When the cache is full, the clock hand sweeps the entries clearing their reference marks until it finds one that was not referenced since
+ * the last sweep, which is then evicted.
+ *
+ * @param <K>
+ *            key type
+ * @param <V>
+ *            value type
+ */
+public class ClockCache<K, V> {
+
+    private static final class Entry<K, V> {
+
+        final K key;
+        final V value;
+        volatile boolean referenced = false;
+        int slot; // guarded by ClockCache.lock
+
+        Entry(K key, V value, int slot) {
+            this.key = key;
+            this.value = value;
+            this.slot = slot;
+        }
+
+    }
+
+    private final int maxSize;
+    private final ConcurrentHashMap<K, Entry<K, V>> entries;
+    private final Entry<K, V>[] clock;
+    private int size = 0;
+    private int hand = 0;
+    private final Lock lock = new ReentrantLock();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public ClockCache(int maxSize) {
+        this.maxSize = Math.max(maxSize, 0);
+        this.entries = new ConcurrentHashMap<>(Math.max(16, (int) (this.maxSize / 0.75f) + 1));
+        this.clock = (Entry<K, V>[]) new Entry<?, ?>[this.maxSize];
+    }
+
+    /**
+     * Returns the value cached for the given key, or null if there is none.
+     *
+     * @param key
+     *            the key
+     * @return the cached value or null
+     */
+    public V get(K key) {
+        Entry<K, V> entry = this.entries.get(key);
+        if (entry == null) {
+            this.missCount.increment();
+            return null;
+        }
+        if (!entry.referenced) { // avoid writing to shared memory on every hit
+            entry.referenced = true;
+        }
+        this.hitCount.increment();
+        return entry.value;
+    }
+
+    /**
+     * Caches the given value, replacing any value previously cached for the same key and evicting another entry if the cache is full.
+     *
+     * @param key
+     *            the key
+     * @param value
+     *            the value
+     */
+    public void put(K key, V value) {
+        if (this.maxSize == 0) {
+            return;
+        }
+
+        this.lock.lock();
+        try {
+            Entry<K, V> existing = this.entries.get(key);
+            int slot;
+            if (existing != null) {
+                slot = existing.slot;
+            } else if (this.size < this.maxSize) {
+                slot = this.size++;
+            } else {
+                slot = evict();
+            }
+
+            Entry<K, V> entry = new Entry<>(key, value, slot);
+            this.clock[slot] = entry;
+            this.entries.put(key, entry);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Advances the clock hand up to the first entry not referenced since the last sweep and removes it. Must be called while holding the lock, with a full
+     * cache.
+     *
+     * @return the slot freed
+     */
+    private int evict() {
+        while (true) {
+            int slot = this.hand;
+            Entry<K, V> entry = this.clock[slot];
+            this.hand = (this.hand + 1) % this.size;
+
+            if (entry.referenced) {
+                entry.referenced = false;
+            } else {
+                this.entries.remove(entry.key, entry);
+                this.evictionCount.increment();
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Removes the value cached for the given key, if any.
+     *
+     * @param key
+     *            the key
+     */
+    public void remove(K key) {
+        this.lock.lock();
+        try {
+            Entry<K, V> entry = this.entries.remove(key);
+            if (entry != null) {
+                releaseSlot(entry);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the value cached for the given key only if it is the given value.
+     *
+     * @param key
+     *            the key
+     * @param value
+     *            the value expected to be cached
+     */
+    public void remove(K key, V value) {
+        this.lock.lock();
+        try {
+            Entry<K, V> entry = this.entries.get(key);
+            if (entry != null && entry.value == value) {
+                this.entries.remove(key);
+                releaseSlot(entry);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the slot of an entry removed, keeping the clock compact by moving the last entry to it. Must be called while holding the lock.
+     *
+     * @param entry
+     *            the entry removed
+     */
+    private void releaseSlot(Entry<K, V> entry) {
+        Entry<K, V> last = this.clock[--this.size];
+        this.clock[entry.slot] = last;
+        last.slot = entry.slot;
+        this.clock[this.size] = null;
+        if (this.hand >= this.size) {
+            this.hand = 0;
+        }
+    }
+
+    /**
+     * Removes all the entries from this cache. Statistics are kept.
+     */
+    public void clear() {
+        this.lock.lock();
+        try {
+            this.entries.clear();
+            Arrays.fill(this.clock, null);
+            this.size = 0;
+            this.hand = 0;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Returns the number of lookups that found a cached value.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    /**
+     * Returns the number of lookups that didn't find a cached value.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    /**
+     * Returns the number of entries evicted to make room for new ones.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return this.evictionCount.sum();
+    }
+
+}
@@ -164,6 +164,17 @@ public class MysqlxSession extends CoreSession {
         return ((XProtocol) this.protocol).query(message, resultBuilder);
     }
 
+    public <M extends Message, R extends QueryResult> CompletableFuture<R> queryPipelined(M message, ResultBuilder<R> resultBuilder) {
+        return ((XProtocol) this.protocol).queryPipelined(message, resultBuilder);
+    }
+
+    /**
+     * Reads the results of the queries sent with {@link #queryPipelined(Message, ResultBuilder)} that are still pending, if any.
+     */
+    public void readPipelinedResults() {
+        ((XProtocol) this.protocol).readPipelinedResults();
+    }
+
     @Override
     public <M extends Message, R extends QueryResult> CompletableFuture<R> queryAsync(M message, ResultBuilder<R> resultBuilder) {
         return ((XProtocol) this.protocol).queryAsync(message, resultBuilder);
@@ -32,6 +32,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.conf.RuntimeProperty;
@@ -114,6 +116,7 @@ public class NativeCharsetSettings extends CharsetMapping implements CharsetSett
     private static final Map<String, Map<String, Integer>> customCharsetNameToCollationIndexByUrl = new HashMap<>();
     private static final Map<String, Map<String, String>> customJavaEncodingUcToCharsetNameByUrl = new HashMap<>();
     private static final Map<String, Set<String>> customMultibyteEncodingsByUrl = new HashMap<>();
+    private static final Lock CUSTOM_CHARSETS_LOCK = new ReentrantLock();
 
     /**
      * Does the character set of this connection match the character set of the platform
@@ -521,7 +524,8 @@ public class NativeCharsetSettings extends CharsetMapping implements CharsetSett
         String databaseURL = this.session.getHostInfo().getDatabaseUrl();
 
         if (this.cacheServerConfiguration.getValue()) {
-            synchronized (customCollationIndexToCharsetNameByUrl) {
+            CUSTOM_CHARSETS_LOCK.lock();
+            try {
                 customCollationIndexToCollationName = customCollationIndexToCollationNameByUrl.get(databaseURL);
                 customCollationNameToCollationIndex = customCollationNameToCollationIndexByUrl.get(databaseURL);
                 customCollationIndexToCharsetName = customCollationIndexToCharsetNameByUrl.get(databaseURL);
@@ -530,6 +534,8 @@ public class NativeCharsetSettings extends CharsetMapping implements CharsetSett
                 customJavaEncodingUcToCharsetName = customJavaEncodingUcToCharsetNameByUrl.get(databaseURL);
                 customCharsetNameToCollationIndex = customCharsetNameToCollationIndexByUrl.get(databaseURL);
                 customMultibyteEncodings = customMultibyteEncodingsByUrl.get(databaseURL);
+            } finally {
+                CUSTOM_CHARSETS_LOCK.unlock();
             }
         }
 
@@ -613,7 +619,8 @@ public class NativeCharsetSettings extends CharsetMapping implements CharsetSett
                 }
 
                 if (this.cacheServerConfiguration.getValue()) {
-                    synchronized (customCollationIndexToCharsetNameByUrl) {
+                    CUSTOM_CHARSETS_LOCK.lock();
+                    try {
                         customCollationIndexToCollationNameByUrl.put(databaseURL, Collections.unmodifiableMap(customCollationIndexToCollationName));
                         customCollationNameToCollationIndexByUrl.put(databaseURL, Collections.unmodifiableMap(customCollationNameToCollationIndex));
                         customCollationIndexToCharsetNameByUrl.put(databaseURL, Collections.unmodifiableMap(customCollationIndexToCharsetName));
@@ -622,6 +629,8 @@ public class NativeCharsetSettings extends CharsetMapping implements CharsetSett
                         customJavaEncodingUcToCharsetNameByUrl.put(databaseURL, Collections.unmodifiableMap(customJavaEncodingUcToCharsetName));
                         customCharsetNameToCollationIndexByUrl.put(databaseURL, Collections.unmodifiableMap(customCharsetNameToCollationIndex));
                         customMultibyteEncodingsByUrl.put(databaseURL, Collections.unmodifiableSet(customMultibyteEncodings));
+                    } finally {
+                        CUSTOM_CHARSETS_LOCK.unlock();
                     }
                 }
             } catch (Throwable t) {
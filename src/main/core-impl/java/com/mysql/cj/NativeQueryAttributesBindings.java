@@ -98,9 +98,11 @@ public class NativeQueryAttributesBindings implements QueryAttributesBindings {
 
     @Override
     public void removeAttribute(String name) {
-        Optional<NativeQueryBindValue> bindValue = this.bindAttributes.stream().filter(b -> name.equalsIgnoreCase(b.getName())).findAny();
-        if (bindValue.isPresent()) {
-            this.bindAttributes.remove(bindValue.get());
+        for (int i = 0; i < this.bindAttributes.size(); i++) {
+            if (name.equalsIgnoreCase(this.bindAttributes.get(i).getName())) {
+                this.bindAttributes.remove(i);
+                return;
+            }
         }
     }
 
@@ -116,7 +118,12 @@ public class NativeQueryAttributesBindings implements QueryAttributesBindings {
 
     @Override
     public boolean containsAttribute(String name) {
-        return this.bindAttributes.stream().filter(b -> name.equalsIgnoreCase(b.getName())).findAny().isPresent();
+        for (int i = 0; i < this.bindAttributes.size(); i++) {
+            if (name.equalsIgnoreCase(this.bindAttributes.get(i).getName())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
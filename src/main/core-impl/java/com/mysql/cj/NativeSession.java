@@ -33,8 +33,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Timer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 import com.mysql.cj.conf.HostInfo;
@@ -106,6 +113,18 @@ public class NativeSession extends CoreSession implements Serializable {
 
     private transient Timer cancelTimer;
 
+    /** Guards the chaining of asynchronous operations. */
+    private final Lock asyncOperationsLock = new ReentrantLock();
+
+    /** Completes when the last submitted asynchronous operation finishes, successfully or not. */
+    private transient CompletableFuture<Void> lastAsyncOperation;
+
+    /**
+     * Runs the asynchronous operations submitted without an executor, one at a time, in a thread that is only kept while there are operations to run. Once
+     * the session is closed, the operations still submitted fail and the thread ends when idle.
+     */
+    private transient ThreadPoolExecutor asyncExecutor;
+
     public NativeSession(HostInfo hostInfo, PropertySet propSet) {
         super(hostInfo, propSet);
 
@@ -181,6 +200,7 @@ public class NativeSession extends CoreSession implements Serializable {
             getSessionLock().unlock();
         }
         this.isClosed = true;
+        shutdownAsyncExecutor();
         super.quit();
     }
 
@@ -210,6 +230,7 @@ public class NativeSession extends CoreSession implements Serializable {
             getSessionLock().unlock();
         }
         this.isClosed = true;
+        shutdownAsyncExecutor();
         super.forceClose();
     }
 
@@ -854,6 +875,81 @@ public class NativeSession extends CoreSession implements Serializable {
         }
     }
 
+    /**
+     * Send several queries to the server in a single pipeline, i.e., all queries are written to the server before reading the result of the first one.
+     * To ensure that Statement's queries are serialized, calls to this method should be enclosed in a connection locked block.
+     *
+     * @param <T>
+     *            extends {@link Resultset}
+     * @param callingQuery
+     *            {@link Query} object
+     * @param packets
+     *            list of {@link NativePacketPayload}s, each one containing a complete COM_QUERY command
+     * @param maxRows
+     *            rows limit
+     * @param resultSetFactory
+     *            {@link ProtocolEntityFactory}
+     * @param cachedMetadata
+     *            use this metadata instead of the one provided on wire
+     * @param errors
+     *            array with the same length as the list of packets that gets filled with the exception thrown by each failed query
+     *
+     * @return a list of ResultSets, in the same order of the packets; elements corresponding to failed queries are <code>null</code>
+     */
+    public <T extends Resultset> List<T> execSQLPipelined(Query callingQuery, List<NativePacketPayload> packets, int maxRows,
+            ProtocolEntityFactory<T, NativePacketPayload> resultSetFactory, ColumnDefinition cachedMetadata, CJException[] errors) {
+        long queryStartTime = this.gatherPerfMetrics.getValue() ? System.currentTimeMillis() : 0;
+
+        this.lastQueryFinishedTime = 0; // we're busy!
+
+        if (this.autoReconnect.getValue() && (getServerSession().isAutoCommit() || this.autoReconnectForPools.getValue()) && this.needsPing) {
+            try {
+                ping(false, 0);
+                this.needsPing = false;
+
+            } catch (Exception Ex) {
+                invokeReconnectListeners();
+            }
+        }
+
+        try {
+            return ((NativeProtocol) this.protocol).sendPipelinedQueryPackets(callingQuery, packets, maxRows, cachedMetadata, resultSetFactory, errors);
+
+        } catch (CJException sqlE) {
+            if (this.autoReconnect.getValue()) {
+                if (sqlE instanceof CJCommunicationsException) {
+                    // IO may be dirty or damaged beyond repair, force close it.
+                    this.protocol.getSocketConnection().forceClose();
+                }
+                this.needsPing = true;
+            } else if (sqlE instanceof CJCommunicationsException) {
+                invokeCleanupListeners(sqlE);
+            }
+            throw sqlE;
+
+        } catch (Throwable ex) {
+            if (this.autoReconnect.getValue()) {
+                if (ex instanceof IOException) {
+                    // IO may be dirty or damaged beyond repair, force close it.
+                    this.protocol.getSocketConnection().forceClose();
+                }
+                this.needsPing = true;
+            } else if (ex instanceof IOException) {
+                invokeCleanupListeners(ex);
+            }
+            throw ExceptionFactory.createException(ex.getMessage(), ex, this.exceptionInterceptor);
+
+        } finally {
+            if (this.maintainTimeStats.getValue()) {
+                this.lastQueryFinishedTime = System.currentTimeMillis();
+            }
+
+            if (this.gatherPerfMetrics.getValue()) {
+                ((NativeProtocol) this.protocol).getMetricsHolder().registerQueryExecutionTime(System.currentTimeMillis() - queryStartTime);
+            }
+        }
+    }
+
     public long getIdleFor() {
         return this.lastQueryFinishedTime == 0 ? 0 : System.currentTimeMillis() - this.lastQueryFinishedTime;
     }
@@ -998,6 +1094,92 @@ public class NativeSession extends CoreSession implements Serializable {
         }
     }
 
+    /**
+     * Runs the given operation asynchronously, after all previously submitted asynchronous operations in this session finish. Since a session can only run
+     * one command at a time, chaining the operations keeps them in submission order without holding any thread while they wait for their turn.
+     *
+     * Operations still block a thread while they wait for the server, as the protocol uses blocking I/O. Without an executor, operations run in a thread of
+     * this session, so a session never uses more than one thread, however many operations are submitted.
+     *
+     * Dependent actions registered in the returned future before it completes run before the next asynchronous operation in this session starts. Cancelling
+     * the returned future before the operation starts prevents it from running.
+     *
+     * @param <T>
+     *            the operation result type
+     * @param operation
+     *            the operation to run
+     * @param executor
+     *            the {@link Executor} that runs the operation or <code>null</code> to use the thread of this session
+     * @return a {@link CompletableFuture} that completes with the result of the operation
+     */
+    public <T> CompletableFuture<T> executeAsync(Callable<T> operation, Executor executor) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        this.asyncOperationsLock.lock();
+        try {
+            Executor targetExecutor = executor == null ? getAsyncExecutor() : executor;
+            if (this.lastAsyncOperation == null) {
+                this.lastAsyncOperation = CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> nextAsyncOperation = this.lastAsyncOperation.handleAsync((r, t) -> {
+                if (!result.isDone()) {
+                    try {
+                        result.complete(operation.call());
+                    } catch (Throwable ex) {
+                        result.completeExceptionally(ex);
+                    }
+                }
+                return null;
+            }, targetExecutor);
+            nextAsyncOperation.whenComplete((r, t) -> {
+                if (t != null) {
+                    // The executor rejected the operation.
+                    result.completeExceptionally(t.getCause() != null ? t.getCause() : t);
+                }
+            });
+            this.lastAsyncOperation = nextAsyncOperation;
+        } finally {
+            this.asyncOperationsLock.unlock();
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the executor of the asynchronous operations submitted without one. Must be called while holding the asynchronous operations lock.
+     *
+     * @return the executor
+     */
+    private Executor getAsyncExecutor() {
+        if (this.asyncExecutor == null || this.asyncExecutor.isShutdown() && !this.isClosed) { // a reconnected session gets a new executor
+            this.asyncExecutor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread t = new Thread(r, "mysql-cj-async-executor");
+                t.setDaemon(true);
+                return t;
+            });
+            this.asyncExecutor.allowCoreThreadTimeOut(true);
+            if (this.isClosed) {
+                this.asyncExecutor.shutdown();
+            }
+        }
+        return this.asyncExecutor;
+    }
+
+    /**
+     * Shuts down the executor of the asynchronous operations submitted without one, so that the operations submitted from now on are rejected. The operations
+     * submitted before still run, and fail as this session is closed.
+     */
+    private void shutdownAsyncExecutor() {
+        this.asyncOperationsLock.lock();
+        try {
+            if (this.asyncExecutor != null) {
+                this.asyncExecutor.shutdown();
+            }
+        } finally {
+            this.asyncOperationsLock.unlock();
+        }
+    }
+
     public void resetSessionState() {
         checkClosed();
         NativePacketPayload message = this.commandBuilder.buildComResetConnection(((NativeProtocol) this.protocol).getSharedSendPacket());
@@ -72,6 +72,7 @@ import javax.naming.ldap.LdapName;
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLSession;
 import javax.net.ssl.SSLSocket;
 import javax.net.ssl.SSLSocketFactory;
@@ -168,30 +169,7 @@ public class ExportControlled {
             throws IOException, SSLParamsException, FeatureNotAvailableException {
         PropertySet pset = socketConnection.getPropertySet();
 
-        SslMode sslMode = pset.<SslMode>getEnumProperty(PropertyKey.sslMode).getValue();
-        boolean fipsCompliantJsse = pset.getBooleanProperty(PropertyKey.fipsCompliantJsse).getValue();
-        boolean verifyServerCert = fipsCompliantJsse || sslMode == SslMode.VERIFY_CA || sslMode == SslMode.VERIFY_IDENTITY;
-        boolean fallbackToSystemTrustStore = pset.getBooleanProperty(PropertyKey.fallbackToSystemTrustStore).getValue();
-
-        KeyStoreConfigurations trustStoreConfigs = !verifyServerCert ? new KeyStoreConfigurations() : getTrustStoreConfigurations(pset);
-        if (serverVersion == null && verifyServerCert && !fallbackToSystemTrustStore && StringUtils.isNullOrEmpty(trustStoreConfigs.keyStoreUrl)) {
-            // If serverVersion == null then this was called from the X DevAPI.
-            throw new CJCommunicationsException("No truststore provided to verify the Server certificate.");
-        }
-
-        SslContextBuilder sslContextBuilder = new SslContextBuilder();
-        sslContextBuilder.setKeyStoreSettings(getKeyStoreConfigurations(pset));
-        sslContextBuilder.setTrustStoreSettings(trustStoreConfigs);
-        sslContextBuilder.setVerifyServerCertificate(verifyServerCert);
-        sslContextBuilder.setFallbackToSystemTrustStore(fallbackToSystemTrustStore);
-        sslContextBuilder.setFipsCompliantJsse(fipsCompliantJsse);
-        sslContextBuilder.setKeyManagerFactoryProvider(pset.getStringProperty(PropertyKey.keyManagerFactoryProvider).getValue());
-        sslContextBuilder.setTrustManagerFactoryProvider(pset.getStringProperty(PropertyKey.trustManagerFactoryProvider).getValue());
-        sslContextBuilder.setKeyStoreProvider(pset.getStringProperty(PropertyKey.keyStoreProvider).getValue());
-        sslContextBuilder.setSslContextProvider(pset.getStringProperty(PropertyKey.sslContextProvider).getValue());
-        sslContextBuilder.setExceptionInterceptor(socketConnection.getExceptionInterceptor());
-
-        SSLContext sslContext = sslContextBuilder.build();
+        SSLContext sslContext = createSSLContext(socketConnection, serverVersion);
         SSLSocketFactory socketFactory = sslContext.getSocketFactory();
         SSLSocket sslSocket = (SSLSocket) socketFactory.createSocket(rawSocket, socketConnection.getHost(), socketConnection.getPort(), true);
 
@@ -205,13 +183,61 @@ public class ExportControlled {
 
         sslSocket.startHandshake();
 
-        // Verify server identity post TLS handshake.
+        verifyServerIdentity(sslSocket.getSession(), socketConnection);
+
+        return sslSocket;
+    }
+
+    /**
+     * Creates a client mode {@link SSLEngine} for the host and port of the given SocketConnection, configured with the same key stores, trust stores, TLS
+     * versions and cipher suites as sockets converted by {@link #performTlsHandshake(Socket, SocketConnection, ServerVersion, Log)}.
+     * <p>
+     * The caller performs the TLS handshake and must then call {@link #verifyServerIdentity(SSLSession, SocketConnection)}.
+     *
+     * @param socketConnection
+     *            the SocketConnection the engine is created for
+     * @param serverVersion
+     *            ServerVersion object, or null for X Protocol connections
+     * @return SSL engine
+     * @throws SSLParamsException
+     *             if the SSL context cannot be created
+     */
+    public static SSLEngine createSSLEngine(SocketConnection socketConnection, ServerVersion serverVersion) throws SSLParamsException {
+        PropertySet pset = socketConnection.getPropertySet();
+
+        SSLContext sslContext = createSSLContext(socketConnection, serverVersion);
+        SSLEngine sslEngine = sslContext.createSSLEngine(socketConnection.getHost(), socketConnection.getPort());
+        sslEngine.setUseClientMode(true);
+
+        sslEngine.setEnabledProtocols(getAllowedProtocols(pset, sslEngine.getSupportedProtocols()));
+
+        String[] allowedCiphers = getAllowedCiphers(pset, Arrays.asList(sslEngine.getEnabledCipherSuites()));
+        if (allowedCiphers != null) {
+            sslEngine.setEnabledCipherSuites(allowedCiphers);
+        }
+
+        return sslEngine;
+    }
+
+    /**
+     * Verifies the server identity post TLS handshake, if required by 'sslMode'.
+     *
+     * @param session
+     *            the SSL session established with the server
+     * @param socketConnection
+     *            the SocketConnection the session was established for
+     * @throws IOException
+     *             if the server certificate does not match the host name
+     * @throws SSLParamsException
+     *             if the server certificate cannot be read
+     */
+    public static void verifyServerIdentity(SSLSession session, SocketConnection socketConnection) throws IOException, SSLParamsException {
+        SslMode sslMode = socketConnection.getPropertySet().<SslMode>getEnumProperty(PropertyKey.sslMode).getValue();
         if (sslMode == SslMode.VERIFY_IDENTITY) {
             String hostname = socketConnection.getHost();
             if (!StringUtils.isNullOrEmpty(hostname)) {
                 HostnameChecker hostnameChecker = new HostnameChecker(socketConnection.getHost());
 
-                SSLSession session = sslSocket.getSession();
                 Certificate[] peerCerts = session.getPeerCertificates();
 
                 X509Certificate peerCert;
@@ -229,8 +255,35 @@ public class ExportControlled {
                 }
             }
         }
+    }
 
-        return sslSocket;
+    private static SSLContext createSSLContext(SocketConnection socketConnection, ServerVersion serverVersion) throws SSLParamsException {
+        PropertySet pset = socketConnection.getPropertySet();
+
+        SslMode sslMode = pset.<SslMode>getEnumProperty(PropertyKey.sslMode).getValue();
+        boolean fipsCompliantJsse = pset.getBooleanProperty(PropertyKey.fipsCompliantJsse).getValue();
+        boolean verifyServerCert = fipsCompliantJsse || sslMode == SslMode.VERIFY_CA || sslMode == SslMode.VERIFY_IDENTITY;
+        boolean fallbackToSystemTrustStore = pset.getBooleanProperty(PropertyKey.fallbackToSystemTrustStore).getValue();
+
+        KeyStoreConfigurations trustStoreConfigs = !verifyServerCert ? new KeyStoreConfigurations() : getTrustStoreConfigurations(pset);
+        if (serverVersion == null && verifyServerCert && !fallbackToSystemTrustStore && StringUtils.isNullOrEmpty(trustStoreConfigs.keyStoreUrl)) {
+            // If serverVersion == null then this was called from the X DevAPI.
+            throw new CJCommunicationsException("No truststore provided to verify the Server certificate.");
+        }
+
+        SslContextBuilder sslContextBuilder = new SslContextBuilder();
+        sslContextBuilder.setKeyStoreSettings(getKeyStoreConfigurations(pset));
+        sslContextBuilder.setTrustStoreSettings(trustStoreConfigs);
+        sslContextBuilder.setVerifyServerCertificate(verifyServerCert);
+        sslContextBuilder.setFallbackToSystemTrustStore(fallbackToSystemTrustStore);
+        sslContextBuilder.setFipsCompliantJsse(fipsCompliantJsse);
+        sslContextBuilder.setKeyManagerFactoryProvider(pset.getStringProperty(PropertyKey.keyManagerFactoryProvider).getValue());
+        sslContextBuilder.setTrustManagerFactoryProvider(pset.getStringProperty(PropertyKey.trustManagerFactoryProvider).getValue());
+        sslContextBuilder.setKeyStoreProvider(pset.getStringProperty(PropertyKey.keyStoreProvider).getValue());
+        sslContextBuilder.setSslContextProvider(pset.getStringProperty(PropertyKey.sslContextProvider).getValue());
+        sslContextBuilder.setExceptionInterceptor(socketConnection.getExceptionInterceptor());
+
+        return sslContextBuilder.build();
     }
 
     public static boolean isSSLEstablished(Socket socket) {
@@ -20,10 +20,6 @@
 
 package com.mysql.cj.result;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.TreeMap;
-
 import com.mysql.cj.protocol.ColumnDefinition;
 
 /**
@@ -34,23 +30,15 @@ public class DefaultColumnDefinition implements ColumnDefinition {
 
     protected Field[] fields;
 
-    /** Map column names (and all of their permutations) to column indices */
-    private Map<String, Integer> columnLabelToIndex = null;
-
-    /**
-     * The above map is a case-insensitive tree-map, it can be slow, this caches lookups into that map, because the other alternative is to create new
-     * object instances for every call to findColumn()....
-     */
-    private Map<String, Integer> columnToIndexCache = new HashMap<>();
-
-    /** Map of fully-specified column names to column indices */
-    private Map<String, Integer> fullColumnNameToIndex = null;
-
-    /** Map column names (and all of their permutations) to column indices */
-    private Map<String, Integer> columnNameToIndex = null;
+    /** Case-insensitive index of column labels and names, possibly shared with other column definitions with the same metadata */
+    private ColumnLabelIndex columnLabelIndex = null;
 
+    /** Whether the column label index is known to apply to the fields of this column definition */
     private boolean builtIndexMapping = false;
 
+    /** Column definition that shares its column label index with this one, e.g., the metadata returned when preparing a server-side prepared statement */
+    private ColumnDefinition columnLabelIndexSource = null;
+
     public DefaultColumnDefinition() {
     }
 
@@ -58,6 +46,20 @@ public class DefaultColumnDefinition implements ColumnDefinition {
         this.fields = fields;
     }
 
+    /**
+     * Creates a column definition that reuses the column label index of another column definition, as long as the column labels and names of both match. If
+     * the other column definition has no index yet, it gets the one built for this column definition.
+     *
+     * @param fields
+     *            the fields of this column definition
+     * @param columnLabelIndexSource
+     *            the column definition to share the column label index with
+     */
+    public DefaultColumnDefinition(Field[] fields, ColumnDefinition columnLabelIndexSource) {
+        this.fields = fields;
+        this.columnLabelIndexSource = columnLabelIndexSource;
+    }
+
     @Override
     public Field[] getFields() {
         return this.fields;
@@ -66,45 +68,27 @@ public class DefaultColumnDefinition implements ColumnDefinition {
     @Override
     public void setFields(Field[] fields) {
         this.fields = fields;
+        this.builtIndexMapping = false;
     }
 
-    @Override
-
     /**
-     * Builds a hash between column names and their indices for fast retrieval.
+     * Builds a case-insensitive index between column names and their indices for fast retrieval.
      */
+    @Override
     public void buildIndexMapping() {
-        int numFields = this.fields.length;
-        this.columnLabelToIndex = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        this.fullColumnNameToIndex = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        this.columnNameToIndex = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-
-        // We do this in reverse order, so that the 'first' column with a given name ends up as the final mapping in the hashtable...
-        //
-        // Quoting the JDBC Spec:
-        //
-        // "Column names used as input to getter methods are case insensitive. When a getter method is called with a column name and several columns have the
-        // same name, the value of the first matching column will be returned. "
-        //
-        for (int i = numFields - 1; i >= 0; i--) {
-            Integer index = Integer.valueOf(i);
-            String columnName = this.fields[i].getOriginalName();
-            String columnLabel = this.fields[i].getName();
-            String fullColumnName = this.fields[i].getFullName();
-
-            if (columnLabel != null) {
-                this.columnLabelToIndex.put(columnLabel, index);
-            }
-
-            if (fullColumnName != null) {
-                this.fullColumnNameToIndex.put(fullColumnName, index);
-            }
+        ColumnLabelIndex index = this.columnLabelIndex;
+        if (index == null && this.columnLabelIndexSource != null) {
+            index = this.columnLabelIndexSource.getColumnLabelIndex();
+        }
 
-            if (columnName != null) {
-                this.columnNameToIndex.put(columnName, index);
+        if (index == null || !index.isIndexOf(this.fields)) {
+            index = new ColumnLabelIndex(this.fields);
+            if (this.columnLabelIndexSource != null) {
+                this.columnLabelIndexSource.setColumnLabelIndex(index);
             }
         }
 
+        this.columnLabelIndex = index;
         // set the flag to prevent rebuilding...
         this.builtIndexMapping = true;
     }
@@ -115,88 +99,39 @@ public class DefaultColumnDefinition implements ColumnDefinition {
     }
 
     @Override
-    public Map<String, Integer> getColumnLabelToIndex() {
-        return this.columnLabelToIndex;
-    }
-
-    @Override
-    public void setColumnLabelToIndex(Map<String, Integer> columnLabelToIndex) {
-        this.columnLabelToIndex = columnLabelToIndex;
-    }
-
-    @Override
-    public Map<String, Integer> getFullColumnNameToIndex() {
-        return this.fullColumnNameToIndex;
-    }
-
-    @Override
-    public void setFullColumnNameToIndex(Map<String, Integer> fullColNameToIndex) {
-        this.fullColumnNameToIndex = fullColNameToIndex;
-    }
-
-    @Override
-    public Map<String, Integer> getColumnNameToIndex() {
-        return this.columnNameToIndex;
-    }
-
-    @Override
-    public void setColumnNameToIndex(Map<String, Integer> colNameToIndex) {
-        this.columnNameToIndex = colNameToIndex;
-    }
-
-    @Override
-    public Map<String, Integer> getColumnToIndexCache() {
-        return this.columnToIndexCache;
+    public ColumnLabelIndex getColumnLabelIndex() {
+        return this.columnLabelIndex;
     }
 
     @Override
-    public void setColumnToIndexCache(Map<String, Integer> columnToIndexCache) {
-        this.columnToIndexCache = columnToIndexCache;
+    public void setColumnLabelIndex(ColumnLabelIndex columnLabelIndex) {
+        this.columnLabelIndex = columnLabelIndex;
+        this.builtIndexMapping = false;
     }
 
     @Override
     public void initializeFrom(ColumnDefinition columnDefinition) {
         this.fields = columnDefinition.getFields();
-        this.columnLabelToIndex = columnDefinition.getColumnNameToIndex();
-        this.fullColumnNameToIndex = columnDefinition.getFullColumnNameToIndex();
-        this.builtIndexMapping = true;
+        this.columnLabelIndex = columnDefinition.getColumnLabelIndex();
+        this.builtIndexMapping = this.columnLabelIndex != null;
     }
 
     @Override
     public void exportTo(ColumnDefinition columnDefinition) {
         columnDefinition.setFields(this.fields);
-        columnDefinition.setColumnNameToIndex(this.columnLabelToIndex);
-        columnDefinition.setFullColumnNameToIndex(this.fullColumnNameToIndex);
+        columnDefinition.setColumnLabelIndex(this.columnLabelIndex);
     }
 
     @Override
     public int findColumn(String columnName, boolean useColumnNamesInFindColumn, int indexBase) {
-        Integer index;
-
         if (!hasBuiltIndexMapping()) {
             buildIndexMapping();
         }
 
-        index = this.columnToIndexCache.get(columnName);
-
-        if (index != null) {
-            return index.intValue() + indexBase;
-        }
-
-        index = this.columnLabelToIndex.get(columnName);
-
-        if (index == null && useColumnNamesInFindColumn) {
-            index = this.columnNameToIndex.get(columnName);
-        }
-
-        if (index == null) {
-            index = this.fullColumnNameToIndex.get(columnName);
-        }
-
-        if (index != null) {
-            this.columnToIndexCache.put(columnName, index);
+        int index = this.columnLabelIndex.findColumn(columnName, useColumnNamesInFindColumn);
 
-            return index.intValue() + indexBase;
+        if (index != -1) {
+            return index + indexBase;
         }
 
         // Try this inefficient way, now
@@ -43,9 +43,8 @@ public class DurationValueFactory extends AbstractDateTimeValueFactory<Duration>
 
     @Override
     public Duration localCreateFromTime(InternalTime it) {
-        String ptn = (it.getHours() < 0 ? "-PT" : "PT") + (it.getHours() < 0 ? -it.getHours() : it.getHours()) + "H" + it.getMinutes() + "M" + it.getSeconds()
-                + "." + it.getNanos() + "S";
-        return Duration.parse(ptn);
+        Duration d = Duration.ofSeconds(Math.abs((long) it.getHours()) * 3600 + it.getMinutes() * 60L + it.getSeconds(), it.getNanos());
+        return it.isNegative() || it.getHours() < 0 ? d.negated() : d;
     }
 
     @Override
@@ -53,6 +53,8 @@ import com.mysql.cj.util.TimeUtil;
 
 public abstract class AbstractValueEncoder implements ValueEncoder {
 
+    private static final byte[] BINARY_INTRODUCER_AND_QUOTE = StringUtils.getBytes("_binary'");
+
     protected PropertySet propertySet;
     protected ServerSession serverSession;
     protected ExceptionInterceptor exceptionInterceptor;
@@ -77,10 +79,14 @@ public abstract class AbstractValueEncoder implements ValueEncoder {
         return StringUtils.getBytes(getString(binding), this.charEncoding.getValue());
     }
 
+    /**
+     * Writes the text representation of the value, as returned by {@link #getString(BindValue)}, directly into the packet. Encoders overriding
+     * {@link #getBytes(BindValue)} must override this method too.
+     */
     @Override
     public void encodeAsText(Message msg, BindValue binding) {
         NativePacketPayload intoPacket = (NativePacketPayload) msg;
-        intoPacket.writeBytes(StringLengthDataType.STRING_FIXED, getBytes(binding));
+        intoPacket.writeString(getString(binding), this.charEncoding.getValue());
     }
 
     @Override
@@ -242,6 +248,73 @@ public abstract class AbstractValueEncoder implements ValueEncoder {
         return bOut.toByteArray();
     }
 
+    /**
+     * Writes the given bytes into the packet, escaped in the same way as {@link #escapeBytesIfNeeded(byte[])} does, without intermediate buffers.
+     *
+     * @param intoPacket
+     *            the packet to write to
+     * @param x
+     *            the bytes to escape
+     */
+    protected void writeEscapedBytes(NativePacketPayload intoPacket, byte[] x) {
+        if (this.serverSession.isNoBackslashEscapesSet() || this.serverSession.getCharsetSettings().isMultibyteCharset(this.charEncoding.getValue())) {
+            // Send as hex
+            intoPacket.ensureCapacity(x.length * 2 + 3);
+            int start = intoPacket.getPosition();
+            intoPacket.writeBytes(StringLengthDataType.STRING_FIXED, x);
+            intoPacket.hexEscape(start);
+            return;
+        }
+
+        // escape them
+        intoPacket.ensureCapacity(x.length + 9);
+        intoPacket.writeBytes(StringLengthDataType.STRING_FIXED, BINARY_INTRODUCER_AND_QUOTE);
+        int lastWritten = 0;
+        for (int i = 0; i < x.length; i++) {
+            byte escaped = escapedByte(x[i]);
+            if (escaped != 0) {
+                if (i > lastWritten) {
+                    intoPacket.writeBytes(StringLengthDataType.STRING_FIXED, x, lastWritten, i - lastWritten);
+                }
+                intoPacket.writeInteger(IntegerDataType.INT1, '\\');
+                intoPacket.writeInteger(IntegerDataType.INT1, escaped);
+                lastWritten = i + 1;
+            }
+        }
+        if (lastWritten < x.length) {
+            intoPacket.writeBytes(StringLengthDataType.STRING_FIXED, x, lastWritten, x.length - lastWritten);
+        }
+        intoPacket.writeInteger(IntegerDataType.INT1, '\'');
+    }
+
+    /**
+     * Returns the char that follows the backslash when escaping the given byte, as in {@link StringUtils#escapeBytes(ByteArrayOutputStream, byte[])}.
+     *
+     * @param b
+     *            the byte to escape
+     * @return the escape char or 0 if the byte doesn't need to be escaped
+     */
+    private static byte escapedByte(byte b) {
+        switch (b) {
+            case 0: /* Must be escaped for 'mysql' */
+                return '0';
+            case '\n': /* Must be escaped for logs */
+                return 'n';
+            case '\r':
+                return 'r';
+            case '\\':
+                return '\\';
+            case '\'':
+                return '\'';
+            case '"': /* Better safe than sorry */
+                return '"';
+            case '\032': /* This gives problems on Win32 */
+                return 'Z';
+            default:
+                return 0;
+        }
+    }
+
     @Override
     public long getTextLength(BindValue binding) {
         if (binding.isNull()) {
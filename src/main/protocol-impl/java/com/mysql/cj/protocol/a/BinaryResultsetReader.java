@@ -35,6 +35,7 @@ import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
 import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
 import com.mysql.cj.protocol.a.result.OkPacket;
 import com.mysql.cj.protocol.a.result.ResultsetRowsCursor;
+import com.mysql.cj.protocol.a.result.ResultsetRowsSpillable;
 import com.mysql.cj.protocol.a.result.ResultsetRowsStatic;
 import com.mysql.cj.protocol.a.result.ResultsetRowsStreaming;
 
@@ -88,6 +89,11 @@ public class BinaryResultsetReader implements ProtocolEntityReader<Resultset, Na
             if (isCursorPossible && this.protocol.getServerSession().cursorExists()) {
                 rows = new ResultsetRowsCursor(this.protocol, cdef);
 
+            } else if (!streamResults && ResultsetRowsSpillable.isEnabled(this.protocol, resultSetFactory.getResultSetConcurrency())) {
+                ResultsetRowsSpillable spillableRows = new ResultsetRowsSpillable(this.protocol, cdef, true);
+                spillableRows.readRows(maxRows);
+                rows = spillableRows;
+
             } else if (!streamResults) {
                 BinaryRowFactory brf = new BinaryRowFactory(this.protocol, cdef, resultSetFactory.getResultSetConcurrency(), false);
 
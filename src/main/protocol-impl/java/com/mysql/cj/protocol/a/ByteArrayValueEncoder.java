@@ -29,6 +29,7 @@ import com.mysql.cj.conf.RuntimeProperty;
 import com.mysql.cj.exceptions.ExceptionInterceptor;
 import com.mysql.cj.protocol.Message;
 import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
 import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
 import com.mysql.cj.util.StringUtils;
 
@@ -51,6 +52,16 @@ public class ByteArrayValueEncoder extends AbstractValueEncoder {
         return (byte[]) binding.getValue();
     }
 
+    @Override
+    public void encodeAsText(Message msg, BindValue binding) {
+        NativePacketPayload intoPacket = (NativePacketPayload) msg;
+        if (binding.escapeBytesIfNeeded()) {
+            writeEscapedBytes(intoPacket, (byte[]) binding.getValue());
+        } else {
+            intoPacket.writeBytes(StringLengthDataType.STRING_FIXED, (byte[]) binding.getValue());
+        }
+    }
+
     @Override
     public String getString(BindValue binding) {
         if (binding.escapeBytesIfNeeded() && binding.getBinaryLength() <= this.maxByteArrayAsHex.getValue()) {
@@ -24,13 +24,23 @@ import java.sql.Clob;
 
 import com.mysql.cj.BindValue;
 import com.mysql.cj.exceptions.ExceptionFactory;
+import com.mysql.cj.protocol.Message;
 
 public class ClobValueEncoder extends ReaderValueEncoder {
 
     @Override
     public byte[] getBytes(BindValue binding) {
         try {
-            return readBytes(((Clob) binding.getValue()).getCharacterStream(), binding);
+            return readBytes(((Clob) binding.getValue()).getCharacterStream(), binding, null);
+        } catch (Throwable t) {
+            throw ExceptionFactory.createException(t.getMessage(), t, this.exceptionInterceptor);
+        }
+    }
+
+    @Override
+    public void encodeAsText(Message msg, BindValue binding) {
+        try {
+            readBytes(((Clob) binding.getValue()).getCharacterStream(), binding, (NativePacketPayload) msg);
         } catch (Throwable t) {
             throw ExceptionFactory.createException(t.getMessage(), t, this.exceptionInterceptor);
         }
@@ -51,6 +51,7 @@ public class MergingColumnDefinitionFactory extends ColumnDefinitionFactory impl
             for (int i = 0; i < fields.length; i++) {
                 fields[i].setFlags(f[i].getFlags());
             }
+            return new DefaultColumnDefinition(fields, this.columnDefinitionFromCache);
         }
         return new DefaultColumnDefinition(fields);
     }
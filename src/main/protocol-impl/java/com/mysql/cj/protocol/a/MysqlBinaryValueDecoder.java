@@ -135,16 +135,16 @@ public class MysqlBinaryValueDecoder implements ValueDecoder {
         minutes = bytes[offset + 6];
         seconds = bytes[offset + 7];
 
-        if (negative) {
-            days *= -1;
-        }
-
         if (length > NativeConstants.BIN_LEN_TIME_NO_FRAC) {
             // MySQL PS protocol uses microseconds
             nanos = 1000 * (bytes[offset + 8] & 0xff | (bytes[offset + 9] & 0xff) << 8 | (bytes[offset + 10] & 0xff) << 16 | (bytes[offset + 11] & 0xff) << 24);
         }
 
-        return vf.createFromTime(new InternalTime(days * 24 + hours, minutes, seconds, nanos, scale));
+        // the sign applies to the whole value, which is returned with negative hours as the text protocol decoder does
+        hours += days * 24;
+        InternalTime internalTime = new InternalTime(negative ? -hours : hours, minutes, seconds, nanos, scale);
+        internalTime.setNegative(negative);
+        return vf.createFromTime(internalTime);
     }
 
     @Override
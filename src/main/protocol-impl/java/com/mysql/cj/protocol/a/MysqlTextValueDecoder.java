@@ -65,6 +65,16 @@ public class MysqlTextValueDecoder implements ValueDecoder {
     /** Max string length of a signed long = 9223372036854775807 (19+1 for minus sign) */
     public static final int MAX_SIGNED_LONG_LEN = 20;
 
+    /** Max number of significant digits of a decimal value that are always exactly representable as a double */
+    private static final int MAX_EXACT_DOUBLE_DIGITS = 15;
+
+    /** Max number of digits of a decimal value that always fit in an unscaled long */
+    private static final int MAX_UNSCALED_LONG_DIGITS = 18;
+
+    /** Powers of ten that are exactly representable as doubles */
+    private static final double[] EXACT_DOUBLE_POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+            1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
     @Override
     public <T> T decodeDate(byte[] bytes, int offset, int length, ValueFactory<T> vf) {
         return vf.createFromDate(getDate(bytes, offset, length));
@@ -141,8 +151,7 @@ public class MysqlTextValueDecoder implements ValueDecoder {
 
     @Override
     public <T> T decodeDecimal(byte[] bytes, int offset, int length, ValueFactory<T> vf) {
-        BigDecimal d = new BigDecimal(StringUtils.toAsciiCharArray(bytes, offset, length));
-        return vf.createFromBigDecimal(d);
+        return vf.createFromBigDecimal(getBigDecimal(bytes, offset, length));
     }
 
     @Override
@@ -253,8 +262,138 @@ public class MysqlTextValueDecoder implements ValueDecoder {
         return i;
     }
 
-    public static Double getDouble(byte[] bytes, int offset, int length) {
-        return Double.parseDouble(StringUtils.toAsciiString(bytes, offset, length));
+    /**
+     * Parses a floating point value directly from its ASCII representation.
+     * <p>
+     * Values with up to 15 significant digits and a decimal exponent within [-22, 22] are computed from an exact long mantissa and an exact power of ten, which
+     * gives the correctly rounded result without creating any intermediate String. Other values are delegated to {@link Double#parseDouble(String)}.
+     *
+     * @param bytes
+     *            bytes array with the value
+     * @param offset
+     *            offset in array
+     * @param length
+     *            value length
+     * @return the parsed value
+     */
+    public static double getDouble(byte[] bytes, int offset, int length) {
+        int pos = offset;
+        int end = offset + length;
+
+        boolean negative = false;
+        if (pos < end && (bytes[pos] == '-' || bytes[pos] == '+')) {
+            negative = bytes[pos] == '-';
+            pos++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+
+        for (; pos < end; pos++) {
+            byte b = bytes[pos];
+            if (b >= '0' && b <= '9') {
+                seenDigit = true;
+                if (mantissa == 0 && b == '0') {
+                    // leading zeros are not significant
+                    if (seenPoint) {
+                        exponent--;
+                    }
+                    continue;
+                }
+                if (++digits > MAX_EXACT_DOUBLE_DIGITS) {
+                    return Double.parseDouble(StringUtils.toAsciiString(bytes, offset, length));
+                }
+                mantissa = mantissa * 10 + b - '0';
+                if (seenPoint) {
+                    exponent--;
+                }
+            } else if (b == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                break;
+            }
+        }
+
+        if (seenDigit && pos < end && (bytes[pos] == 'e' || bytes[pos] == 'E')) {
+            pos++;
+            boolean negativeExponent = false;
+            if (pos < end && (bytes[pos] == '-' || bytes[pos] == '+')) {
+                negativeExponent = bytes[pos] == '-';
+                pos++;
+            }
+            int exponentStart = pos;
+            int explicitExponent = 0;
+            for (; pos < end && pos - exponentStart < 4 && bytes[pos] >= '0' && bytes[pos] <= '9'; pos++) {
+                explicitExponent = explicitExponent * 10 + bytes[pos] - '0';
+            }
+            if (pos == exponentStart) {
+                seenDigit = false; // malformed exponent
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        if (!seenDigit || pos != end || exponent < -22 || exponent > 22) {
+            return Double.parseDouble(StringUtils.toAsciiString(bytes, offset, length));
+        }
+
+        double d = exponent < 0 ? mantissa / EXACT_DOUBLE_POWERS_OF_TEN[-exponent] : mantissa * EXACT_DOUBLE_POWERS_OF_TEN[exponent];
+        return negative ? -d : d;
+    }
+
+    /**
+     * Parses a decimal value directly from its ASCII representation.
+     * <p>
+     * Values with up to 18 digits are accumulated in an unscaled long, without creating any intermediate String or char array. Other values are delegated to
+     * {@link BigDecimal#BigDecimal(char[])}.
+     *
+     * @param bytes
+     *            bytes array with the value
+     * @param offset
+     *            offset in array
+     * @param length
+     *            value length
+     * @return the parsed value
+     */
+    public static BigDecimal getBigDecimal(byte[] bytes, int offset, int length) {
+        int pos = offset;
+        int end = offset + length;
+
+        boolean negative = false;
+        if (pos < end && (bytes[pos] == '-' || bytes[pos] == '+')) {
+            negative = bytes[pos] == '-';
+            pos++;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean seenPoint = false;
+
+        for (; pos < end; pos++) {
+            byte b = bytes[pos];
+            if (b >= '0' && b <= '9') {
+                if (++digits > MAX_UNSCALED_LONG_DIGITS) {
+                    break;
+                }
+                unscaled = unscaled * 10 + b - '0';
+                if (seenPoint) {
+                    scale++;
+                }
+            } else if (b == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                break;
+            }
+        }
+
+        if (digits == 0 || pos != end) {
+            return new BigDecimal(StringUtils.toAsciiCharArray(bytes, offset, length));
+        }
+
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
     }
 
     public static boolean isDate(String s) {
@@ -352,7 +491,10 @@ public class MysqlTextValueDecoder implements ValueDecoder {
             nanos = nanos * (int) Math.pow(10, 9 - segmentLen);
         }
 
-        return new InternalTime(hours, minutes, seconds, nanos, scale);
+        InternalTime internalTime = new InternalTime(hours, minutes, seconds, nanos, scale);
+        // keeps the sign of values below one hour
+        internalTime.setNegative(negative);
+        return internalTime;
     }
 
     public static InternalTimestamp getTimestamp(byte[] bytes, int offset, int length, int scale) {
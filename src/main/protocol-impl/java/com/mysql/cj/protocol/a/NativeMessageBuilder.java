@@ -21,14 +21,13 @@
 package com.mysql.cj.protocol.a;
 
 import java.util.List;
+import java.util.Objects;
 
 import com.mysql.cj.BindValue;
 import com.mysql.cj.Constants;
 import com.mysql.cj.MessageBuilder;
 import com.mysql.cj.Messages;
-import com.mysql.cj.MysqlType;
 import com.mysql.cj.NativeQueryAttributesBindings;
-import com.mysql.cj.NativeQueryBindValue;
 import com.mysql.cj.PreparedQuery;
 import com.mysql.cj.Query;
 import com.mysql.cj.QueryAttributesBindings;
@@ -45,6 +44,32 @@ import com.mysql.cj.util.StringUtils;
 public class NativeMessageBuilder implements MessageBuilder<NativePacketPayload> {
 
     private boolean supportsQueryAttributes = true;
+    private NativeQueryAttributesBindings reusableQueryAttributesBindings = null;
+    private StatementComment statementComment = null;
+
+    /**
+     * The last statement comment built by this builder, along with the values it was built from.
+     */
+    private static class StatementComment {
+
+        final String queryComment;
+        final String threadName;
+        final String characterEncoding;
+        final byte[] bytes;
+
+        StatementComment(String queryComment, String threadName, String characterEncoding, byte[] bytes) {
+            this.queryComment = queryComment;
+            this.threadName = threadName;
+            this.characterEncoding = characterEncoding;
+            this.bytes = bytes;
+        }
+
+        boolean matches(String otherQueryComment, String otherThreadName, String otherCharacterEncoding) {
+            return Objects.equals(this.queryComment, otherQueryComment) && Objects.equals(this.threadName, otherThreadName)
+                    && Objects.equals(this.characterEncoding, otherCharacterEncoding);
+        }
+
+    }
 
     public NativeMessageBuilder(boolean supportsQueryAttributes) {
         this.supportsQueryAttributes = supportsQueryAttributes;
@@ -67,53 +92,118 @@ public class NativeMessageBuilder implements MessageBuilder<NativePacketPayload>
 
     public NativePacketPayload buildComQuery(NativePacketPayload sharedPacket, Session sess, byte[] query) {
         NativePacketPayload packet = sharedPacket != null ? sharedPacket : new NativePacketPayload(query.length + 1);
+        writeComQueryHeader(packet, sess);
+        packet.writeBytes(StringLengthDataType.STRING_FIXED, query);
+        return packet;
+    }
+
+    public NativePacketPayload buildComQuery(NativePacketPayload sharedPacket, Session sess, String query) {
+        return buildComQuery(sharedPacket, sess, query, null);
+    }
+
+    public NativePacketPayload buildComQuery(NativePacketPayload sharedPacket, Session sess, String query, String encoding) {
+        // Sized for single byte chars; the packet grows while encoding if needed.
+        NativePacketPayload packet = sharedPacket != null ? sharedPacket : new NativePacketPayload(query.length() + 1);
+        writeComQueryHeader(packet, sess);
+        packet.writeString(query, encoding);
+        return packet;
+    }
+
+    private void writeComQueryHeader(NativePacketPayload packet, Session sess) {
         packet.writeInteger(IntegerDataType.INT1, NativeConstants.COM_QUERY);
 
         if (this.supportsQueryAttributes) {
             // CLIENT_QUERY_ATTRIBUTES capability has been negotiated but, since this method is used solely to run queries internally and it is not bound to any
             // Statement object, no query attributes are ever set. It remains to inject telemetry context propagation query attribute if telemetry is enabled.
-
-            BindValue queryAttribute = new NativeQueryBindValue(sess); // Required for telemetry context propagation.
-            sess.getTelemetryHandler().propagateContext((k, v) -> {
-                queryAttribute.setName(k);
-                queryAttribute.setBinding(v, MysqlType.CHAR, 0, null);
-            });
-
-            if (queryAttribute.getName() == null) { // Telemetry context propagation attribute wasn't set.
-                packet.writeInteger(IntegerDataType.INT_LENENC, 0); // parameter_count (always 0)
-                packet.writeInteger(IntegerDataType.INT_LENENC, 1); // parameter_set_count (always 1)
-
-            } else {
-                packet.writeInteger(IntegerDataType.INT_LENENC, 1); // parameter_count (always 1, for telemetry context propagation)
-                packet.writeInteger(IntegerDataType.INT_LENENC, 1); // parameter_set_count (always 1)
-                packet.writeInteger(IntegerDataType.INT1, 0); // null_bitmap (always 0, no nulls)
-                packet.writeInteger(IntegerDataType.INT1, 1); // new_params_bind_flag (always 1)
-                packet.writeInteger(IntegerDataType.INT2, queryAttribute.getFieldType()); // param_type_and_flag
-                packet.writeBytes(StringSelfDataType.STRING_LENENC, queryAttribute.getName().getBytes()); // parameter_name
-                queryAttribute.writeAsQueryAttribute(packet); // parameter_value
+            QueryAttributesBindings queryAttributesBindings = getReusableQueryAttributesBindings(sess);
+            try {
+                sess.getTelemetryHandler().propagateContext(queryAttributesBindings::setAttribute);
+                writeQueryAttributes(packet, queryAttributesBindings);
+            } finally {
+                // Shared by all queries, so it must be left empty even if writing failed.
+                queryAttributesBindings.clearAttributes();
             }
-
         }
+    }
 
-        packet.writeBytes(StringLengthDataType.STRING_FIXED, query);
-        return packet;
+    /**
+     * Returns the query attributes bindings reused by all the queries this builder creates that are not bound to a {@link Query} with its own attributes. It is
+     * always empty between calls, so the telemetry context propagation attribute can be injected into it without allocating a new bindings object per query.
+     *
+     * @param sess
+     *            the session this builder belongs to
+     * @return the reusable {@link QueryAttributesBindings}
+     */
+    private QueryAttributesBindings getReusableQueryAttributesBindings(Session sess) {
+        if (this.reusableQueryAttributesBindings == null) {
+            this.reusableQueryAttributesBindings = new NativeQueryAttributesBindings(sess);
+        }
+        return this.reusableQueryAttributesBindings;
     }
 
-    public NativePacketPayload buildComQuery(NativePacketPayload sharedPacket, Session sess, String query) {
-        return buildComQuery(sharedPacket, sess, StringUtils.getBytes(query));
+    /**
+     * Returns the statement comment to prepend to the queries as bytes, i.e., the session query comment followed by the current thread name if
+     * "includeThreadNamesAsStatementComment" is enabled. The bytes are cached and reused while the comment and encoding don't change.
+     *
+     * @param sess
+     *            the session this builder belongs to
+     * @param characterEncoding
+     *            the encoding to use
+     * @return the statement comment bytes, empty if there is no comment
+     */
+    private byte[] getStatementCommentBytes(Session sess, String characterEncoding) {
+        String queryComment = sess.getQueryComment();
+        String threadName = sess.getPropertySet().getBooleanProperty(PropertyKey.includeThreadNamesAsStatementComment).getValue()
+                ? Thread.currentThread().getName()
+                : null;
+        if (queryComment == null && threadName == null) {
+            return Constants.EMPTY_BYTE_ARRAY;
+        }
+
+        StatementComment comment = this.statementComment;
+        if (comment == null || !comment.matches(queryComment, threadName, characterEncoding)) {
+            String statementComment = threadName == null ? queryComment : (queryComment != null ? queryComment + ", " : "") + "java thread: " + threadName;
+            this.statementComment = comment = new StatementComment(queryComment, threadName, characterEncoding,
+                    StringUtils.getBytes(statementComment, characterEncoding));
+        }
+        return comment.bytes;
     }
 
-    public NativePacketPayload buildComQuery(NativePacketPayload sharedPacket, Session sess, String query, String encoding) {
-        return buildComQuery(sharedPacket, sess, StringUtils.getBytes(query, encoding));
+    private static void writeQueryAttributes(NativePacketPayload packet, QueryAttributesBindings queryAttributesBindings) {
+        int count = queryAttributesBindings.getCount();
+        if (count > 0) {
+            packet.writeInteger(IntegerDataType.INT_LENENC, count);
+            packet.writeInteger(IntegerDataType.INT_LENENC, 1); // parameter_set_count (always 1)
+            for (int b = 0; b < count; b += 8) { // null_bitmap
+                int nullBits = 0;
+                for (int i = b; i < count && i < b + 8; i++) {
+                    if (queryAttributesBindings.getAttributeValue(i).isNull()) {
+                        nullBits |= 1 << (i & 7);
+                    }
+                }
+                packet.writeInteger(IntegerDataType.INT1, nullBits);
+            }
+            packet.writeInteger(IntegerDataType.INT1, 1); // new_params_bind_flag (always 1)
+            for (int i = 0; i < count; i++) {
+                BindValue queryAttribute = queryAttributesBindings.getAttributeValue(i);
+                packet.writeInteger(IntegerDataType.INT2, queryAttribute.getFieldType()); // param_type_and_flag
+                packet.writeBytes(StringSelfDataType.STRING_LENENC, queryAttribute.getName().getBytes()); // parameter_name
+            }
+            for (int i = 0; i < count; i++) {
+                BindValue queryAttribute = queryAttributesBindings.getAttributeValue(i);
+                if (!queryAttribute.isNull()) {
+                    queryAttribute.writeAsQueryAttribute(packet); // parameter_value
+                }
+            }
+        } else {
+            packet.writeInteger(IntegerDataType.INT_LENENC, 0); // parameter_count
+            packet.writeInteger(IntegerDataType.INT_LENENC, 1); // parameter_set_count (always 1)
+        }
     }
 
     @Override
     public NativePacketPayload buildComQuery(NativePacketPayload sharedPacket, Session sess, String query, Query callingQuery, String characterEncoding) {
-        String statementComment = sess.getQueryComment();
-        if (sess.getPropertySet().getBooleanProperty(PropertyKey.includeThreadNamesAsStatementComment).getValue()) {
-            statementComment = (statementComment != null ? statementComment + ", " : "") + "java thread: " + Thread.currentThread().getName();
-        }
-        byte[] commentAsBytes = StringUtils.getBytes(statementComment, characterEncoding);
+        byte[] commentAsBytes = getStatementCommentBytes(sess, characterEncoding);
 
         QueryAttributesBindings queryAttributesBindings = null;
         if (!this.supportsQueryAttributes && callingQuery != null && callingQuery.getQueryAttributesBindings().getCount() > 0) {
@@ -121,90 +211,71 @@ public class NativeMessageBuilder implements MessageBuilder<NativePacketPayload>
         }
         if (this.supportsQueryAttributes && callingQuery != null) {
             queryAttributesBindings = callingQuery.getQueryAttributesBindings();
-        } else {
-            queryAttributesBindings = new NativeQueryAttributesBindings(sess); // Required for telemetry context propagation.
+        } else if (this.supportsQueryAttributes) {
+            queryAttributesBindings = getReusableQueryAttributesBindings(sess); // Required for telemetry context propagation.
         }
 
         boolean contextPropagationAttributeWasInjected = false;
-        final NativePacketPayload sendPacket;
-        if (sharedPacket != null) {
-            sendPacket = sharedPacket;
-        } else {
-            // Compute packet length. It's not possible to know exactly how many bytes will be obtained from the query, but UTF-8 max encoding length is 4, so
-            // pad it (4 * query) + space for headers
-            int packLength = 1 /* COM_QUERY */ + query.length() * 4 + 2;
-
-            if (commentAsBytes.length > 0) {
-                packLength += commentAsBytes.length;
-                packLength += 6; // for "/*[space]" + "[space]*/"
-            }
+        try {
+            final NativePacketPayload sendPacket;
+            if (sharedPacket != null) {
+                sendPacket = sharedPacket;
+            } else {
+                // Compute packet length. It's not possible to know exactly how many bytes will be obtained from the query, so size it for single byte chars,
+                // the most common case, + space for headers. The packet grows while encoding the query if needed.
+                int packLength = 1 /* COM_QUERY */ + query.length() + 2;
 
-            if (this.supportsQueryAttributes) {
-                if (!queryAttributesBindings.containsAttribute(sess.getTelemetryHandler().getContextPropagationKey())) {
-                    sess.getTelemetryHandler().propagateContext(queryAttributesBindings::setAttribute);
-                    contextPropagationAttributeWasInjected = true;
+                if (commentAsBytes.length > 0) {
+                    packLength += commentAsBytes.length;
+                    packLength += 6; // for "/*[space]" + "[space]*/"
                 }
-                if (queryAttributesBindings.getCount() > 0) {
-                    packLength += 9 /* parameter_count */ + 1 /* parameter_set_count */;
-                    packLength += (queryAttributesBindings.getCount() + 7) / 8 /* null_bitmap */ + 1 /* new_params_bind_flag */;
-                    for (int i = 0; i < queryAttributesBindings.getCount(); i++) {
-                        BindValue queryAttribute = queryAttributesBindings.getAttributeValue(i);
-                        packLength += 2 /* parameter_type */ + queryAttribute.getName().length() /* parameter_name */ + queryAttribute.getBinaryLength();
+
+                if (this.supportsQueryAttributes) {
+                    if (!queryAttributesBindings.containsAttribute(sess.getTelemetryHandler().getContextPropagationKey())) {
+                        sess.getTelemetryHandler().propagateContext(queryAttributesBindings::setAttribute);
+                        contextPropagationAttributeWasInjected = true;
+                    }
+                    if (queryAttributesBindings.getCount() > 0) {
+                        packLength += 9 /* parameter_count */ + 1 /* parameter_set_count */;
+                        packLength += (queryAttributesBindings.getCount() + 7) / 8 /* null_bitmap */ + 1 /* new_params_bind_flag */;
+                        for (int i = 0; i < queryAttributesBindings.getCount(); i++) {
+                            BindValue queryAttribute = queryAttributesBindings.getAttributeValue(i);
+                            packLength += 2 /* parameter_type */ + queryAttribute.getName().length() /* parameter_name */ + queryAttribute.getBinaryLength();
+                        }
+                    } else {
+                        packLength += 1 /* parameter_count */ + 1 /* parameter_set_count */;
                     }
-                } else {
-                    packLength += 1 /* parameter_count */ + 1 /* parameter_set_count */;
                 }
+
+                sendPacket = new NativePacketPayload(packLength);
             }
 
-            sendPacket = new NativePacketPayload(packLength);
-        }
+            sendPacket.setPosition(0);
+            sendPacket.writeInteger(IntegerDataType.INT1, NativeConstants.COM_QUERY);
 
-        sendPacket.setPosition(0);
-        sendPacket.writeInteger(IntegerDataType.INT1, NativeConstants.COM_QUERY);
+            if (this.supportsQueryAttributes) {
+                writeQueryAttributes(sendPacket, queryAttributesBindings);
+            }
+            sendPacket.setTag("QUERY");
 
-        if (this.supportsQueryAttributes) {
-            if (queryAttributesBindings != null && queryAttributesBindings.getCount() > 0) {
-                sendPacket.writeInteger(IntegerDataType.INT_LENENC, queryAttributesBindings.getCount());
-                sendPacket.writeInteger(IntegerDataType.INT_LENENC, 1); // parameter_set_count (always 1)
-                byte[] nullBitsBuffer = new byte[(queryAttributesBindings.getCount() + 7) / 8];
-                for (int i = 0; i < queryAttributesBindings.getCount(); i++) {
-                    if (queryAttributesBindings.getAttributeValue(i).isNull()) {
-                        nullBitsBuffer[i >>> 3] |= 1 << (i & 7);
-                    }
-                }
-                sendPacket.writeBytes(StringLengthDataType.STRING_VAR, nullBitsBuffer);
-                sendPacket.writeInteger(IntegerDataType.INT1, 1); // new_params_bind_flag (always 1)
-                queryAttributesBindings.runThroughAll(a -> {
-                    sendPacket.writeInteger(IntegerDataType.INT2, a.getFieldType());
-                    sendPacket.writeBytes(StringSelfDataType.STRING_LENENC, a.getName().getBytes());
-                });
-                queryAttributesBindings.runThroughAll(a -> {
-                    if (!a.isNull()) {
-                        a.writeAsQueryAttribute(sendPacket);
-                    }
-                });
+            if (commentAsBytes.length > 0) {
+                sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, Constants.SLASH_STAR_SPACE_AS_BYTES);
+                sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, commentAsBytes);
+                sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, Constants.SPACE_STAR_SLASH_SPACE_AS_BYTES);
+            }
+
+            if (!sess.getServerSession().getCharsetSettings().doesPlatformDbCharsetMatches() && StringUtils.startsWithIgnoreCaseAndWs(query, "LOAD DATA")) {
+                sendPacket.writeString(query, null);
             } else {
-                sendPacket.writeInteger(IntegerDataType.INT_LENENC, 0);
-                sendPacket.writeInteger(IntegerDataType.INT_LENENC, 1); // parameter_set_count (always 1)
+                sendPacket.writeString(query, characterEncoding);
             }
+            return sendPacket;
+        } finally {
+            // The bindings outlive this query, so the injected attribute must be removed even if building the packet failed.
             if (contextPropagationAttributeWasInjected) {
                 queryAttributesBindings.removeAttribute(sess.getTelemetryHandler().getContextPropagationKey());
             }
         }
-        sendPacket.setTag("QUERY");
-
-        if (commentAsBytes.length > 0) {
-            sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, Constants.SLASH_STAR_SPACE_AS_BYTES);
-            sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, commentAsBytes);
-            sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, Constants.SPACE_STAR_SLASH_SPACE_AS_BYTES);
-        }
-
-        if (!sess.getServerSession().getCharsetSettings().doesPlatformDbCharsetMatches() && StringUtils.startsWithIgnoreCaseAndWs(query, "LOAD DATA")) {
-            sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, StringUtils.getBytes(query));
-        } else {
-            sendPacket.writeBytes(StringLengthDataType.STRING_FIXED, StringUtils.getBytes(query, characterEncoding));
-        }
-        return sendPacket;
     }
 
     @Override
@@ -218,36 +289,16 @@ public class NativeMessageBuilder implements MessageBuilder<NativePacketPayload>
 
         boolean contextPropagationAttributeWasInjected = false;
         if (this.supportsQueryAttributes) {
-            if (!queryAttributesBindings.containsAttribute(sess.getTelemetryHandler().getContextPropagationKey())) {
-                sess.getTelemetryHandler().propagateContext(queryAttributesBindings::setAttribute);
-                contextPropagationAttributeWasInjected = true;
-            }
-            if (queryAttributesBindings.getCount() > 0) {
-                sendPacket.writeInteger(IntegerDataType.INT_LENENC, queryAttributesBindings.getCount());
-                sendPacket.writeInteger(IntegerDataType.INT_LENENC, 1); // parameter_set_count (always 1)
-                byte[] nullBitsBuffer = new byte[(queryAttributesBindings.getCount() + 7) / 8];
-                for (int i = 0; i < queryAttributesBindings.getCount(); i++) {
-                    if (queryAttributesBindings.getAttributeValue(i).isNull()) {
-                        nullBitsBuffer[i >>> 3] |= 1 << (i & 7);
-                    }
+            try {
+                if (!queryAttributesBindings.containsAttribute(sess.getTelemetryHandler().getContextPropagationKey())) {
+                    sess.getTelemetryHandler().propagateContext(queryAttributesBindings::setAttribute);
+                    contextPropagationAttributeWasInjected = true;
+                }
+                writeQueryAttributes(sendPacket, queryAttributesBindings);
+            } finally {
+                if (contextPropagationAttributeWasInjected) {
+                    queryAttributesBindings.removeAttribute(sess.getTelemetryHandler().getContextPropagationKey());
                 }
-                sendPacket.writeBytes(StringLengthDataType.STRING_VAR, nullBitsBuffer);
-                sendPacket.writeInteger(IntegerDataType.INT1, 1); // new_params_bind_flag (always 1)
-                queryAttributesBindings.runThroughAll(a -> {
-                    sendPacket.writeInteger(IntegerDataType.INT2, a.getFieldType());
-                    sendPacket.writeBytes(StringSelfDataType.STRING_LENENC, a.getName().getBytes());
-                });
-                queryAttributesBindings.runThroughAll(a -> {
-                    if (!a.isNull()) {
-                        a.writeAsQueryAttribute(sendPacket);
-                    }
-                });
-            } else {
-                sendPacket.writeInteger(IntegerDataType.INT_LENENC, 0);
-                sendPacket.writeInteger(IntegerDataType.INT_LENENC, 1); // parameter_set_count (always 1)
-            }
-            if (contextPropagationAttributeWasInjected) {
-                queryAttributesBindings.removeAttribute(sess.getTelemetryHandler().getContextPropagationKey());
             }
         } else if (queryAttributesBindings.getCount() > 0) {
             sess.getLog().logWarn(Messages.getString("QueryAttributes.SetButNotSupported"));
@@ -20,8 +20,18 @@
 
 package com.mysql.cj.protocol.a;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.mysql.cj.Constants;
 import com.mysql.cj.Messages;
@@ -67,7 +77,29 @@ public class NativePacketPayload implements Message {
 
     static final int MAX_BYTES_TO_DUMP = 1024;
 
-    private Map<String, Integer> tags = new HashMap<>();
+    /**
+     * Position tags, created on first use as only a few packets built by the driver are tagged.
+     */
+    private Map<String, Integer> tags = null;
+
+    /**
+     * Length of the longest strings encoded into an intermediate byte array, small enough for the array to be allocated as an ordinary object.
+     */
+    private static final int MAX_CHARS_ENCODED_AT_ONCE = 64 * 1024;
+
+    /**
+     * Encoding last written with {@link #writeString(CharSequence, int, int, String)}, which is most often the one of the next string.
+     */
+    private EncodingInfo lastEncodingInfo = null;
+
+    /**
+     * Charsets, and how they encode single byte chars, by Java encoding name, so that each name is resolved only once.
+     */
+    private static final Map<String, EncodingInfo> ENCODING_INFOS = new ConcurrentHashMap<>();
+    private static final EncodingInfo DEFAULT_ENCODING_INFO = new EncodingInfo(null, Charset.defaultCharset());
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LONG_MIN_VALUE_AS_TEXT = String.valueOf(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
 
     @Override
     public String toString() {
@@ -491,6 +523,208 @@ public class NativePacketPayload implements Message {
         adjustPayloadLength();
     }
 
+    /**
+     * Encode the given chars using the given Java encoding and write them into internal buffer starting with current buffer position, as in
+     * {@link StringLengthDataType#STRING_FIXED}.
+     * Strings of up to {@link #MAX_CHARS_ENCODED_AT_ONCE} chars are encoded by {@link String#getBytes(Charset)}, which the JDK optimizes far better than any
+     * char loop, and copied into the buffer. Longer strings and other char sequences are encoded directly into the buffer, which grows as needed, so that
+     * no large intermediate byte array is created: ASCII chars, or Latin-1 chars for ISO-8859-1, are copied with a simple loop when the encoding maps them
+     * to single bytes of the same value. Unmappable chars are replaced in the same way {@link String#getBytes(String)} does.
+     *
+     * @param s
+     *            chars to write
+     * @param encoding
+     *            Java encoding name or null for the platform default encoding
+     */
+    public void writeString(CharSequence s, String encoding) {
+        writeString(s, 0, s.length(), encoding);
+    }
+
+    /**
+     * Encode the chars from start (inclusive) to end (exclusive) of the given sequence, as in {@link #writeString(CharSequence, String)}.
+     *
+     * @param s
+     *            chars to write
+     * @param start
+     *            index of the first char to write
+     * @param end
+     *            index after the last char to write
+     * @param encoding
+     *            Java encoding name or null for the platform default encoding
+     */
+    public void writeString(CharSequence s, int start, int end, String encoding) {
+        EncodingInfo encodingInfo = getEncodingInfo(encoding);
+
+        if (s instanceof String && end - start <= MAX_CHARS_ENCODED_AT_ONCE) {
+            byte[] b = ((String) s).substring(start, end).getBytes(encodingInfo.charset);
+            ensureCapacity(b.length);
+            System.arraycopy(b, 0, this.byteBuffer, this.position, b.length);
+            this.position += b.length;
+            adjustPayloadLength();
+            return;
+        }
+
+        int len = end;
+        int i = start;
+
+        int singleByteCharLimit = encodingInfo.singleByteCharLimit;
+        if (singleByteCharLimit > 0) {
+            // Copy the single byte prefix in a single pass, stopping at the first char that needs the encoder.
+            ensureCapacity(len - start);
+            byte[] buf = this.byteBuffer;
+            int pos = this.position;
+            for (; i < len; i++) {
+                char c = s.charAt(i);
+                if (c >= singleByteCharLimit) {
+                    break;
+                }
+                buf[pos++] = (byte) c;
+            }
+            this.position = pos;
+        }
+
+        if (i < len) {
+            CharsetEncoder encoder = encodingInfo.charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            CharBuffer in = CharBuffer.wrap(s, i, len);
+            ensureCapacity((int) Math.min(Integer.MAX_VALUE - 8, (long) Math.ceil(in.remaining() * (double) encoder.averageBytesPerChar())));
+            ByteBuffer out = ByteBuffer.wrap(this.byteBuffer, this.position, this.byteBuffer.length - this.position);
+
+            while (true) {
+                CoderResult cr = in.hasRemaining() ? encoder.encode(in, out, true) : CoderResult.UNDERFLOW;
+                if (cr.isUnderflow()) {
+                    cr = encoder.flush(out);
+                    if (cr.isUnderflow()) {
+                        break;
+                    }
+                }
+                // Only overflows are possible here, as errors are replaced. Grow the buffer by, at least, the number of chars left.
+                this.position = out.position();
+                ensureCapacity(Math.max(in.remaining(), (int) Math.ceil(encoder.maxBytesPerChar())));
+                out = ByteBuffer.wrap(this.byteBuffer, this.position, this.byteBuffer.length - this.position);
+            }
+            this.position = out.position();
+        }
+
+        adjustPayloadLength();
+    }
+
+    /**
+     * Write the decimal representation of the given value, as ASCII digits, into internal buffer starting with current buffer position.
+     *
+     * @param l
+     *            value to write
+     */
+    public void writeIntegerAsText(long l) {
+        if (l == Long.MIN_VALUE) {
+            writeBytes(StringLengthDataType.STRING_FIXED, LONG_MIN_VALUE_AS_TEXT);
+            return;
+        }
+
+        int digits = 1;
+        long abs = l < 0 ? -l : l;
+        for (long p = 10; digits < 19 && abs >= p; p *= 10) {
+            digits++;
+        }
+        int len = l < 0 ? digits + 1 : digits;
+        ensureCapacity(len);
+
+        byte[] b = this.byteBuffer;
+        int pos = this.position + len;
+        do {
+            b[--pos] = (byte) ('0' + abs % 10);
+            abs /= 10;
+        } while (abs != 0);
+        if (l < 0) {
+            b[--pos] = '-';
+        }
+        this.position += len;
+
+        adjustPayloadLength();
+    }
+
+    /**
+     * Replace the bytes written from the given position up to the current position by their SQL hex literal, i.e., x'&lt;hex digits&gt;', in place.
+     *
+     * @param fromPosition
+     *            position of the first byte to escape
+     */
+    public void hexEscape(int fromPosition) {
+        int len = this.position - fromPosition;
+        ensureCapacity(len + 3);
+
+        // Move the bytes to the end of the resulting literal and expand them from its beginning. Writes never overtake the bytes not yet read.
+        byte[] b = this.byteBuffer;
+        int readPos = fromPosition + len + 3;
+        System.arraycopy(b, fromPosition, b, readPos, len);
+        int pos = fromPosition;
+        b[pos++] = 'x';
+        b[pos++] = '\'';
+        for (int i = 0; i < len; i++) {
+            byte v = b[readPos + i];
+            b[pos++] = HEX_DIGITS[v >>> 4 & 0xF];
+            b[pos++] = HEX_DIGITS[v & 0xF];
+        }
+        b[pos++] = '\'';
+        this.position = pos;
+
+        adjustPayloadLength();
+    }
+
+    /**
+     * Resolves the given Java encoding name, reusing the last encoding written or, otherwise, the ones already resolved.
+     *
+     * @param encoding
+     *            Java encoding name or null for the platform default encoding
+     * @return the charset and single byte chars limit of the encoding
+     */
+    private EncodingInfo getEncodingInfo(String encoding) {
+        if (encoding == null) {
+            return DEFAULT_ENCODING_INFO;
+        }
+        EncodingInfo encodingInfo = this.lastEncodingInfo;
+        if (encodingInfo != null && encodingInfo.encoding.equals(encoding)) {
+            return encodingInfo;
+        }
+
+        encodingInfo = ENCODING_INFOS.get(encoding);
+        if (encodingInfo == null) {
+            Charset cs;
+            try {
+                cs = Charset.forName(encoding);
+            } catch (UnsupportedCharsetException | IllegalCharsetNameException ex) {
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("StringUtils.0", new Object[] { encoding }), ex);
+            }
+            encodingInfo = new EncodingInfo(encoding, cs);
+            ENCODING_INFOS.putIfAbsent(encoding, encodingInfo);
+        }
+        this.lastEncodingInfo = encodingInfo;
+        return encodingInfo;
+    }
+
+    private static int singleByteCharLimit(Charset cs) {
+        if (!cs.canEncode()) {
+            return 0;
+        }
+        if (cs.equals(StandardCharsets.ISO_8859_1)) {
+            return 0x100;
+        }
+        char[] ascii = new char[0x80];
+        for (int c = 0; c < ascii.length; c++) {
+            ascii[c] = (char) c;
+        }
+        ByteBuffer encoded = cs.encode(CharBuffer.wrap(ascii));
+        if (encoded.remaining() != ascii.length) {
+            return 0;
+        }
+        for (int c = 0; c < ascii.length; c++) {
+            if (encoded.get() != c) {
+                return 0;
+            }
+        }
+        return 0x80;
+    }
+
     /**
      * Read bytes from internal buffer starting from current position into the new byte array.
      * The length of data to read depends on {@link StringSelfDataType}.
@@ -679,6 +913,9 @@ public class NativePacketPayload implements Message {
      *         the previous value of this tag, if there was one, or -1.
      */
     public int setTag(String key) {
+        if (this.tags == null) {
+            this.tags = new HashMap<>(2);
+        }
         Integer pos = this.tags.put(key, getPosition());
         return pos == null ? -1 : pos;
     }
@@ -692,8 +929,29 @@ public class NativePacketPayload implements Message {
      *         the position value of this tag, if there was one, or -1.
      */
     public int getTag(String key) {
+        if (this.tags == null) {
+            return -1;
+        }
         Integer pos = this.tags.get(key);
         return pos == null ? -1 : pos;
     }
 
+    /**
+     * A resolved Java encoding.
+     */
+    private static final class EncodingInfo {
+
+        final String encoding;
+        final Charset charset;
+        /** Upper bound (exclusive) of the chars encoded as the single byte of the same value, or 0 if the charset is not ASCII compatible. */
+        final int singleByteCharLimit;
+
+        EncodingInfo(String encoding, Charset charset) {
+            this.encoding = encoding;
+            this.charset = charset;
+            this.singleByteCharLimit = singleByteCharLimit(charset);
+        }
+
+    }
+
 }
@@ -131,6 +131,7 @@ import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
 import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
 import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
 import com.mysql.cj.protocol.a.result.OkPacket;
+import com.mysql.cj.protocol.a.result.ResultsetRowsStreaming;
 import com.mysql.cj.result.Field;
 import com.mysql.cj.result.IntegerValueFactory;
 import com.mysql.cj.result.Row;
@@ -191,6 +192,16 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
 
     private int commandCount = 0;
 
+    /**
+     * Maximum number of bytes of pipelined commands written before reading their responses. Writing is bounded so that commands not yet read by the server
+     * always fit in the socket buffers: otherwise, the server could block writing the results of earlier commands while this side blocks writing the
+     * following commands, never reading those results.
+     */
+    private static final int PIPELINE_WINDOW_SIZE = 16 * 1024;
+
+    /** Set while reading the responses of pipelined commands, when unread data in the input stream belongs to commands not processed yet. */
+    private boolean readingPipelinedResults = false;
+
     protected boolean hadWarnings = false;
     private int warningCount = 0;
 
@@ -866,6 +877,10 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     }
 
     public void clearInputStream() {
+        if (this.readingPipelinedResults) {
+            return;
+        }
+
         try {
             int len;
 
@@ -1031,6 +1046,178 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         }
     }
 
+    /**
+     * Send several queries stored in packets to the server, back-to-back, and only then read their results, in the same order the queries were sent.
+     * Instead of paying one network round-trip per query, queries are written to the socket in windows of up to {@link #PIPELINE_WINDOW_SIZE} bytes, and the
+     * results of each window are read before writing the next one.
+     * <p>
+     * Errors returned by the server are attributed to the query that caused them and don't prevent the results of the remaining queries from being read.
+     * Results are always fully buffered, as the responses of the following queries can't be reached before the previous ones are consumed. Communication
+     * failures abort the whole pipeline.
+     * <p>
+     * If 'jdbcCompliantTruncation' is in effect, each query is followed in the pipeline by a 'SHOW WARNINGS', as the warnings of a query are lost once the
+     * server executes the next one, and data truncation warnings are reported as the failure of the query that caused them.
+     * <p>
+     * Queries are sent one at a time instead if query interceptors are configured, so that each interceptor sees the same sequence of events it would see
+     * when queries are executed individually, or if 'includeInnodbStatusInDeadlockExceptions' is in effect, as the diagnostics it requests after a deadlock
+     * must be collected before the server executes the next query.
+     *
+     * @param <T>
+     *            extends {@link Resultset}
+     * @param callingQuery
+     *            {@link Query}
+     * @param queryPackets
+     *            list of {@link NativePacketPayload}s, each one containing a complete COM_QUERY command
+     * @param maxRows
+     *            rows limit
+     * @param cachedMetadata
+     *            use this metadata instead of the one provided on wire
+     * @param resultSetFactory
+     *            {@link ProtocolEntityFactory}
+     * @param errors
+     *            array with the same length as the list of query packets that gets filled with the exception thrown by each failed query
+     * @return list of results, in the same order of the query packets; elements corresponding to failed queries are <code>null</code>
+     * @throws IOException
+     *             if an i/o error occurs
+     */
+    public final <T extends Resultset> List<T> sendPipelinedQueryPackets(Query callingQuery, List<NativePacketPayload> queryPackets, int maxRows,
+            ColumnDefinition cachedMetadata, ProtocolEntityFactory<T, NativePacketPayload> resultSetFactory, CJException[] errors) throws IOException {
+        List<T> results = new ArrayList<>(queryPackets.size());
+
+        if (this.queryInterceptors != null || this.propertySet.getBooleanProperty(PropertyKey.includeInnodbStatusInDeadlockExceptions).getValue()) {
+            for (int i = 0; i < queryPackets.size(); i++) {
+                try {
+                    results.add(sendQueryPacket(callingQuery, queryPackets.get(i), maxRows, false, cachedMetadata, resultSetFactory));
+                } catch (CJCommunicationsException e) {
+                    throw e;
+                } catch (CJException e) {
+                    errors[i] = e;
+                    results.add(null);
+                }
+            }
+            return results;
+        }
+
+        final long queryStartTime = getCurrentTimeNanosOrMillis();
+
+        this.statementExecutionDepth++;
+
+        try {
+            checkForOutstandingStreamingData();
+
+            if (this.useCompression) {
+                int bytesLeft = this.socketConnection.getMysqlInput().available();
+
+                if (bytesLeft > 0) {
+                    this.socketConnection.getMysqlInput().skip(bytesLeft);
+                }
+            }
+
+            clearInputStream();
+
+            NativePacketPayload showWarningsPacket = this.propertySet.getBooleanProperty(PropertyKey.jdbcCompliantTruncation).getValue()
+                    ? getNativeMessageBuilder().buildComQuery(null, this.session, "SHOW WARNINGS")
+                    : null;
+            int showWarningsLength = showWarningsPacket == null ? 0 : showWarningsPacket.getPosition() + NativeConstants.HEADER_LENGTH;
+
+            int windowStart = 0;
+            while (windowStart < queryPackets.size()) {
+                int windowEnd = windowStart;
+                try {
+                    int windowBytes = 0;
+                    do {
+                        NativePacketPayload queryPacket = queryPackets.get(windowEnd++);
+                        this.commandCount++;
+                        this.packetSequence = -1;
+                        send(queryPacket, queryPacket.getPosition());
+                        windowBytes += queryPacket.getPosition() + NativeConstants.HEADER_LENGTH;
+                        if (showWarningsPacket != null) {
+                            this.commandCount++;
+                            this.packetSequence = -1;
+                            send(showWarningsPacket, showWarningsPacket.getPosition());
+                            windowBytes += showWarningsLength;
+                        }
+                    } while (windowEnd < queryPackets.size() && windowBytes + queryPackets.get(windowEnd).getPosition() + NativeConstants.HEADER_LENGTH
+                            + showWarningsLength <= PIPELINE_WINDOW_SIZE);
+                } catch (CJException ex) {
+                    // don't wrap CJExceptions
+                    throw ex;
+                } catch (Exception ex) {
+                    throw ExceptionFactory.createCommunicationsException(this.propertySet, this.serverSession, getPacketSentTimeHolder(),
+                            getPacketReceivedTimeHolder(), ex, getExceptionInterceptor());
+                }
+
+                boolean failed = false;
+                this.readingPipelinedResults = true;
+                try {
+                    for (int i = windowStart; i < windowEnd; i++) {
+                        this.serverSession.setStatusFlags(0, true);
+                        this.hadWarnings = false;
+                        setWarningCount(0);
+                        this.packetReader.resetMessageSequence();
+
+                        try {
+                            NativePacketPayload resultPacket = checkErrorMessage(NativeConstants.COM_QUERY);
+                            results.add(readAllResults(maxRows, false, resultPacket, false, cachedMetadata, resultSetFactory));
+                        } catch (CJCommunicationsException e) {
+                            throw e;
+                        } catch (CJException e) {
+                            this.serverSession.preserveOldTransactionState();
+                            errors[i] = e;
+                            results.add(null);
+                            failed = true;
+                        }
+
+                        if (showWarningsPacket != null) {
+                            boolean checkWarnings = errors[i] == null && this.hadWarnings;
+                            int warningCountOld = getWarningCount();
+                            this.packetReader.resetMessageSequence();
+                            try {
+                                NativePacketPayload resultPacket = checkErrorMessage(NativeConstants.COM_QUERY);
+                                if (checkWarnings) {
+                                    convertShowWarningsResultsToSQLWarnings(resultPacket, false, true);
+                                } else {
+                                    readAllResults(-1, false, resultPacket, false, null, new ResultsetFactory(Type.FORWARD_ONLY, Concurrency.READ_ONLY));
+                                }
+                            } catch (CJCommunicationsException e) {
+                                throw e;
+                            } catch (CJException e) {
+                                if (checkWarnings) {
+                                    // data truncation fails the query, as if it were executed alone
+                                    errors[i] = e;
+                                    results.set(i, null);
+                                }
+                                failed = true;
+                            }
+                            setWarningCount(warningCountOld);
+                        }
+                    }
+                } finally {
+                    this.readingPipelinedResults = false;
+                }
+
+                if (failed) {
+                    // the input stream was left as is after the errors, while it held the responses of the following commands
+                    clearInputStream();
+                }
+                windowStart = windowEnd;
+            }
+
+            if (callingQuery != null) {
+                callingQuery.setExecuteTime(getCurrentTimeNanosOrMillis() - queryStartTime);
+            }
+
+            return results;
+
+        } catch (CJException e) {
+            this.serverSession.preserveOldTransactionState();
+            throw e;
+
+        } finally {
+            this.statementExecutionDepth--;
+        }
+    }
+
     public <T extends Resultset> T invokeQueryInterceptorsPre(Supplier<String> sql, Query interceptedQuery, boolean forceExecute) {
         T previousResultSet = null;
 
@@ -1216,6 +1403,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
      *
      */
     public final void quit() {
+        cancelStreamingReadAhead();
         try {
             try {
                 if (!ExportControlled.isSSLEstablished(this.socketConnection.getMysqlSocket())) { // Fix for Bug#56979 does not apply to secure sockets.
@@ -1322,11 +1510,23 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     }
 
     public void releaseResources() {
+        cancelStreamingReadAhead();
         if (this.compressedPacketSender != null) {
             this.compressedPacketSender.stop();
         }
     }
 
+    /**
+     * Stops the background reading of the rows of the streaming result set in progress, if any, so that its reader thread doesn't wait for a consumer
+     * after the connection is closed.
+     */
+    private void cancelStreamingReadAhead() {
+        ResultsetRows streamer = this.streamingData;
+        if (streamer instanceof ResultsetRowsStreaming) {
+            ((ResultsetRowsStreaming<?>) streamer).cancelReadAhead();
+        }
+    }
+
     @Override
     public void connect(String user, String password, String database) {
         // session creation & initialization happens here
@@ -1635,7 +1835,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
             }
         }
 
-        if (this.hadWarnings) {
+        if (this.hadWarnings && !this.readingPipelinedResults) { // pipelined queries are followed by their own 'SHOW WARNINGS'
             scanForAndThrowDataTruncation();
         }
 
@@ -2074,9 +2274,6 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
             return null;
         }
 
-        SQLWarning currentWarning = null;
-        ResultsetRows rows = null;
-
         TelemetrySpan span = this.session.getTelemetryHandler().startSpan(TelemetrySpanName.SHOW_WARNINGS);
         try (TelemetryScope scope = span.makeCurrent()) {
             span.setAttribute(TelemetryAttribute.DB_NAME, this.session.getHostInfo().getDatabase());
@@ -2091,61 +2288,83 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
                 NativePacketPayload resultPacket = sendCommand(getNativeMessageBuilder().buildComQuery(getSharedSendPacket(), this.session, "SHOW WARNINGS"),
                         false, 0);
 
-                Resultset warnRs = readAllResults(-1, this.warningCount > 99 /* stream large warning counts */, resultPacket, false, null,
-                        new ResultsetFactory(Type.FORWARD_ONLY, Concurrency.READ_ONLY));
+                return convertShowWarningsResultsToSQLWarnings(resultPacket, this.warningCount > 99 /* stream large warning counts */, forTruncationOnly);
+            } catch (IOException ex) {
+                throw ExceptionFactory.createException(ex.getMessage(), ex);
+            }
+        } catch (Throwable t) {
+            span.setError(t);
+            throw t;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Reads the results of a 'SHOW WARNINGS' and turns them into JDBC SQLWarning instances.
+     *
+     * @param resultPacket
+     *            the first packet of the response to 'SHOW WARNINGS'
+     * @param streamResults
+     *            whether to stream the warnings instead of buffering them
+     * @param forTruncationOnly
+     *            if this method should only scan for data truncation warnings, and throw them as an exception
+     * @return the SQLWarning chain (or null if no warnings)
+     * @throws IOException
+     *             if an i/o error occurs
+     */
+    private SQLWarning convertShowWarningsResultsToSQLWarnings(NativePacketPayload resultPacket, boolean streamResults, boolean forTruncationOnly)
+            throws IOException {
+        SQLWarning currentWarning = null;
+        ResultsetRows rows = null;
 
-                int codeFieldIndex = warnRs.getColumnDefinition().findColumn("Code", false, 1) - 1;
-                int messageFieldIndex = warnRs.getColumnDefinition().findColumn("Message", false, 1) - 1;
+        try {
+            Resultset warnRs = readAllResults(-1, streamResults, resultPacket, false, null, new ResultsetFactory(Type.FORWARD_ONLY, Concurrency.READ_ONLY));
 
-                ValueFactory<String> svf = new StringValueFactory(this.propertySet);
-                ValueFactory<Integer> ivf = new IntegerValueFactory(this.propertySet);
+            int codeFieldIndex = warnRs.getColumnDefinition().findColumn("Code", false, 1) - 1;
+            int messageFieldIndex = warnRs.getColumnDefinition().findColumn("Message", false, 1) - 1;
 
-                rows = warnRs.getRows();
-                Row r;
-                while ((r = rows.next()) != null) {
+            ValueFactory<String> svf = new StringValueFactory(this.propertySet);
+            ValueFactory<Integer> ivf = new IntegerValueFactory(this.propertySet);
 
-                    int code = r.getValue(codeFieldIndex, ivf);
+            rows = warnRs.getRows();
+            Row r;
+            while ((r = rows.next()) != null) {
 
-                    if (forTruncationOnly) {
-                        if (code == MysqlErrorNumbers.WARN_DATA_TRUNCATED || code == MysqlErrorNumbers.ER_WARN_DATA_OUT_OF_RANGE) {
-                            DataTruncation newTruncation = new MysqlDataTruncation(r.getValue(messageFieldIndex, svf), 0, false, false, 0, 0, code);
+                int code = r.getValue(codeFieldIndex, ivf);
 
-                            if (currentWarning == null) {
-                                currentWarning = newTruncation;
-                            } else {
-                                currentWarning.setNextWarning(newTruncation);
-                            }
-                        }
-                    } else {
-                        //String level = warnRs.getString("Level");
-                        String message = r.getValue(messageFieldIndex, svf);
+                if (forTruncationOnly) {
+                    if (code == MysqlErrorNumbers.WARN_DATA_TRUNCATED || code == MysqlErrorNumbers.ER_WARN_DATA_OUT_OF_RANGE) {
+                        DataTruncation newTruncation = new MysqlDataTruncation(r.getValue(messageFieldIndex, svf), 0, false, false, 0, 0, code);
 
-                        SQLWarning newWarning = new SQLWarning(message, MysqlErrorNumbers.mysqlToSqlstate(code), code);
                         if (currentWarning == null) {
-                            currentWarning = newWarning;
+                            currentWarning = newTruncation;
                         } else {
-                            currentWarning.setNextWarning(newWarning);
+                            currentWarning.setNextWarning(newTruncation);
                         }
                     }
-                }
+                } else {
+                    //String level = warnRs.getString("Level");
+                    String message = r.getValue(messageFieldIndex, svf);
 
-                if (forTruncationOnly && currentWarning != null) {
-                    throw ExceptionFactory.createException(currentWarning.getMessage(), currentWarning);
+                    SQLWarning newWarning = new SQLWarning(message, MysqlErrorNumbers.mysqlToSqlstate(code), code);
+                    if (currentWarning == null) {
+                        currentWarning = newWarning;
+                    } else {
+                        currentWarning.setNextWarning(newWarning);
+                    }
                 }
+            }
 
-                return currentWarning;
-            } catch (IOException ex) {
-                throw ExceptionFactory.createException(ex.getMessage(), ex);
-            } finally {
-                if (rows != null) {
-                    rows.close();
-                }
+            if (forTruncationOnly && currentWarning != null) {
+                throw ExceptionFactory.createException(currentWarning.getMessage(), currentWarning);
             }
-        } catch (Throwable t) {
-            span.setError(t);
-            throw t;
+
+            return currentWarning;
         } finally {
-            span.end();
+            if (rows != null) {
+                rows.close();
+            }
         }
     }
 
@@ -25,10 +25,13 @@ import com.mysql.cj.conf.PropertySet;
 import com.mysql.cj.exceptions.ExceptionInterceptor;
 import com.mysql.cj.protocol.Message;
 import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
 import com.mysql.cj.util.StringUtils;
 
 public class NullValueEncoder extends AbstractValueEncoder {
 
+    private static final byte[] NULL_BYTES = StringUtils.getBytes("null");
+
     @Override
     public void init(PropertySet pset, ServerSession serverSess, ExceptionInterceptor excInterceptor) {
         super.init(pset, serverSess, excInterceptor);
@@ -39,6 +42,11 @@ public class NullValueEncoder extends AbstractValueEncoder {
         return StringUtils.getBytes("null");
     }
 
+    @Override
+    public void encodeAsText(Message msg, BindValue binding) {
+        ((NativePacketPayload) msg).writeBytes(StringLengthDataType.STRING_FIXED, NULL_BYTES);
+    }
+
     @Override
     public String getString(BindValue binding) {
         return "NULL";
@@ -85,6 +85,34 @@ public class NumberValueEncoder extends AbstractValueEncoder {
         }
     }
 
+    @Override
+    public void encodeAsText(Message msg, BindValue binding) {
+        Number x = binding.getValue() instanceof BigDecimal ? getScaled((BigDecimal) binding.getValue(), binding.getScaleOrLength())
+                : (Number) binding.getValue();
+
+        NativePacketPayload intoPacket = (NativePacketPayload) msg;
+        switch (binding.getMysqlType()) {
+            case BIT:
+            case TINYINT:
+            case TINYINT_UNSIGNED:
+            case SMALLINT:
+            case SMALLINT_UNSIGNED:
+            case MEDIUMINT:
+            case MEDIUMINT_UNSIGNED:
+            case INT:
+            case YEAR:
+                intoPacket.writeIntegerAsText(x.intValue());
+                return;
+            case INT_UNSIGNED:
+            case BIGINT:
+            case BIGINT_UNSIGNED:
+                intoPacket.writeIntegerAsText(x.longValue());
+                return;
+            default:
+                super.encodeAsText(msg, binding);
+        }
+    }
+
     @Override
     public void encodeAsBinary(Message msg, BindValue binding) {
         Number x = binding.getValue() instanceof BigDecimal ? getScaled((BigDecimal) binding.getValue(), binding.getScaleOrLength())
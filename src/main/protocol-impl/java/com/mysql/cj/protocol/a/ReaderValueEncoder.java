@@ -37,7 +37,12 @@ public class ReaderValueEncoder extends AbstractValueEncoder {
 
     @Override
     public byte[] getBytes(BindValue binding) {
-        return readBytes((Reader) binding.getValue(), binding);
+        return readBytes((Reader) binding.getValue(), binding, null);
+    }
+
+    @Override
+    public void encodeAsText(Message msg, BindValue binding) {
+        readBytes((Reader) binding.getValue(), binding, (NativePacketPayload) msg);
     }
 
     @Override
@@ -50,7 +55,7 @@ public class ReaderValueEncoder extends AbstractValueEncoder {
         throw ExceptionFactory.createException(CJOperationNotSupportedException.class, "Not supported");
     }
 
-    protected byte[] readBytes(Reader reader, BindValue binding) {
+    protected byte[] readBytes(Reader reader, BindValue binding, NativePacketPayload packet) {
         try {
             char[] c = null;
             int len = 0;
@@ -75,7 +80,12 @@ public class ReaderValueEncoder extends AbstractValueEncoder {
                 }
                 bytes = StringUtils.getBytes(buf.toString(), clobEncoding);
             }
-            return escapeBytesIfNeeded(bytes);
+            if (packet == null) {
+                return escapeBytesIfNeeded(bytes);
+            }
+
+            writeEscapedBytes(packet, bytes);
+            return null;
 
         } catch (UnsupportedEncodingException uec) {
             throw ExceptionFactory.createException(WrongArgumentException.class, uec.toString(), uec, this.exceptionInterceptor);
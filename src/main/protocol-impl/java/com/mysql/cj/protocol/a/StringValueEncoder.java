@@ -22,6 +22,8 @@ package com.mysql.cj.protocol.a;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
 import java.time.Duration;
@@ -50,15 +52,27 @@ public class StringValueEncoder extends AbstractValueEncoder {
 
     /** Charset encoder used to escape if needed, such as Yen sign in SJIS */
     private CharsetEncoder charsetEncoder;
+    /** Do the Yen and Won signs have to be escaped, because they are encoded as backslash? */
+    private boolean escapeYenSign = false;
+    private boolean escapeWonSign = false;
 
     @Override
     public void init(PropertySet pset, ServerSession serverSess, ExceptionInterceptor excInterceptor) {
         super.init(pset, serverSess, excInterceptor);
         if (this.serverSession.getCharsetSettings().getRequiresEscapingEncoder()) {
             this.charsetEncoder = Charset.forName(this.charEncoding.getValue()).newEncoder();
+            this.escapeYenSign = isEncodedAsBackslash('\u00a5');
+            this.escapeWonSign = isEncodedAsBackslash('\u20a9');
         }
     }
 
+    private boolean isEncodedAsBackslash(char c) {
+        ByteBuffer bbuf = ByteBuffer.allocate(1);
+        this.charsetEncoder.encode(CharBuffer.wrap(new char[] { c }), bbuf, true);
+        this.charsetEncoder.reset();
+        return bbuf.get(0) == '\\';
+    }
+
     @Override
     public byte[] getBytes(BindValue binding) {
         switch (binding.getMysqlType()) {
@@ -113,6 +127,135 @@ public class StringValueEncoder extends AbstractValueEncoder {
         }
     }
 
+    @Override
+    public void encodeAsText(Message msg, BindValue binding) {
+        NativePacketPayload intoPacket = (NativePacketPayload) msg;
+        switch (binding.getMysqlType()) {
+            case NULL:
+                intoPacket.writeString("null", null);
+                return;
+            case CHAR:
+            case ENUM:
+            case SET:
+            case VARCHAR:
+            case TINYTEXT:
+            case TEXT:
+            case MEDIUMTEXT:
+            case LONGTEXT:
+            case JSON:
+            case BINARY:
+            case GEOMETRY:
+            case VARBINARY:
+            case TINYBLOB:
+            case BLOB:
+            case MEDIUMBLOB:
+            case LONGBLOB:
+                String x = (String) binding.getValue();
+                String encoding = this.charEncoding.getValue();
+                if (binding.isNational() && !encoding.equalsIgnoreCase("UTF-8") && !encoding.equalsIgnoreCase("utf8")) {
+                    // Add introducer _utf8 for NATIONAL CHARACTER
+                    intoPacket.writeString("_utf8", "UTF-8");
+                    writeEscapedString(intoPacket, x, "UTF-8", false);
+                    return;
+                }
+
+                if (!isEscapeNeededForString(x, x.length())) {
+                    intoPacket.writeInteger(IntegerDataType.INT1, '\'');
+                    intoPacket.writeString(x, encoding);
+                    intoPacket.writeInteger(IntegerDataType.INT1, '\'');
+                } else if (this.serverSession.isNoBackslashEscapesSet()) {
+                    int start = intoPacket.getPosition();
+                    intoPacket.writeString(x, encoding);
+                    intoPacket.hexEscape(start);
+                } else {
+                    writeEscapedString(intoPacket, x, encoding, true);
+                }
+                return;
+
+            default:
+                super.encodeAsText(msg, binding);
+        }
+    }
+
+    /**
+     * Writes the given string quoted and escaped into the packet, in the same way as
+     * {@link StringUtils#escapeString(StringBuilder, String, boolean, CharsetEncoder)} does, but without intermediate buffers.
+     *
+     * @param intoPacket
+     *            the packet to write to
+     * @param x
+     *            the string to write
+     * @param encoding
+     *            the Java encoding to use
+     * @param escapeBackslashLookalikes
+     *            should the chars encoded as backslash, such as Yen sign in SJIS, be escaped?
+     */
+    private void writeEscapedString(NativePacketPayload intoPacket, String x, String encoding, boolean escapeBackslashLookalikes) {
+        boolean useAnsiQuotedIdentifiers = this.serverSession.useAnsiQuotedIdentifiers();
+        int stringLength = x.length();
+        int lastWritten = 0;
+
+        intoPacket.writeInteger(IntegerDataType.INT1, '\'');
+        for (int i = 0; i < stringLength; ++i) {
+            char c = x.charAt(i);
+            byte escape = '\\';
+            char replacement = 0; // The char is kept as is unless it is replaced.
+            switch (c) {
+                case 0: /* Must be escaped for 'mysql' */
+                    replacement = '0';
+                    break;
+                case '\n': /* Must be escaped for logs */
+                    replacement = 'n';
+                    break;
+                case '\r':
+                    replacement = 'r';
+                    break;
+                case '\\':
+                    replacement = '\\';
+                    break;
+                case '\'':
+                    escape = '\'';
+                    replacement = '\'';
+                    break;
+                case '"': /* Better safe than sorry */
+                    if (!useAnsiQuotedIdentifiers) {
+                        continue;
+                    }
+                    break;
+                case '\032': /* This gives problems on Win32 */
+                    replacement = 'Z';
+                    break;
+                case '\u00a5':
+                    if (!escapeBackslashLookalikes || !this.escapeYenSign) {
+                        continue;
+                    }
+                    break;
+                case '\u20a9':
+                    if (!escapeBackslashLookalikes || !this.escapeWonSign) {
+                        continue;
+                    }
+                    break;
+                default:
+                    continue;
+            }
+
+            if (i > lastWritten) {
+                intoPacket.writeString(x, lastWritten, i, encoding);
+            }
+            intoPacket.writeInteger(IntegerDataType.INT1, escape);
+            if (replacement != 0) {
+                intoPacket.writeInteger(IntegerDataType.INT1, replacement);
+                lastWritten = i + 1;
+            } else {
+                lastWritten = i; // The escaped char is written with the next block.
+            }
+        }
+        if (stringLength > lastWritten) {
+            intoPacket.writeString(x, lastWritten, stringLength, encoding);
+        }
+        intoPacket.writeInteger(IntegerDataType.INT1, '\'');
+    }
+
     @Override
     public String getString(BindValue binding) {
         String x = (String) binding.getValue();
@@ -33,6 +33,7 @@ import com.mysql.cj.protocol.ResultsetRows;
 import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
 import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
 import com.mysql.cj.protocol.a.result.OkPacket;
+import com.mysql.cj.protocol.a.result.ResultsetRowsSpillable;
 import com.mysql.cj.protocol.a.result.ResultsetRowsStatic;
 import com.mysql.cj.protocol.a.result.ResultsetRowsStreaming;
 
@@ -65,7 +66,12 @@ public class TextResultsetReader implements ProtocolEntityReader<Resultset, Nati
 
             ResultsetRows rows = null;
 
-            if (!streamResults) {
+            if (!streamResults && ResultsetRowsSpillable.isEnabled(this.protocol, resultSetFactory.getResultSetConcurrency())) {
+                ResultsetRowsSpillable spillableRows = new ResultsetRowsSpillable(this.protocol, cdef, false);
+                spillableRows.readRows(maxRows);
+                rows = spillableRows;
+
+            } else if (!streamResults) {
                 TextRowFactory trf = new TextRowFactory(this.protocol, cdef, resultSetFactory.getResultSetConcurrency(), false);
                 ArrayList<ResultsetRow> rowList = new ArrayList<>();
 
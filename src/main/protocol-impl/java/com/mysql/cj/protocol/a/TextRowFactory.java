@@ -28,10 +28,18 @@ import com.mysql.cj.protocol.Resultset.Concurrency;
 import com.mysql.cj.protocol.ResultsetRow;
 import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
 import com.mysql.cj.protocol.a.result.ByteArrayRow;
+import com.mysql.cj.protocol.a.result.ReusableTextBufferRow;
 import com.mysql.cj.protocol.a.result.TextBufferRow;
 
 public class TextRowFactory extends AbstractRowFactory implements ProtocolEntityFactory<ResultsetRow, NativePacketPayload> {
 
+    /**
+     * Whether a single row object is used for all the rows created by this factory.
+     */
+    private boolean reuseRows;
+
+    private ReusableTextBufferRow reusableRow = null;
+
     public TextRowFactory(NativeProtocol protocol, ColumnDefinition colDefinition, Resultset.Concurrency resultSetConcurrency,
             boolean canReuseRowPacketForBufferRow) {
         this.columnDefinition = colDefinition;
@@ -40,10 +48,21 @@ public class TextRowFactory extends AbstractRowFactory implements ProtocolEntity
         this.useBufferRowSizeThreshold = protocol.getPropertySet().getMemorySizeProperty(PropertyKey.largeRowSizeThreshold);
         this.exceptionInterceptor = protocol.getExceptionInterceptor();
         this.valueDecoder = new MysqlTextValueDecoder();
+        this.reuseRows = canReuseRowPacketForBufferRow && resultSetConcurrency == Concurrency.READ_ONLY
+                && protocol.getPropertySet().getBooleanProperty(PropertyKey.reuseStreamingResultRows).getValue();
     }
 
     @Override
     public ResultsetRow createFromMessage(NativePacketPayload rowPacket) {
+        if (this.reuseRows) {
+            // the row packet is re-used by the driver, so is the row that reads from it
+            if (this.reusableRow == null) {
+                this.reusableRow = new ReusableTextBufferRow(rowPacket, this.columnDefinition, this.exceptionInterceptor, this.valueDecoder);
+                return this.reusableRow;
+            }
+            return this.reusableRow.reset(rowPacket);
+        }
+
         // use a buffer row for reusable packets (streaming results), blobs and long strings
         // or if we're over the threshold
         boolean useBufferRow = this.canReuseRowPacketForBufferRow || this.columnDefinition.hasLargeFields()
@@ -20,6 +20,9 @@
 
 package com.mysql.cj.protocol.a.result;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import com.mysql.cj.protocol.ColumnDefinition;
 import com.mysql.cj.protocol.ProtocolEntityFactory;
 import com.mysql.cj.protocol.ResultsetRow;
@@ -78,4 +81,17 @@ public abstract class AbstractResultsetRows implements ResultsetRows {
         return this.wasEmpty;
     }
 
+    /**
+     * Driver-wide pool of daemon threads reading rows ahead of their consumption.
+     */
+    static class ReadAheadExecutorHolder {
+
+        static final ExecutorService INSTANCE = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "mysql-cj-read-ahead");
+            t.setDaemon(true);
+            return t;
+        });
+
+    }
+
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2002, 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a.result;
+
+/**
+ * Computes the number of rows to request in each COM_STMT_FETCH of a cursor-based result set.
+ * <p>
+ * A fetch is sized to hold about a target number of bytes, based on the average width of the rows fetched so far. Within that budget it is made large
+ * enough for its rows to take longer to consume than the next fetch takes to complete, so that the next fetch, issued in the background, is ready by the time
+ * it is needed. The fetch size set on the statement is used until rows have been measured, and as the minimum number of rows per fetch while it fits in the
+ * budget.
+ * <p>
+ * Measurements are smoothed with an exponentially weighted moving average. Not thread-safe, callers must hold the connection lock.
+ */
+class AdaptiveCursorFetchSize {
+
+    /** Weight of the latest measurement in the moving averages. */
+    private static final double SMOOTHING = 0.5;
+
+    /** Ratio of the rows consumed during a fetch round trip to the rows requested, leaving room for variations of both. */
+    private static final int LATENCY_HEADROOM = 2;
+
+    private final long targetBytes;
+
+    private double bytesPerRow = -1;
+    private double fetchNanos = -1;
+    private double consumeNanosPerRow = -1;
+
+    /**
+     * Creates a fetch size policy.
+     *
+     * @param targetBytes
+     *            approximate number of bytes each fetch should hold
+     */
+    AdaptiveCursorFetchSize(long targetBytes) {
+        this.targetBytes = targetBytes;
+    }
+
+    /**
+     * Records a completed fetch.
+     *
+     * @param rows
+     *            number of rows fetched
+     * @param bytes
+     *            size of the row packets fetched
+     * @param nanos
+     *            time from sending the fetch to reading its last row
+     */
+    void fetched(int rows, long bytes, long nanos) {
+        this.fetchNanos = smooth(this.fetchNanos, nanos);
+        if (rows > 0) {
+            this.bytesPerRow = smooth(this.bytesPerRow, (double) bytes / rows);
+        }
+    }
+
+    /**
+     * Records the consumption of a batch of rows.
+     *
+     * @param rows
+     *            number of rows of the batch
+     * @param nanos
+     *            time between the batch being made available and the request for the next one
+     */
+    void consumed(int rows, long nanos) {
+        if (rows > 0) {
+            this.consumeNanosPerRow = smooth(this.consumeNanosPerRow, (double) nanos / rows);
+        }
+    }
+
+    /**
+     * Returns the number of rows to request in the next fetch.
+     *
+     * @param configuredFetchSize
+     *            the fetch size set on the result set or the statement
+     * @return the number of rows to fetch, at least 1
+     */
+    int nextFetchSize(int configuredFetchSize) {
+        int minRows = Math.max(configuredFetchSize, 1);
+        if (this.bytesPerRow < 0) {
+            return minRows;
+        }
+
+        long budgetRows = Math.max((long) (this.targetBytes / Math.max(this.bytesPerRow, 1)), 1);
+        long rows = budgetRows;
+        if (this.consumeNanosPerRow > 0 && this.fetchNanos >= 0) {
+            rows = Math.max((long) Math.ceil(this.fetchNanos / this.consumeNanosPerRow) * LATENCY_HEADROOM, minRows);
+        }
+        return (int) Math.min(Math.min(rows, budgetRows), Integer.MAX_VALUE);
+    }
+
+    private static double smooth(double average, double sample) {
+        return average < 0 ? sample : average + SMOOTHING * (sample - average);
+    }
+
+}
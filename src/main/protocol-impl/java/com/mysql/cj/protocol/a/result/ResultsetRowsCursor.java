@@ -26,6 +26,7 @@ import java.util.concurrent.locks.Lock;
 
 import com.mysql.cj.Messages;
 import com.mysql.cj.Session;
+import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.protocol.ColumnDefinition;
 import com.mysql.cj.protocol.Resultset.Concurrency;
@@ -33,6 +34,7 @@ import com.mysql.cj.protocol.ResultsetRow;
 import com.mysql.cj.protocol.ResultsetRows;
 import com.mysql.cj.protocol.a.BinaryRowFactory;
 import com.mysql.cj.protocol.a.NativeMessageBuilder;
+import com.mysql.cj.protocol.a.NativePacketPayload;
 import com.mysql.cj.protocol.a.NativeProtocol;
 import com.mysql.cj.result.Row;
 import com.mysql.cj.telemetry.TelemetryAttribute;
@@ -44,6 +46,10 @@ import com.mysql.cj.telemetry.TelemetrySpanName;
  * Model for result set data backed by a cursor (see http://dev.mysql.com/doc/refman/5.7/en/cursors.html and
  * SERVER_STATUS_CURSOR_EXISTS flag description on http://dev.mysql.com/doc/internals/en/status-flags.html).
  * Only works for forward-only result sets (but still works with updatable concurrency).
+ * <p>
+ * If 'cursorFetchTargetSize' is set, the number of rows of each fetch is computed by {@link AdaptiveCursorFetchSize} and the next fetch is issued by a
+ * background thread as soon as a batch of rows is received, so that it is usually complete by the time the batch is consumed. At most two batches are held at
+ * any time.
  */
 public class ResultsetRowsCursor extends AbstractResultsetRows implements ResultsetRows {
 
@@ -75,6 +81,31 @@ public class ResultsetRowsCursor extends AbstractResultsetRows implements Result
 
     protected NativeMessageBuilder commandBuilder = null;
 
+    /**
+     * Fetch size policy, or null if fetches are sized by the fetch size of the result set.
+     */
+    private AdaptiveCursorFetchSize adaptiveFetchSize = null;
+
+    /**
+     * The fetch of the batch following 'fetchedRows', issued in the background, or null.
+     */
+    private Prefetch prefetch = null;
+
+    /**
+     * Rows list of a consumed batch, reused for the next prefetch.
+     */
+    private List<Row> spareRows = null;
+
+    /**
+     * Total size of the row packets read.
+     */
+    private long bytesFetched = 0;
+
+    /**
+     * When the current batch of rows was made available.
+     */
+    private long batchStartNanos = 0;
+
     /**
      * Creates a new cursor-backed row provider.
      *
@@ -87,8 +118,23 @@ public class ResultsetRowsCursor extends AbstractResultsetRows implements Result
         this.currentPositionInEntireResult = BEFORE_START_OF_ROWS;
         this.metadata = columnDefinition;
         this.protocol = ioChannel;
-        this.rowFactory = new BinaryRowFactory(this.protocol, this.metadata, Concurrency.READ_ONLY, false);
         this.commandBuilder = new NativeMessageBuilder(this.protocol.getServerSession().supportsQueryAttributes());
+
+        long targetSize = this.protocol.getPropertySet().getMemorySizeProperty(PropertyKey.cursorFetchTargetSize).getValue();
+        if (targetSize > 0) {
+            this.adaptiveFetchSize = new AdaptiveCursorFetchSize(targetSize);
+            this.rowFactory = new BinaryRowFactory(this.protocol, this.metadata, Concurrency.READ_ONLY, false) {
+
+                @Override
+                public ResultsetRow createFromMessage(NativePacketPayload rowPacket) {
+                    ResultsetRowsCursor.this.bytesFetched += rowPacket.getPayloadLength();
+                    return super.createFromMessage(rowPacket);
+                }
+
+            };
+        } else {
+            this.rowFactory = new BinaryRowFactory(this.protocol, this.metadata, Concurrency.READ_ONLY, false);
+        }
     }
 
     @Override
@@ -124,6 +170,10 @@ public class ResultsetRowsCursor extends AbstractResultsetRows implements Result
 
     @Override
     public void close() {
+        if (this.prefetch != null) {
+            this.prefetch.cancel();
+            this.prefetch = null;
+        }
         this.metadata = null;
         this.owner = null;
     }
@@ -205,74 +255,207 @@ public class ResultsetRowsCursor extends AbstractResultsetRows implements Result
         Lock lock = this.owner.getLock();
         lock.lock();
         try {
-            Session session = this.owner.getSession();
-            TelemetrySpan span = session.getTelemetryHandler().startSpan(TelemetrySpanName.STMT_FETCH_PREPARED);
-            try (TelemetryScope scope = span.makeCurrent()) {
-                span.setAttribute(TelemetryAttribute.DB_NAME, session.getHostInfo().getDatabase());
-                span.setAttribute(TelemetryAttribute.DB_OPERATION, TelemetryAttribute.OPERATION_SET);
-                span.setAttribute(TelemetryAttribute.DB_STATEMENT, TelemetryAttribute.OPERATION_SET + TelemetryAttribute.STATEMENT_SUFFIX);
-                span.setAttribute(TelemetryAttribute.DB_SYSTEM, TelemetryAttribute.DB_SYSTEM_DEFAULT);
-                span.setAttribute(TelemetryAttribute.DB_USER, session.getHostInfo().getUser());
-                span.setAttribute(TelemetryAttribute.THREAD_ID, Thread.currentThread().getId());
-                span.setAttribute(TelemetryAttribute.THREAD_NAME, Thread.currentThread().getName());
+            boolean oldFirstFetchCompleted = this.firstFetchCompleted;
 
-                try {
-                    boolean oldFirstFetchCompleted = this.firstFetchCompleted;
+            if (!this.firstFetchCompleted) {
+                this.firstFetchCompleted = true;
+            }
+
+            if (this.adaptiveFetchSize != null && this.fetchedRows != null) {
+                this.adaptiveFetchSize.consumed(this.fetchedRows.size(), System.nanoTime() - this.batchStartNanos);
+            }
+
+            boolean lastRowSent;
+            Prefetch completedPrefetch = this.prefetch;
+            this.prefetch = null;
+
+            if (completedPrefetch != null && completedPrefetch.claim()) {
+                if (completedPrefetch.exception != null) {
+                    throw ExceptionFactory.createException(completedPrefetch.exception.getMessage(), completedPrefetch.exception);
+                }
+                this.spareRows = this.fetchedRows;
+                this.fetchedRows = completedPrefetch.rows;
+                lastRowSent = completedPrefetch.lastRowSent;
+            } else {
+                int numRowsToFetch = getFetchSize();
+
+                if (this.fetchedRows == null) {
+                    this.fetchedRows = new ArrayList<>(numRowsToFetch);
+                } else {
+                    this.fetchedRows.clear();
+                }
+
+                lastRowSent = fetchRows(this.owner.getSession(), this.owner.getOwningStatementServerId(), numRowsToFetch, this.fetchedRows);
+            }
+
+            this.currentPositionInFetchedRows = BEFORE_START_OF_ROWS;
 
-                    if (!this.firstFetchCompleted) {
-                        this.firstFetchCompleted = true;
-                    }
+            if (lastRowSent) {
+                this.lastRowFetched = true;
 
-                    int numRowsToFetch = this.owner.getOwnerFetchSize();
+                if (!oldFirstFetchCompleted && this.fetchedRows.size() == 0) {
+                    this.wasEmpty = true;
+                }
+            } else if (this.adaptiveFetchSize != null) {
+                List<Row> rows = this.spareRows != null ? this.spareRows : new ArrayList<>();
+                rows.clear();
+                this.spareRows = null;
+                this.prefetch = new Prefetch(lock, this.owner.getSession(), this.owner.getOwningStatementServerId(), getFetchSize(), rows);
+                ReadAheadExecutorHolder.INSTANCE.execute(this.prefetch);
+            }
 
-                    if (numRowsToFetch == 0) {
-                        numRowsToFetch = this.owner.getOwningStatementFetchSize();
-                    }
+            this.batchStartNanos = System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
 
-                    if (numRowsToFetch == Integer.MIN_VALUE) {
-                        // Handle the case where the user used 'old' streaming result sets
+    private int getFetchSize() {
+        int numRowsToFetch = this.owner.getOwnerFetchSize();
 
-                        numRowsToFetch = 1;
-                    }
+        if (numRowsToFetch == 0) {
+            numRowsToFetch = this.owner.getOwningStatementFetchSize();
+        }
 
-                    if (this.fetchedRows == null) {
-                        this.fetchedRows = new ArrayList<>(numRowsToFetch);
-                    } else {
-                        this.fetchedRows.clear();
-                    }
+        if (numRowsToFetch == Integer.MIN_VALUE) {
+            // Handle the case where the user used 'old' streaming result sets
 
-                    // TODO this is not the right place for this code, should be in protocol
-                    this.protocol.sendCommand(
-                            this.commandBuilder.buildComStmtFetch(this.protocol.getSharedSendPacket(), this.owner.getOwningStatementServerId(), numRowsToFetch),
-                            true, 0);
+            numRowsToFetch = 1;
+        }
 
-                    Row row = null;
+        return this.adaptiveFetchSize != null ? this.adaptiveFetchSize.nextFetchSize(numRowsToFetch) : numRowsToFetch;
+    }
 
-                    while ((row = this.protocol.read(ResultsetRow.class, this.rowFactory)) != null) {
-                        this.fetchedRows.add(row);
-                    }
+    /**
+     * Sends a COM_STMT_FETCH and reads its rows. Must be called while holding the connection lock.
+     *
+     * @param session
+     *            the session the cursor belongs to
+     * @param serverStatementId
+     *            the id of the server-side prepared statement owning the cursor
+     * @param numRowsToFetch
+     *            the number of rows to request
+     * @param rows
+     *            the list to add the rows to
+     * @return true if the server sent the last row of the cursor
+     */
+    private boolean fetchRows(Session session, long serverStatementId, int numRowsToFetch, List<Row> rows) {
+        TelemetrySpan span = session.getTelemetryHandler().startSpan(TelemetrySpanName.STMT_FETCH_PREPARED);
+        try (TelemetryScope scope = span.makeCurrent()) {
+            span.setAttribute(TelemetryAttribute.DB_NAME, session.getHostInfo().getDatabase());
+            span.setAttribute(TelemetryAttribute.DB_OPERATION, TelemetryAttribute.OPERATION_SET);
+            span.setAttribute(TelemetryAttribute.DB_STATEMENT, TelemetryAttribute.OPERATION_SET + TelemetryAttribute.STATEMENT_SUFFIX);
+            span.setAttribute(TelemetryAttribute.DB_SYSTEM, TelemetryAttribute.DB_SYSTEM_DEFAULT);
+            span.setAttribute(TelemetryAttribute.DB_USER, session.getHostInfo().getUser());
+            span.setAttribute(TelemetryAttribute.THREAD_ID, Thread.currentThread().getId());
+            span.setAttribute(TelemetryAttribute.THREAD_NAME, Thread.currentThread().getName());
+
+            try {
+                long startNanos = System.nanoTime();
+                long startBytes = this.bytesFetched;
+
+                // TODO this is not the right place for this code, should be in protocol
+                this.protocol.sendCommand(this.commandBuilder.buildComStmtFetch(this.protocol.getSharedSendPacket(), serverStatementId, numRowsToFetch), true,
+                        0);
+
+                int count = 0;
+                Row row = null;
+
+                while ((row = this.protocol.read(ResultsetRow.class, this.rowFactory)) != null) {
+                    rows.add(row);
+                    count++;
+                }
 
-                    this.currentPositionInFetchedRows = BEFORE_START_OF_ROWS;
+                if (this.adaptiveFetchSize != null) {
+                    this.adaptiveFetchSize.fetched(count, this.bytesFetched - startBytes, System.nanoTime() - startNanos);
+                }
+
+                return this.protocol.getServerSession().isLastRowSent();
+            } catch (Exception ex) {
+                throw ExceptionFactory.createException(ex.getMessage(), ex);
+            }
+        } catch (Throwable t) {
+            span.setError(t);
+            throw t;
+        } finally {
+            span.end();
+        }
+    }
 
-                    if (this.protocol.getServerSession().isLastRowSent()) {
-                        this.lastRowFetched = true;
+    /**
+     * A fetch of the next batch of rows, run by a background thread while the current batch is consumed.
+     * <p>
+     * The fetch runs while holding the connection lock, and only if no one has claimed it before. Either {@link #claim()}, called from
+     * {@link ResultsetRowsCursor#fetchMoreRows()} when the batch is needed, or {@link #cancel()} take the same lock, so the fetch is either complete or not
+     * started by then: a fetch that did not start is abandoned, and the rows are fetched synchronously instead.
+     */
+    private class Prefetch implements Runnable {
+
+        private final Lock lock;
+        private final Session session;
+        private final long serverStatementId;
+        private final int numRowsToFetch;
+
+        final List<Row> rows;
+        boolean lastRowSent = false;
+        RuntimeException exception = null;
+
+        /** Whether the fetch completed, guarded by the lock. */
+        private boolean done = false;
+        /** Whether the fetch was claimed or cancelled before it could start, guarded by the lock. */
+        private boolean abandoned = false;
+
+        Prefetch(Lock lock, Session session, long serverStatementId, int numRowsToFetch, List<Row> rows) {
+            this.lock = lock;
+            this.session = session;
+            this.serverStatementId = serverStatementId;
+            this.numRowsToFetch = numRowsToFetch;
+            this.rows = rows;
+        }
 
-                        if (!oldFirstFetchCompleted && this.fetchedRows.size() == 0) {
-                            this.wasEmpty = true;
-                        }
-                    }
-                } catch (Exception ex) {
-                    throw ExceptionFactory.createException(ex.getMessage(), ex);
+        @Override
+        public void run() {
+            this.lock.lock();
+            try {
+                // Commands must not be sent while a streaming result set is being read, leave this fetch to the consumer thread.
+                if (this.abandoned || ResultsetRowsCursor.this.protocol.getStreamingData() != null) {
+                    return;
                 }
-            } catch (Throwable t) {
-                span.setError(t);
-                throw t;
+                try {
+                    this.lastRowSent = fetchRows(this.session, this.serverStatementId, this.numRowsToFetch, this.rows);
+                } catch (RuntimeException ex) {
+                    this.exception = ex;
+                }
+                this.done = true;
             } finally {
-                span.end();
+                this.lock.unlock();
             }
-        } finally {
-            lock.unlock();
         }
+
+        /**
+         * Claims the fetched rows. Must be called while holding the connection lock.
+         *
+         * @return true if the fetch completed, false if it was abandoned and the rows must be fetched synchronously
+         */
+        boolean claim() {
+            if (!this.done) {
+                this.abandoned = true;
+            }
+            return this.done;
+        }
+
+        /**
+         * Abandons the fetch if it did not start yet, or waits for it to complete otherwise.
+         */
+        void cancel() {
+            this.lock.lock();
+            try {
+                this.abandoned = true;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
     }
 
     @Override
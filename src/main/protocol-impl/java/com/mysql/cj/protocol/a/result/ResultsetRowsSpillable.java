@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2002, 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a.result;
+
+import java.io.IOException;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.exceptions.ExceptionFactory;
+import com.mysql.cj.protocol.ColumnDefinition;
+import com.mysql.cj.protocol.ProtocolEntityFactory;
+import com.mysql.cj.protocol.Resultset.Concurrency;
+import com.mysql.cj.protocol.ResultsetRow;
+import com.mysql.cj.protocol.ResultsetRows;
+import com.mysql.cj.protocol.a.AbstractRowFactory;
+import com.mysql.cj.protocol.a.BinaryRowFactory;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+import com.mysql.cj.protocol.a.NativeProtocol;
+import com.mysql.cj.protocol.a.TextRowFactory;
+import com.mysql.cj.result.Row;
+
+/**
+ * Represents a fully read, read-only, result set whose rows are kept as sent by the server in a {@link SpillableRowArena}, either outside of the Java heap,
+ * if 'useOffHeapResultSetRows' is set, or in the heap up to 'resultSetHeapBudget' bytes, and in a memory-mapped temporary file beyond the configured size.
+ * <p>
+ * Rows are decoded again each time the cursor moves to them, so the heap only holds the current row besides the arena. Positioning follows
+ * {@link ResultsetRowsStatic}.
+ */
+public class ResultsetRowsSpillable extends AbstractResultsetRows implements ResultsetRows {
+
+    /** Returned to the reader for each row stored in the arena. */
+    private static final ResultsetRow STORED = new ByteArrayRow(new byte[0][], null);
+
+    private final NativeProtocol protocol;
+
+    private SpillableRowArena arena;
+
+    /**
+     * Creates an empty set of rows, to be filled by {@link #readRows(int)}.
+     *
+     * @param protocol
+     *            the protocol to read rows from
+     * @param columnDefinition
+     *            {@link ColumnDefinition} for this result set
+     * @param isBinaryEncoded
+     *            true if rows are encoded with the binary protocol
+     */
+    public ResultsetRowsSpillable(NativeProtocol protocol, ColumnDefinition columnDefinition, boolean isBinaryEncoded) {
+        this.protocol = protocol;
+        this.metadata = columnDefinition;
+        PropertySet propertySet = protocol.getPropertySet();
+        if (propertySet.getBooleanProperty(PropertyKey.useOffHeapResultSetRows).getValue()) {
+            this.arena = new SpillableRowArena(true, propertySet.getMemorySizeProperty(PropertyKey.offHeapResultSetSpillThreshold).getValue());
+        } else {
+            this.arena = new SpillableRowArena(false, propertySet.getMemorySizeProperty(PropertyKey.resultSetHeapBudget).getValue());
+        }
+        this.rowFactory = isBinaryEncoded ? new BinaryRowFactory(protocol, columnDefinition, Concurrency.READ_ONLY, false)
+                : new TextRowFactory(protocol, columnDefinition, Concurrency.READ_ONLY, false);
+    }
+
+    /**
+     * Tells whether fully read result sets with the given concurrency must be kept as {@link ResultsetRowsSpillable}, as configured by
+     * 'useOffHeapResultSetRows' or 'resultSetHeapBudget'. Rows of updatable result sets are always kept as {@link ResultsetRowsStatic}.
+     *
+     * @param protocol
+     *            the protocol the result set is read from
+     * @param concurrency
+     *            the concurrency of the result set
+     * @return true if the rows must be kept as {@link ResultsetRowsSpillable}
+     */
+    public static boolean isEnabled(NativeProtocol protocol, Concurrency concurrency) {
+        PropertySet propertySet = protocol.getPropertySet();
+        return concurrency == Concurrency.READ_ONLY && (propertySet.getBooleanProperty(PropertyKey.useOffHeapResultSetRows).getValue()
+                || propertySet.getMemorySizeProperty(PropertyKey.resultSetHeapBudget).getValue() > 0);
+    }
+
+    /**
+     * Reads all rows of the result set from the server.
+     *
+     * @param maxRows
+     *            the maximum number of rows to keep, or -1 to keep all of them
+     * @throws IOException
+     *             if an error occurs
+     */
+    public void readRows(int maxRows) throws IOException {
+        ArenaRowFactory arf = new ArenaRowFactory(maxRows);
+        try {
+            while (this.protocol.read(ResultsetRow.class, arf) != null) {
+                // rows are copied to the arena by the factory
+            }
+        } catch (Throwable t) {
+            // these rows are dropped by the caller, so the spill file must be deleted now
+            try {
+                this.arena.close();
+            } catch (IOException e) {
+                t.addSuppressed(e);
+            }
+            throw t;
+        }
+    }
+
+    @Override
+    public void afterLast() {
+        if (size() > 0) {
+            this.currentPositionInFetchedRows = size();
+        }
+    }
+
+    @Override
+    public void beforeFirst() {
+        if (size() > 0) {
+            this.currentPositionInFetchedRows = -1;
+        }
+    }
+
+    @Override
+    public void beforeLast() {
+        if (size() > 0) {
+            this.currentPositionInFetchedRows = size() - 2;
+        }
+    }
+
+    @Override
+    public Row get(int atIndex) {
+        if (atIndex < 0 || atIndex >= size()) {
+            return null;
+        }
+
+        return this.rowFactory.createFromMessage(new NativePacketPayload(this.arena.get(atIndex))).setMetadata(this.metadata);
+    }
+
+    @Override
+    public int getPosition() {
+        return this.currentPositionInFetchedRows;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.currentPositionInFetchedRows + 1 < size();
+    }
+
+    @Override
+    public boolean isAfterLast() {
+        return this.currentPositionInFetchedRows >= size() && size() != 0;
+    }
+
+    @Override
+    public boolean isBeforeFirst() {
+        return this.currentPositionInFetchedRows == -1 && size() != 0;
+    }
+
+    @Override
+    public boolean isDynamic() {
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean isFirst() {
+        return this.currentPositionInFetchedRows == 0;
+    }
+
+    @Override
+    public boolean isLast() {
+        // You can never be on the 'last' row of an empty result set
+        if (size() == 0) {
+            return false;
+        }
+
+        return this.currentPositionInFetchedRows == size() - 1;
+    }
+
+    @Override
+    public void moveRowRelative(int rowsToMove) {
+        if (size() > 0) {
+            this.currentPositionInFetchedRows += rowsToMove;
+            if (this.currentPositionInFetchedRows < -1) {
+                beforeFirst();
+            } else if (this.currentPositionInFetchedRows > size()) {
+                afterLast();
+            }
+        }
+    }
+
+    @Override
+    public Row next() {
+        this.currentPositionInFetchedRows++;
+
+        if (this.currentPositionInFetchedRows > size()) {
+            afterLast();
+        } else if (this.currentPositionInFetchedRows < size()) {
+            return get(this.currentPositionInFetchedRows);
+        }
+
+        return null;
+    }
+
+    @Override
+    public void setCurrentRow(int newIndex) {
+        this.currentPositionInFetchedRows = newIndex;
+    }
+
+    @Override
+    public int size() {
+        return this.arena.size();
+    }
+
+    @Override
+    public boolean wasEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.arena.close();
+        } catch (IOException e) {
+            throw ExceptionFactory.createException(e.getMessage(), e);
+        } finally {
+            this.metadata = null;
+            this.owner = null;
+        }
+    }
+
+    /**
+     * Copies the row packets read into the arena, from the protocol's reusable packet, instead of creating rows.
+     */
+    private class ArenaRowFactory extends AbstractRowFactory {
+
+        private final int maxRows;
+
+        ArenaRowFactory(int maxRows) {
+            this.maxRows = maxRows;
+            this.canReuseRowPacketForBufferRow = true;
+        }
+
+        @Override
+        public ResultsetRow createFromMessage(NativePacketPayload rowPacket) {
+            SpillableRowArena rowArena = ResultsetRowsSpillable.this.arena;
+            if (this.maxRows == -1 || rowArena.size() < this.maxRows) {
+                try {
+                    rowArena.add(rowPacket.getByteBuffer(), rowPacket.getPayloadLength());
+                } catch (IOException e) {
+                    throw ExceptionFactory.createException(Messages.getString("ResultsetRowsSpillable.0", new Object[] { e.getMessage() }), e);
+                }
+            }
+            return STORED;
+        }
+
+    }
+
+}
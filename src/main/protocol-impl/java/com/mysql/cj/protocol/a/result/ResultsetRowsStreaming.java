@@ -20,6 +20,11 @@
 
 package com.mysql.cj.protocol.a.result;
 
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -54,6 +59,8 @@ import com.mysql.cj.util.Util;
  * input stream only on {@link #next()} call. Consumed rows are not cached thus
  * we only stream result sets when they are forward-only, read-only, and the
  * fetch size has been set to Integer.MIN_VALUE (rows are read one by one).
+ * <p>
+ * If 'streamingReadAheadRows' is set, rows are read by a background thread instead, up to that number of rows ahead of {@link #next()} calls.
  *
  * @param <T>
  *            ProtocolEntity type
@@ -79,6 +86,9 @@ public class ResultsetRowsStreaming<T extends ProtocolEntity> extends AbstractRe
     private NativeMessageBuilder commandBuilder = null;
     private final Lock lock = new ReentrantLock();
 
+    /** Reads rows ahead in a background thread, or null if rows are read on {@link #next()} calls. */
+    private RowReadAhead readAhead = null;
+
     /**
      * Creates a new RowDataDynamic object.
      *
@@ -98,8 +108,14 @@ public class ResultsetRowsStreaming<T extends ProtocolEntity> extends AbstractRe
         this.metadata = columnDefinition;
         this.exceptionInterceptor = this.protocol.getExceptionInterceptor();
         this.resultSetFactory = resultSetFactory;
-        this.rowFactory = this.isBinaryEncoded ? new BinaryRowFactory(this.protocol, this.metadata, Concurrency.READ_ONLY, true)
-                : new TextRowFactory(this.protocol, this.metadata, Concurrency.READ_ONLY, true);
+
+        // rows read ahead must not share the protocol's reusable packet
+        int readAheadRows = this.protocol.getPropertySet().getIntegerProperty(PropertyKey.streamingReadAheadRows).getValue();
+        if (readAheadRows > 0) {
+            this.readAhead = new RowReadAhead(readAheadRows);
+        }
+        this.rowFactory = this.isBinaryEncoded ? new BinaryRowFactory(this.protocol, this.metadata, Concurrency.READ_ONLY, this.readAhead == null)
+                : new TextRowFactory(this.protocol, this.metadata, Concurrency.READ_ONLY, this.readAhead == null);
         this.commandBuilder = new NativeMessageBuilder(this.protocol.getServerSession().supportsQueryAttributes());
     }
 
@@ -111,6 +127,11 @@ public class ResultsetRowsStreaming<T extends ProtocolEntity> extends AbstractRe
         Lock localLock = this.owner != null && this.owner.getLock() != null ? this.owner.getLock() : this.lock;
         localLock.lock();
         try {
+            if (this.readAhead != null) {
+                // the rest of the records are drained directly, instead of waiting for the reader thread to hand them over
+                this.readAhead.cancel();
+            }
+
             // drain the rest of the records.
             while (next() != null) {
                 hadMore = true;
@@ -169,6 +190,15 @@ public class ResultsetRowsStreaming<T extends ProtocolEntity> extends AbstractRe
         this.owner = null;
     }
 
+    /**
+     * Stops reading rows ahead in the background, if enabled, when the connection is closed.
+     */
+    public void cancelReadAhead() {
+        if (this.readAhead != null) {
+            this.readAhead.cancel();
+        }
+    }
+
     @Override
     public boolean hasNext() {
         boolean hasNext = this.nextRow != null;
@@ -211,7 +241,7 @@ public class ResultsetRowsStreaming<T extends ProtocolEntity> extends AbstractRe
     public Row next() {
         try {
             if (!this.noMoreRows) {
-                this.nextRow = this.protocol.read(ResultsetRow.class, this.rowFactory);
+                this.nextRow = this.readAhead != null ? this.readAhead.next() : this.protocol.read(ResultsetRow.class, this.rowFactory);
 
                 if (this.nextRow == null) {
                     this.noMoreRows = true;
@@ -294,4 +324,173 @@ public class ResultsetRowsStreaming<T extends ProtocolEntity> extends AbstractRe
         throw ExceptionFactory.createException(Messages.getString("ResultSet.ForwardOnly"));
     }
 
+    /**
+     * Reads the rows of this result set in a background thread and hands them over through a bounded queue, so that network reads overlap with the
+     * processing of the rows already read. The reader thread waits while the queue is full.
+     * <p>
+     * The reader thread is the only one using the protocol from the first {@link #next()} call until the end of the rows, or the first error, is taken from
+     * the queue, or until it is cancelled. Once cancelled, the reader thread stops at the next row it reads, and the rows left are read directly by the
+     * {@link #next()} callers. Waiting for the next row is not interruptible, like a socket read, so that a consumer never gives up on the rows while the
+     * reader thread still reads them.
+     */
+    private class RowReadAhead implements Runnable {
+
+        /** How long to wait for room in the queue before checking again whether reading was cancelled. */
+        private static final long HAND_OVER_TIMEOUT_MILLIS = 100;
+
+        /** Marks the end of the rows in the queue. */
+        private final Object endOfRows = new Object();
+
+        /** Rows read ahead, followed by {@link #endOfRows} or by the Throwable that stopped the reader thread. */
+        private final BlockingQueue<Object> queue;
+
+        private boolean started = false;
+        private volatile boolean cancelled = false;
+        /** Counted down when the reader thread stops. */
+        private final CountDownLatch stopped = new CountDownLatch(1);
+        /** What the reader thread read last, if it was cancelled before handing it over. Published by {@link #stopped}. */
+        private Object leftOver = null;
+
+        RowReadAhead(int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        @Override
+        public void run() {
+            try {
+                Object next;
+                do {
+                    try {
+                        Row row = ResultsetRowsStreaming.this.protocol.read(ResultsetRow.class, ResultsetRowsStreaming.this.rowFactory);
+                        next = row != null ? row : this.endOfRows;
+                    } catch (Throwable t) {
+                        next = t;
+                    }
+                    if (!handOver(next)) {
+                        this.leftOver = next;
+                        return;
+                    }
+                } while (next instanceof Row);
+            } finally {
+                this.stopped.countDown();
+            }
+        }
+
+        /**
+         * Puts the given row, end of rows marker or Throwable in the queue, waiting for room unless reading is cancelled.
+         *
+         * @param next
+         *            the object to hand over
+         * @return false if reading was cancelled before the object could be handed over
+         */
+        private boolean handOver(Object next) {
+            boolean interrupted = false;
+            try {
+                while (!this.cancelled) {
+                    try {
+                        if (this.queue.offer(next, HAND_OVER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                            return true;
+                        }
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                return false;
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        /**
+         * Stops the reader thread at the next row it reads. The rows not handed over yet are then read by the {@link #next()} callers.
+         */
+        void cancel() {
+            this.cancelled = true;
+        }
+
+        /**
+         * Returns the next row read ahead, starting the reader thread on the first call.
+         *
+         * @return the next row or null if there are no more rows
+         * @throws IOException
+         *             if the reader thread failed reading the row
+         */
+        Row next() throws IOException {
+            if (!this.started && !this.cancelled) {
+                this.started = true;
+                ReadAheadExecutorHolder.INSTANCE.execute(this);
+            }
+
+            Object next = null;
+            boolean interrupted = false;
+            while (next == null && !this.cancelled) {
+                try {
+                    next = this.queue.poll(HAND_OVER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (next == null) {
+                next = nextAfterCancel();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (next == this.endOfRows) {
+                return null;
+            } else if (next instanceof Row) {
+                // rows read into byte arrays are created without metadata
+                return ((Row) next).setMetadata(ResultsetRowsStreaming.this.metadata);
+            } else if (next instanceof IOException) {
+                throw (IOException) next;
+            } else if (next instanceof RuntimeException) {
+                throw (RuntimeException) next;
+            } else if (next instanceof Error) {
+                throw (Error) next;
+            }
+            throw new IOException((Throwable) next);
+        }
+
+        /**
+         * Returns the next row once reading ahead is cancelled: the rows already handed over and the one the reader thread read last come first, then rows
+         * are read directly.
+         *
+         * @return the next row, end of rows marker or Throwable
+         */
+        private Object nextAfterCancel() {
+            if (this.started) {
+                boolean interrupted = false;
+                while (this.stopped.getCount() > 0) {
+                    try {
+                        this.stopped.await();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            Object next = this.queue.poll();
+            if (next == null && this.leftOver != null) {
+                next = this.leftOver;
+                this.leftOver = null;
+            }
+            if (next == null) {
+                try {
+                    Row row = ResultsetRowsStreaming.this.protocol.read(ResultsetRow.class, ResultsetRowsStreaming.this.rowFactory);
+                    next = row != null ? row : this.endOfRows;
+                } catch (Throwable t) {
+                    next = t;
+                }
+            }
+            return next;
+        }
+
+    }
+
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a.result;
+
+import com.mysql.cj.exceptions.ExceptionInterceptor;
+import com.mysql.cj.protocol.ColumnDefinition;
+import com.mysql.cj.protocol.ValueDecoder;
+import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+
+/**
+ * A {@link TextBufferRow} that is reused for all the rows of a forward-only, read-only result set. Each new row packet is attached to the same row object
+ * by {@link #reset(NativePacketPayload)}, so reading the result set doesn't allocate any objects per row.
+ *
+ * The offsets of the columns already located in the current row packet are kept in an index, so columns can be accessed in any order without rescanning the
+ * packet from its beginning.
+ */
+public class ReusableTextBufferRow extends TextBufferRow {
+
+    /**
+     * Offsets of the length-encoded values of the columns located so far in the current row packet.
+     */
+    private int[] columnOffsets;
+
+    /**
+     * Number of entries in columnOffsets that are valid for the current row packet.
+     */
+    private int indexedColumns = 0;
+
+    public ReusableTextBufferRow(NativePacketPayload buf, ColumnDefinition cd, ExceptionInterceptor exceptionInterceptor, ValueDecoder valueDecoder) {
+        super(buf, cd, exceptionInterceptor, valueDecoder);
+        this.columnOffsets = new int[Math.max(cd.getFields() == null ? 0 : cd.getFields().length, 1)];
+        reset(buf);
+    }
+
+    /**
+     * Attaches this row to a new row packet, positioned at the beginning of the row data.
+     *
+     * @param buf
+     *            the row packet
+     * @return this row
+     */
+    public ReusableTextBufferRow reset(NativePacketPayload buf) {
+        this.rowFromServer = buf;
+        this.homePosition = buf.getPosition();
+        this.lastRequestedIndex = -1;
+        this.wasNull = false;
+        this.columnOffsets[0] = this.homePosition;
+        this.indexedColumns = 1;
+        return this;
+    }
+
+    @Override
+    protected int findAndSeekToOffset(int index) {
+        if (index < this.indexedColumns) {
+            this.rowFromServer.setPosition(this.columnOffsets[index]);
+        } else {
+            this.rowFromServer.setPosition(this.columnOffsets[this.indexedColumns - 1]);
+            while (this.indexedColumns <= index) {
+                this.rowFromServer.skipBytes(StringSelfDataType.STRING_LENENC);
+                this.columnOffsets[this.indexedColumns++] = this.rowFromServer.getPosition();
+            }
+        }
+
+        this.lastRequestedIndex = index;
+        this.lastRequestedPos = this.columnOffsets[index];
+
+        return this.lastRequestedPos;
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2002, 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a.result;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Append-only store of row payloads in large chunks of memory, spilling to a file above a given size.
+ * <p>
+ * Rows are copied into chunks of heap or direct buffers, growing from {@link #MIN_CHUNK_SIZE} to {@link #MAX_CHUNK_SIZE} bytes, and located through a table
+ * of offsets and lengths, so that a result set takes a few objects and 12 bytes of heap per row instead of one or more objects per row. Once the size of the
+ * chunks reaches the memory limit, further chunks are mapped from a temporary file, deleted when the arena is closed, leaving it to the operating system to
+ * keep the pages in use in memory.
+ * <p>
+ * Chunks are released when they are garbage collected. Not thread-safe.
+ */
+class SpillableRowArena {
+
+    static final int MIN_CHUNK_SIZE = 8 * 1024;
+    static final int MAX_CHUNK_SIZE = 1024 * 1024;
+
+    private final boolean direct;
+    private final long memoryLimit;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer currentChunk = null;
+    private long allocatedBytes = 0;
+
+    private FileChannel spillFile = null;
+    private long spillFileSize = 0;
+
+    /** Chunk index in the upper 32 bits and offset in the chunk in the lower 32 bits, for each row. */
+    private long[] rowLocations = new long[16];
+    private int[] rowLengths = new int[16];
+    private int size = 0;
+
+    /**
+     * Creates an empty arena.
+     *
+     * @param direct
+     *            whether chunks held in memory are allocated outside of the Java heap
+     * @param memoryLimit
+     *            size of the chunks held in memory above which chunks are mapped from a temporary file, or 0 to never spill to a file
+     */
+    SpillableRowArena(boolean direct, long memoryLimit) {
+        this.direct = direct;
+        this.memoryLimit = memoryLimit;
+    }
+
+    /**
+     * Appends a row.
+     *
+     * @param buf
+     *            buffer holding the row
+     * @param length
+     *            length of the row, starting at the beginning of the buffer
+     * @throws IOException
+     *             if the spill file can't be created or mapped
+     */
+    void add(byte[] buf, int length) throws IOException {
+        if (this.currentChunk == null || this.currentChunk.remaining() < length) {
+            allocateChunk(length);
+        }
+        if (this.size == this.rowLengths.length) {
+            int newCapacity = this.size + (this.size >> 1);
+            this.rowLocations = Arrays.copyOf(this.rowLocations, newCapacity);
+            this.rowLengths = Arrays.copyOf(this.rowLengths, newCapacity);
+        }
+        this.rowLocations[this.size] = (long) (this.chunks.size() - 1) << 32 | this.currentChunk.position();
+        this.rowLengths[this.size] = length;
+        this.size++;
+        this.currentChunk.put(buf, 0, length);
+    }
+
+    /**
+     * Copies a row to the heap.
+     *
+     * @param index
+     *            0-based index of the row
+     * @return a new array holding the row
+     */
+    byte[] get(int index) {
+        long location = this.rowLocations[index];
+        ByteBuffer chunk = this.chunks.get((int) (location >>> 32));
+        byte[] row = new byte[this.rowLengths[index]];
+        int position = chunk.position();
+        chunk.position((int) location);
+        chunk.get(row);
+        chunk.position(position);
+        return row;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Drops the rows and deletes the spill file, if any.
+     *
+     * @throws IOException
+     *             if the spill file can't be closed
+     */
+    void close() throws IOException {
+        this.chunks.clear();
+        this.currentChunk = null;
+        this.rowLocations = new long[0];
+        this.rowLengths = new int[0];
+        this.size = 0;
+        if (this.spillFile != null) {
+            FileChannel file = this.spillFile;
+            this.spillFile = null;
+            file.close();
+        }
+    }
+
+    private void allocateChunk(int minSize) throws IOException {
+        int chunkSize = this.currentChunk == null ? MIN_CHUNK_SIZE : Math.min(this.currentChunk.capacity() * 2, MAX_CHUNK_SIZE);
+        chunkSize = Math.max(chunkSize, minSize);
+
+        if (this.memoryLimit > 0 && this.allocatedBytes + chunkSize > this.memoryLimit) {
+            if (this.spillFile == null) {
+                Path path = Files.createTempFile("mysql-cj-rows", ".tmp");
+                try {
+                    this.spillFile = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+                } catch (Throwable t) {
+                    // not deleted on close if it couldn't be opened
+                    try {
+                        Files.deleteIfExists(path);
+                    } catch (IOException e) {
+                        t.addSuppressed(e);
+                    }
+                    throw t;
+                }
+            }
+            MappedByteBuffer mapped = this.spillFile.map(FileChannel.MapMode.READ_WRITE, this.spillFileSize, chunkSize);
+            this.spillFileSize += chunkSize;
+            this.currentChunk = mapped;
+        } else {
+            this.currentChunk = this.direct ? ByteBuffer.allocateDirect(chunkSize) : ByteBuffer.allocate(chunkSize);
+            this.allocatedBytes += chunkSize;
+        }
+        this.chunks.add(this.currentChunk);
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package com.mysql.cj.protocol.x;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.AsynchronousByteChannel;
+import java.nio.channels.CompletionHandler;
+
+/**
+ * {@link InputStream} over an {@link AsynchronousByteChannel}, buffering the bytes received from it.
+ * <p>
+ * Reads block until data is received, while {@link #fill(int, CompletionHandler)} receives more data without blocking, so that whole X Protocol messages
+ * can be buffered before being read. Reads and fills must not overlap.
+ */
+class AsyncChannelInputStream extends InputStream {
+
+    private static final int BUFFER_SIZE = 16384;
+
+    private final AsynchronousByteChannel channel;
+    private final int timeout;
+
+    /** Bytes received and not read yet, between position and limit. */
+    private ByteBuffer buffer;
+
+    /**
+     * Creates a stream reading from the given channel.
+     *
+     * @param channel
+     *            the channel to read from
+     * @param timeout
+     *            the timeout of blocking reads, in milliseconds, or 0 for no timeout
+     */
+    AsyncChannelInputStream(AsynchronousByteChannel channel, int timeout) {
+        this.channel = channel;
+        this.timeout = timeout;
+        this.buffer = allocate(BUFFER_SIZE);
+        this.buffer.flip();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+        return this.buffer.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+        int n = Math.min(len, this.buffer.remaining());
+        this.buffer.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return this.buffer.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Returns the length of the next X Protocol message in the buffer, including its header, if enough bytes were received to tell it.
+     *
+     * @return the length of the next message, or -1 if not known yet
+     */
+    int nextMessageLength() {
+        if (this.buffer.remaining() < XMessageHeader.MESSAGE_SIZE_LENGTH) {
+            return -1;
+        }
+        return XMessageHeader.MESSAGE_SIZE_LENGTH + this.buffer.getInt(this.buffer.position());
+    }
+
+    /**
+     * Receives more bytes from the channel without blocking, making room in the buffer for at least the given number of bytes.
+     *
+     * @param length
+     *            the number of bytes, already buffered ones included, the buffer must be able to hold
+     * @param handler
+     *            the handler notified when bytes were received, with the number of bytes or -1 at the end of the stream
+     */
+    void fill(int length, CompletionHandler<Integer, Void> handler) {
+        if (this.buffer.capacity() < length || !this.buffer.hasRemaining() && this.buffer.capacity() > Math.max(length, BUFFER_SIZE)) {
+            ByteBuffer newBuffer = allocate(Math.max(length, BUFFER_SIZE));
+            newBuffer.put(this.buffer);
+            this.buffer = newBuffer;
+        } else {
+            this.buffer.compact();
+        }
+
+        try {
+            this.channel.read(this.buffer, null, new CompletionHandler<Integer, Void>() {
+
+                @Override
+                public void completed(Integer result, Void attachment) {
+                    AsyncChannelInputStream.this.buffer.flip();
+                    handler.completed(result, null);
+                }
+
+                @Override
+                public void failed(Throwable exc, Void attachment) {
+                    AsyncChannelInputStream.this.buffer.flip();
+                    handler.failed(exc, null);
+                }
+
+            });
+        } catch (RuntimeException e) {
+            this.buffer.flip();
+            handler.failed(e, null);
+        }
+    }
+
+    private boolean ensureData() throws IOException {
+        while (!this.buffer.hasRemaining()) {
+            this.buffer.clear();
+            int n;
+            try {
+                n = XAsyncSocketConnection.await(this.channel.read(this.buffer), this.timeout);
+            } finally {
+                this.buffer.flip();
+            }
+            if (n < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package com.mysql.cj.protocol.x;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousByteChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link OutputStream} over an {@link AsynchronousByteChannel}.
+ * <p>
+ * Bytes written are collected until {@link #flush()}, which queues them for writing to the channel without waiting for the write to complete. Queued
+ * writes are performed in order, one at a time. Once a write fails the channel is closed and all further writes fail.
+ */
+class AsyncChannelOutputStream extends OutputStream {
+
+    private final AsynchronousByteChannel channel;
+
+    private final Lock lock = new ReentrantLock();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(16384);
+    private final Deque<PendingWrite> writeQueue = new ArrayDeque<>();
+    private boolean writing = false;
+    private CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null);
+    private Throwable failure = null;
+
+    private final CompletionHandler<Integer, PendingWrite> writeHandler = new CompletionHandler<Integer, PendingWrite>() {
+
+        @Override
+        public void completed(Integer result, PendingWrite write) {
+            if (write.data.hasRemaining()) {
+                writeToChannel(write);
+                return;
+            }
+            AsyncChannelOutputStream.this.lock.lock();
+            try {
+                AsyncChannelOutputStream.this.writeQueue.poll();
+            } finally {
+                AsyncChannelOutputStream.this.lock.unlock();
+            }
+            write.future.complete(null);
+            writeNext();
+        }
+
+        @Override
+        public void failed(Throwable exc, PendingWrite write) {
+            writeFailed(exc);
+        }
+
+    };
+
+    /**
+     * Creates a stream writing to the given channel.
+     *
+     * @param channel
+     *            the channel to write to
+     */
+    AsyncChannelOutputStream(AsynchronousByteChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.lock.lock();
+        try {
+            this.pending.write(b);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        this.lock.lock();
+        try {
+            this.pending.write(b, off, len);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Queues the bytes written so far for writing to the channel. Does not wait for them to be written.
+     *
+     * @see #getLastWrite()
+     */
+    @Override
+    public void flush() throws IOException {
+        boolean startWriting;
+        this.lock.lock();
+        try {
+            if (this.failure != null) {
+                throw new IOException(this.failure);
+            }
+            if (this.pending.size() == 0) {
+                return;
+            }
+            PendingWrite write = new PendingWrite(ByteBuffer.wrap(this.pending.toByteArray()));
+            this.pending.reset();
+            this.writeQueue.add(write);
+            this.lastWrite = write.future;
+            startWriting = !this.writing;
+            this.writing = true;
+        } finally {
+            this.lock.unlock();
+        }
+        if (startWriting) {
+            writeNext();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Returns a future completed when all bytes flushed so far are written to the channel.
+     *
+     * @return the future of the last write queued
+     */
+    CompletableFuture<Void> getLastWrite() {
+        this.lock.lock();
+        try {
+            return this.lastWrite;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void writeNext() {
+        PendingWrite write;
+        this.lock.lock();
+        try {
+            write = this.writeQueue.peek();
+            if (write == null) {
+                this.writing = false;
+                return;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        writeToChannel(write);
+    }
+
+    private void writeToChannel(PendingWrite write) {
+        try {
+            this.channel.write(write.data, write, this.writeHandler);
+        } catch (RuntimeException e) {
+            writeFailed(e);
+        }
+    }
+
+    private void writeFailed(Throwable exc) {
+        List<PendingWrite> failedWrites;
+        this.lock.lock();
+        try {
+            this.failure = exc;
+            failedWrites = new ArrayList<>(this.writeQueue);
+            this.writeQueue.clear();
+            this.writing = false;
+        } finally {
+            this.lock.unlock();
+        }
+        try {
+            // A message may have been partially written, so nothing can be sent anymore.
+            this.channel.close();
+        } catch (IOException e) {
+            // ignore
+        }
+        failedWrites.forEach(w -> w.future.completeExceptionally(exc));
+    }
+
+    private static class PendingWrite {
+
+        final ByteBuffer data;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        PendingWrite(ByteBuffer data) {
+            this.data = data;
+        }
+
+    }
+
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package com.mysql.cj.protocol.x;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.CompletionHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.exceptions.CJCommunicationsException;
+import com.mysql.cj.protocol.FullReadInputStream;
+import com.mysql.cj.protocol.MessageListener;
+import com.mysql.cj.protocol.Protocol.ProtocolEventHandler;
+
+/**
+ * {@link SyncMessageReader} dispatching messages to listeners without a dedicated thread.
+ * <p>
+ * Listeners are run by the thread pushing them if their messages are already buffered. Otherwise a non-blocking read of the
+ * {@link AsyncChannelInputStream} is issued, and once the event loop has received the bytes, listeners are run in the dispatch executor, never in the event
+ * loop thread. While messages are incomplete, no thread waits for them. Synchronous operations block as in {@link SyncMessageReader}, after the listeners
+ * queued before them were dispatched, and are refused in event loop threads, where waiting for the event loop could never end.
+ */
+class AsyncMessageReader extends SyncMessageReader {
+
+    private final AsyncChannelInputStream channelInput;
+    private final Executor dispatchExecutor;
+
+    /** Lock protecting the reader state below. */
+    private final ReentrantLock stateLock = new ReentrantLock();
+    /** Signaled when neither a synchronous operation nor the dispatching of listeners is in progress. */
+    private final Condition idle = this.stateLock.newCondition();
+    /** Thread reading messages, either for a synchronous operation or for a listener. */
+    private Thread readingThread = null;
+    /** Whether listeners are being dispatched, possibly waiting for more bytes. */
+    private boolean dispatching = false;
+
+    private final CompletionHandler<Integer, Void> fillHandler = new CompletionHandler<Integer, Void>() {
+
+        @Override
+        public void completed(Integer result, Void attachment) {
+            if (result < 0) {
+                AsyncMessageReader.this.dispatchExecutor.execute(() -> failListeners(new EOFException()));
+            } else {
+                AsyncMessageReader.this.dispatchExecutor.execute(AsyncMessageReader.this::dispatch);
+            }
+        }
+
+        @Override
+        public void failed(Throwable exc, Void attachment) {
+            AsyncMessageReader.this.dispatchExecutor.execute(() -> failListeners(exc));
+        }
+
+    };
+
+    AsyncMessageReader(FullReadInputStream inputStream, AsyncChannelInputStream channelInput, Executor dispatchExecutor,
+            ProtocolEventHandler protocolEventHandler) {
+        super(inputStream, protocolEventHandler);
+        this.channelInput = channelInput;
+        this.dispatchExecutor = dispatchExecutor;
+    }
+
+    @Override
+    public XMessageHeader readHeader() throws IOException {
+        return syncOperation(super::readHeader);
+    }
+
+    @Override
+    public int getNextNonNoticeMessageType() throws IOException {
+        return syncOperation(super::getNextNonNoticeMessageType);
+    }
+
+    @Override
+    public XMessage readMessage(Optional<XMessage> reuse, int expectedType) throws IOException {
+        return syncOperation(() -> super.readMessage(reuse, expectedType));
+    }
+
+    @Override
+    public XProtocolRow readRow(int expectedFieldCount, Consumer<Notice> noticeConsumer) throws IOException {
+        return syncOperation(() -> super.readRow(expectedFieldCount, noticeConsumer));
+    }
+
+    @Override
+    public void pushMessageListener(MessageListener<XMessage> listener) {
+        this.messageListenerQueue.add(listener);
+
+        boolean start = false;
+        this.stateLock.lock();
+        try {
+            if (this.readingThread == null && !this.dispatching) {
+                this.dispatching = true;
+                start = true;
+            }
+        } finally {
+            this.stateLock.unlock();
+        }
+
+        if (start) {
+            dispatch();
+        }
+    }
+
+    /**
+     * Runs a synchronous operation once the reader is idle, or right away when called back from a listener.
+     *
+     * @param operation
+     *            the operation
+     * @return the result of the operation
+     * @throws IOException
+     *             if the operation fails
+     */
+    private <T> T syncOperation(SyncOperation<T> operation) throws IOException {
+        if (XAsyncSocketConnection.isEventLoopThread()) {
+            throw new XProtocolError(Messages.getString("Protocol.AsyncEventLoop.0"));
+        }
+
+        Thread current = Thread.currentThread();
+        this.stateLock.lock();
+        try {
+            if (this.readingThread == current) {
+                return operation.run();
+            }
+            while (this.readingThread != null || this.dispatching) {
+                this.idle.awaitUninterruptibly();
+            }
+            this.readingThread = current;
+        } finally {
+            this.stateLock.unlock();
+        }
+
+        try {
+            return operation.run();
+        } finally {
+            boolean start = false;
+            this.stateLock.lock();
+            try {
+                this.readingThread = null;
+                if (this.messageListenerQueue.isEmpty()) {
+                    this.idle.signalAll();
+                } else {
+                    this.dispatching = true;
+                    start = true;
+                }
+            } finally {
+                this.stateLock.unlock();
+            }
+            if (start) {
+                dispatch();
+            }
+        }
+    }
+
+    /**
+     * Feeds listeners with the messages buffered, then either receives more bytes without blocking or, when no listener is left, makes the reader idle.
+     */
+    private void dispatch() {
+        Thread current = Thread.currentThread();
+        while (true) {
+            MessageListener<XMessage> l;
+            this.stateLock.lock();
+            try {
+                if ((l = this.messageListenerQueue.peek()) == null) {
+                    this.dispatching = false;
+                    this.idle.signalAll();
+                    return;
+                }
+                this.readingThread = current;
+            } finally {
+                this.stateLock.unlock();
+            }
+
+            boolean done;
+            try {
+                int needed = bytesNeeded();
+                if (needed > this.channelInput.available()) {
+                    this.channelInput.fill(needed, this.fillHandler);
+                    return;
+                }
+
+                try {
+                    XMessageHeader hdr = readHeader();
+                    done = l.processMessage(readMessage(null, hdr));
+                } catch (Throwable t) {
+                    l.error(t);
+                    done = true;
+                }
+            } finally {
+                this.stateLock.lock();
+                try {
+                    this.readingThread = null;
+                } finally {
+                    this.stateLock.unlock();
+                }
+            }
+
+            if (done) {
+                this.messageListenerQueue.poll();
+            }
+        }
+    }
+
+    /**
+     * Computes the number of bytes that must be buffered before the next message can be read without blocking.
+     *
+     * @return the number of bytes
+     */
+    int bytesNeeded() {
+        if (this.headersQueue.isEmpty()) {
+            int length = this.channelInput.nextMessageLength();
+            return length < 0 ? XMessageHeader.HEADER_LENGTH : length;
+        }
+        // Headers are queued by getNextNonNoticeMessageType(), along with the messages preceding the last one.
+        return this.messagesQueue.isEmpty() ? this.headersQueue.peek().getMessageSize() : 0;
+    }
+
+    private void failListeners(Throwable cause) {
+        List<MessageListener<XMessage>> listeners = new ArrayList<>();
+        this.stateLock.lock();
+        try {
+            this.messageListenerQueue.drainTo(listeners);
+            this.dispatching = false;
+            this.idle.signalAll();
+        } finally {
+            this.stateLock.unlock();
+        }
+
+        CJCommunicationsException ex = new CJCommunicationsException("Cannot read packet header", cause);
+        for (MessageListener<XMessage> l : listeners) {
+            l.error(ex);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SyncOperation<T> {
+
+        T run() throws IOException;
+
+    }
+
+}
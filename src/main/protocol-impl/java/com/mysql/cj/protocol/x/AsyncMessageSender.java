@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package com.mysql.cj.protocol.x;
+
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.mysql.cj.exceptions.CJCommunicationsException;
+
+/**
+ * {@link SyncMessageSender} writing to an {@link AsyncChannelOutputStream}.
+ * <p>
+ * Sending only queues the message bytes for writing by the event loop, so neither synchronous nor asynchronous operations wait for the server to accept
+ * them. Messages are written in the order they were sent; a write failure closes the channel and fails the future of the asynchronous operation it belongs
+ * to, in the dispatch executor rather than in the event loop thread that detected it.
+ */
+class AsyncMessageSender extends SyncMessageSender {
+
+    private final AsyncChannelOutputStream channelOutput;
+    private final Executor dispatchExecutor;
+
+    AsyncMessageSender(OutputStream os, AsyncChannelOutputStream channelOutput, Executor dispatchExecutor) {
+        super(os);
+        this.channelOutput = channelOutput;
+        this.dispatchExecutor = dispatchExecutor;
+    }
+
+    @Override
+    public CompletableFuture<?> send(XMessage message, CompletableFuture<?> future, Runnable callback) {
+        this.syncOperationLock.lock();
+        try {
+            super.send(message, future, callback);
+            this.channelOutput.getLastWrite().whenComplete((v, t) -> {
+                if (t != null) {
+                    this.dispatchExecutor.execute(() -> future.completeExceptionally(new CJCommunicationsException("Unable to write message", t)));
+                }
+            });
+            return future;
+        } finally {
+            this.syncOperationLock.unlock();
+        }
+    }
+
+}
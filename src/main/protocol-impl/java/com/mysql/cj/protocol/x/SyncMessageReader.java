@@ -30,6 +30,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
@@ -46,6 +47,7 @@ import com.mysql.cj.protocol.x.Notice.XWarning;
 import com.mysql.cj.x.protobuf.Mysqlx.Error;
 import com.mysql.cj.x.protobuf.Mysqlx.ServerMessages;
 import com.mysql.cj.x.protobuf.MysqlxNotice.Frame;
+import com.mysql.cj.x.protobuf.MysqlxResultset.Row;
 
 /**
  * Synchronous-only implementation of {@link MessageReader}. This implementation wraps a {@link java.io.InputStream}.
@@ -232,6 +234,47 @@ public class SyncMessageReader implements MessageReader<XMessageHeader, XMessage
         }
     }
 
+    /**
+     * Reads the next message, which must be a <code>Mysqlx.Resultset.Row</code>, into an {@link XProtocolRow} that decodes its fields from the message
+     * payload, without building the protobuf object. Notices preceding the row are read as well.
+     *
+     * @param expectedFieldCount
+     *            the number of fields expected, used for sizing
+     * @param noticeConsumer
+     *            consumer of the notices preceding the row, or null to discard them
+     * @return the row
+     * @throws IOException
+     *             if an error occurs
+     */
+    public XProtocolRow readRow(int expectedFieldCount, Consumer<Notice> noticeConsumer) throws IOException {
+        this.syncOperationLock.lock();
+        try {
+            XMessageHeader hdr;
+            while ((hdr = readHeader()).getMessageType() == ServerMessages.Type.NOTICE_VALUE) {
+                Notice notice = Notice.getInstance(new XMessage(readMessageLocal(Frame.class, true)));
+                if (noticeConsumer != null) {
+                    noticeConsumer.accept(notice);
+                }
+            }
+
+            if (hdr.getMessageType() != ServerMessages.Type.RESULTSET_ROW_VALUE) {
+                throw new WrongArgumentException("Unexpected message class. Expected '" + Row.class.getSimpleName() + "' but actually received '"
+                        + MessageConstants.getMessageClassForType(hdr.getMessageType()).getSimpleName() + "'");
+            }
+            this.headersQueue.poll();
+
+            byte[] packet = new byte[hdr.getMessageSize()];
+            try {
+                this.inputStream.readFully(packet);
+            } catch (IOException ex) {
+                throw new CJCommunicationsException("Cannot read packet payload", ex);
+            }
+            return new XProtocolRow(packet, expectedFieldCount);
+        } finally {
+            this.syncOperationLock.unlock();
+        }
+    }
+
     @Override
     public void pushMessageListener(final MessageListener<XMessage> listener) {
         try {
@@ -22,13 +22,12 @@ package com.mysql.cj.protocol.x;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.channels.CompletionHandler;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.MessageLite;
 import com.mysql.cj.Messages;
 import com.mysql.cj.exceptions.CJCommunicationsException;
@@ -46,11 +45,25 @@ public class SyncMessageSender implements MessageSender<XMessage>, PacketSentTim
      */
     static final int HEADER_LEN = 5;
 
+    /**
+     * Initial size of the buffer messages are serialized into.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+
+    /**
+     * Maximum size the send buffer grows to. Larger messages are serialized straight into the output stream.
+     */
+    private static final int MAX_BUFFER_SIZE = 65536;
+
     private OutputStream outputStream;
     private long lastPacketSentTime = 0;
     private long previousPacketSentTime = 0;
     private int maxAllowedPacket = -1;
 
+    /** Complete frames of the messages written and not yet flushed, reused from message to message. */
+    private byte[] sendBuffer = new byte[INITIAL_BUFFER_SIZE];
+    private int sendBufferLength = 0;
+
     /** Lock to protect async writes from sync ones. */
     final Lock syncOperationLock = new ReentrantLock();
 
@@ -60,6 +73,23 @@ public class SyncMessageSender implements MessageSender<XMessage>, PacketSentTim
 
     @Override
     public void send(XMessage message) {
+        this.syncOperationLock.lock();
+        try {
+            write(message);
+            flush();
+        } finally {
+            this.syncOperationLock.unlock();
+        }
+    }
+
+    /**
+     * Serializes a message into the send buffer, without sending it. Buffered messages are sent, in a single write, by the next {@link #flush()} or
+     * {@link #send(XMessage)}, which allows pipelining several messages in the same round-trip.
+     *
+     * @param message
+     *            the message to write
+     */
+    public void write(XMessage message) {
         this.syncOperationLock.lock();
         try {
             MessageLite msg = message.getMessage();
@@ -71,13 +101,26 @@ public class SyncMessageSender implements MessageSender<XMessage>, PacketSentTim
                 }
                 // for debugging
                 // System.err.println("Initiating write of message (size=" + size + ", tag=" + ClientMessages.Type.valueOf(type) + ")");
-                byte[] sizeHeader = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(size).array();
-                this.outputStream.write(sizeHeader);
-                this.outputStream.write(type);
-                msg.writeTo(this.outputStream);
-                this.outputStream.flush();
-                this.previousPacketSentTime = this.lastPacketSentTime;
-                this.lastPacketSentTime = System.currentTimeMillis();
+                int frameLength = 4 + size;
+                if (this.sendBufferLength + frameLength > this.sendBuffer.length) {
+                    writeBufferedFrames();
+                    if (frameLength > MAX_BUFFER_SIZE) {
+                        // Too big to be buffered, stream it.
+                        byte[] header = new byte[HEADER_LEN];
+                        putHeader(header, 0, size, type);
+                        this.outputStream.write(header);
+                        msg.writeTo(this.outputStream);
+                        return;
+                    }
+                    if (frameLength > this.sendBuffer.length) {
+                        this.sendBuffer = new byte[Math.min(Math.max(frameLength, 2 * this.sendBuffer.length), MAX_BUFFER_SIZE)];
+                    }
+                }
+                putHeader(this.sendBuffer, this.sendBufferLength, size, type);
+                CodedOutputStream out = CodedOutputStream.newInstance(this.sendBuffer, this.sendBufferLength + HEADER_LEN, size - 1);
+                msg.writeTo(out);
+                out.checkNoSpaceLeft();
+                this.sendBufferLength += frameLength;
             } catch (IOException ex) {
                 throw new CJCommunicationsException("Unable to write message", ex);
             }
@@ -86,6 +129,49 @@ public class SyncMessageSender implements MessageSender<XMessage>, PacketSentTim
         }
     }
 
+    /**
+     * Sends all the messages written so far.
+     */
+    public void flush() {
+        this.syncOperationLock.lock();
+        try {
+            writeBufferedFrames();
+            this.outputStream.flush();
+            this.previousPacketSentTime = this.lastPacketSentTime;
+            this.lastPacketSentTime = System.currentTimeMillis();
+        } catch (IOException ex) {
+            throw new CJCommunicationsException("Unable to write message", ex);
+        } finally {
+            this.syncOperationLock.unlock();
+        }
+    }
+
+    /**
+     * Moves the buffered frames to the output stream. Frames are written one by one since stream decorators, such as
+     * {@link CompressionSplittedOutputStream}, expect to find a single frame per write.
+     *
+     * @throws IOException
+     *             if an error occurs
+     */
+    private void writeBufferedFrames() throws IOException {
+        int pos = 0;
+        while (pos < this.sendBufferLength) {
+            int frameLength = 4 + (this.sendBuffer[pos] & 0xff | (this.sendBuffer[pos + 1] & 0xff) << 8 | (this.sendBuffer[pos + 2] & 0xff) << 16
+                    | (this.sendBuffer[pos + 3] & 0xff) << 24);
+            this.outputStream.write(this.sendBuffer, pos, frameLength);
+            pos += frameLength;
+        }
+        this.sendBufferLength = 0;
+    }
+
+    private static void putHeader(byte[] buffer, int offset, int size, int type) {
+        buffer[offset] = (byte) size;
+        buffer[offset + 1] = (byte) (size >>> 8);
+        buffer[offset + 2] = (byte) (size >>> 16);
+        buffer[offset + 3] = (byte) (size >>> 24);
+        buffer[offset + 4] = (byte) type;
+    }
+
     @Override
     public CompletableFuture<?> send(XMessage message, CompletableFuture<?> future, Runnable callback) {
         this.syncOperationLock.lock();
@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package com.mysql.cj.protocol.x;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousByteChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import javax.net.ssl.SSLException;
+
+/**
+ * {@link AsynchronousByteChannel} securing an {@link AsynchronousSocketChannel} with an {@link SSLEngine}.
+ * <p>
+ * The TLS handshake is performed by {@link #handshake()}, blocking, before the channel is used. Afterwards, each read delivers the plain text of one or more
+ * TLS records and each write sends one TLS record. As for any {@link AsynchronousByteChannel}, at most one read and one write may be outstanding at a time.
+ */
+class TlsAsynchronousByteChannel implements AsynchronousByteChannel {
+
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
+    private final AsynchronousSocketChannel channel;
+    private final SSLEngine sslEngine;
+    private final int timeout;
+
+    /** Encrypted bytes received and not unwrapped yet, between position and limit. */
+    private ByteBuffer netIn;
+    /** Plain text unwrapped and not read yet, between position and limit. */
+    private ByteBuffer appIn;
+    /** Encrypted bytes of the record being written. */
+    private ByteBuffer netOut;
+
+    /**
+     * Creates a channel securing the given socket channel.
+     *
+     * @param channel
+     *            the connected socket channel
+     * @param sslEngine
+     *            a client mode SSL engine
+     * @param timeout
+     *            the timeout of the reads and writes of the handshake, in milliseconds, or 0 for no timeout
+     */
+    TlsAsynchronousByteChannel(AsynchronousSocketChannel channel, SSLEngine sslEngine, int timeout) {
+        this.channel = channel;
+        this.sslEngine = sslEngine;
+        this.timeout = timeout;
+        this.netIn = ByteBuffer.allocate(sslEngine.getSession().getPacketBufferSize());
+        this.netIn.flip();
+        this.appIn = ByteBuffer.allocate(sslEngine.getSession().getApplicationBufferSize());
+        this.appIn.flip();
+        this.netOut = ByteBuffer.allocate(sslEngine.getSession().getPacketBufferSize());
+    }
+
+    /**
+     * Performs the TLS handshake, blocking until it completes.
+     *
+     * @throws IOException
+     *             if the handshake fails
+     */
+    void handshake() throws IOException {
+        this.sslEngine.beginHandshake();
+        HandshakeStatus status = this.sslEngine.getHandshakeStatus();
+        while (status != HandshakeStatus.FINISHED && status != HandshakeStatus.NOT_HANDSHAKING) {
+            switch (status) {
+                case NEED_WRAP:
+                    this.netOut.clear();
+                    SSLEngineResult wrapResult = wrap(EMPTY_BUFFER);
+                    this.netOut.flip();
+                    while (this.netOut.hasRemaining()) {
+                        XAsyncSocketConnection.await(this.channel.write(this.netOut), this.timeout);
+                    }
+                    if (wrapResult.getStatus() == SSLEngineResult.Status.CLOSED) {
+                        throw new EOFException();
+                    }
+                    status = wrapResult.getHandshakeStatus();
+                    break;
+
+                case NEED_TASK:
+                    runDelegatedTasks();
+                    status = this.sslEngine.getHandshakeStatus();
+                    break;
+
+                default: // NEED_UNWRAP, NEED_UNWRAP_AGAIN
+                    this.appIn.compact();
+                    SSLEngineResult unwrapResult;
+                    try {
+                        unwrapResult = this.sslEngine.unwrap(this.netIn, this.appIn);
+                    } finally {
+                        this.appIn.flip();
+                    }
+                    switch (unwrapResult.getStatus()) {
+                        case BUFFER_UNDERFLOW:
+                            compactNetIn();
+                            int n;
+                            try {
+                                n = XAsyncSocketConnection.await(this.channel.read(this.netIn), this.timeout);
+                            } finally {
+                                this.netIn.flip();
+                            }
+                            if (n < 0) {
+                                throw new EOFException();
+                            }
+                            status = this.sslEngine.getHandshakeStatus();
+                            break;
+                        case BUFFER_OVERFLOW:
+                            this.appIn = enlarge(this.appIn, this.sslEngine.getSession().getApplicationBufferSize());
+                            status = this.sslEngine.getHandshakeStatus();
+                            break;
+                        case CLOSED:
+                            throw new EOFException();
+                        default:
+                            status = unwrapResult.getHandshakeStatus();
+                            break;
+                    }
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public <A> void read(ByteBuffer dst, A attachment, CompletionHandler<Integer, ? super A> handler) {
+        try {
+            if (this.appIn.hasRemaining() || unwrap()) {
+                handler.completed(transferTo(dst), attachment);
+                return;
+            }
+        } catch (SSLException e) {
+            handler.failed(e, attachment);
+            return;
+        }
+
+        compactNetIn();
+        this.channel.read(this.netIn, null, new CompletionHandler<Integer, Void>() {
+
+            @Override
+            public void completed(Integer result, Void a) {
+                TlsAsynchronousByteChannel.this.netIn.flip();
+                if (result < 0) {
+                    handler.completed(-1, attachment);
+                } else {
+                    read(dst, attachment, handler);
+                }
+            }
+
+            @Override
+            public void failed(Throwable exc, Void a) {
+                TlsAsynchronousByteChannel.this.netIn.flip();
+                handler.failed(exc, attachment);
+            }
+
+        });
+    }
+
+    @Override
+    public Future<Integer> read(ByteBuffer dst) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        read(dst, null, new FutureCompletionHandler(future));
+        return future;
+    }
+
+    @Override
+    public <A> void write(ByteBuffer src, A attachment, CompletionHandler<Integer, ? super A> handler) {
+        int consumed;
+        try {
+            this.netOut.clear();
+            SSLEngineResult result = wrap(src);
+            this.netOut.flip();
+            if (result.getStatus() == SSLEngineResult.Status.CLOSED) {
+                handler.failed(new ClosedChannelException(), attachment);
+                return;
+            }
+            consumed = result.bytesConsumed();
+        } catch (SSLException e) {
+            handler.failed(e, attachment);
+            return;
+        }
+
+        this.channel.write(this.netOut, null, new CompletionHandler<Integer, Void>() {
+
+            @Override
+            public void completed(Integer result, Void a) {
+                if (TlsAsynchronousByteChannel.this.netOut.hasRemaining()) {
+                    TlsAsynchronousByteChannel.this.channel.write(TlsAsynchronousByteChannel.this.netOut, null, this);
+                } else {
+                    handler.completed(consumed, attachment);
+                }
+            }
+
+            @Override
+            public void failed(Throwable exc, Void a) {
+                handler.failed(exc, attachment);
+            }
+
+        });
+    }
+
+    @Override
+    public Future<Integer> write(ByteBuffer src) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        write(src, null, new FutureCompletionHandler(future));
+        return future;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return this.channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.sslEngine.closeOutbound();
+        this.channel.close();
+    }
+
+    /**
+     * Unwraps the records received so far into {@link #appIn}.
+     *
+     * @return true if some plain text was unwrapped, or the end of the stream reached, false if more bytes must be received
+     * @throws SSLException
+     *             if unwrapping fails
+     */
+    private boolean unwrap() throws SSLException {
+        while (this.netIn.hasRemaining()) {
+            this.appIn.compact();
+            SSLEngineResult result;
+            try {
+                result = this.sslEngine.unwrap(this.netIn, this.appIn);
+            } finally {
+                this.appIn.flip();
+            }
+            switch (result.getStatus()) {
+                case BUFFER_UNDERFLOW:
+                    return false;
+                case BUFFER_OVERFLOW:
+                    this.appIn = enlarge(this.appIn, this.sslEngine.getSession().getApplicationBufferSize());
+                    break;
+                case CLOSED:
+                    return true;
+                default:
+                    if (result.getHandshakeStatus() == HandshakeStatus.NEED_TASK) {
+                        runDelegatedTasks();
+                    }
+                    if (result.bytesProduced() > 0) {
+                        return true;
+                    }
+                    break;
+            }
+        }
+        return false;
+    }
+
+    private SSLEngineResult wrap(ByteBuffer src) throws SSLException {
+        while (true) {
+            SSLEngineResult result = this.sslEngine.wrap(src, this.netOut);
+            if (result.getStatus() != SSLEngineResult.Status.BUFFER_OVERFLOW) {
+                if (result.getHandshakeStatus() == HandshakeStatus.NEED_TASK) {
+                    runDelegatedTasks();
+                }
+                return result;
+            }
+            this.netOut.flip();
+            this.netOut = enlarge(this.netOut, this.sslEngine.getSession().getPacketBufferSize());
+            this.netOut.compact();
+        }
+    }
+
+    /**
+     * Moves the plain text unwrapped to the given buffer.
+     *
+     * @param dst
+     *            the buffer to fill
+     * @return the number of bytes moved, or -1 if there are none left and the end of the stream was reached
+     */
+    private int transferTo(ByteBuffer dst) {
+        if (!this.appIn.hasRemaining()) {
+            return -1; // inbound closed
+        }
+        int n = Math.min(dst.remaining(), this.appIn.remaining());
+        ByteBuffer slice = this.appIn.duplicate();
+        slice.limit(slice.position() + n);
+        dst.put(slice);
+        this.appIn.position(this.appIn.position() + n);
+        return n;
+    }
+
+    /**
+     * Prepares {@link #netIn} for receiving more bytes, making room for a whole record.
+     */
+    private void compactNetIn() {
+        int packetBufferSize = this.sslEngine.getSession().getPacketBufferSize();
+        if (this.netIn.capacity() - this.netIn.remaining() < packetBufferSize && this.netIn.capacity() < packetBufferSize * 2) {
+            this.netIn = enlarge(this.netIn, packetBufferSize);
+        }
+        this.netIn.compact();
+    }
+
+    private void runDelegatedTasks() {
+        Runnable task;
+        while ((task = this.sslEngine.getDelegatedTask()) != null) {
+            task.run();
+        }
+    }
+
+    /**
+     * Copies the remaining bytes of the given buffer into a larger one.
+     *
+     * @param buffer
+     *            a buffer in read mode
+     * @param extraCapacity
+     *            the capacity to add
+     * @return a buffer in write mode holding the remaining bytes
+     */
+    private static ByteBuffer enlarge(ByteBuffer buffer, int extraCapacity) {
+        ByteBuffer newBuffer = ByteBuffer.allocate(buffer.capacity() + extraCapacity);
+        newBuffer.put(buffer);
+        newBuffer.flip();
+        return newBuffer;
+    }
+
+    private static class FutureCompletionHandler implements CompletionHandler<Integer, Void> {
+
+        private final CompletableFuture<Integer> future;
+
+        FutureCompletionHandler(CompletableFuture<Integer> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void completed(Integer result, Void attachment) {
+            this.future.complete(result);
+        }
+
+        @Override
+        public void failed(Throwable exc, Void attachment) {
+            this.future.completeExceptionally(exc);
+        }
+
+    }
+
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+
+package com.mysql.cj.protocol.x;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.channels.AsynchronousByteChannel;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.SSLEngine;
+
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.exceptions.ExceptionFactory;
+import com.mysql.cj.exceptions.ExceptionInterceptor;
+import com.mysql.cj.exceptions.FeatureNotAvailableException;
+import com.mysql.cj.exceptions.SSLParamsException;
+import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.AbstractSocketConnection;
+import com.mysql.cj.protocol.ExportControlled;
+import com.mysql.cj.protocol.FullReadInputStream;
+import com.mysql.cj.protocol.NetworkResources;
+import com.mysql.cj.protocol.PacketSentTimeHolder;
+import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.protocol.SocketConnection;
+
+/**
+ * X Protocol socket connection over an {@link AsynchronousSocketChannel}.
+ * <p>
+ * Channels are bound to an {@link AsynchronousChannelGroup} whose threads act as the event loop completing reads and writes, so waiting for server messages
+ * does not hold any thread. Channels created without an explicit group share a default one, created on first use with
+ * {@link PropertyKey#xdevapiAsyncEventLoopThreads} threads.
+ * <p>
+ * The streams returned by {@link #getMysqlInput()} and {@link #getMysqlOutput()} still support blocking use, which {@link AsyncMessageReader} and
+ * {@link AsyncMessageSender} rely on for synchronous operations.
+ * <p>
+ * Event loop threads only perform I/O. Message listeners, and so the continuations of the futures they complete, run in a separate dispatch executor, so
+ * that a listener or continuation that blocks cannot stall the other connections of the group nor wait for a read only the event loop could complete.
+ */
+public class XAsyncSocketConnection extends AbstractSocketConnection implements SocketConnection {
+
+    private static final String THREAD_NAME_PREFIX = "mysql-cj-xdevapi-io-";
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final String DISPATCH_THREAD_NAME_PREFIX = "mysql-cj-xdevapi-dispatch-";
+    private static final AtomicInteger DISPATCH_THREAD_COUNTER = new AtomicInteger();
+
+    private final AsynchronousChannelGroup channelGroup;
+    private AsynchronousSocketChannel socketChannel;
+    private AsynchronousByteChannel channel;
+    private AsyncChannelInputStream channelInput;
+    private AsyncChannelOutputStream channelOutput;
+    private int socketTimeout = 0;
+    private boolean sslEstablished = false;
+
+    /**
+     * Creates a connection bound to the given channel group.
+     *
+     * @param channelGroup
+     *            the channel group, or null for the default one
+     */
+    public XAsyncSocketConnection(AsynchronousChannelGroup channelGroup) {
+        this.channelGroup = channelGroup;
+    }
+
+    /**
+     * Creates a channel group backed by a fixed pool of daemon threads.
+     *
+     * @param threads
+     *            the number of threads, or 0 for the number of available processors
+     * @return the channel group
+     */
+    public static AsynchronousChannelGroup createChannelGroup(int threads) {
+        try {
+            return AsynchronousChannelGroup.withFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), EventLoopThread::new);
+        } catch (IOException e) {
+            throw ExceptionFactory.createException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void connect(String hostName, int portNumber, PropertySet propSet, ExceptionInterceptor excInterceptor, Log log, int loginTimeout) {
+        this.port = portNumber;
+        this.host = hostName;
+        this.propertySet = propSet;
+        this.exceptionInterceptor = excInterceptor;
+        this.socketTimeout = propSet.getIntegerProperty(PropertyKey.socketTimeout).getValue();
+
+        int connectTimeout = propSet.getIntegerProperty(PropertyKey.connectTimeout).getValue();
+        if (loginTimeout != 0 && (connectTimeout == 0 || loginTimeout < connectTimeout)) {
+            connectTimeout = loginTimeout;
+        }
+
+        try {
+            IOException caughtWhileConnecting = null;
+            for (InetAddress address : InetAddress.getAllByName(this.host)) {
+                AsynchronousSocketChannel sc = AsynchronousSocketChannel
+                        .open(this.channelGroup != null ? this.channelGroup : DefaultChannelGroupHolder.get(propSet));
+                try {
+                    configureChannel(sc, propSet);
+                    await(sc.connect(new InetSocketAddress(address, this.port)), connectTimeout);
+                    this.socketChannel = sc;
+                    break;
+                } catch (IOException ex) {
+                    caughtWhileConnecting = ex;
+                    sc.close();
+                }
+            }
+
+            if (this.socketChannel == null) {
+                throw caughtWhileConnecting != null ? caughtWhileConnecting : new IOException("Unable to connect to " + this.host + ":" + this.port);
+            }
+
+            setChannel(this.socketChannel);
+        } catch (IOException ioEx) {
+            throw ExceptionFactory.createCommunicationsException(propSet, null, new PacketSentTimeHolder() {
+            }, null, ioEx, getExceptionInterceptor());
+        }
+    }
+
+    private static void configureChannel(AsynchronousSocketChannel sc, PropertySet propSet) throws IOException {
+        sc.setOption(StandardSocketOptions.TCP_NODELAY, propSet.getBooleanProperty(PropertyKey.tcpNoDelay).getValue());
+        sc.setOption(StandardSocketOptions.SO_KEEPALIVE, propSet.getBooleanProperty(PropertyKey.tcpKeepAlive).getValue());
+
+        int receiveBufferSize = propSet.getIntegerProperty(PropertyKey.tcpRcvBuf).getValue();
+        if (receiveBufferSize > 0) {
+            sc.setOption(StandardSocketOptions.SO_RCVBUF, receiveBufferSize);
+        }
+
+        int sendBufferSize = propSet.getIntegerProperty(PropertyKey.tcpSndBuf).getValue();
+        if (sendBufferSize > 0) {
+            sc.setOption(StandardSocketOptions.SO_SNDBUF, sendBufferSize);
+        }
+    }
+
+    private void setChannel(AsynchronousByteChannel byteChannel) {
+        this.channel = byteChannel;
+        this.channelInput = new AsyncChannelInputStream(byteChannel, this.socketTimeout);
+        this.channelOutput = new AsyncChannelOutputStream(byteChannel);
+        this.mysqlInput = new FullReadInputStream(this.channelInput);
+        this.mysqlOutput = new BufferedOutputStream(this.channelOutput, 16384);
+    }
+
+    @Override
+    public void performTlsHandshake(ServerSession serverSession) throws SSLParamsException, FeatureNotAvailableException, IOException {
+        performTlsHandshake(serverSession, null);
+    }
+
+    @Override
+    public void performTlsHandshake(ServerSession serverSession, Log log) throws SSLParamsException, FeatureNotAvailableException, IOException {
+        SSLEngine sslEngine = ExportControlled.createSSLEngine(this, null);
+        TlsAsynchronousByteChannel tlsChannel = new TlsAsynchronousByteChannel(this.socketChannel, sslEngine, this.socketTimeout);
+        tlsChannel.handshake();
+        ExportControlled.verifyServerIdentity(sslEngine.getSession(), this);
+
+        setChannel(tlsChannel);
+        this.sslEstablished = true;
+    }
+
+    @Override
+    public boolean isSSLEstablished() {
+        return this.sslEstablished;
+    }
+
+    @Override
+    public NetworkResources getNetworkResources() {
+        return new NetworkResources(null, this.mysqlInput, this.mysqlOutput);
+    }
+
+    @Override
+    public void forceClose() {
+        try {
+            super.forceClose();
+        } finally {
+            try {
+                if (this.channel != null) {
+                    this.channel.close();
+                }
+            } catch (IOException e) {
+                // Can't do anything constructive about this.
+            }
+            this.channel = null;
+            this.channelInput = null;
+            this.channelOutput = null;
+        }
+    }
+
+    /**
+     * Returns the underlying socket channel.
+     *
+     * @return the socket channel
+     */
+    public AsynchronousSocketChannel getSocketChannel() {
+        return this.socketChannel;
+    }
+
+    AsyncChannelInputStream getChannelInput() {
+        return this.channelInput;
+    }
+
+    AsyncChannelOutputStream getChannelOutput() {
+        return this.channelOutput;
+    }
+
+    /**
+     * Returns the executor message listeners are dispatched in once the event loop has received their messages.
+     * <p>
+     * Its threads are created on demand and released after a minute of inactivity. As the listeners of a connection are dispatched one at a time, and only
+     * while their messages are buffered, it uses at most one thread per connection with received messages to dispatch.
+     *
+     * @return the dispatch executor
+     */
+    static Executor getDispatchExecutor() {
+        return DispatchExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Tells whether the current thread is an event loop thread of a channel group created by {@link #createChannelGroup(int)}.
+     *
+     * @return true if the current thread is an event loop thread
+     */
+    static boolean isEventLoopThread() {
+        return Thread.currentThread() instanceof EventLoopThread;
+    }
+
+    /**
+     * Waits for the completion of a channel operation.
+     *
+     * @param <T>
+     *            result type
+     * @param future
+     *            the pending operation
+     * @param timeoutMillis
+     *            the timeout in milliseconds, or 0 for no timeout
+     * @return the result of the operation
+     * @throws IOException
+     *             if the operation fails, times out or the current thread is interrupted
+     */
+    static <T> T await(Future<T> future, int timeoutMillis) throws IOException {
+        try {
+            return timeoutMillis > 0 ? future.get(timeoutMillis, TimeUnit.MILLISECONDS) : future.get();
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            SocketTimeoutException ex = new SocketTimeoutException("Timed out waiting for the server");
+            ex.initCause(e);
+            throw ex;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            InterruptedIOException ex = new InterruptedIOException();
+            ex.initCause(e);
+            throw ex;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Event loop thread, told apart so that blocking operations can be refused in it.
+     */
+    static class EventLoopThread extends Thread {
+
+        EventLoopThread(Runnable r) {
+            super(r, THREAD_NAME_PREFIX + THREAD_COUNTER.incrementAndGet());
+            setDaemon(true);
+        }
+
+    }
+
+    /**
+     * Lazily created executor shared by all connections for dispatching message listeners.
+     */
+    private static class DispatchExecutorHolder {
+
+        static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, DISPATCH_THREAD_NAME_PREFIX + DISPATCH_THREAD_COUNTER.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+    }
+
+    /**
+     * Lazily created channel group shared by the connections not given an explicit one.
+     */
+    private static class DefaultChannelGroupHolder {
+
+        private static volatile AsynchronousChannelGroup group;
+
+        static AsynchronousChannelGroup get(PropertySet propSet) {
+            if (group == null) {
+                synchronized (DefaultChannelGroupHolder.class) {
+                    if (group == null) {
+                        group = createChannelGroup(propSet.getIntegerProperty(PropertyKey.xdevapiAsyncEventLoopThreads).getValue());
+                    }
+                }
+            }
+            return group;
+        }
+
+    }
+
+}
@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
+import java.nio.channels.AsynchronousChannelGroup;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -118,6 +119,9 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
 
     private ResultStreamer currentResultStreamer;
 
+    /** Queries sent with {@link #queryPipelined(Message, ResultBuilder)} whose results were not read yet, in order. */
+    private List<PipelinedQuery<?>> pipelinedQueries = new ArrayList<>();
+
     XServerSession serverSession = null;
     Boolean useSessionResetKeepOpen = null;
 
@@ -138,6 +142,20 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
     private Map<Class<? extends com.google.protobuf.Message>, ProtocolEntityFactory<? extends ProtocolEntity, XMessage>> messageToProtocolEntityFactory = new HashMap<>();
 
     public XProtocol(HostInfo hostInfo, PropertySet propertySet) {
+        this(hostInfo, propertySet, null);
+    }
+
+    /**
+     * Creates a protocol instance connected to the given host.
+     *
+     * @param hostInfo
+     *            the host to connect to
+     * @param propertySet
+     *            the connection properties
+     * @param channelGroup
+     *            the channel group the connection is bound to if {@link PropertyKey#xdevapiUseAsyncProtocol} is enabled, or null for the default one
+     */
+    public XProtocol(HostInfo hostInfo, PropertySet propertySet, AsynchronousChannelGroup channelGroup) {
         if (hostInfo == null && propertySet == null) {
             return; // Special instance of Protocol that can be used as poison object.
         }
@@ -159,7 +177,9 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
             connectTimeout.setValue(xdevapiConnectTimeout.getValue());
         }
 
-        SocketConnection socketConn = new NativeSocketConnection();
+        SocketConnection socketConn = propertySet.getBooleanProperty(PropertyKey.xdevapiUseAsyncProtocol).getValue()
+                ? new XAsyncSocketConnection(channelGroup)
+                : new NativeSocketConnection();
         socketConn.connect(host, port, propertySet, null, null, 0);
         init(null, socketConn, propertySet, null);
     }
@@ -228,13 +248,31 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
         }
 
         try {
-            this.sender = new SyncMessageSender(this.socketConnection.getMysqlOutput());
-            this.reader = new SyncMessageReader(this.socketConnection.getMysqlInput(), this);
+            createMessageSenderAndReader();
         } catch (IOException e) {
             throw new XProtocolError(e.getMessage(), e);
         }
     }
 
+    /**
+     * Creates the message sender and reader over the streams of the socket connection, non-blocking ones if the connection is asynchronous.
+     *
+     * @throws IOException
+     *             if the socket connection is closed
+     */
+    private void createMessageSenderAndReader() throws IOException {
+        if (this.socketConnection instanceof XAsyncSocketConnection) {
+            XAsyncSocketConnection asyncConnection = (XAsyncSocketConnection) this.socketConnection;
+            this.sender = new AsyncMessageSender(asyncConnection.getMysqlOutput(), asyncConnection.getChannelOutput(),
+                    XAsyncSocketConnection.getDispatchExecutor());
+            this.reader = new AsyncMessageReader(asyncConnection.getMysqlInput(), asyncConnection.getChannelInput(),
+                    XAsyncSocketConnection.getDispatchExecutor(), this);
+        } else {
+            this.sender = new SyncMessageSender(this.socketConnection.getMysqlOutput());
+            this.reader = new SyncMessageReader(this.socketConnection.getMysqlInput(), this);
+        }
+    }
+
     /**
      * Negotiates compression capabilities with the server.
      */
@@ -243,6 +281,13 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
         if (compression == Compression.DISABLED) {
             return;
         }
+        if (this.socketConnection instanceof XAsyncSocketConnection) {
+            // Messages are framed in the channel input buffer, which does not see through compressed frames.
+            if (compression == Compression.REQUIRED) {
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("Protocol.Compression.8"));
+            }
+            return;
+        }
 
         Map<String, List<String>> compressionCapabilities = this.serverSession.serverCapabilities.getCompression();
         if (compressionCapabilities.isEmpty() || !compressionCapabilities.containsKey(XServerCapabilities.SUBKEY_COMPRESSION_ALGORITHM)
@@ -290,9 +335,10 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
         this.serverSession = new XServerSession();
 
         try {
-            this.sender = new SyncMessageSender(this.socketConnection.getMysqlOutput());
-            this.reader = new SyncMessageReader(this.socketConnection.getMysqlInput(), this);
-            this.managedResource = this.socketConnection.getMysqlSocket();
+            createMessageSenderAndReader();
+            this.managedResource = this.socketConnection instanceof XAsyncSocketConnection
+                    ? ((XAsyncSocketConnection) this.socketConnection).getSocketChannel()
+                    : this.socketConnection.getMysqlSocket();
         } catch (IOException e) {
             throw new XProtocolError(e.getMessage(), e);
         }
@@ -578,6 +624,7 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
 
     @Override
     public <T extends QueryResult> T readQueryResult(ResultBuilder<T> resultBuilder) {
+        readPipelinedResults();
         try {
             List<Notice> notices;
             boolean done = false;
@@ -626,7 +673,7 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
     public void drainRows() {
         try {
             while (((SyncMessageReader) this.reader).getNextNonNoticeMessageType() == ServerMessages.Type.RESULTSET_ROW_VALUE) {
-                this.reader.readMessage(null, ServerMessages.Type.RESULTSET_ROW_VALUE);
+                ((SyncMessageReader) this.reader).readRow(0, null);
             }
         } catch (XProtocolError e) {
             this.currentResultStreamer = null;
@@ -643,6 +690,7 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
     }
 
     public ColumnDefinition readMetadata(Consumer<Notice> noticeConsumer) {
+        readPipelinedResults();
         try {
             List<Notice> notices;
             List<ColumnMetaData> fromServer = new LinkedList<>();
@@ -691,13 +739,8 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
 
     public XProtocolRow readRowOrNull(ColumnDefinition metadata, Consumer<Notice> noticeConsumer) {
         try {
-            List<Notice> notices;
             if (((SyncMessageReader) this.reader).getNextNonNoticeMessageType() == ServerMessages.Type.RESULTSET_ROW_VALUE) {
-                XMessage mess = this.reader.readMessage(null, ServerMessages.Type.RESULTSET_ROW_VALUE);
-                if (noticeConsumer != null && (notices = mess.getNotices()) != null) {
-                    notices.stream().forEach(noticeConsumer::accept);
-                }
-                XProtocolRow res = new XProtocolRow((Row) mess.getMessage());
+                XProtocolRow res = ((SyncMessageReader) this.reader).readRow(metadata.getFields().length, noticeConsumer);
                 res.setMetadata(metadata);
                 return res;
             }
@@ -814,8 +857,9 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
             }
         }
 
-        // Before continuing clean up any abandoned prepared statements that were not properly deallocated.
-        if (this.supportsPreparedStatements) {
+        // Before continuing clean up any abandoned prepared statements that were not properly deallocated. Not in the middle of a pipeline though, as the
+        // results of the pipelined queries come first.
+        if (this.supportsPreparedStatements && this.pipelinedQueries.isEmpty()) {
             Reference<? extends PreparableStatement<?>> ref;
             while ((ref = this.preparableStatementRefQueue.poll()) != null) {
                 PreparableStatementFinalizer psf = (PreparableStatementFinalizer) ref;
@@ -843,8 +887,86 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
         return res;
     }
 
+    /**
+     * Sends a query pipelined with the next one: the message is written but not flushed, so that it reaches the server together with the next message sent
+     * by any of the query or send methods, in a single round-trip. Its result is read right before the result of the next query, and completes the returned
+     * future; errors from the server complete it exceptionally and do not prevent reading the results that follow.
+     * <p>
+     * The result builder must not stream rows.
+     *
+     * @param message
+     *            the message to send
+     * @param resultBuilder
+     *            the builder of the result
+     * @param <M>
+     *            message type
+     * @param <R>
+     *            result type
+     * @return a future completed when the result is read
+     */
+    public <M extends Message, R extends QueryResult> CompletableFuture<R> queryPipelined(M message, ResultBuilder<R> resultBuilder) {
+        newCommand();
+        ((SyncMessageSender) this.sender).write((XMessage) message);
+        PipelinedQuery<R> query = new PipelinedQuery<>(resultBuilder);
+        this.pipelinedQueries.add(query);
+        return query.future;
+    }
+
+    /**
+     * Reads the results of the pipelined queries, if any, flushing them first in case no other message followed. Every pending future is completed when this
+     * method returns, exceptionally if reading failed.
+     */
+    public void readPipelinedResults() {
+        if (this.pipelinedQueries.isEmpty()) {
+            return;
+        }
+        List<PipelinedQuery<?>> queries = this.pipelinedQueries;
+        this.pipelinedQueries = new ArrayList<>();
+        int i = 0;
+        try {
+            ((SyncMessageSender) this.sender).flush();
+            for (; i < queries.size(); i++) {
+                queries.get(i).readResult();
+            }
+        } catch (Throwable t) {
+            for (; i < queries.size(); i++) {
+                queries.get(i).future.completeExceptionally(t);
+            }
+            throw t;
+        }
+    }
+
+    /**
+     * A query sent with {@link XProtocol#queryPipelined(Message, ResultBuilder)}, waiting for its result.
+     *
+     * @param <R>
+     *            result type
+     */
+    private class PipelinedQuery<R extends QueryResult> {
+
+        final ResultBuilder<R> resultBuilder;
+        final CompletableFuture<R> future = new CompletableFuture<>();
+
+        PipelinedQuery(ResultBuilder<R> resultBuilder) {
+            this.resultBuilder = resultBuilder;
+        }
+
+        void readResult() {
+            try {
+                this.future.complete(readQueryResult(this.resultBuilder));
+            } catch (XProtocolError e) {
+                if (e.getCause() instanceof IOException) {
+                    throw e;
+                }
+                this.future.completeExceptionally(e);
+            }
+        }
+
+    }
+
     public <M extends Message, R extends QueryResult> CompletableFuture<R> queryAsync(M message, ResultBuilder<R> resultBuilder) {
         newCommand();
+        readPipelinedResults();
         CompletableFuture<R> f = new CompletableFuture<>();
         MessageListener<XMessage> l = new ResultMessageListener<>(this.messageToProtocolEntityFactory, resultBuilder, f);
         this.sender.send((XMessage) message, f, () -> this.reader.pushMessageListener(l));
@@ -278,15 +278,8 @@ public class XProtocolDecoder implements ValueDecoder {
 
     @Override
     public <T> T decodeByteArray(byte[] bytes, int offset, int length, Field f, ValueFactory<T> vf) {
-        try {
-            CodedInputStream inputStream = CodedInputStream.newInstance(bytes, offset, length);
-            // c.f. Streaming_command_delegate::get_string()
-            int size = inputStream.getBytesUntilLimit();
-            size--; // for null terminator
-            return vf.createFromBytes(inputStream.readRawBytes(size), 0, size, f);
-        } catch (IOException e) {
-            throw new DataReadException(e);
-        }
+        // c.f. Streaming_command_delegate::get_string()
+        return vf.createFromBytes(bytes, offset, length - 1, f); // for null terminator
     }
 
     @Override
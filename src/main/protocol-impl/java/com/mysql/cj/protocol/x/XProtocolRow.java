@@ -20,9 +20,11 @@
 
 package com.mysql.cj.protocol.x;
 
-import com.google.protobuf.ByteString;
+import java.util.Arrays;
+
 import com.mysql.cj.MysqlType;
 import com.mysql.cj.exceptions.DataReadException;
+import com.mysql.cj.exceptions.WrongArgumentException;
 import com.mysql.cj.protocol.ColumnDefinition;
 import com.mysql.cj.result.Field;
 import com.mysql.cj.result.ValueFactory;
@@ -30,15 +32,110 @@ import com.mysql.cj.x.protobuf.MysqlxResultset.Row;
 
 /**
  * ProtocolEntity representing an X Protocol result row.
+ * <p>
+ * Field values are decoded straight from the serialized <code>Mysqlx.Resultset.Row</code> message, whose field boundaries are found once, when the row is
+ * created, without building the protobuf object.
  */
 public class XProtocolRow implements com.mysql.cj.result.Row {
 
+    /** Tag of the <code>field</code> entries of <code>Mysqlx.Resultset.Row</code>: field number 1, length-delimited. */
+    private static final int FIELD_TAG = 1 << 3 | 2;
+
     private ColumnDefinition metadata;
-    private Row rowMessage;
+    /** Serialized <code>Mysqlx.Resultset.Row</code> message. */
+    private final byte[] data;
+    /** Offset in {@link #data} of each field value, followed by its length. */
+    private final int[] fieldBounds;
     private boolean wasNull = false;
 
     public XProtocolRow(Row rowMessage) {
-        this.rowMessage = rowMessage;
+        this(rowMessage.toByteArray(), rowMessage.getFieldCount());
+    }
+
+    /**
+     * Creates a row from a serialized <code>Mysqlx.Resultset.Row</code> message, which is kept and must not be modified afterwards.
+     *
+     * @param data
+     *            the message payload
+     * @param expectedFieldCount
+     *            the number of fields expected, used for sizing
+     */
+    public XProtocolRow(byte[] data, int expectedFieldCount) {
+        this.data = data;
+        this.fieldBounds = scanFields(data, expectedFieldCount);
+    }
+
+    /**
+     * Finds the boundaries of the field values of a serialized <code>Mysqlx.Resultset.Row</code> message. Unknown fields are skipped, as protobuf does.
+     *
+     * @param data
+     *            the message payload
+     * @param expectedFieldCount
+     *            the number of fields expected
+     * @return the offset and length of each field value
+     */
+    private static int[] scanFields(byte[] data, int expectedFieldCount) {
+        int[] bounds = new int[2 * Math.max(expectedFieldCount, 1)];
+        int count = 0;
+        int pos = 0;
+        while (pos < data.length) {
+            long tag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (pos >= data.length || shift > 63) {
+                    throw new WrongArgumentException("Malformed Mysqlx.Resultset.Row message");
+                }
+                b = data[pos++];
+                tag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            int wireType = (int) tag & 0x07;
+            long length;
+            switch (wireType) {
+                case 0: // varint
+                    while (pos < data.length && data[pos] < 0) {
+                        pos++;
+                    }
+                    length = 1;
+                    break;
+                case 1: // fixed64
+                    length = 8;
+                    break;
+                case 2: // length-delimited
+                    length = 0;
+                    shift = 0;
+                    do {
+                        if (pos >= data.length || shift > 63) {
+                            throw new WrongArgumentException("Malformed Mysqlx.Resultset.Row message");
+                        }
+                        b = data[pos++];
+                        length |= (long) (b & 0x7F) << shift;
+                        shift += 7;
+                    } while (b < 0);
+                    break;
+                case 5: // fixed32
+                    length = 4;
+                    break;
+                default:
+                    throw new WrongArgumentException("Malformed Mysqlx.Resultset.Row message");
+            }
+            if (length < 0 || length > data.length - pos) {
+                throw new WrongArgumentException("Malformed Mysqlx.Resultset.Row message");
+            }
+
+            if (tag == FIELD_TAG) {
+                if (2 * count == bounds.length) {
+                    bounds = Arrays.copyOf(bounds, 2 * bounds.length);
+                }
+                bounds[2 * count] = pos;
+                bounds[2 * count + 1] = (int) length;
+                count++;
+            }
+            pos += (int) length;
+        }
+        return 2 * count == bounds.length ? bounds : Arrays.copyOf(bounds, 2 * count);
     }
 
     @Override
@@ -53,11 +150,9 @@ public class XProtocolRow implements com.mysql.cj.result.Row {
             throw new DataReadException("Invalid column");
         }
         Field f = this.metadata.getFields()[columnIndex];
-        ByteString byteString = this.rowMessage.getField(columnIndex);
-        // for debugging
-        //System.err.println("getValue bytes = " + com.mysql.cj.core.util.StringUtils.dumpAsHex(byteString.toByteArray(), byteString.toByteArray().length));
-        //try {
-        if (byteString.size() == 0) {
+        int offset = this.fieldBounds[2 * columnIndex];
+        int length = this.fieldBounds[2 * columnIndex + 1];
+        if (length == 0) {
             T result = vf.createFromNull();
             this.wasNull = result == null;
             return result;
@@ -67,25 +162,25 @@ public class XProtocolRow implements com.mysql.cj.result.Row {
         switch (f.getMysqlTypeId()) {
             case MysqlType.FIELD_TYPE_BIT:
                 this.wasNull = false;
-                return XProtocolDecoder.instance.decodeBit(byteString.toByteArray(), 0, byteString.size(), vf);
+                return XProtocolDecoder.instance.decodeBit(this.data, offset, length, vf);
 
             case MysqlType.FIELD_TYPE_DATETIME:
                 this.wasNull = false;
                 // TODO scale is unavailable from X Protocol
-                //return XProtocolDecoder.instance.decodeTimestamp(byteString.toByteArray(), 0, byteString.size(), f.getDecimals(), vf);
-                return XProtocolDecoder.instance.decodeTimestamp(byteString.toByteArray(), 0, byteString.size(), 6, vf);
+                //return XProtocolDecoder.instance.decodeTimestamp(this.data, offset, length, f.getDecimals(), vf);
+                return XProtocolDecoder.instance.decodeTimestamp(this.data, offset, length, 6, vf);
 
             case MysqlType.FIELD_TYPE_DOUBLE:
                 this.wasNull = false;
-                return XProtocolDecoder.instance.decodeDouble(byteString.toByteArray(), 0, byteString.size(), vf);
+                return XProtocolDecoder.instance.decodeDouble(this.data, offset, length, vf);
 
             case MysqlType.FIELD_TYPE_ENUM:
                 this.wasNull = false;
-                return XProtocolDecoder.instance.decodeByteArray(byteString.toByteArray(), 0, byteString.size(), f, vf);
+                return XProtocolDecoder.instance.decodeByteArray(this.data, offset, length, f, vf);
 
             case MysqlType.FIELD_TYPE_FLOAT:
                 this.wasNull = false;
-                return XProtocolDecoder.instance.decodeFloat(byteString.toByteArray(), 0, byteString.size(), vf);
+                return XProtocolDecoder.instance.decodeFloat(this.data, offset, length, vf);
 
             //case MysqlType.FIELD_TYPE_GEOMETRY:
             //mysqlTypeToDecoderFunction.put(MysqlType.FIELD_TYPE_GEOMETRY, instance::decodeGeometry);
@@ -94,38 +189,38 @@ public class XProtocolRow implements com.mysql.cj.result.Row {
             case MysqlType.FIELD_TYPE_JSON:
                 this.wasNull = false;
                 // TODO: do we need to really do anything special with JSON? just return correct stuff with getObject() I guess
-                return XProtocolDecoder.instance.decodeByteArray(byteString.toByteArray(), 0, byteString.size(), f, vf);
+                return XProtocolDecoder.instance.decodeByteArray(this.data, offset, length, f, vf);
 
             case MysqlType.FIELD_TYPE_LONGLONG:
                 // X Protocol uses 64-bit ints for everything
                 this.wasNull = false;
                 if (f.isUnsigned()) {
-                    return XProtocolDecoder.instance.decodeUInt8(byteString.toByteArray(), 0, byteString.size(), vf);
+                    return XProtocolDecoder.instance.decodeUInt8(this.data, offset, length, vf);
                 }
-                return XProtocolDecoder.instance.decodeInt8(byteString.toByteArray(), 0, byteString.size(), vf);
+                return XProtocolDecoder.instance.decodeInt8(this.data, offset, length, vf);
 
             case MysqlType.FIELD_TYPE_NEWDECIMAL:
                 this.wasNull = false;
-                return XProtocolDecoder.instance.decodeDecimal(byteString.toByteArray(), 0, byteString.size(), vf);
+                return XProtocolDecoder.instance.decodeDecimal(this.data, offset, length, vf);
 
             case MysqlType.FIELD_TYPE_SET:
                 this.wasNull = false;
-                return XProtocolDecoder.instance.decodeSet(byteString.toByteArray(), 0, byteString.size(), f, vf);
-            //return XProtocolDecoder.instance.decodeByteArray(byteString.toByteArray(), 0, byteString.size(), vf);
+                return XProtocolDecoder.instance.decodeSet(this.data, offset, length, f, vf);
+            //return XProtocolDecoder.instance.decodeByteArray(this.data, offset, length, vf);
 
             case MysqlType.FIELD_TYPE_TIME:
                 this.wasNull = false;
                 // TODO scale is unavailable from X Protocol
-                //return XProtocolDecoder.instance.decodeTime(byteString.toByteArray(), 0, byteString.size(), f.getDecimals(), vf);
-                return XProtocolDecoder.instance.decodeTime(byteString.toByteArray(), 0, byteString.size(), 6, vf);
+                //return XProtocolDecoder.instance.decodeTime(this.data, offset, length, f.getDecimals(), vf);
+                return XProtocolDecoder.instance.decodeTime(this.data, offset, length, 6, vf);
 
             case MysqlType.FIELD_TYPE_VARCHAR:
                 this.wasNull = false;
-                return XProtocolDecoder.instance.decodeByteArray(byteString.toByteArray(), 0, byteString.size(), f, vf);
+                return XProtocolDecoder.instance.decodeByteArray(this.data, offset, length, f, vf);
 
             case MysqlType.FIELD_TYPE_VAR_STRING:
                 this.wasNull = false;
-                return XProtocolDecoder.instance.decodeByteArray(byteString.toByteArray(), 0, byteString.size(), f, vf);
+                return XProtocolDecoder.instance.decodeByteArray(this.data, offset, length, f, vf);
 
             default:
                 throw new DataReadException("Unknown MySQL type constant: " + f.getMysqlTypeId());
@@ -145,8 +240,7 @@ public class XProtocolRow implements com.mysql.cj.result.Row {
 
     @Override
     public boolean getNull(int columnIndex) {
-        ByteString byteString = this.rowMessage.getField(columnIndex);
-        this.wasNull = byteString.size() == 0;
+        this.wasNull = this.fieldBounds[2 * columnIndex + 1] == 0;
         return this.wasNull;
     }
 
@@ -22,6 +22,8 @@ package com.mysql.cj.jdbc;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.locks.Lock;
 
 import com.mysql.cj.MysqlConnection;
@@ -168,6 +170,60 @@ public interface JdbcConnection extends java.sql.Connection, MysqlConnection, Tr
      */
     java.sql.PreparedStatement clientPrepareStatement(String sql, String[] autoGenKeyColNames) throws SQLException;
 
+    /**
+     * Asynchronously executes the given query in a new statement, as {@link java.sql.Statement#executeQuery(String)} does. The statement is closed when the
+     * result set is closed.
+     *
+     * Asynchronous operations submitted to a connection run one at a time in submission order, in a single daemon thread of the connection.
+     *
+     * @param sql
+     *            the query to execute
+     * @return a {@link CompletableFuture} that completes with the result set produced by the query
+     * @throws SQLException
+     *             if this connection is closed
+     */
+    CompletableFuture<java.sql.ResultSet> executeQueryAsync(String sql) throws SQLException;
+
+    /**
+     * Same as {@link #executeQueryAsync(String)} but runs the query in the given {@link Executor}. An executor that creates virtual threads avoids tying up a
+     * platform thread while the query waits for the server.
+     *
+     * @param sql
+     *            the query to execute
+     * @param executor
+     *            the executor that runs the query
+     * @return a {@link CompletableFuture} that completes with the result set produced by the query
+     * @throws SQLException
+     *             if this connection is closed
+     */
+    CompletableFuture<java.sql.ResultSet> executeQueryAsync(String sql, Executor executor) throws SQLException;
+
+    /**
+     * Asynchronously executes the given statement in a new statement object, as {@link java.sql.Statement#executeLargeUpdate(String)} does.
+     *
+     * Asynchronous operations submitted to a connection run one at a time in submission order, in a single daemon thread of the connection.
+     *
+     * @param sql
+     *            the statement to execute
+     * @return a {@link CompletableFuture} that completes with the number of affected rows
+     * @throws SQLException
+     *             if this connection is closed
+     */
+    CompletableFuture<Long> executeUpdateAsync(String sql) throws SQLException;
+
+    /**
+     * Same as {@link #executeUpdateAsync(String)} but runs the statement in the given {@link Executor}.
+     *
+     * @param sql
+     *            the statement to execute
+     * @param executor
+     *            the executor that runs the statement
+     * @return a {@link CompletableFuture} that completes with the number of affected rows
+     * @throws SQLException
+     *             if this connection is closed
+     */
+    CompletableFuture<Long> executeUpdateAsync(String sql, Executor executor) throws SQLException;
+
     /**
      * Returns the number of statements active on this connection, which
      * haven't been .close()d.
@@ -176,6 +232,14 @@ public interface JdbcConnection extends java.sql.Connection, MysqlConnection, Tr
      */
     int getActiveStatementCount();
 
+    /**
+     * Returns the usage counters of the server-side prepared statements cache of this connection.
+     *
+     * @return the cache statistics or null if the connection doesn't cache server-side prepared statements, i.e., if either 'useServerPrepStmts' or
+     *         'cachePrepStmts' is not set
+     */
+    ServerPreparedStatementCacheStatistics getServerPreparedStatementCacheStatistics();
+
     /**
      * Reports how long this connection has been idle.
      * This time (reported in milliseconds) is updated once a query has
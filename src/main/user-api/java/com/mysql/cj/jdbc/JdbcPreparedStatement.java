@@ -22,6 +22,8 @@ package com.mysql.cj.jdbc;
 
 import java.math.BigInteger;
 import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import com.mysql.cj.MysqlType;
 import com.mysql.cj.QueryBindings;
@@ -49,4 +51,72 @@ public interface JdbcPreparedStatement extends java.sql.PreparedStatement, JdbcS
 
     ParameterBindings getParameterBindings() throws SQLException;
 
+    /**
+     * Executes this query once for each one of the parameter sets added with <code>addBatch()</code> and returns one result set per parameter set, in the
+     * same order. Client-side prepared statements write the queries to the server back-to-back, in windows of a few kilobytes, and only then read their
+     * results, thus requiring a single network round-trip per window instead of one per query. If 'jdbcCompliantTruncation' is enabled, the data truncation
+     * checks are pipelined along with the queries. Queries are executed one at a time, as by <code>executeQuery()</code>, if query interceptors are configured
+     * or if 'includeInnodbStatusInDeadlockExceptions' is enabled, and always by server-side prepared statements.
+     *
+     * Results are always fully buffered and remain open until closed explicitly or until the statement is closed or re-executed. The batch is cleared after
+     * execution.
+     *
+     * If any of the queries fail, the remaining ones are still executed and a <code>com.mysql.cj.jdbc.exceptions.MySQLPipelinedQueryException</code> is
+     * thrown, reporting which queries failed and holding the results of the ones that succeeded.
+     *
+     * @return an array of result sets, one for each batched parameter set
+     * @throws SQLException
+     *             if a database access error occurs, if this query doesn't produce result sets, if the batch contains statements added with
+     *             <code>addBatch(String)</code> or if any of the batched queries fail
+     */
+    java.sql.ResultSet[] executeQueryBatch() throws SQLException;
+
+    /**
+     * Asynchronously executes this query with the parameter values currently set, as {@link #executeQuery()} does. Parameter values can be changed as soon
+     * as this method returns.
+     *
+     * Asynchronous operations submitted to a connection run one at a time in submission order, in a single daemon thread of the connection. As with
+     * <code>executeQuery()</code>, executing this statement again closes the result set previously returned by it.
+     *
+     * @return a {@link CompletableFuture} that completes with the result set produced by the query
+     * @throws SQLException
+     *             if this statement is closed or if not all parameter values are set
+     */
+    CompletableFuture<java.sql.ResultSet> executeQueryAsync() throws SQLException;
+
+    /**
+     * Same as {@link #executeQueryAsync()} but runs the query in the given {@link Executor}. An executor that creates virtual threads avoids tying up a
+     * platform thread while the query waits for the server.
+     *
+     * @param executor
+     *            the executor that runs the query
+     * @return a {@link CompletableFuture} that completes with the result set produced by the query
+     * @throws SQLException
+     *             if this statement is closed or if not all parameter values are set
+     */
+    CompletableFuture<java.sql.ResultSet> executeQueryAsync(Executor executor) throws SQLException;
+
+    /**
+     * Asynchronously executes this statement with the parameter values currently set, as {@link #executeLargeUpdate()} does. Parameter values can be changed
+     * as soon as this method returns.
+     *
+     * Asynchronous operations submitted to a connection run one at a time in submission order, in a single daemon thread of the connection.
+     *
+     * @return a {@link CompletableFuture} that completes with the number of affected rows
+     * @throws SQLException
+     *             if this statement is closed or if not all parameter values are set
+     */
+    CompletableFuture<Long> executeUpdateAsync() throws SQLException;
+
+    /**
+     * Same as {@link #executeUpdateAsync()} but runs the statement in the given {@link Executor}.
+     *
+     * @param executor
+     *            the executor that runs the statement
+     * @return a {@link CompletableFuture} that completes with the number of affected rows
+     * @throws SQLException
+     *             if this statement is closed or if not all parameter values are set
+     */
+    CompletableFuture<Long> executeUpdateAsync(Executor executor) throws SQLException;
+
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc;
+
+/**
+ * Usage counters of the per-connection cache of server-side prepared statements, enabled with 'useServerPrepStmts=true' and 'cachePrepStmts=true'.
+ *
+ * The cache belongs to the physical connection, so when it is wrapped by a pooled connection the counters accumulate across all the logical connections
+ * handed out from it.
+ */
+public interface ServerPreparedStatementCacheStatistics {
+
+    /**
+     * Returns the number of prepared statement requests served from the cache.
+     *
+     * @return the number of cache hits
+     */
+    long getHits();
+
+    /**
+     * Returns the number of prepared statement requests that did not find a cached statement.
+     *
+     * @return the number of cache misses
+     */
+    long getMisses();
+
+    /**
+     * Returns the number of COM_STMT_PREPARE round trips made for statements that are, or may become, cached. This includes re-preparing cached statements
+     * whose server handles were discarded by a session reset.
+     *
+     * @return the number of server prepares
+     */
+    long getPrepares();
+
+    /**
+     * Returns the number of statements currently held in the cache.
+     *
+     * @return the current cache size
+     */
+    int getSize();
+
+}
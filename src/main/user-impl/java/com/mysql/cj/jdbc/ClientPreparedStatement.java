@@ -41,6 +41,10 @@ import java.sql.Timestamp;
 import java.sql.Wrapper;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.locks.Lock;
 
 import com.mysql.cj.BindValue;
@@ -61,6 +65,7 @@ import com.mysql.cj.exceptions.CJException;
 import com.mysql.cj.exceptions.FeatureNotAvailableException;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
 import com.mysql.cj.exceptions.StatementIsClosedException;
+import com.mysql.cj.jdbc.exceptions.MySQLPipelinedQueryException;
 import com.mysql.cj.jdbc.exceptions.MySQLStatementCancelledException;
 import com.mysql.cj.jdbc.exceptions.MySQLTimeoutException;
 import com.mysql.cj.jdbc.exceptions.SQLError;
@@ -1078,6 +1083,236 @@ public class ClientPreparedStatement extends com.mysql.cj.jdbc.StatementImpl imp
         }
     }
 
+    @Override
+    public java.sql.ResultSet[] executeQueryBatch() throws SQLException {
+        Lock connectionLock = checkClosed().getConnectionLock();
+        connectionLock.lock();
+        try {
+            TelemetrySpan span = getSession().getTelemetryHandler().startSpan(TelemetrySpanName.STMT_EXECUTE_BATCH_PREPARED);
+            try (TelemetryScope scope = span.makeCurrent()) {
+                span.setAttribute(TelemetryAttribute.DB_NAME, getCurrentDatabase());
+                span.setAttribute(TelemetryAttribute.DB_OPERATION, TelemetryAttribute.OPERATION_BATCH);
+                span.setAttribute(TelemetryAttribute.DB_STATEMENT, TelemetryAttribute.OPERATION_BATCH);
+                span.setAttribute(TelemetryAttribute.DB_SYSTEM, TelemetryAttribute.DB_SYSTEM_DEFAULT);
+                span.setAttribute(TelemetryAttribute.DB_USER, this.connection.getUser());
+                span.setAttribute(TelemetryAttribute.THREAD_ID, Thread.currentThread().getId());
+                span.setAttribute(TelemetryAttribute.THREAD_NAME, Thread.currentThread().getName());
+
+                QueryReturnType queryReturnType = getQueryInfo().getQueryReturnType();
+                if (queryReturnType != QueryReturnType.PRODUCES_RESULT_SET && queryReturnType != QueryReturnType.MAY_PRODUCE_RESULT_SET) {
+                    throw SQLError.createSQLException(Messages.getString("Statement.57"), MysqlErrorNumbers.SQLSTATE_CONNJ_ILLEGAL_ARGUMENT,
+                            getExceptionInterceptor());
+                }
+
+                if (this.batchHasPlainStatements) {
+                    throw SQLError.createSQLException(Messages.getString("PreparedStatement.68"), MysqlErrorNumbers.SQLSTATE_CONNJ_ILLEGAL_ARGUMENT,
+                            getExceptionInterceptor());
+                }
+
+                if (this.query.getBatchedArgs() == null || this.query.getBatchedArgs().size() == 0) {
+                    return new java.sql.ResultSet[0];
+                }
+
+                this.batchedGeneratedKeys = null;
+
+                resetCancelledState();
+
+                implicitlyCloseAllOpenResults();
+
+                clearWarnings();
+
+                JdbcConnection locallyScopedConn = this.connection;
+
+                String oldDb = null;
+
+                if (!locallyScopedConn.getDatabase().equals(getCurrentDatabase())) {
+                    oldDb = locallyScopedConn.getDatabase();
+                    locallyScopedConn.setDatabase(getCurrentDatabase());
+                }
+
+                locallyScopedConn.setSessionMaxRows(this.maxRows);
+
+                int nbrCommands = this.query.getBatchedArgs().size();
+                ResultSetInternalMethods[] results = new ResultSetInternalMethods[nbrCommands];
+                SQLException[] exceptions = new SQLException[nbrCommands];
+                SQLException firstException = null;
+
+                CancelQueryTask timeoutTask = null;
+
+                try {
+                    timeoutTask = startQueryTimer(this, getTimeoutInMillis());
+
+                    statementBegins();
+
+                    executeQueryBatchInternal(results, exceptions);
+
+                    if (timeoutTask != null) {
+                        stopQueryTimer(timeoutTask, true, true);
+                        timeoutTask = null;
+                    }
+                } finally {
+                    this.query.getStatementExecuting().set(false);
+
+                    stopQueryTimer(timeoutTask, false, false);
+
+                    clearBatch();
+
+                    if (oldDb != null) {
+                        locallyScopedConn.setDatabase(oldDb);
+                    }
+                }
+
+                for (int i = 0; i < nbrCommands; i++) {
+                    if (results[i] != null && !this.dontTrackOpenResources.getValue()) {
+                        this.openResults.add(results[i]);
+                    }
+                    if (firstException == null) {
+                        firstException = exceptions[i];
+                    }
+                }
+
+                if (firstException != null) {
+                    throw new MySQLPipelinedQueryException(firstException, results, exceptions);
+                }
+
+                return results;
+            } catch (Throwable t) {
+                span.setError(t);
+                throw t;
+            } finally {
+                span.end();
+            }
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+    /**
+     * Executes all batched parameter sets, pipelining the queries in a single round-trip. Server-side prepared statements override this method.
+     *
+     * @param results
+     *            array that receives the result of each query
+     * @param exceptions
+     *            array that receives the exception thrown by each failed query
+     * @throws SQLException
+     *             if an error that prevents executing the whole batch occurs
+     */
+    protected void executeQueryBatchInternal(ResultSetInternalMethods[] results, SQLException[] exceptions) throws SQLException {
+        Lock connectionLock = checkClosed().getConnectionLock();
+        connectionLock.lock();
+        try {
+            NativeSession locallyScopedSession = (NativeSession) this.connection.getSession();
+
+            List<NativePacketPayload> packets = new ArrayList<>(results.length);
+            for (Object arg : this.query.getBatchedArgs()) {
+                QueryBindings queryBindings = (QueryBindings) arg;
+                queryBindings.setNumberOfExecutions(queryBindings.getNumberOfExecutions() + 1);
+                packets.add(locallyScopedSession.getProtocol().getMessageBuilder().buildComQuery(null, locallyScopedSession, (PreparedQuery) this.query,
+                        queryBindings, this.charEncoding));
+            }
+
+            String origSql = ((PreparedQuery) this.query).getOriginalSql();
+            CachedResultSetMetaData cachedMetadata = null;
+            boolean cacheResultSetMetadata = this.connection.getPropertySet().getBooleanProperty(PropertyKey.cacheResultSetMetadata).getValue();
+            if (cacheResultSetMetadata) {
+                cachedMetadata = this.connection.getCachedMetaData(origSql);
+            }
+
+            CJException[] errors = new CJException[results.length];
+            List<ResultSetInternalMethods> rsList = locallyScopedSession.execSQLPipelined(this, packets, this.maxRows, getResultSetFactory(), cachedMetadata,
+                    errors);
+
+            for (int i = 0; i < results.length; i++) {
+                results[i] = rsList.get(i);
+                if (errors[i] != null) {
+                    exceptions[i] = SQLExceptionsMapping.translateException(errors[i], getExceptionInterceptor());
+                } else if (cacheResultSetMetadata) {
+                    this.connection.initializeResultsMetadataFromCache(origSql, cachedMetadata, results[i]);
+                    if (cachedMetadata == null) {
+                        cachedMetadata = this.connection.getCachedMetaData(origSql);
+                    }
+                }
+            }
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<java.sql.ResultSet> executeQueryAsync() throws SQLException {
+        return executeQueryAsync(null);
+    }
+
+    @Override
+    public CompletableFuture<java.sql.ResultSet> executeQueryAsync(Executor executor) throws SQLException {
+        QueryBindings queryBindings = copyQueryBindingsForAsyncExecution();
+        return this.session.executeAsync(() -> executeWithQueryBindings(queryBindings, this::executeQuery), executor);
+    }
+
+    @Override
+    public CompletableFuture<Long> executeUpdateAsync() throws SQLException {
+        return executeUpdateAsync(null);
+    }
+
+    @Override
+    public CompletableFuture<Long> executeUpdateAsync(Executor executor) throws SQLException {
+        QueryBindings queryBindings = copyQueryBindingsForAsyncExecution();
+        return this.session.executeAsync(() -> executeWithQueryBindings(queryBindings, this::executeLargeUpdate), executor);
+    }
+
+    /**
+     * Copies the current parameter values so that they can be changed while an asynchronous execution waits for its turn.
+     *
+     * @return a copy of the current {@link QueryBindings}
+     * @throws SQLException
+     *             if this statement is closed or if not all parameter values are set
+     */
+    private QueryBindings copyQueryBindingsForAsyncExecution() throws SQLException {
+        Lock connectionLock = checkClosed().getConnectionLock();
+        connectionLock.lock();
+        try {
+            QueryBindings queryBindings = ((PreparedQuery) this.query).getQueryBindings();
+            queryBindings.checkAllParametersSet();
+            return queryBindings.clone();
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+    /**
+     * Runs the given execution with the given parameter values in place of the current ones, which are restored afterwards.
+     *
+     * @param <T>
+     *            the execution result type
+     * @param queryBindings
+     *            the parameter values to execute with
+     * @param execution
+     *            the execution to run
+     * @return the result of the execution
+     * @throws Exception
+     *             if the execution fails
+     */
+    private <T> T executeWithQueryBindings(QueryBindings queryBindings, Callable<T> execution) throws Exception {
+        Lock connectionLock = checkClosed().getConnectionLock();
+        connectionLock.lock();
+        try {
+            PreparedQuery preparedQuery = (PreparedQuery) this.query;
+            QueryBindings currentQueryBindings = preparedQuery.getQueryBindings();
+
+            // Parameter types may differ from the ones last sent to the server, both ways.
+            queryBindings.getSendTypesToServer().set(true);
+            preparedQuery.setQueryBindings(queryBindings);
+            try {
+                return execution.call();
+            } finally {
+                preparedQuery.setQueryBindings(currentQueryBindings);
+                currentQueryBindings.getSendTypesToServer().set(true);
+            }
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
     @Override
     public int executeUpdate() throws SQLException {
         return Util.truncateAndConvertToInt(executeLargeUpdate());
@@ -24,6 +24,8 @@ import java.sql.Connection;
 import java.sql.SQLClientInfoException;
 import java.sql.SQLException;
 import java.util.Properties;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /**
@@ -35,49 +37,80 @@ import java.util.stream.Collectors;
 public class CommentClientInfoProvider implements ClientInfoProvider {
 
     private Properties clientInfo;
+    private final Lock lock = new ReentrantLock();
 
     @Override
-    public synchronized void initialize(Connection conn, Properties configurationProps) throws SQLException {
-        this.clientInfo = new Properties();
+    public void initialize(Connection conn, Properties configurationProps) throws SQLException {
+        this.lock.lock();
+        try {
+            this.clientInfo = new Properties();
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     @Override
-    public synchronized void destroy() throws SQLException {
-        this.clientInfo = null;
+    public void destroy() throws SQLException {
+        this.lock.lock();
+        try {
+            this.clientInfo = null;
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     @Override
-    public synchronized Properties getClientInfo(Connection conn) throws SQLException {
-        Properties clientInfoOut = new Properties();
-        clientInfoOut.putAll(this.clientInfo);
-        return clientInfoOut;
+    public Properties getClientInfo(Connection conn) throws SQLException {
+        this.lock.lock();
+        try {
+            Properties clientInfoOut = new Properties();
+            clientInfoOut.putAll(this.clientInfo);
+            return clientInfoOut;
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     @Override
-    public synchronized String getClientInfo(Connection conn, String name) throws SQLException {
-        return this.clientInfo.getProperty(name);
+    public String getClientInfo(Connection conn, String name) throws SQLException {
+        this.lock.lock();
+        try {
+            return this.clientInfo.getProperty(name);
+        } finally {
+            this.lock.unlock();
+        }
     }
 
     @Override
-    public synchronized void setClientInfo(Connection conn, Properties properties) throws SQLClientInfoException {
-        this.clientInfo = new Properties();
-        if (properties != null) {
-            this.clientInfo.putAll(properties);
+    public void setClientInfo(Connection conn, Properties properties) throws SQLClientInfoException {
+        this.lock.lock();
+        try {
+            this.clientInfo = new Properties();
+            if (properties != null) {
+                this.clientInfo.putAll(properties);
+            }
+            setComment(conn);
+        } finally {
+            this.lock.unlock();
         }
-        setComment(conn);
     }
 
     @Override
-    public synchronized void setClientInfo(Connection conn, String name, String value) throws SQLClientInfoException {
-        if (value == null) {
-            this.clientInfo.remove(name);
-        } else {
-            this.clientInfo.setProperty(name, value);
+    public void setClientInfo(Connection conn, String name, String value) throws SQLClientInfoException {
+        this.lock.lock();
+        try {
+            if (value == null) {
+                this.clientInfo.remove(name);
+            } else {
+                this.clientInfo.setProperty(name, value);
+            }
+            setComment(conn);
+        } finally {
+            this.lock.unlock();
         }
-        setComment(conn);
     }
 
-    private synchronized void setComment(Connection conn) throws SQLClientInfoException {
+    private void setComment(Connection conn) throws SQLClientInfoException {
         String clientInfoComment = this.clientInfo.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue()).collect(Collectors.joining(", "));
         try {
             conn.unwrap(JdbcConnection.class).setStatementComment(clientInfoComment);
@@ -26,6 +26,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.mysql.cj.jdbc.jmx.LoadBalanceConnectionGroupManager;
 
@@ -33,17 +35,24 @@ public class ConnectionGroupManager {
 
     private static HashMap<String, ConnectionGroup> GROUP_MAP = new HashMap<>();
 
+    private static final Lock LOCK = new ReentrantLock();
+
     private static LoadBalanceConnectionGroupManager mbean = new LoadBalanceConnectionGroupManager();
 
     private static boolean hasRegisteredJmx = false;
 
-    public static synchronized ConnectionGroup getConnectionGroupInstance(String groupName) {
-        if (GROUP_MAP.containsKey(groupName)) {
-            return GROUP_MAP.get(groupName);
+    public static ConnectionGroup getConnectionGroupInstance(String groupName) {
+        LOCK.lock();
+        try {
+            if (GROUP_MAP.containsKey(groupName)) {
+                return GROUP_MAP.get(groupName);
+            }
+            ConnectionGroup group = new ConnectionGroup(groupName);
+            GROUP_MAP.put(groupName, group);
+            return group;
+        } finally {
+            LOCK.unlock();
         }
-        ConnectionGroup group = new ConnectionGroup(groupName);
-        GROUP_MAP.put(groupName, group);
-        return group;
     }
 
     public static void registerJmx() throws SQLException {
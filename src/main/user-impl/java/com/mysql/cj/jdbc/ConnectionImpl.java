@@ -44,6 +44,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Stack;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.locks.Lock;
@@ -56,7 +57,6 @@ import com.mysql.cj.LicenseConfiguration;
 import com.mysql.cj.Messages;
 import com.mysql.cj.NativeSession;
 import com.mysql.cj.NoSubInterceptorWrapper;
-import com.mysql.cj.PreparedQuery;
 import com.mysql.cj.QueryInfo;
 import com.mysql.cj.ServerVersion;
 import com.mysql.cj.Session.SessionEventListener;
@@ -288,7 +288,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
     private LRUCache<String, Boolean> serverSideStatementCheckCache;
     private final Lock serverSideStatementCheckCacheLock = new ReentrantLock();
-    private LRUCache<CompoundCacheKey, ServerPreparedStatement> serverSideStatementCache;
+    private ServerPreparedStatementCache serverSideStatementCache;
 
     private HostInfo origHostInfo;
 
@@ -689,6 +689,43 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         return clientPrepareStatement(sql, resultSetType, resultSetConcurrency, true);
     }
 
+    @Override
+    public CompletableFuture<ResultSet> executeQueryAsync(String sql) throws SQLException {
+        return executeQueryAsync(sql, null);
+    }
+
+    @Override
+    public CompletableFuture<ResultSet> executeQueryAsync(String sql, Executor executor) throws SQLException {
+        checkClosed();
+
+        return this.session.executeAsync(() -> {
+            java.sql.Statement stmt = getMultiHostSafeProxy().createStatement();
+            try {
+                stmt.closeOnCompletion();
+                return stmt.executeQuery(sql);
+            } catch (SQLException | RuntimeException ex) {
+                stmt.close();
+                throw ex;
+            }
+        }, executor);
+    }
+
+    @Override
+    public CompletableFuture<Long> executeUpdateAsync(String sql) throws SQLException {
+        return executeUpdateAsync(sql, null);
+    }
+
+    @Override
+    public CompletableFuture<Long> executeUpdateAsync(String sql, Executor executor) throws SQLException {
+        checkClosed();
+
+        return this.session.executeAsync(() -> {
+            try (java.sql.Statement stmt = getMultiHostSafeProxy().createStatement()) {
+                return stmt.executeLargeUpdate(sql);
+            }
+        }, executor);
+    }
+
     @Override
     public void close() throws SQLException {
         Lock connectionLock = getConnectionLock();
@@ -1048,35 +1085,12 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
             @SuppressWarnings("unchecked")
             CacheAdapterFactory<String, QueryInfo> cacheFactory = Util.getInstance(CacheAdapterFactory.class, queryInfoCacheFactory, null, null,
                     getExceptionInterceptor());
-            this.queryInfoCache = cacheFactory.getInstance(connectionLock, this.origHostInfo.getDatabaseUrl(), cacheSize,
+            this.queryInfoCache = cacheFactory.getInstance(connectionLock, this.session, this.origHostInfo.getDatabaseUrl(), cacheSize,
                     this.prepStmtCacheSqlLimit.getValue());
 
             if (this.useServerPrepStmts.getValue()) {
                 this.serverSideStatementCheckCache = new LRUCache<>(cacheSize);
-                this.serverSideStatementCache = new LRUCache<CompoundCacheKey, ServerPreparedStatement>(cacheSize) {
-
-                    private static final long serialVersionUID = 7692318650375988114L;
-
-                    @Override
-                    protected boolean removeEldestEntry(java.util.Map.Entry<CompoundCacheKey, ServerPreparedStatement> eldest) {
-                        if (this.maxElements <= 1) {
-                            return false;
-                        }
-                        boolean removeIt = super.removeEldestEntry(eldest);
-                        if (removeIt) {
-                            ServerPreparedStatement ps = eldest.getValue();
-                            ps.isCached = false;
-                            ps.setClosed(false);
-                            try {
-                                ps.realClose(true, true);
-                            } catch (SQLException sqlEx) {
-                                // punt
-                            }
-                        }
-                        return removeIt;
-                    }
-
-                };
+                this.serverSideStatementCache = new ServerPreparedStatementCache(cacheSize);
             }
         } finally {
             connectionLock.unlock();
@@ -1157,6 +1171,11 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         return this.session.getThreadId();
     }
 
+    @Override
+    public ServerPreparedStatementCacheStatistics getServerPreparedStatementCacheStatistics() {
+        return this.useServerPrepStmts.getValue() && this.cachePrepStmts.getValue() ? this.serverSideStatementCache : null;
+    }
+
     /**
      * NOT JDBC-Compliant, but clients can use this method to determine how long
      * this connection has been idle. This time (reported in milliseconds) is
@@ -1647,10 +1666,9 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
                     if (this.cachePrepStmts.getValue()) {
                         this.serverSideStatementCheckCacheLock.lock();
                         try {
-                            pStmt = this.serverSideStatementCache.remove(new CompoundCacheKey(this.database, sql));
+                            pStmt = this.serverSideStatementCache.take(this.database, sql);
 
                             if (pStmt != null) {
-                                ((com.mysql.cj.jdbc.ServerPreparedStatement) pStmt).setClosed(false);
                                 pStmt.clearParameters();
                                 pStmt.setResultSetType(resultSetType);
                                 pStmt.setResultSetConcurrency(resultSetConcurrency);
@@ -1662,6 +1680,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
                                             resultSetConcurrency);
                                     if (sql.length() < this.prepStmtCacheSqlLimit.getValue()) {
                                         ((com.mysql.cj.jdbc.ServerPreparedStatement) pStmt).isCacheable = true;
+                                        this.serverSideStatementCache.recordPrepare();
                                     }
 
                                     pStmt.setResultSetType(resultSetType);
@@ -1826,19 +1845,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         connectionLock.lock();
         try {
             if (this.cachePrepStmts.getValue() && pstmt.isPoolable()) {
-                this.serverSideStatementCheckCacheLock.lock();
-                try {
-                    Object oldServerPrepStmt = this.serverSideStatementCache.put(
-                            new CompoundCacheKey(pstmt.getCurrentDatabase(), ((PreparedQuery) pstmt.getQuery()).getOriginalSql()),
-                            (ServerPreparedStatement) pstmt);
-                    if (oldServerPrepStmt != null && oldServerPrepStmt != pstmt) {
-                        ((ServerPreparedStatement) oldServerPrepStmt).isCached = false;
-                        ((ServerPreparedStatement) oldServerPrepStmt).setClosed(false);
-                        ((ServerPreparedStatement) oldServerPrepStmt).realClose(true, true);
-                    }
-                } finally {
-                    this.serverSideStatementCheckCacheLock.unlock();
-                }
+                this.serverSideStatementCache.put((ServerPreparedStatement) pstmt);
             }
         } finally {
             connectionLock.unlock();
@@ -1851,12 +1858,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         connectionLock.lock();
         try {
             if (this.cachePrepStmts.getValue()) {
-                this.serverSideStatementCheckCacheLock.lock();
-                try {
-                    this.serverSideStatementCache.remove(new CompoundCacheKey(pstmt.getCurrentDatabase(), ((PreparedQuery) pstmt.getQuery()).getOriginalSql()));
-                } finally {
-                    this.serverSideStatementCheckCacheLock.unlock();
-                }
+                this.serverSideStatementCache.remove((ServerPreparedStatement) pstmt);
             }
         } finally {
             connectionLock.unlock();
@@ -1905,6 +1907,10 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
                 this.session.getServerSession().getCharsetSettings().configurePreHandshake(true);
                 this.session.resetSessionState();
+                if (this.serverSideStatementCache != null) {
+                    // COM_RESET_CONNECTION deallocates all server-side prepared statements.
+                    this.serverSideStatementCache.invalidateServerHandles();
+                }
                 this.session.getServerSession().getCharsetSettings().configurePostHandshake(true);
                 this.session.setSessionVariables();
                 handleAutoCommitDefaults();
@@ -35,12 +35,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.mysql.cj.Messages;
 import com.mysql.cj.MysqlConnection;
+import com.mysql.cj.NativeSession;
 import com.mysql.cj.ServerVersion;
 import com.mysql.cj.Session;
 import com.mysql.cj.conf.PropertyKey;
@@ -204,6 +206,11 @@ public class ConnectionWrapper extends WrapperBase implements JdbcConnection {
         return Statement.CLOSE_CURRENT_RESULT; // we don't reach this code, compiler can't tell
     }
 
+    @Override
+    public ServerPreparedStatementCacheStatistics getServerPreparedStatementCacheStatistics() {
+        return this.mc.getServerPreparedStatementCacheStatistics();
+    }
+
     @Override
     public long getIdleFor() {
         return this.mc.getIdleFor();
@@ -687,6 +694,44 @@ public class ConnectionWrapper extends WrapperBase implements JdbcConnection {
         return null;
     }
 
+    @Override
+    public CompletableFuture<java.sql.ResultSet> executeQueryAsync(String sql) throws SQLException {
+        return executeQueryAsync(sql, null);
+    }
+
+    @Override
+    public CompletableFuture<java.sql.ResultSet> executeQueryAsync(String sql, Executor executor) throws SQLException {
+        checkClosed();
+
+        // statements are created through this wrapper, so that results refer to wrapped statements and connection errors reach the pooled connection
+        return ((NativeSession) this.mc.getSession()).executeAsync(() -> {
+            java.sql.Statement stmt = createStatement();
+            try {
+                stmt.closeOnCompletion();
+                return stmt.executeQuery(sql);
+            } catch (SQLException | RuntimeException ex) {
+                stmt.close();
+                throw ex;
+            }
+        }, executor);
+    }
+
+    @Override
+    public CompletableFuture<Long> executeUpdateAsync(String sql) throws SQLException {
+        return executeUpdateAsync(sql, null);
+    }
+
+    @Override
+    public CompletableFuture<Long> executeUpdateAsync(String sql, Executor executor) throws SQLException {
+        checkClosed();
+
+        return ((NativeSession) this.mc.getSession()).executeAsync(() -> {
+            try (java.sql.Statement stmt = createStatement()) {
+                return stmt.executeLargeUpdate(sql);
+            }
+        }, executor);
+    }
+
     @Override
     public int getActiveStatementCount() {
         return this.mc.getActiveStatementCount();
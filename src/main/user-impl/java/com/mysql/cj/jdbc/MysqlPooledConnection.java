@@ -35,6 +35,7 @@ import javax.sql.StatementEvent;
 import javax.sql.StatementEventListener;
 
 import com.mysql.cj.Messages;
+import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.exceptions.ExceptionInterceptor;
 import com.mysql.cj.jdbc.exceptions.SQLError;
 
@@ -115,7 +116,9 @@ public class MysqlPooledConnection implements PooledConnection {
     public Connection getConnection() throws SQLException {
         this.lock.lock();
         try {
-            return getConnection(true, false);
+            boolean resetServerState = this.physicalConn == null
+                    || this.physicalConn.getPropertySet().getBooleanProperty(PropertyKey.resetPooledConnectionState).getValue();
+            return getConnection(resetServerState, false);
         } finally {
             this.lock.unlock();
         }
@@ -72,6 +72,8 @@ public class ServerPreparedStatement extends ClientPreparedStatement {
 
     protected boolean isCacheable = false;
     protected boolean isCached = false;
+    /** Set on cached statements whose server handles were deallocated by a session reset. */
+    protected boolean isServerHandleStale = false;
 
     /**
      * Creates a prepared statement instance
@@ -161,6 +163,10 @@ public class ServerPreparedStatement extends ClientPreparedStatement {
         }
     }
 
+    boolean isInvalid() {
+        return this.invalid;
+    }
+
     @Override
     protected JdbcConnection checkClosed() {
         if (this.invalid) {
@@ -331,6 +337,55 @@ public class ServerPreparedStatement extends ClientPreparedStatement {
         }
     }
 
+    /**
+     * Server-side prepared statements can't pipeline COM_STMT_EXECUTE commands as parameter types may need to be re-sent and long data may need to be streamed
+     * before each execution, so the batched parameter sets are executed one at a time.
+     */
+    @Override
+    protected void executeQueryBatchInternal(ResultSetInternalMethods[] results, SQLException[] exceptions) throws SQLException {
+        Lock connectionLock = checkClosed().getConnectionLock();
+        connectionLock.lock();
+        try {
+            BindValue[] oldBindValues = ((ServerPreparedQuery) this.query).getQueryBindings().getBindValues();
+
+            try {
+                BindValue[] previousBindValuesForBatch = null;
+
+                for (int i = 0; i < results.length; i++) {
+                    QueryBindings queryBindings = (QueryBindings) this.query.getBatchedArgs().get(i);
+                    ((PreparedQuery) this.query).setQueryBindings(queryBindings);
+                    BindValue[] parameterBindings = queryBindings.getBindValues();
+
+                    // We need to check types each time, as the user might have bound different types in each addBatch()
+                    if (previousBindValuesForBatch != null) {
+                        for (int j = 0; j < parameterBindings.length; j++) {
+                            if (parameterBindings[j].getMysqlType() != previousBindValuesForBatch[j].getMysqlType()) {
+                                ((ServerPreparedQuery) this.query).getQueryBindings().getSendTypesToServer().set(true);
+                                break;
+                            }
+                        }
+                    }
+
+                    try {
+                        results[i] = executeInternal(this.maxRows, null, false, true, null, true);
+                    } catch (SQLException ex) {
+                        if (ex instanceof MySQLTimeoutException || ex instanceof MySQLStatementCancelledException) {
+                            throw ex;
+                        }
+                        exceptions[i] = ex;
+                    } finally {
+                        previousBindValuesForBatch = parameterBindings;
+                    }
+                }
+            } finally {
+                ((ServerPreparedQuery) this.query).getQueryBindings().setBindValues(oldBindValues);
+                ((ServerPreparedQuery) this.query).getQueryBindings().getSendTypesToServer().set(true);
+            }
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
     private static SQLException appendMessageToException(SQLException sqlEx, String messageToAppend, ExceptionInterceptor interceptor) {
         String sqlState = sqlEx.getSQLState();
         int vendorErrorCode = sqlEx.getErrorCode();
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.mysql.cj.PreparedQuery;
+import com.mysql.cj.jdbc.ConnectionImpl.CompoundCacheKey;
+import com.mysql.cj.util.LRUCache;
+
+/**
+ * Cache of closed server-side prepared statements, keyed by database and SQL, owned by a physical connection.
+ *
+ * Cached statements keep their server statement id and column metadata, so taking one out of the cache doesn't require a COM_STMT_PREPARE round trip.
+ * After a session reset, which deallocates all the statements on the server, the cached entries are kept but marked stale and are re-prepared lazily the
+ * next time they are taken. {@link MysqlPooledConnection} resets the session on each checkout unless 'resetPooledConnectionState' is disabled, so cached
+ * statements only stay prepared across checkouts when that property is set to false.
+ */
+class ServerPreparedStatementCache implements ServerPreparedStatementCacheStatistics {
+
+    private final Lock lock = new ReentrantLock();
+    private final LRUCache<CompoundCacheKey, ServerPreparedStatement> statements;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong prepares = new AtomicLong();
+
+    ServerPreparedStatementCache(int cacheSize) {
+        this.statements = new LRUCache<CompoundCacheKey, ServerPreparedStatement>(cacheSize) {
+
+            private static final long serialVersionUID = 7692318650375988114L;
+
+            @Override
+            protected boolean removeEldestEntry(java.util.Map.Entry<CompoundCacheKey, ServerPreparedStatement> eldest) {
+                if (this.maxElements <= 1) {
+                    return false;
+                }
+                boolean removeIt = super.removeEldestEntry(eldest);
+                if (removeIt) {
+                    closeEvicted(eldest.getValue());
+                }
+                return removeIt;
+            }
+
+        };
+    }
+
+    /**
+     * Removes the statement cached for the given database and SQL and makes it ready to be reused, re-preparing it if its server handle went stale.
+     *
+     * @param database
+     *            the database the statement was prepared in
+     * @param sql
+     *            the original SQL of the statement
+     * @return the reopened statement or null if there was none cached or it could not be re-prepared
+     * @throws SQLException
+     *             if an error occurs
+     */
+    ServerPreparedStatement take(String database, String sql) throws SQLException {
+        ServerPreparedStatement pStmt;
+        this.lock.lock();
+        try {
+            pStmt = this.statements.remove(new CompoundCacheKey(database, sql));
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (pStmt == null) {
+            this.misses.incrementAndGet();
+            return null;
+        }
+
+        pStmt.isCached = false;
+        pStmt.setClosed(false);
+
+        if (pStmt.isServerHandleStale) {
+            pStmt.isServerHandleStale = false;
+            this.prepares.incrementAndGet();
+            pStmt.rePrepare();
+
+            if (pStmt.isInvalid()) {
+                pStmt.isCacheable = false;
+                pStmt.realClose(false, true);
+                this.misses.incrementAndGet();
+                return null;
+            }
+        }
+
+        this.hits.incrementAndGet();
+        return pStmt;
+    }
+
+    /**
+     * Puts a closed statement in the cache. A different statement previously cached under the same key is closed.
+     *
+     * @param pStmt
+     *            the statement to cache
+     * @throws SQLException
+     *             if an error occurs while closing a replaced statement
+     */
+    void put(ServerPreparedStatement pStmt) throws SQLException {
+        ServerPreparedStatement oldPStmt;
+        this.lock.lock();
+        try {
+            oldPStmt = this.statements.put(keyOf(pStmt), pStmt);
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (oldPStmt != null && oldPStmt != pStmt) {
+            oldPStmt.isCached = false;
+            oldPStmt.setClosed(false);
+            oldPStmt.realClose(!oldPStmt.isServerHandleStale, true);
+        }
+    }
+
+    /**
+     * Removes the given statement from the cache, if it is there.
+     *
+     * @param pStmt
+     *            the statement to remove
+     */
+    void remove(ServerPreparedStatement pStmt) {
+        this.lock.lock();
+        try {
+            CompoundCacheKey key = keyOf(pStmt);
+            if (this.statements.get(key) == pStmt) {
+                this.statements.remove(key);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Marks all the cached statements as having lost their server handles, e.g., after COM_RESET_CONNECTION.
+     */
+    void invalidateServerHandles() {
+        this.lock.lock();
+        try {
+            for (ServerPreparedStatement pStmt : this.statements.values()) {
+                pStmt.isServerHandleStale = true;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Counts a COM_STMT_PREPARE issued for a cacheable statement that was not found in the cache.
+     */
+    void recordPrepare() {
+        this.prepares.incrementAndGet();
+    }
+
+    @Override
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    @Override
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    @Override
+    public long getPrepares() {
+        return this.prepares.get();
+    }
+
+    @Override
+    public int getSize() {
+        this.lock.lock();
+        try {
+            return this.statements.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static CompoundCacheKey keyOf(ServerPreparedStatement pStmt) {
+        return new CompoundCacheKey(pStmt.getCurrentDatabase(), ((PreparedQuery) pStmt.getQuery()).getOriginalSql());
+    }
+
+    private static void closeEvicted(ServerPreparedStatement pStmt) {
+        pStmt.isCached = false;
+        pStmt.setClosed(false);
+        try {
+            // Statements with stale handles don't exist on the server anymore.
+            pStmt.realClose(!pStmt.isServerHandleStale, true);
+        } catch (SQLException sqlEx) {
+            // punt
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc.exceptions;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Thrown by {@link com.mysql.cj.jdbc.JdbcPreparedStatement#executeQueryBatch()} when one or more of the pipelined queries fail.
+ *
+ * The SQLState and error code are the ones from the first failed query. The exceptions of all failed queries are also chained and can be retrieved with
+ * {@link #getNextException()}. The results of the queries that succeeded remain available through {@link #getResultSets()}.
+ */
+public class MySQLPipelinedQueryException extends SQLException {
+
+    private static final long serialVersionUID = -4398466226471003155L;
+
+    private transient ResultSet[] resultSets;
+    private SQLException[] exceptions;
+
+    public MySQLPipelinedQueryException(SQLException firstException, ResultSet[] resultSets, SQLException[] exceptions) {
+        super(firstException.getMessage(), firstException.getSQLState(), firstException.getErrorCode(), firstException);
+        this.resultSets = resultSets;
+        this.exceptions = exceptions;
+
+        for (SQLException ex : exceptions) {
+            if (ex != null) {
+                setNextException(ex);
+            }
+        }
+    }
+
+    /**
+     * Returns the results of all the pipelined queries, in the order they were batched. Elements corresponding to failed queries are <code>null</code>.
+     *
+     * @return array of result sets
+     */
+    public ResultSet[] getResultSets() {
+        return this.resultSets;
+    }
+
+    /**
+     * Returns the exceptions thrown by each one of the pipelined queries, in the order they were batched. Elements corresponding to successful queries are
+     * <code>null</code>.
+     *
+     * @return array of exceptions
+     */
+    public SQLException[] getExceptions() {
+        return this.exceptions;
+    }
+
+}
@@ -85,12 +85,14 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
     private Map<ConnectionImpl, String> connectionsToHostsMap;
     private long totalPhysicalConnections = 0;
     private long[] responseTimes;
+    private final Lock responseTimesLock = new ReentrantLock();
 
     private int retriesAllDown;
     private BalanceStrategy balancer;
 
     private int globalBlocklistTimeout = 0;
     private static Map<String, Long> globalBlocklist = new HashMap<>();
+    private static final Lock GLOBAL_BLOCKLIST_LOCK = new ReentrantLock();
     private int hostRemovalGracePeriod = 0;
     // host:port pairs to be considered as removed (definitely blocklisted) from the original hosts list.
     private Set<String> hostsToRemove = new HashSet<>();
@@ -320,8 +322,11 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
             if (mappedHost != null && this.hostsToListIndexMap.containsKey(mappedHost)) {
                 int hostIndex = this.hostsToListIndexMap.get(mappedHost);
                 // reset the statistics for the host
-                synchronized (this.responseTimes) {
+                this.responseTimesLock.lock();
+                try {
                     this.responseTimes[hostIndex] = 0;
+                } finally {
+                    this.responseTimesLock.unlock();
                 }
             }
         } finally {
@@ -626,12 +631,15 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
                 String host = this.connectionsToHostsMap.get(this.currentConnection);
                 // avoid NPE if the connection has already been removed from connectionsToHostsMap in invalidateCurrenctConnection()
                 if (host != null) {
-                    synchronized (this.responseTimes) {
+                    this.responseTimesLock.lock();
+                    try {
                         Integer hostIndex = this.hostsToListIndexMap.get(host);
 
                         if (hostIndex != null && hostIndex < this.responseTimes.length) {
                             this.responseTimes[hostIndex] = System.nanoTime() - this.transactionStartTime;
                         }
+                    } finally {
+                        this.responseTimesLock.unlock();
                     }
                 }
                 pickNewConnection();
@@ -727,8 +735,11 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
      */
     public void addToGlobalBlocklist(String host, long timeout) {
         if (isGlobalBlocklistEnabled()) {
-            synchronized (globalBlocklist) {
+            GLOBAL_BLOCKLIST_LOCK.lock();
+            try {
                 globalBlocklist.put(host, timeout);
+            } finally {
+                GLOBAL_BLOCKLIST_LOCK.unlock();
             }
         }
     }
@@ -740,9 +751,12 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
      *            The host to be removed from the blocklist.
      */
     public void removeFromGlobalBlocklist(String host) {
-        if (isGlobalBlocklistEnabled() && globalBlocklist.containsKey(host)) {
-            synchronized (globalBlocklist) {
+        if (isGlobalBlocklistEnabled()) {
+            GLOBAL_BLOCKLIST_LOCK.lock();
+            try {
                 globalBlocklist.remove(host);
+            } finally {
+                GLOBAL_BLOCKLIST_LOCK.unlock();
             }
         }
     }
@@ -787,25 +801,30 @@ public class LoadBalancedConnectionProxy extends MultiHostConnectionProxy implem
             }
 
             // Make a local copy of the blocklist
-            Map<String, Long> blocklistClone = new HashMap<>(globalBlocklist.size());
-            // Copy everything from synchronized global blocklist to local copy for manipulation
-            synchronized (globalBlocklist) {
-                blocklistClone.putAll(globalBlocklist);
+            Map<String, Long> blocklistClone;
+            // Copy everything from the global blocklist to local copy for manipulation
+            GLOBAL_BLOCKLIST_LOCK.lock();
+            try {
+                blocklistClone = new HashMap<>(globalBlocklist);
+            } finally {
+                GLOBAL_BLOCKLIST_LOCK.unlock();
             }
             Set<String> keys = blocklistClone.keySet();
 
             // We're only interested in blocklisted hosts that are in the hostList
             keys.retainAll(this.hostsList.stream().map(HostInfo::getHostPortPair).collect(Collectors.toList()));
 
-            // Don't need to synchronize here as we are using a local copy
+            // Don't need to lock here as we are using a local copy
             for (Iterator<String> i = keys.iterator(); i.hasNext();) {
                 String host = i.next();
-                // OK if null is returned because another thread already purged the Map entry.
-                Long timeout = globalBlocklist.get(host);
+                Long timeout = blocklistClone.get(host);
                 if (timeout != null && timeout < System.currentTimeMillis()) {
-                    // Timeout has expired, remove from blocklist
-                    synchronized (globalBlocklist) {
-                        globalBlocklist.remove(host);
+                    // Timeout has expired, remove from blocklist unless it was renewed meanwhile
+                    GLOBAL_BLOCKLIST_LOCK.lock();
+                    try {
+                        globalBlocklist.remove(host, timeout);
+                    } finally {
+                        GLOBAL_BLOCKLIST_LOCK.unlock();
                     }
                     i.remove();
                 }
@@ -36,6 +36,7 @@ import java.sql.Struct;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -50,6 +51,7 @@ import com.mysql.cj.jdbc.ClientInfoProvider;
 import com.mysql.cj.jdbc.JdbcConnection;
 import com.mysql.cj.jdbc.JdbcPreparedStatement;
 import com.mysql.cj.jdbc.JdbcPropertySet;
+import com.mysql.cj.jdbc.ServerPreparedStatementCacheStatistics;
 import com.mysql.cj.jdbc.exceptions.SQLError;
 import com.mysql.cj.jdbc.result.CachedResultSetMetaData;
 import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
@@ -146,6 +148,26 @@ public class MultiHostMySQLConnection implements JdbcConnection {
         return getActiveMySQLConnection().clientPrepareStatement(sql, autoGenKeyColNames);
     }
 
+    @Override
+    public CompletableFuture<java.sql.ResultSet> executeQueryAsync(String sql) throws SQLException {
+        return getActiveMySQLConnection().executeQueryAsync(sql);
+    }
+
+    @Override
+    public CompletableFuture<java.sql.ResultSet> executeQueryAsync(String sql, Executor executor) throws SQLException {
+        return getActiveMySQLConnection().executeQueryAsync(sql, executor);
+    }
+
+    @Override
+    public CompletableFuture<Long> executeUpdateAsync(String sql) throws SQLException {
+        return getActiveMySQLConnection().executeUpdateAsync(sql);
+    }
+
+    @Override
+    public CompletableFuture<Long> executeUpdateAsync(String sql, Executor executor) throws SQLException {
+        return getActiveMySQLConnection().executeUpdateAsync(sql, executor);
+    }
+
     @Override
     public PreparedStatement clientPrepareStatement(String sql) throws SQLException {
         return getActiveMySQLConnection().clientPrepareStatement(sql);
@@ -231,6 +253,11 @@ public class MultiHostMySQLConnection implements JdbcConnection {
         return getActiveMySQLConnection().getId();
     }
 
+    @Override
+    public ServerPreparedStatementCacheStatistics getServerPreparedStatementCacheStatistics() {
+        return getActiveMySQLConnection().getServerPreparedStatementCacheStatistics();
+    }
+
     @Override
     public long getIdleFor() {
         return getActiveMySQLConnection().getIdleFor();
@@ -26,6 +26,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Group of connection objects that can be configured as a group. This is used for promotion/demotion of replicas and sources in a replication configuration,
@@ -43,6 +45,7 @@ public class ReplicationConnectionGroup {
     private Set<String> replicaHostList = new CopyOnWriteArraySet<>();
     private boolean isInitialized = false;
     private Set<String> sourceHostList = new CopyOnWriteArraySet<>();
+    private final Lock lock = new ReentrantLock();
 
     ReplicationConnectionGroup(String groupName) {
         this.groupName = groupName;
@@ -55,7 +58,8 @@ public class ReplicationConnectionGroup {
     public long registerReplicationConnection(ReplicationConnection conn, List<String> localSourceList, List<String> localReplicaList) {
         long currentConnectionId;
 
-        synchronized (this) {
+        this.lock.lock();
+        try {
             if (!this.isInitialized) {
                 if (localSourceList != null) {
                     this.sourceHostList.addAll(localSourceList);
@@ -67,6 +71,8 @@ public class ReplicationConnectionGroup {
             }
             currentConnectionId = ++this.connections;
             this.replicationConnections.put(Long.valueOf(currentConnectionId), conn);
+        } finally {
+            this.lock.unlock();
         }
         this.activeConnections++;
 
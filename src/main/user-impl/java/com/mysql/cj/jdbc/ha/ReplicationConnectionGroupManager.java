@@ -26,22 +26,31 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class ReplicationConnectionGroupManager {
 
     private static HashMap<String, ReplicationConnectionGroup> GROUP_MAP = new HashMap<>();
 
+    private static final Lock LOCK = new ReentrantLock();
+
     private static com.mysql.cj.jdbc.jmx.ReplicationGroupManager mbean = new com.mysql.cj.jdbc.jmx.ReplicationGroupManager();
 
     private static boolean hasRegisteredJmx = false;
 
-    public static synchronized ReplicationConnectionGroup getConnectionGroupInstance(String groupName) {
-        if (GROUP_MAP.containsKey(groupName)) {
-            return GROUP_MAP.get(groupName);
+    public static ReplicationConnectionGroup getConnectionGroupInstance(String groupName) {
+        LOCK.lock();
+        try {
+            if (GROUP_MAP.containsKey(groupName)) {
+                return GROUP_MAP.get(groupName);
+            }
+            ReplicationConnectionGroup group = new ReplicationConnectionGroup(groupName);
+            GROUP_MAP.put(groupName, group);
+            return group;
+        } finally {
+            LOCK.unlock();
         }
-        ReplicationConnectionGroup group = new ReplicationConnectionGroup(groupName);
-        GROUP_MAP.put(groupName, group);
-        return group;
     }
 
     public static void registerJmx() throws SQLException {
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc.integration.arrow;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.exceptions.ExceptionFactory;
+import com.mysql.cj.exceptions.MysqlErrorNumbers;
+import com.mysql.cj.exceptions.WrongArgumentException;
+import com.mysql.cj.jdbc.exceptions.SQLError;
+import com.mysql.cj.jdbc.result.ResultSetImpl;
+import com.mysql.cj.protocol.ResultsetRows;
+import com.mysql.cj.result.Field;
+import com.mysql.cj.result.Row;
+
+/**
+ * Reads the rows of a result set into batches of Apache Arrow vectors. Values are decoded from the row buffers straight into the vectors, with column types
+ * mapped as described in {@link MysqlArrowTypes}.
+ * <p>
+ * A single {@link VectorSchemaRoot} is reused for all batches, so its contents must be consumed, or transferred, before loading the next batch. Reading
+ * advances the underlying rows directly: the result set must not be used concurrently, and its cursor position is unspecified afterwards.
+ *
+ * <pre>
+ * try (ResultSet rs = stmt.executeQuery(sql); ArrowBatchReader reader = ArrowBatchReader.forResultSet(rs, allocator, 4096)) {
+ *     while (reader.loadNextBatch()) {
+ *         consume(reader.getVectorSchemaRoot());
+ *     }
+ * }
+ * </pre>
+ *
+ * Works with both streaming (<code>fetchSize=Integer.MIN_VALUE</code>) and fully read result sets, in text or binary protocol.
+ */
+public class ArrowBatchReader implements AutoCloseable {
+
+    private final ResultsetRows rows;
+    private final int batchSize;
+    private final VectorSchemaRoot root;
+    private final ArrowColumnWriter<?>[] writers;
+    private boolean exhausted = false;
+
+    /**
+     * Creates a reader of the given rows.
+     *
+     * @param rows
+     *            rows to read, with metadata
+     * @param allocator
+     *            allocator of the Arrow vectors
+     * @param batchSize
+     *            maximum number of rows per batch
+     */
+    public ArrowBatchReader(ResultsetRows rows, BufferAllocator allocator, int batchSize) {
+        if (batchSize < 1) {
+            throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("ArrowBatchReader.0", new Object[] { batchSize }));
+        }
+        this.rows = rows;
+        this.batchSize = batchSize;
+
+        Field[] fields = rows.getMetadata().getFields();
+        this.root = VectorSchemaRoot.create(MysqlArrowTypes.getSchema(fields), allocator);
+        this.root.allocateNew();
+        List<FieldVector> vectors = this.root.getFieldVectors();
+        this.writers = new ArrowColumnWriter<?>[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            this.writers[i] = ArrowColumnWriter.forColumn(fields[i], vectors.get(i));
+        }
+    }
+
+    /**
+     * Creates a reader of the rows of the given result set, starting from the row after the current cursor position.
+     *
+     * @param resultSet
+     *            a result set created by this driver
+     * @param allocator
+     *            allocator of the Arrow vectors
+     * @param batchSize
+     *            maximum number of rows per batch
+     * @return the reader
+     * @throws SQLException
+     *             if the result set is closed or has no rows
+     */
+    public static ArrowBatchReader forResultSet(ResultSet resultSet, BufferAllocator allocator, int batchSize) throws SQLException {
+        if (resultSet.isClosed()) {
+            throw SQLError.createSQLException(Messages.getString("ResultSet.Operation_not_allowed_after_ResultSet_closed_144"),
+                    MysqlErrorNumbers.SQLSTATE_CONNJ_GENERAL_ERROR, null);
+        }
+        ResultSetImpl rs = resultSet.unwrap(ResultSetImpl.class);
+        if (!rs.hasRows()) {
+            throw SQLError.createSQLException(Messages.getString("ResultSet.ResultSet_is_from_UPDATE._No_Data_115"),
+                    MysqlErrorNumbers.SQLSTATE_CONNJ_GENERAL_ERROR, null);
+        }
+        try {
+            return new ArrowBatchReader(rs.getRows(), allocator, batchSize);
+        } catch (WrongArgumentException e) {
+            throw SQLError.createSQLException(e.getMessage(), MysqlErrorNumbers.SQLSTATE_CONNJ_ILLEGAL_ARGUMENT, e, null);
+        }
+    }
+
+    /**
+     * Returns the Arrow schema of the batches.
+     *
+     * @return the schema
+     */
+    public Schema getSchema() {
+        return this.root.getSchema();
+    }
+
+    /**
+     * Returns the vectors holding the last batch loaded.
+     *
+     * @return the vector schema root
+     */
+    public VectorSchemaRoot getVectorSchemaRoot() {
+        return this.root;
+    }
+
+    /**
+     * Loads the next batch of up to <code>batchSize</code> rows into the vector schema root.
+     *
+     * @return true if at least one row was loaded, false if there are no more rows
+     */
+    public boolean loadNextBatch() {
+        for (FieldVector vector : this.root.getFieldVectors()) {
+            vector.reset();
+        }
+
+        int count = 0;
+        while (!this.exhausted && count < this.batchSize) {
+            Row row = this.rows.next();
+            if (row == null) {
+                this.exhausted = true;
+                break;
+            }
+            for (int i = 0; i < this.writers.length; i++) {
+                this.writers[i].setIndex(count);
+                row.getValue(i, this.writers[i]);
+            }
+            count++;
+        }
+
+        this.root.setRowCount(count);
+        return count > 0;
+    }
+
+    /**
+     * Releases the Arrow vectors. The rows are not closed.
+     */
+    @Override
+    public void close() {
+        this.root.close();
+    }
+
+}
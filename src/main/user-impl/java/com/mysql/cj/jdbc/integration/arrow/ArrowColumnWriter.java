@@ -0,0 +1,601 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc.integration.arrow;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.Decimal256Vector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.DurationVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.UInt1Vector;
+import org.apache.arrow.vector.UInt2Vector;
+import org.apache.arrow.vector.UInt4Vector;
+import org.apache.arrow.vector.UInt8Vector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.exceptions.DataConversionException;
+import com.mysql.cj.exceptions.ExceptionFactory;
+import com.mysql.cj.exceptions.WrongArgumentException;
+import com.mysql.cj.protocol.InternalDate;
+import com.mysql.cj.protocol.InternalTime;
+import com.mysql.cj.protocol.InternalTimestamp;
+import com.mysql.cj.result.Field;
+import com.mysql.cj.result.ValueFactory;
+import com.mysql.cj.util.StringUtils;
+
+/**
+ * Value factory writing the values decoded by a row into an Arrow vector, at the position set with {@link #setIndex(int)}. Value decoders hand primitives
+ * and raw bytes straight to the vector, so no object is created per cell except for DECIMAL values, which the decoders always return as BigDecimal.
+ * <p>
+ * Returns <code>null</code> for NULL values and a non-null marker otherwise.
+ *
+ * @param <V>
+ *            Arrow vector type
+ */
+abstract class ArrowColumnWriter<V extends FieldVector> implements ValueFactory<Object> {
+
+    private static final long MICROS_PER_DAY = 86_400_000_000L;
+
+    protected final V vector;
+    protected int index;
+
+    ArrowColumnWriter(V vector) {
+        this.vector = vector;
+    }
+
+    /**
+     * Creates the writer for the given column and the vector created from its {@link MysqlArrowTypes#getArrowType(Field)}.
+     *
+     * @param f
+     *            column metadata
+     * @param vector
+     *            vector receiving the column values
+     * @return the writer
+     */
+    static ArrowColumnWriter<?> forColumn(Field f, FieldVector vector) {
+        switch (vector.getMinorType()) {
+            case NULL:
+                return new NullWriter(vector);
+            case BIT:
+                return new BitWriter((BitVector) vector);
+            case TINYINT:
+                return new TinyIntWriter((TinyIntVector) vector);
+            case UINT1:
+                return new UInt1Writer((UInt1Vector) vector);
+            case SMALLINT:
+                return new SmallIntWriter((SmallIntVector) vector);
+            case UINT2:
+                return new UInt2Writer((UInt2Vector) vector);
+            case INT:
+                return new IntWriter((IntVector) vector);
+            case UINT4:
+                return new UInt4Writer((UInt4Vector) vector);
+            case BIGINT:
+                return new BigIntWriter((BigIntVector) vector);
+            case UINT8:
+                return new UInt8Writer((UInt8Vector) vector);
+            case FLOAT4:
+                return new Float4Writer((Float4Vector) vector);
+            case FLOAT8:
+                return new Float8Writer((Float8Vector) vector);
+            case DECIMAL:
+                return new DecimalWriter((DecimalVector) vector);
+            case DECIMAL256:
+                return new Decimal256Writer((Decimal256Vector) vector);
+            case DATEDAY:
+                return new DateDayWriter((DateDayVector) vector);
+            case DURATION:
+                return new DurationMicroWriter((DurationVector) vector);
+            case TIMESTAMPMICRO:
+                return new TimeStampMicroWriter((TimeStampMicroVector) vector);
+            case VARCHAR:
+                // JSON is always sent as utf8mb4, whatever its reported collation
+                boolean utf8 = f.getMysqlType() == MysqlType.JSON || "UTF-8".equalsIgnoreCase(f.getEncoding())
+                        || "US-ASCII".equalsIgnoreCase(f.getEncoding());
+                return new VarCharWriter((VarCharVector) vector, utf8 ? null : f.getEncoding());
+            case VARBINARY:
+                return new VarBinaryWriter((VarBinaryVector) vector);
+            default:
+                throw ExceptionFactory.createException(WrongArgumentException.class,
+                        Messages.getString("ArrowBatchReader.1", new Object[] { vector.getMinorType(), f.getColumnLabel() }));
+        }
+    }
+
+    void setIndex(int index) {
+        this.index = index;
+    }
+
+    protected Object unsupported(String sourceType) {
+        throw new DataConversionException(Messages.getString("ResultSet.UnsupportedConversion", new Object[] { sourceType, getTargetTypeName() }));
+    }
+
+    @Override
+    public void setPropertySet(PropertySet pset) {
+        // no conversion settings apply
+    }
+
+    @Override
+    public Object createFromDate(InternalDate idate) {
+        return unsupported("DATE");
+    }
+
+    @Override
+    public Object createFromTime(InternalTime it) {
+        return unsupported("TIME");
+    }
+
+    @Override
+    public Object createFromTimestamp(InternalTimestamp its) {
+        return unsupported("TIMESTAMP");
+    }
+
+    @Override
+    public Object createFromDatetime(InternalTimestamp its) {
+        return unsupported("DATETIME");
+    }
+
+    @Override
+    public Object createFromLong(long l) {
+        return unsupported("LONG");
+    }
+
+    @Override
+    public Object createFromBigInteger(BigInteger i) {
+        return unsupported("BIGINT");
+    }
+
+    @Override
+    public Object createFromDouble(double d) {
+        return unsupported("DOUBLE");
+    }
+
+    @Override
+    public Object createFromBigDecimal(BigDecimal d) {
+        return unsupported("DECIMAL");
+    }
+
+    @Override
+    public Object createFromBytes(byte[] bytes, int offset, int length, Field f) {
+        return unsupported("VARCHAR/BINARY/BLOB");
+    }
+
+    @Override
+    public Object createFromBit(byte[] bytes, int offset, int length) {
+        return unsupported("BIT");
+    }
+
+    @Override
+    public Object createFromYear(long l) {
+        return unsupported("YEAR");
+    }
+
+    @Override
+    public String getTargetTypeName() {
+        return this.vector.getField().getType().toString();
+    }
+
+    /**
+     * Returns the number of days between 1970-01-01 and the given date of the proleptic Gregorian calendar.
+     *
+     * @param year
+     *            year
+     * @param month
+     *            month, 1 to 12
+     * @param day
+     *            day of month
+     * @return days since epoch
+     */
+    static int toEpochDay(int year, int month, int day) {
+        // shift the year to start in March so that the leap day is the last one
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Checks whether the given date can't be represented, i.e. it is a zero date or has a zero month or day.
+     *
+     * @param idate
+     *            date
+     * @return true if the date must be exported as NULL
+     */
+    static boolean isZeroDate(InternalDate idate) {
+        return idate.getMonth() == 0 || idate.getDay() == 0;
+    }
+
+    static long toEpochMicros(InternalTimestamp its) {
+        return toEpochDay(its.getYear(), its.getMonth(), its.getDay()) * MICROS_PER_DAY
+                + (its.getHours() * 3600L + its.getMinutes() * 60L + its.getSeconds()) * 1_000_000L + its.getNanos() / 1000;
+    }
+
+    static long bitsToLong(byte[] bytes, int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            value = value << 8 | bytes[i] & 0xff;
+        }
+        return value;
+    }
+
+    private abstract static class FixedWidthWriter<V extends BaseFixedWidthVector> extends ArrowColumnWriter<V> {
+
+        FixedWidthWriter(V vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromNull() {
+            this.vector.setNull(this.index);
+            return null;
+        }
+
+    }
+
+    private abstract static class VariableWidthWriter<V extends BaseVariableWidthVector> extends ArrowColumnWriter<V> {
+
+        VariableWidthWriter(V vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromNull() {
+            this.vector.setNull(this.index);
+            return null;
+        }
+
+    }
+
+    private static class NullWriter extends ArrowColumnWriter<FieldVector> {
+
+        NullWriter(FieldVector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromNull() {
+            // every value of a NullVector is NULL
+            return null;
+        }
+
+    }
+
+    private static class BitWriter extends FixedWidthWriter<BitVector> {
+
+        BitWriter(BitVector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromLong(long l) {
+            this.vector.setSafe(this.index, l != 0 ? 1 : 0);
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public Object createFromBit(byte[] bytes, int offset, int length) {
+            return createFromLong(bitsToLong(bytes, offset, length));
+        }
+
+    }
+
+    private static class TinyIntWriter extends FixedWidthWriter<TinyIntVector> {
+
+        TinyIntWriter(TinyIntVector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromLong(long l) {
+            this.vector.setSafe(this.index, (byte) l);
+            return Boolean.TRUE;
+        }
+
+    }
+
+    private static class UInt1Writer extends FixedWidthWriter<UInt1Vector> {
+
+        UInt1Writer(UInt1Vector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromLong(long l) {
+            this.vector.setSafe(this.index, (byte) l);
+            return Boolean.TRUE;
+        }
+
+    }
+
+    private static class SmallIntWriter extends FixedWidthWriter<SmallIntVector> {
+
+        SmallIntWriter(SmallIntVector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromLong(long l) {
+            this.vector.setSafe(this.index, (short) l);
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public Object createFromYear(long l) {
+            return createFromLong(l);
+        }
+
+    }
+
+    private static class UInt2Writer extends FixedWidthWriter<UInt2Vector> {
+
+        UInt2Writer(UInt2Vector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromLong(long l) {
+            this.vector.setSafe(this.index, (char) l);
+            return Boolean.TRUE;
+        }
+
+    }
+
+    private static class IntWriter extends FixedWidthWriter<IntVector> {
+
+        IntWriter(IntVector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromLong(long l) {
+            this.vector.setSafe(this.index, (int) l);
+            return Boolean.TRUE;
+        }
+
+    }
+
+    private static class UInt4Writer extends FixedWidthWriter<UInt4Vector> {
+
+        UInt4Writer(UInt4Vector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromLong(long l) {
+            this.vector.setSafe(this.index, (int) l);
+            return Boolean.TRUE;
+        }
+
+    }
+
+    private static class BigIntWriter extends FixedWidthWriter<BigIntVector> {
+
+        BigIntWriter(BigIntVector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromLong(long l) {
+            this.vector.setSafe(this.index, l);
+            return Boolean.TRUE;
+        }
+
+    }
+
+    private static class UInt8Writer extends FixedWidthWriter<UInt8Vector> {
+
+        UInt8Writer(UInt8Vector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromLong(long l) {
+            this.vector.setSafe(this.index, l);
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public Object createFromBigInteger(BigInteger i) {
+            // keeps the low 64 bits, which is the unsigned value
+            return createFromLong(i.longValue());
+        }
+
+        @Override
+        public Object createFromBit(byte[] bytes, int offset, int length) {
+            return createFromLong(bitsToLong(bytes, offset, length));
+        }
+
+    }
+
+    private static class Float4Writer extends FixedWidthWriter<Float4Vector> {
+
+        Float4Writer(Float4Vector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromDouble(double d) {
+            this.vector.setSafe(this.index, (float) d);
+            return Boolean.TRUE;
+        }
+
+    }
+
+    private static class Float8Writer extends FixedWidthWriter<Float8Vector> {
+
+        Float8Writer(Float8Vector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromDouble(double d) {
+            this.vector.setSafe(this.index, d);
+            return Boolean.TRUE;
+        }
+
+    }
+
+    private static class DecimalWriter extends FixedWidthWriter<DecimalVector> {
+
+        DecimalWriter(DecimalVector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromBigDecimal(BigDecimal d) {
+            this.vector.setSafe(this.index, d);
+            return Boolean.TRUE;
+        }
+
+    }
+
+    private static class Decimal256Writer extends FixedWidthWriter<Decimal256Vector> {
+
+        Decimal256Writer(Decimal256Vector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromBigDecimal(BigDecimal d) {
+            this.vector.setSafe(this.index, d);
+            return Boolean.TRUE;
+        }
+
+    }
+
+    private static class DateDayWriter extends FixedWidthWriter<DateDayVector> {
+
+        DateDayWriter(DateDayVector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromDate(InternalDate idate) {
+            if (isZeroDate(idate)) {
+                return createFromNull();
+            }
+            this.vector.setSafe(this.index, toEpochDay(idate.getYear(), idate.getMonth(), idate.getDay()));
+            return Boolean.TRUE;
+        }
+
+    }
+
+    private static class DurationMicroWriter extends FixedWidthWriter<DurationVector> {
+
+        DurationMicroWriter(DurationVector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromTime(InternalTime it) {
+            // decoders return negative values with negative hours and positive minutes, seconds and nanos, and flag them as negative for values below
+            // one hour
+            long micros = (Math.abs((long) it.getHours()) * 3600L + it.getMinutes() * 60L + it.getSeconds()) * 1_000_000L + it.getNanos() / 1000;
+            this.vector.setSafe(this.index, it.isNegative() || it.getHours() < 0 ? -micros : micros);
+            return Boolean.TRUE;
+        }
+
+    }
+
+    private static class TimeStampMicroWriter extends FixedWidthWriter<TimeStampMicroVector> {
+
+        TimeStampMicroWriter(TimeStampMicroVector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromTimestamp(InternalTimestamp its) {
+            if (isZeroDate(its)) {
+                return createFromNull();
+            }
+            this.vector.setSafe(this.index, toEpochMicros(its));
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public Object createFromDatetime(InternalTimestamp its) {
+            return createFromTimestamp(its);
+        }
+
+    }
+
+    private static class VarCharWriter extends VariableWidthWriter<VarCharVector> {
+
+        /** Java encoding of the column values, or null if they are already UTF-8. */
+        private final String encoding;
+
+        VarCharWriter(VarCharVector vector, String encoding) {
+            super(vector);
+            this.encoding = encoding;
+        }
+
+        @Override
+        public Object createFromBytes(byte[] bytes, int offset, int length, Field f) {
+            if (this.encoding == null) {
+                this.vector.setSafe(this.index, bytes, offset, length);
+            } else {
+                byte[] utf8 = StringUtils.toString(bytes, offset, length, this.encoding).getBytes(StandardCharsets.UTF_8);
+                this.vector.setSafe(this.index, utf8, 0, utf8.length);
+            }
+            return Boolean.TRUE;
+        }
+
+    }
+
+    private static class VarBinaryWriter extends VariableWidthWriter<VarBinaryVector> {
+
+        VarBinaryWriter(VarBinaryVector vector) {
+            super(vector);
+        }
+
+        @Override
+        public Object createFromBytes(byte[] bytes, int offset, int length, Field f) {
+            this.vector.setSafe(this.index, bytes, offset, length);
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public Object createFromBit(byte[] bytes, int offset, int length) {
+            return createFromBytes(bytes, offset, length, null);
+        }
+
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc.integration.arrow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import com.mysql.cj.result.Field;
+
+/**
+ * Mapping of MySQL column types to Apache Arrow types.
+ * <ul>
+ * <li>Integer types map to Arrow integers of the same width and signedness, except MEDIUMINT UNSIGNED that maps to a signed 32 bits integer.</li>
+ * <li>BOOLEAN and BIT(1) map to Arrow booleans, wider BITs to unsigned 64 bits integers and YEAR to signed 16 bits integers.</li>
+ * <li>FLOAT and DOUBLE map to single and double precision floating points.</li>
+ * <li>DECIMAL maps to 128 bits decimals, or to 256 bits decimals when its precision is above 38.</li>
+ * <li>DATE maps to days since epoch, TIME to durations in microseconds, as its values range from -838:59:59 to 838:59:59 rather than being times of day, and
+ * DATETIME and TIMESTAMP to microseconds since epoch without time zone, holding the wall clock value returned by the server.</li>
+ * <li>Non-binary strings, ENUM, SET and JSON map to UTF-8 strings; binary strings, BLOBs, GEOMETRY, VECTOR and unknown types to binaries.</li>
+ * </ul>
+ */
+public final class MysqlArrowTypes {
+
+    /** Largest precision of a 128 bits Arrow decimal. */
+    private static final int MAX_DECIMAL128_PRECISION = 38;
+
+    private MysqlArrowTypes() {
+    }
+
+    /**
+     * Returns the Arrow type values of the given column are exported to.
+     *
+     * @param f
+     *            column metadata
+     * @return the Arrow type
+     */
+    public static ArrowType getArrowType(Field f) {
+        switch (f.getMysqlType()) {
+            case BOOLEAN:
+                return ArrowType.Bool.INSTANCE;
+            case BIT:
+                return f.isSingleBit() ? ArrowType.Bool.INSTANCE : new ArrowType.Int(64, false);
+            case TINYINT:
+                return new ArrowType.Int(8, true);
+            case TINYINT_UNSIGNED:
+                return new ArrowType.Int(8, false);
+            case SMALLINT:
+            case YEAR:
+                return new ArrowType.Int(16, true);
+            case SMALLINT_UNSIGNED:
+                return new ArrowType.Int(16, false);
+            case INT:
+            case MEDIUMINT:
+            case MEDIUMINT_UNSIGNED:
+                return new ArrowType.Int(32, true);
+            case INT_UNSIGNED:
+                return new ArrowType.Int(32, false);
+            case BIGINT:
+                return new ArrowType.Int(64, true);
+            case BIGINT_UNSIGNED:
+                return new ArrowType.Int(64, false);
+            case FLOAT:
+            case FLOAT_UNSIGNED:
+                return new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+            case DOUBLE:
+            case DOUBLE_UNSIGNED:
+                return new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+            case DECIMAL:
+            case DECIMAL_UNSIGNED:
+                int precision = getDecimalPrecision(f);
+                return new ArrowType.Decimal(precision, f.getDecimals(), precision > MAX_DECIMAL128_PRECISION ? 256 : 128);
+            case DATE:
+                return new ArrowType.Date(DateUnit.DAY);
+            case TIME:
+                return new ArrowType.Duration(TimeUnit.MICROSECOND);
+            case DATETIME:
+            case TIMESTAMP:
+                return new ArrowType.Timestamp(TimeUnit.MICROSECOND, null);
+            case CHAR:
+            case VARCHAR:
+            case TINYTEXT:
+            case TEXT:
+            case MEDIUMTEXT:
+            case LONGTEXT:
+            case ENUM:
+            case SET:
+            case JSON:
+                return ArrowType.Utf8.INSTANCE;
+            case NULL:
+                return ArrowType.Null.INSTANCE;
+            default:
+                return ArrowType.Binary.INSTANCE;
+        }
+    }
+
+    /**
+     * Returns the Arrow schema of a result set with the given columns. Arrow fields are named after the column labels and are all nullable.
+     *
+     * @param fields
+     *            columns metadata
+     * @return the Arrow schema
+     */
+    public static Schema getSchema(Field[] fields) {
+        List<org.apache.arrow.vector.types.pojo.Field> arrowFields = new ArrayList<>(fields.length);
+        for (Field f : fields) {
+            arrowFields.add(new org.apache.arrow.vector.types.pojo.Field(f.getColumnLabel(), FieldType.nullable(getArrowType(f)), null));
+        }
+        return new Schema(arrowFields);
+    }
+
+    /**
+     * Returns the precision of a DECIMAL column. The length of the column is its number of digits, as the decimal point and the sign are already left out
+     * when reading the column definition.
+     *
+     * @param f
+     *            column metadata
+     * @return the number of digits
+     */
+    private static int getDecimalPrecision(Field f) {
+        return Math.max((int) f.getLength(), Math.max(f.getDecimals(), 1));
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc.result;
+
+import java.util.Arrays;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.exceptions.ExceptionFactory;
+import com.mysql.cj.exceptions.WrongArgumentException;
+import com.mysql.cj.result.DefaultValueFactory;
+import com.mysql.cj.result.Field;
+import com.mysql.cj.result.Row;
+
+/**
+ * {@link ColumnVector} of raw column values, as returned by <code>ResultSet.getBytes()</code>. Values are appended one after another to a single data
+ * slab; the value at position i occupies <code>data[offsets[i]]</code> to <code>data[offsets[i + 1] - 1]</code>, so the offsets array holds one element
+ * more than the capacity. NULL values are empty.
+ * <p>
+ * The data slab is replaced by a larger copy when it fills up, so {@link #getData()} must be called after each batch is read.
+ */
+public class BytesColumnVector extends ColumnVector {
+
+    private byte[] data;
+    private final int[] offsets;
+
+    private RawBytesValueFactory valueFactory;
+
+    /**
+     * Creates a vector holding up to <code>offsets.length - 1</code> values.
+     *
+     * @param columnIndex
+     *            the 1-based index of the column to read
+     * @param data
+     *            initial data slab
+     * @param offsets
+     *            array receiving the value offsets
+     * @param nulls
+     *            null bitmap, at least <code>(offsets.length + 6) / 8</code> bytes long
+     */
+    public BytesColumnVector(int columnIndex, byte[] data, int[] offsets, byte[] nulls) {
+        super(columnIndex, checkOffsets(offsets).length - 1, nulls);
+        this.data = data;
+        this.offsets = offsets;
+    }
+
+    private static int[] checkOffsets(int[] offsets) {
+        if (offsets.length == 0) {
+            throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("ColumnVector.1"));
+        }
+        return offsets;
+    }
+
+    /**
+     * Returns the data slab holding the values of the last batch read.
+     *
+     * @return the data slab
+     */
+    public byte[] getData() {
+        return this.data;
+    }
+
+    /**
+     * Returns the array of value offsets into the data slab.
+     *
+     * @return the offsets
+     */
+    public int[] getOffsets() {
+        return this.offsets;
+    }
+
+    /**
+     * Returns the length of the value at the given position.
+     *
+     * @param position
+     *            0-based position in the last batch read
+     * @return the value length in bytes
+     */
+    public int getLength(int position) {
+        return this.offsets[position + 1] - this.offsets[position];
+    }
+
+    @Override
+    void startBatch(ResultSetImpl resultSet) {
+        super.startBatch(resultSet);
+        if (this.valueFactory == null) {
+            this.valueFactory = new RawBytesValueFactory(resultSet.connection.getPropertySet());
+        }
+        this.offsets[0] = 0;
+    }
+
+    @Override
+    void readValue(Row row, int position) {
+        int columnIndex = getColumnIndex() - 1;
+        this.valueFactory.position = position;
+        this.valueFactory.decoded = false;
+        row.getValue(columnIndex, this.valueFactory);
+        if (this.valueFactory.decoded) {
+            // the row decoded the value into something else than its bytes
+            byte[] bytes = row.getBytes(columnIndex);
+            append(position, bytes, 0, bytes.length);
+        }
+    }
+
+    private void append(int position, byte[] bytes, int offset, int length) {
+        int start = this.offsets[position];
+        int end = start + length;
+        if (end > this.data.length) {
+            this.data = Arrays.copyOf(this.data, Math.max(end, this.data.length * 2));
+        }
+        System.arraycopy(bytes, offset, this.data, start, length);
+        this.offsets[position + 1] = end;
+    }
+
+    /**
+     * Appends raw values to the data slab. Values the row has already decoded are flagged so that their bytes can be read again from the row.
+     */
+    private class RawBytesValueFactory extends DefaultValueFactory<Object> {
+
+        int position;
+        boolean decoded;
+
+        RawBytesValueFactory(PropertySet pset) {
+            super(pset);
+        }
+
+        @Override
+        protected Object unsupported(String sourceType) {
+            this.decoded = true;
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public Object createFromBytes(byte[] bytes, int offset, int length, Field f) {
+            append(this.position, bytes, offset, length);
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public Object createFromBit(byte[] bytes, int offset, int length) {
+            append(this.position, bytes, offset, length);
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public Object createFromNull() {
+            setNull(this.position);
+            BytesColumnVector.this.offsets[this.position + 1] = BytesColumnVector.this.offsets[this.position];
+            return null;
+        }
+
+        @Override
+        public String getTargetTypeName() {
+            return byte[].class.getName();
+        }
+
+    }
+
+}
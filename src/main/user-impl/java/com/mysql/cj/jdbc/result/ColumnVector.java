@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc.result;
+
+import java.util.Arrays;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.exceptions.ExceptionFactory;
+import com.mysql.cj.exceptions.WrongArgumentException;
+import com.mysql.cj.result.Row;
+
+/**
+ * A column of values filled by {@link ColumnarResultSet#fetchColumns(ColumnVector...)}, backed by caller supplied arrays. Position i of a vector holds the
+ * value of the i-th row of the last batch read.
+ * <p>
+ * NULL values are flagged in a null bitmap where bit <code>i % 8</code> of byte <code>i / 8</code> is set when the value at position i is NULL. The value
+ * arrays are left untouched at NULL positions.
+ */
+public abstract class ColumnVector {
+
+    private final int columnIndex;
+    private final int capacity;
+    private final byte[] nulls;
+
+    ColumnVector(int columnIndex, int capacity, byte[] nulls) {
+        if (nulls.length < (capacity + 7) / 8) {
+            throw ExceptionFactory.createException(WrongArgumentException.class,
+                    Messages.getString("ColumnVector.0", new Object[] { nulls.length, capacity }));
+        }
+        this.columnIndex = columnIndex;
+        this.capacity = capacity;
+        this.nulls = nulls;
+    }
+
+    /**
+     * Returns the index of the result set column read into this vector.
+     *
+     * @return the 1-based column index
+     */
+    public int getColumnIndex() {
+        return this.columnIndex;
+    }
+
+    /**
+     * Returns the maximum number of values this vector can hold.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Returns the null bitmap of this vector.
+     *
+     * @return the null bitmap
+     */
+    public byte[] getNulls() {
+        return this.nulls;
+    }
+
+    /**
+     * Checks whether the value at the given position was NULL.
+     *
+     * @param position
+     *            0-based position in the last batch read
+     * @return true if the value was NULL
+     */
+    public boolean isNull(int position) {
+        return (this.nulls[position >>> 3] & 1 << (position & 7)) != 0;
+    }
+
+    void setNull(int position) {
+        this.nulls[position >>> 3] |= 1 << (position & 7);
+    }
+
+    /**
+     * Prepares this vector for reading a new batch from the given result set.
+     *
+     * @param resultSet
+     *            the result set the values are read from
+     */
+    void startBatch(ResultSetImpl resultSet) {
+        Arrays.fill(this.nulls, 0, (this.capacity + 7) / 8, (byte) 0);
+    }
+
+    /**
+     * Decodes the value of this vector's column from the given row and stores it at the given position.
+     *
+     * @param row
+     *            the current row
+     * @param position
+     *            0-based position in the batch
+     */
+    abstract void readValue(Row row, int position);
+
+}
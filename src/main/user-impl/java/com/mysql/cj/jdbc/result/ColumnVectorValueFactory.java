@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc.result;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.protocol.InternalDate;
+import com.mysql.cj.protocol.InternalTime;
+import com.mysql.cj.protocol.InternalTimestamp;
+import com.mysql.cj.result.Field;
+import com.mysql.cj.result.ValueFactory;
+
+/**
+ * Value factory storing decoded values into a {@link ColumnVector} instead of returning them. Conversions are delegated to the value factory used by the
+ * matching result set getter and the result is unboxed into the vector; subclasses override the common cases to store primitives without boxing.
+ * <p>
+ * Returns <code>null</code> for NULL values and a non-null marker otherwise, so that rows can still track <code>wasNull()</code>.
+ *
+ * @param <T>
+ *            value type of the delegate value factory
+ */
+abstract class ColumnVectorValueFactory<T> implements ValueFactory<Object> {
+
+    protected final ColumnVector vector;
+    protected ValueFactory<T> delegate;
+    protected int position;
+
+    ColumnVectorValueFactory(ColumnVector vector) {
+        this.vector = vector;
+    }
+
+    void setDelegate(ValueFactory<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    void setPosition(int position) {
+        this.position = position;
+    }
+
+    /**
+     * Stores a non-null value created by the delegate value factory at the current position.
+     *
+     * @param value
+     *            the value
+     */
+    abstract void store(T value);
+
+    private Object storeOrNull(T value) {
+        if (value == null) {
+            return createFromNull();
+        }
+        store(value);
+        return Boolean.TRUE;
+    }
+
+    @Override
+    public void setPropertySet(PropertySet pset) {
+        // property set is held by the delegate
+    }
+
+    @Override
+    public Object createFromDate(InternalDate idate) {
+        return storeOrNull(this.delegate.createFromDate(idate));
+    }
+
+    @Override
+    public Object createFromTime(InternalTime it) {
+        return storeOrNull(this.delegate.createFromTime(it));
+    }
+
+    @Override
+    public Object createFromTimestamp(InternalTimestamp its) {
+        return storeOrNull(this.delegate.createFromTimestamp(its));
+    }
+
+    @Override
+    public Object createFromDatetime(InternalTimestamp its) {
+        return storeOrNull(this.delegate.createFromDatetime(its));
+    }
+
+    @Override
+    public Object createFromLong(long l) {
+        return storeOrNull(this.delegate.createFromLong(l));
+    }
+
+    @Override
+    public Object createFromBigInteger(BigInteger i) {
+        return storeOrNull(this.delegate.createFromBigInteger(i));
+    }
+
+    @Override
+    public Object createFromDouble(double d) {
+        return storeOrNull(this.delegate.createFromDouble(d));
+    }
+
+    @Override
+    public Object createFromBigDecimal(BigDecimal d) {
+        return storeOrNull(this.delegate.createFromBigDecimal(d));
+    }
+
+    @Override
+    public Object createFromBytes(byte[] bytes, int offset, int length, Field f) {
+        return storeOrNull(this.delegate.createFromBytes(bytes, offset, length, f));
+    }
+
+    @Override
+    public Object createFromBit(byte[] bytes, int offset, int length) {
+        return storeOrNull(this.delegate.createFromBit(bytes, offset, length));
+    }
+
+    @Override
+    public Object createFromYear(long l) {
+        return storeOrNull(this.delegate.createFromYear(l));
+    }
+
+    @Override
+    public Object createFromNull() {
+        this.vector.setNull(this.position);
+        return null;
+    }
+
+    @Override
+    public String getTargetTypeName() {
+        return this.delegate.getTargetTypeName();
+    }
+
+}
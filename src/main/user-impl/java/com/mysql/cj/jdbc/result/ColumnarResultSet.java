@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc.result;
+
+import java.sql.SQLException;
+
+/**
+ * Extension of {@link java.sql.ResultSet} that reads whole batches of rows into caller supplied primitive arrays instead of going through the per-cell
+ * getters. Obtained with <code>resultSet.unwrap(ColumnarResultSet.class)</code>.
+ */
+public interface ColumnarResultSet {
+
+    /**
+     * Reads up to as many rows as the smallest capacity of the given vectors, starting from the row after the current cursor position, and stores the
+     * values of each vector's column at positions 0 to n-1 of that vector. Values are converted the same way as by the getter matching the vector type,
+     * i.e. <code>getLong()</code>, <code>getInt()</code>, <code>getDouble()</code> and <code>getBytes()</code>.
+     * <p>
+     * After the call the cursor is positioned on the last row read, or after the last row if the result set was exhausted.
+     *
+     * @param vectors
+     *            the column vectors to fill
+     * @return the number of rows read, 0 if there are no more rows
+     * @throws SQLException
+     *             if a database access error occurs, the result set is closed, a column index is out of range or a value can't be converted
+     */
+    int fetchColumns(ColumnVector... vectors) throws SQLException;
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc.result;
+
+import com.mysql.cj.result.Row;
+
+/**
+ * {@link ColumnVector} of <code>double</code> values, converted as by <code>ResultSet.getDouble()</code>.
+ */
+public class DoubleColumnVector extends ColumnVector {
+
+    private final double[] values;
+
+    private final ColumnVectorValueFactory<Double> valueFactory = new ColumnVectorValueFactory<Double>(this) {
+
+        @Override
+        void store(Double value) {
+            DoubleColumnVector.this.values[this.position] = value;
+        }
+
+        @Override
+        public Object createFromLong(long l) {
+            DoubleColumnVector.this.values[this.position] = l;
+            return Boolean.TRUE;
+        }
+
+        @Override
+        public Object createFromDouble(double d) {
+            if (d < -Double.MAX_VALUE || d > Double.MAX_VALUE) {
+                // let the delegate report infinite values
+                return super.createFromDouble(d);
+            }
+            DoubleColumnVector.this.values[this.position] = d;
+            return Boolean.TRUE;
+        }
+
+    };
+
+    /**
+     * Creates a vector holding up to <code>values.length</code> values.
+     *
+     * @param columnIndex
+     *            the 1-based index of the column to read
+     * @param values
+     *            array receiving the values
+     * @param nulls
+     *            null bitmap, at least <code>(values.length + 7) / 8</code> bytes long
+     */
+    public DoubleColumnVector(int columnIndex, double[] values, byte[] nulls) {
+        super(columnIndex, values.length, nulls);
+        this.values = values;
+    }
+
+    /**
+     * Returns the array receiving the values.
+     *
+     * @return the values
+     */
+    public double[] getValues() {
+        return this.values;
+    }
+
+    @Override
+    void startBatch(ResultSetImpl resultSet) {
+        super.startBatch(resultSet);
+        this.valueFactory.setDelegate(resultSet.getDoubleValueFactory());
+    }
+
+    @Override
+    void readValue(Row row, int position) {
+        this.valueFactory.setPosition(position);
+        row.getValue(getColumnIndex() - 1, this.valueFactory);
+    }
+
+}
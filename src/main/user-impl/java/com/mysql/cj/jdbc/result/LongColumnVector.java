@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc.result;
+
+import com.mysql.cj.result.Row;
+
+/**
+ * {@link ColumnVector} of <code>long</code> values, converted as by <code>ResultSet.getLong()</code>.
+ */
+public class LongColumnVector extends ColumnVector {
+
+    private final long[] values;
+
+    private final ColumnVectorValueFactory<Long> valueFactory = new ColumnVectorValueFactory<Long>(this) {
+
+        @Override
+        void store(Long value) {
+            LongColumnVector.this.values[this.position] = value;
+        }
+
+        @Override
+        public Object createFromLong(long l) {
+            // every long fits, no need to go through the delegate
+            LongColumnVector.this.values[this.position] = l;
+            return Boolean.TRUE;
+        }
+
+    };
+
+    /**
+     * Creates a vector holding up to <code>values.length</code> values.
+     *
+     * @param columnIndex
+     *            the 1-based index of the column to read
+     * @param values
+     *            array receiving the values
+     * @param nulls
+     *            null bitmap, at least <code>(values.length + 7) / 8</code> bytes long
+     */
+    public LongColumnVector(int columnIndex, long[] values, byte[] nulls) {
+        super(columnIndex, values.length, nulls);
+        this.values = values;
+    }
+
+    /**
+     * Returns the array receiving the values.
+     *
+     * @return the values
+     */
+    public long[] getValues() {
+        return this.values;
+    }
+
+    @Override
+    void startBatch(ResultSetImpl resultSet) {
+        super.startBatch(resultSet);
+        this.valueFactory.setDelegate(resultSet.getLongValueFactory());
+    }
+
+    @Override
+    void readValue(Row row, int position) {
+        this.valueFactory.setPosition(position);
+        row.getValue(getColumnIndex() - 1, this.valueFactory);
+    }
+
+}
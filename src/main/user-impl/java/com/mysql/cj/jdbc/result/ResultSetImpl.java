@@ -110,7 +110,7 @@ import com.mysql.cj.result.ZonedDateTimeValueFactory;
 import com.mysql.cj.util.LogUtils;
 import com.mysql.cj.util.StringUtils;
 
-public class ResultSetImpl extends NativeResultset implements ResultSetInternalMethods, WarningListener {
+public class ResultSetImpl extends NativeResultset implements ResultSetInternalMethods, ColumnarResultSet, WarningListener {
 
     /** Counter used to generate IDs for profiling. */
     static int resultCounter = 1;
@@ -1828,6 +1828,38 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
         }
     }
 
+    @Override
+    public int fetchColumns(ColumnVector... vectors) throws SQLException {
+        Lock connectionLock = checkClosed().getConnectionLock();
+        connectionLock.lock();
+        try {
+            if (vectors.length == 0) {
+                throw SQLError.createSQLException(Messages.getString("ResultSet.NoColumnVectors"), MysqlErrorNumbers.SQLSTATE_CONNJ_ILLEGAL_ARGUMENT,
+                        getExceptionInterceptor());
+            }
+
+            int capacity = Integer.MAX_VALUE;
+            for (ColumnVector vector : vectors) {
+                checkColumnBounds(vector.getColumnIndex());
+                capacity = Math.min(capacity, vector.getCapacity());
+            }
+            for (ColumnVector vector : vectors) {
+                vector.startBatch(this);
+            }
+
+            int rows = 0;
+            while (rows < capacity && next()) {
+                for (ColumnVector vector : vectors) {
+                    vector.readValue(this.thisRow, rows);
+                }
+                rows++;
+            }
+            return rows;
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
     /**
      * The <i>prev</i> method is not part of JDBC, but because of the architecture of this driver it is possible to move both forward and backward within the
      * result set.
@@ -2674,6 +2706,18 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
         return this.exceptionInterceptor;
     }
 
+    ValueFactory<Integer> getIntegerValueFactory() {
+        return this.integerValueFactory;
+    }
+
+    ValueFactory<Long> getLongValueFactory() {
+        return this.longValueFactory;
+    }
+
+    ValueFactory<Double> getDoubleValueFactory() {
+        return this.doubleValueFactory;
+    }
+
     @Override
     public int getHoldability() throws SQLException {
         throw SQLError.createSQLFeatureNotSupportedException();
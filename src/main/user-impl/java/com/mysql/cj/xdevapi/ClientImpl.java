@@ -22,6 +22,7 @@ package com.mysql.cj.xdevapi;
 
 import java.io.IOException;
 import java.lang.ref.WeakReference;
+import java.nio.channels.AsynchronousChannelGroup;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -45,12 +46,14 @@ import com.mysql.cj.conf.ConnectionUrl;
 import com.mysql.cj.conf.DefaultPropertySet;
 import com.mysql.cj.conf.HostInfo;
 import com.mysql.cj.conf.IntegerPropertyDefinition;
+import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.conf.PropertySet;
 import com.mysql.cj.exceptions.CJCommunicationsException;
 import com.mysql.cj.exceptions.CJException;
 import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.WrongArgumentException;
 import com.mysql.cj.protocol.Protocol.ProtocolEventListener;
+import com.mysql.cj.protocol.x.XAsyncSocketConnection;
 import com.mysql.cj.protocol.x.XProtocol;
 import com.mysql.cj.protocol.x.XProtocolError;
 import com.mysql.cj.util.StringUtils;
@@ -75,6 +78,8 @@ public class ClientImpl implements Client, ProtocolEventListener {
     private Set<WeakReference<PooledXProtocol>> activeProtocols = null;
     private BlockingQueue<PooledXProtocol> idleProtocols = null;
     private Semaphore availableProtocols;
+    /** Event loop shared by the pooled sessions using the asynchronous X Protocol transport. */
+    private AsynchronousChannelGroup channelGroup = null;
 
     private ReadWriteLock clientShutdownLock;
 
@@ -237,6 +242,12 @@ public class ClientImpl implements Client, ProtocolEventListener {
             this.activeProtocols = new CopyOnWriteArraySet<>();
             this.idleProtocols = new LinkedBlockingQueue<>(this.maxSize);
             this.availableProtocols = new Semaphore(this.maxSize, true);
+
+            PropertySet pset = new DefaultPropertySet();
+            pset.initializeProperties(this.connUrl.getMainHost().exposeAsProperties());
+            if (pset.getBooleanProperty(PropertyKey.xdevapiUseAsyncProtocol).getValue()) {
+                this.channelGroup = XAsyncSocketConnection.createChannelGroup(pset.getIntegerProperty(PropertyKey.xdevapiAsyncEventLoopThreads).getValue());
+            }
         } else {
             this.nonPooledSessions = new CopyOnWriteArraySet<>();
         }
@@ -396,7 +407,7 @@ public class ClientImpl implements Client, ProtocolEventListener {
         PropertySet pset = new DefaultPropertySet();
 
         pset.initializeProperties(hi.exposeAsProperties());
-        protocol = new PooledXProtocol(hi, pset, this.maxIdleTime);
+        protocol = new PooledXProtocol(hi, pset, this.maxIdleTime, this.channelGroup);
         protocol.addListener(this);
         protocol.connect(hi.getUser(), hi.getPassword(), hi.getDatabase());
 
@@ -449,6 +460,9 @@ public class ClientImpl implements Client, ProtocolEventListener {
                     this.idleProtocols.add(this.poisonProtocolMarker);
                     this.activeProtocols.stream().map(WeakReference::get).filter(Objects::nonNull).forEach(PooledXProtocol::realClose);
                     this.activeProtocols.clear();
+                    if (this.channelGroup != null) {
+                        this.channelGroup.shutdown();
+                    }
                 } else {
                     this.nonPooledSessions.stream().map(WeakReference::get).filter(Objects::nonNull).filter(Session::isOpen).forEach(Session::close);
                 }
@@ -530,8 +544,8 @@ public class ClientImpl implements Client, ProtocolEventListener {
             super(null, null);
         }
 
-        PooledXProtocol(HostInfo hostInfo, PropertySet propertySet, int maxIdleTime) {
-            super(hostInfo, propertySet);
+        PooledXProtocol(HostInfo hostInfo, PropertySet propertySet, int maxIdleTime, AsynchronousChannelGroup channelGroup) {
+            super(hostInfo, propertySet, channelGroup);
             this.hostInfo = hostInfo;
             this.maxIdleTime = maxIdleTime;
         }
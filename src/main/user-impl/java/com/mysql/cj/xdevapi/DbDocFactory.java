@@ -30,15 +30,15 @@ import com.mysql.cj.protocol.x.XMessage;
  */
 public class DbDocFactory implements ProtocolEntityFactory<DbDoc, XMessage> {
 
-    private PropertySet pset;
+    private DbDocValueFactory valueFactory;
 
     public DbDocFactory(PropertySet pset) {
-        this.pset = pset;
+        this.valueFactory = new DbDocValueFactory(pset);
     }
 
     @Override
     public DbDoc createFromProtocolEntity(ProtocolEntity internalRow) {
-        return ((com.mysql.cj.result.Row) internalRow).getValue(0, new DbDocValueFactory(this.pset));
+        return ((com.mysql.cj.result.Row) internalRow).getValue(0, this.valueFactory);
     }
 
 }
@@ -22,19 +22,26 @@ package com.mysql.cj.xdevapi;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.Arrays;
 
+import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.conf.PropertySet;
 import com.mysql.cj.exceptions.AssertionFailedException;
 import com.mysql.cj.result.DefaultValueFactory;
 import com.mysql.cj.result.Field;
 import com.mysql.cj.result.ValueFactory;
 import com.mysql.cj.util.StringUtils;
+import com.mysql.cj.xdevapi.Utf8JsonParser.KeyCache;
 
 /**
  * A {@link ValueFactory} implementation to create {@link DbDoc}s.
  */
 public class DbDocValueFactory extends DefaultValueFactory<DbDoc> {
 
+    private final boolean lazyDocumentParsing;
+    /** Keys of the documents created by this factory, which are usually the same for all of them. */
+    private final KeyCache keyCache = new KeyCache();
+
     /**
      * Constructor.
      *
@@ -43,14 +50,22 @@ public class DbDocValueFactory extends DefaultValueFactory<DbDoc> {
      */
     public DbDocValueFactory(PropertySet pset) {
         super(pset);
+        this.lazyDocumentParsing = pset.getBooleanProperty(PropertyKey.xdevapiLazyDocumentParsing).getValue();
     }
 
     /**
-     * Interpret the given byte array as a string. This value factory needs to know the encoding to interpret the string. The default (null) will interpret the
-     * byte array using the platform encoding.
+     * Interpret the given byte array as a JSON document. UTF-8 encoded documents are parsed straight from the bytes, and only on access if
+     * <code>xdevapi.lazyDocumentParsing</code> is enabled. Other encodings are decoded into a string first; the default (null) will interpret the byte array
+     * using the platform encoding.
      */
     @Override
     public DbDoc createFromBytes(byte[] bytes, int offset, int length, Field f) {
+        if ("UTF-8".equalsIgnoreCase(f.getEncoding())) {
+            if (this.lazyDocumentParsing) {
+                return new LazyDbDoc(Arrays.copyOfRange(bytes, offset, offset + length), this.keyCache);
+            }
+            return new Utf8JsonParser(bytes, offset, length, this.keyCache).parseDoc();
+        }
         try {
             return JsonParser.parseDoc(new StringReader(StringUtils.toString(bytes, offset, length, f.getEncoding())));
         } catch (IOException ex) {
@@ -60,6 +60,18 @@ public class JsonNumber implements JsonValue {
         return this;
     }
 
+    /**
+     * Set number value already validated and in the form produced by {@link BigDecimal#toString()}.
+     *
+     * @param value
+     *            string number representation
+     * @return this JsonNumber
+     */
+    JsonNumber setCanonicalValue(String value) {
+        this.val = value;
+        return this;
+    }
+
     @Override
     public String toString() {
         return this.val;
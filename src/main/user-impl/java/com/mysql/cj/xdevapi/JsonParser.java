@@ -158,6 +158,21 @@ public class JsonParser {
         }
     }
 
+    /**
+     * Create {@link DbDoc} object from UTF-8 encoded JSON bytes, without decoding them into a string first. The JSON must be well-formed.
+     *
+     * @param bytes
+     *            buffer holding the JSON document
+     * @param offset
+     *            offset of the document in the buffer
+     * @param length
+     *            length of the document
+     * @return New {@link DbDoc} object initialized by parsed JSON.
+     */
+    public static DbDoc parseDoc(byte[] bytes, int offset, int length) {
+        return new Utf8JsonParser(bytes, offset, length, null).parseDoc();
+    }
+
     /**
      * Create {@link DbDoc} object from JSON string provided by reader.
      *
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.xdevapi;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+import com.mysql.cj.xdevapi.JsonParser.StructuralToken;
+import com.mysql.cj.xdevapi.Utf8JsonParser.KeyCache;
+
+/**
+ * {@link DbDoc} that keeps the UTF-8 encoded JSON it was read from and parses it only when accessed.
+ * <p>
+ * Looking up keys, with {@link #get(Object)}, {@link #containsKey(Object)} or {@link #size()}, scans the members of the document only as far as needed, and
+ * parses only the values requested. Values that are JSON objects are themselves returned as lazy documents over the same bytes, so reading a few fields of a
+ * wide document allocates in proportion to what is read. Any other operation, including iterating, modifying or printing the document, parses it fully into a
+ * {@link DbDocImpl} that backs it from then on. Values returned before that are kept, so changes made to them are preserved.
+ * <p>
+ * Keys are expected to be unique, as they are in the documents sent by the server: a lookup returns the first member with the given key. Malformed JSON is
+ * reported by the first access that reaches it.
+ */
+class LazyDbDoc extends AbstractMap<String, JsonValue> implements DbDoc {
+
+    /** The document, until fully parsed. */
+    private byte[] json;
+    private KeyCache keyCache;
+    /** Scanner of the members not indexed yet, or null once they all are. */
+    private Utf8JsonParser scanner;
+    /** Keys of the members scanned so far, in document order. */
+    private String[] keys;
+    /** Start and end offsets of the value of each member scanned so far. */
+    private int[] valueBounds;
+    /** Values parsed so far, before the document is fully parsed. */
+    private JsonValue[] values;
+    private int memberCount;
+    /** The fully parsed document. */
+    private DbDocImpl doc;
+
+    /**
+     * Creates a document from UTF-8 encoded JSON.
+     *
+     * @param json
+     *            the JSON document, which is kept and must not be modified afterwards
+     * @param keyCache
+     *            cache of object keys, or null to not share them
+     */
+    LazyDbDoc(byte[] json, KeyCache keyCache) {
+        this(json, 0, json.length, keyCache);
+    }
+
+    /**
+     * Creates a document from UTF-8 encoded JSON held in a part of a buffer.
+     *
+     * @param json
+     *            buffer holding the JSON document, which is kept and must not be modified afterwards
+     * @param offset
+     *            offset of the document in the buffer
+     * @param length
+     *            length of the document
+     * @param keyCache
+     *            cache of object keys, or null to not share them
+     */
+    LazyDbDoc(byte[] json, int offset, int length, KeyCache keyCache) {
+        this.json = json;
+        this.keyCache = keyCache;
+        this.scanner = new Utf8JsonParser(json, offset, length, keyCache);
+        this.scanner.beginObject();
+        this.keys = new String[8];
+        this.valueBounds = new int[16];
+        this.values = new JsonValue[8];
+    }
+
+    /**
+     * Scans the next member of the document into the index.
+     *
+     * @return false if all members are already indexed
+     */
+    private boolean scanMember() {
+        if (this.scanner == null) {
+            return false;
+        }
+        String key = this.scanner.scanMember();
+        if (key == null) {
+            this.scanner = null;
+            return false;
+        }
+        if (this.memberCount == this.keys.length) {
+            this.keys = Arrays.copyOf(this.keys, this.memberCount * 2);
+            this.valueBounds = Arrays.copyOf(this.valueBounds, this.memberCount * 4);
+            this.values = Arrays.copyOf(this.values, this.memberCount * 2);
+        }
+        this.keys[this.memberCount] = key;
+        this.valueBounds[2 * this.memberCount] = this.scanner.getValueStart();
+        this.valueBounds[2 * this.memberCount + 1] = this.scanner.getValueEnd();
+        this.memberCount++;
+        return true;
+    }
+
+    /**
+     * Finds a member, scanning the document as far as needed.
+     *
+     * @param key
+     *            the key of the member
+     * @return the index of the member, or -1 if there is none with the given key
+     */
+    private int indexOf(Object key) {
+        for (int i = 0; i < this.memberCount; i++) {
+            if (this.keys[i] == key || this.keys[i].equals(key)) {
+                return i;
+            }
+        }
+        while (scanMember()) {
+            if (this.keys[this.memberCount - 1].equals(key)) {
+                return this.memberCount - 1;
+            }
+        }
+        return -1;
+    }
+
+    private JsonValue parseValue(int index) {
+        JsonValue val = this.values[index];
+        if (val == null) {
+            int start = this.valueBounds[2 * index];
+            int length = this.valueBounds[2 * index + 1] - start;
+            val = this.json[start] == StructuralToken.LCRBRACKET.CHAR ? new LazyDbDoc(this.json, start, length, this.keyCache)
+                    : new Utf8JsonParser(this.json, start, length, this.keyCache).parseValue();
+            this.values[index] = val;
+        }
+        return val;
+    }
+
+    /**
+     * Parses the whole document, if not done yet.
+     *
+     * @return the parsed document
+     */
+    private DbDocImpl getDoc() {
+        if (this.doc == null) {
+            while (scanMember()) {
+                // index all members
+            }
+            DbDocImpl parsed = new DbDocImpl();
+            for (int i = 0; i < this.memberCount; i++) {
+                parsed.put(this.keys[i], parseValue(i));
+            }
+            this.doc = parsed;
+            this.json = null;
+            this.keyCache = null;
+            this.keys = null;
+            this.valueBounds = null;
+            this.values = null;
+        }
+        return this.doc;
+    }
+
+    @Override
+    public JsonValue get(Object key) {
+        if (this.doc != null) {
+            return this.doc.get(key);
+        }
+        int index = indexOf(key);
+        return index < 0 ? null : parseValue(index);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.doc != null ? this.doc.containsKey(key) : indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        if (this.doc != null) {
+            return this.doc.size();
+        }
+        while (scanMember()) {
+            // index all members
+        }
+        return this.memberCount;
+    }
+
+    @Override
+    public Set<Map.Entry<String, JsonValue>> entrySet() {
+        return getDoc().entrySet();
+    }
+
+    @Override
+    public JsonValue put(String key, JsonValue value) {
+        return getDoc().put(key, value);
+    }
+
+    @Override
+    public JsonValue remove(Object key) {
+        return getDoc().remove(key);
+    }
+
+    @Override
+    public DbDoc add(String key, JsonValue val) {
+        put(key, val);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return getDoc().toString();
+    }
+
+    @Override
+    public String toFormattedString() {
+        return getDoc().toFormattedString();
+    }
+
+}
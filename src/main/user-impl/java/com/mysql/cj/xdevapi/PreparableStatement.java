@@ -22,6 +22,8 @@ package com.mysql.cj.xdevapi;
 
 import java.lang.ref.PhantomReference;
 import java.lang.ref.ReferenceQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import com.mysql.cj.MysqlxSession;
 import com.mysql.cj.protocol.x.XMessage;
@@ -112,9 +114,29 @@ public abstract class PreparableStatement<RES_T> {
                     }
                     break;
                 case PREPARE:
-                    // Prepare this statement. If it succeeds then immediately follow with its execution, otherwise mark it as prepare suspended and let the
-                    // following iteration to decide what to do next.
-                    this.preparedState = prepareStatement() ? PreparedState.PREPARED : PreparedState.SUSPENDED;
+                    // Prepare this statement and pipeline its execution, so that both take a single round-trip. If preparing fails then mark it as prepare
+                    // suspended and let the following iteration to decide what to do next.
+                    CompletableFuture<?> prepareResult = prepareStatement();
+                    if (prepareResult == null) {
+                        this.preparedState = PreparedState.SUSPENDED;
+                        break;
+                    }
+                    try {
+                        RES_T preparedResult = executePreparedStatement();
+                        this.preparedState = PreparedState.PREPARED;
+                        return preparedResult;
+                    } catch (Throwable t) {
+                        if (!failedPreparingStatement(prepareResult)) {
+                            this.preparedState = PreparedState.PREPARED;
+                            throw t;
+                        }
+                        this.preparedState = PreparedState.SUSPENDED;
+                        if (!(t instanceof XProtocolError)) {
+                            // The execution failed for some other reason than the statement not being prepared.
+                            throw t;
+                        }
+                        // The execution failed because the statement wasn't prepared.
+                    }
                     break;
                 case PREPARED:
                     // The statement is already prepared and can be executed safely.
@@ -150,30 +172,64 @@ public abstract class PreparableStatement<RES_T> {
     protected abstract XMessage getPrepareStatementXMessage();
 
     /**
-     * Prepares a statement on the server to be later executed.
+     * Sends the prepare of this statement, pipelined with the next query: its result is only read along with the result of the statement execution that must
+     * follow.
      *
      * @return
-     *         <code>true</code> if the statement was successfully prepared, <code>false</code> otherwise
+     *         a future completed with the result of the prepare, or <code>null</code> if the server doesn't support prepared statements
      */
-    private boolean prepareStatement() {
+    private CompletableFuture<?> prepareStatement() {
         if (!this.mysqlxSession.supportsPreparedStatements()) {
-            return false;
+            return null;
         }
         try {
             this.preparedStatementId = this.mysqlxSession.getNewPreparedStatementId(this);
-            this.mysqlxSession.query(getPrepareStatementXMessage(), new UpdateResultBuilder<>());
-        } catch (XProtocolError e) {
-            if (this.mysqlxSession.failedPreparingStatement(this.preparedStatementId, e)) {
-                this.preparedStatementId = 0;
-                return false;
-            }
-            this.preparedStatementId = 0;
-            throw e;
+            return this.mysqlxSession.queryPipelined(getPrepareStatementXMessage(), new UpdateResultBuilder<>());
         } catch (Throwable t) {
             this.preparedStatementId = 0;
             throw t;
         }
-        return true;
+    }
+
+    /**
+     * Checks whether the prepare of this statement failed, once the pipelined execution that followed failed too. If the execution failed before being sent,
+     * the prepare is still pending and its result is read first.
+     * <p>
+     * When preparing failed, the prepared statement id is released.
+     *
+     * @param prepareResult
+     *            the result of the prepare, as returned by {@link #prepareStatement()}
+     * @return
+     *         <code>true</code> if preparing failed and the error was properly handled, <code>false</code> if the statement was prepared
+     * @throws XProtocolError
+     *             the error that prevented preparing the statement, if it could not be handled
+     */
+    private boolean failedPreparingStatement(CompletableFuture<?> prepareResult) {
+        if (!prepareResult.isDone()) {
+            try {
+                this.mysqlxSession.readPipelinedResults();
+            } catch (Throwable t) {
+                // the prepare result is completed with the same error
+            }
+        }
+        Throwable prepareError;
+        try {
+            prepareResult.join();
+            return false;
+        } catch (CompletionException e) {
+            prepareError = e.getCause();
+        }
+        int failedStatementId = this.preparedStatementId;
+        this.preparedStatementId = 0;
+        if (!(prepareError instanceof XProtocolError)) {
+            // Not an error from the server, which the execution failed with as well; the statement will be prepared again with a new id.
+            this.mysqlxSession.freePreparedStatementId(failedStatementId);
+            return true;
+        }
+        if (this.mysqlxSession.failedPreparingStatement(failedStatementId, (XProtocolError) prepareError)) {
+            return true;
+        }
+        throw (XProtocolError) prepareError;
     }
 
     /**
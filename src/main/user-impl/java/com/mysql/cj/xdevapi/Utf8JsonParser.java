@@ -0,0 +1,568 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.xdevapi;
+
+import java.nio.charset.StandardCharsets;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.exceptions.ExceptionFactory;
+import com.mysql.cj.exceptions.WrongArgumentException;
+import com.mysql.cj.xdevapi.JsonParser.EscapeChar;
+import com.mysql.cj.xdevapi.JsonParser.StructuralToken;
+
+/**
+ * Parser of UTF-8 encoded JSON, building {@link DbDoc}, {@link JsonArray}, {@link JsonString}, {@link JsonNumber} and {@link JsonLiteral} objects straight
+ * from the bytes, with no intermediate {@link String} of the whole document. Object keys are shared through a {@link KeyCache}.
+ * <p>
+ * Unlike {@link JsonParser}, which is lenient with the documents written by users, this parser expects well-formed JSON, such as the documents sent by the
+ * server.
+ */
+class Utf8JsonParser {
+
+    private final byte[] bytes;
+    private final int end;
+    private final KeyCache keyCache;
+    private int pos;
+
+    /** State of the object scanned with {@link #scanMember()}. */
+    private int memberCount;
+    private boolean objectEnded;
+    private int valueStart;
+    private int valueEnd;
+
+    /**
+     * Creates a parser of the given bytes.
+     *
+     * @param bytes
+     *            buffer holding UTF-8 encoded JSON
+     * @param offset
+     *            offset of the JSON in the buffer
+     * @param length
+     *            length of the JSON
+     * @param keyCache
+     *            cache of object keys, or null to not share them
+     */
+    Utf8JsonParser(byte[] bytes, int offset, int length, KeyCache keyCache) {
+        this.bytes = bytes;
+        this.pos = offset;
+        this.end = offset + length;
+        this.keyCache = keyCache;
+    }
+
+    /**
+     * Parses a whole JSON document, which must be a JSON object.
+     *
+     * @return the document
+     */
+    DbDoc parseDoc() {
+        if (nextToken() != StructuralToken.LCRBRACKET.CHAR) {
+            throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.2"));
+        }
+        DbDoc doc = parseObject();
+        checkEnd();
+        return doc;
+    }
+
+    /**
+     * Parses the JSON value starting at the current position, skipping leading whitespace.
+     *
+     * @return the value
+     */
+    JsonValue parseValue() {
+        int b = nextToken();
+        switch (b) {
+            case '"':
+                this.pos++;
+                return new JsonString().setValue(parseString(false));
+            case '{':
+                return parseObject();
+            case '[':
+                return parseArray();
+            case 't':
+                return parseLiteral(JsonLiteral.TRUE);
+            case 'f':
+                return parseLiteral(JsonLiteral.FALSE);
+            case 'n':
+                return parseLiteral(JsonLiteral.NULL);
+            case -1:
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.5"));
+            default:
+                if (b == '-' || b >= '0' && b <= '9') {
+                    return parseNumber();
+                }
+                throw unexpected(b);
+        }
+    }
+
+    /**
+     * Starts scanning the members of the JSON object at the current position, one at a time, with {@link #scanMember()}.
+     */
+    void beginObject() {
+        if (nextToken() != StructuralToken.LCRBRACKET.CHAR) {
+            throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.2"));
+        }
+        this.pos++;
+        this.memberCount = 0;
+        this.objectEnded = false;
+    }
+
+    /**
+     * Scans the next member of the object being scanned: reads its key and skips its value, checking only its structure. The bounds of the value are then
+     * available from {@link #getValueStart()} and {@link #getValueEnd()}. The input must end with the object.
+     *
+     * @return the key of the member, or null if there are no more members
+     */
+    String scanMember() {
+        if (this.objectEnded) {
+            return null;
+        }
+        if ((this.memberCount == 0 ? nextToken() : nextMember(StructuralToken.RCRBRACKET.CHAR)) == StructuralToken.RCRBRACKET.CHAR) {
+            if (this.memberCount == 0) {
+                this.pos++;
+            }
+            this.objectEnded = true;
+            checkEnd();
+            return null;
+        }
+        String key = parseKey();
+        this.valueStart = skipWhitespace();
+        skipValue(key);
+        this.valueEnd = this.pos;
+        this.memberCount++;
+        return key;
+    }
+
+    /**
+     * Returns the offset of the value of the last member scanned.
+     *
+     * @return the offset of the value
+     */
+    int getValueStart() {
+        return this.valueStart;
+    }
+
+    /**
+     * Returns the offset of the end of the value of the last member scanned.
+     *
+     * @return the offset following the value
+     */
+    int getValueEnd() {
+        return this.valueEnd;
+    }
+
+    private DbDocImpl parseObject() {
+        this.pos++; // '{'
+        DbDocImpl doc = new DbDocImpl();
+        if (nextToken() == StructuralToken.RCRBRACKET.CHAR) {
+            this.pos++;
+            return doc;
+        }
+        do {
+            String key = parseKey();
+            JsonValue val;
+            try {
+                val = parseValue();
+            } catch (WrongArgumentException ex) {
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.0", new String[] { key }), ex);
+            }
+            doc.put(key, val);
+        } while (nextMember(StructuralToken.RCRBRACKET.CHAR) == StructuralToken.COMMA.CHAR);
+        return doc;
+    }
+
+    private JsonArray parseArray() {
+        this.pos++; // '['
+        JsonArray arr = new JsonArray();
+        if (nextToken() == StructuralToken.RSQBRACKET.CHAR) {
+            this.pos++;
+            return arr;
+        }
+        do {
+            arr.add(parseValue());
+        } while (nextMember(StructuralToken.RSQBRACKET.CHAR) == StructuralToken.COMMA.CHAR);
+        return arr;
+    }
+
+    /**
+     * Reads an object key and the colon that follows it.
+     *
+     * @return the key
+     */
+    private String parseKey() {
+        int b = nextToken();
+        if (b != EscapeChar.QUOTE.CHAR) {
+            throw b == -1 ? missing(StructuralToken.RCRBRACKET.CHAR) : unexpected(b);
+        }
+        this.pos++;
+        String key = parseString(true);
+        if (nextToken() != StructuralToken.COLON.CHAR) {
+            throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.4", new String[] { key }));
+        }
+        this.pos++;
+        return key;
+    }
+
+    /**
+     * Reads the separator after a member of an object or array.
+     *
+     * @param closing
+     *            the closing bracket of the object or array
+     * @return the separator read, either a comma or the closing bracket
+     */
+    private int nextMember(char closing) {
+        int b = nextToken();
+        if (b == StructuralToken.COMMA.CHAR || b == closing) {
+            this.pos++;
+            return b;
+        }
+        throw b == -1 ? missing(closing) : unexpected(b);
+    }
+
+    /**
+     * Reads a string, from the position after its opening quotation mark up to its closing quotation mark, inclusive.
+     *
+     * @param isKey
+     *            whether the string is an object key, to be shared through the key cache
+     * @return the string
+     */
+    private String parseString(boolean isKey) {
+        int start = this.pos;
+        while (this.pos < this.end) {
+            byte b = this.bytes[this.pos];
+            if (b == '"') {
+                String s = isKey && this.keyCache != null ? this.keyCache.get(this.bytes, start, this.pos - start)
+                        : new String(this.bytes, start, this.pos - start, StandardCharsets.UTF_8);
+                this.pos++;
+                return s;
+            } else if (b == '\\') {
+                return parseEscapedString(start);
+            }
+            this.pos++;
+        }
+        throw missing(EscapeChar.QUOTE.CHAR);
+    }
+
+    private String parseEscapedString(int start) {
+        StringBuilder sb = new StringBuilder(this.pos - start + 16);
+        int runStart = start;
+        while (this.pos < this.end) {
+            byte b = this.bytes[this.pos];
+            if (b == '"') {
+                appendUtf8(sb, runStart, this.pos);
+                this.pos++;
+                return sb.toString();
+            } else if (b == '\\') {
+                appendUtf8(sb, runStart, this.pos);
+                if (++this.pos == this.end) {
+                    break;
+                }
+                char ch = (char) this.bytes[this.pos++];
+                Character unescaped = JsonParser.escapeChars.get(ch);
+                if (unescaped != null) {
+                    sb.append(unescaped.charValue());
+                } else if (ch == 'u') {
+                    // \\u[4 hex digits] represents a unicode code point (ISO/IEC 10646)
+                    int digits = Math.min(4, this.end - this.pos);
+                    String hexCodePoint = new String(this.bytes, this.pos, digits, StandardCharsets.ISO_8859_1);
+                    if (digits != 4) {
+                        throw ExceptionFactory.createException(WrongArgumentException.class,
+                                Messages.getString("JsonParser.13", new String[] { hexCodePoint }));
+                    }
+                    try {
+                        sb.append((char) Integer.parseInt(hexCodePoint, 16));
+                    } catch (NumberFormatException e) {
+                        throw ExceptionFactory.createException(WrongArgumentException.class,
+                                Messages.getString("JsonParser.13", new String[] { hexCodePoint }));
+                    }
+                    this.pos += 4;
+                } else {
+                    throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.7", new Character[] { ch }));
+                }
+                runStart = this.pos;
+            } else {
+                this.pos++;
+            }
+        }
+        throw missing(EscapeChar.QUOTE.CHAR);
+    }
+
+    private void appendUtf8(StringBuilder sb, int from, int to) {
+        if (to > from) {
+            sb.append(new String(this.bytes, from, to - from, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Reads a number, validating it against the JSON grammar.
+     *
+     * @return the number
+     */
+    private JsonNumber parseNumber() {
+        int start = this.pos;
+        boolean integer = true;
+        if (this.bytes[this.pos] == '-') {
+            this.pos++;
+        }
+        if (!skipDigits()) {
+            throw wrongNumberChar(start);
+        }
+        if (this.pos < this.end && this.bytes[this.pos] == '.') {
+            integer = false;
+            this.pos++;
+            if (!skipDigits()) {
+                throw wrongNumberChar(start);
+            }
+        }
+        if (this.pos < this.end && (this.bytes[this.pos] == 'e' || this.bytes[this.pos] == 'E')) {
+            integer = false;
+            this.pos++;
+            if (this.pos < this.end && (this.bytes[this.pos] == '+' || this.bytes[this.pos] == '-')) {
+                this.pos++;
+            }
+            if (!skipDigits()) {
+                throw wrongNumberChar(start);
+            }
+        }
+        checkEndOfValue();
+
+        String number = new String(this.bytes, start, this.pos - start, StandardCharsets.ISO_8859_1);
+        // Integers are already in their canonical form unless they have leading zeros, or are a negative zero.
+        int firstDigit = number.charAt(0) == '-' ? 1 : 0;
+        boolean canonical = integer && (number.charAt(firstDigit) != '0' || number.length() == 1);
+        return canonical ? new JsonNumber().setCanonicalValue(number) : new JsonNumber().setValue(number);
+    }
+
+    private boolean skipDigits() {
+        int digitsStart = this.pos;
+        while (this.pos < this.end && this.bytes[this.pos] >= '0' && this.bytes[this.pos] <= '9') {
+            this.pos++;
+        }
+        return this.pos > digitsStart;
+    }
+
+    private WrongArgumentException wrongNumberChar(int numberStart) {
+        if (this.pos == this.end) {
+            return ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.5"));
+        }
+        return ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.8",
+                new Object[] { (char) this.bytes[this.pos], new String(this.bytes, numberStart, this.pos - numberStart, StandardCharsets.ISO_8859_1) }));
+    }
+
+    private JsonLiteral parseLiteral(JsonLiteral literal) {
+        int start = this.pos;
+        String value = literal.value;
+        int i = 0;
+        while (i < value.length() && this.pos < this.end && this.bytes[this.pos] == value.charAt(i)) {
+            this.pos++;
+            i++;
+        }
+        if (i < value.length()) {
+            while (this.pos < this.end && this.bytes[this.pos] >= 'a' && this.bytes[this.pos] <= 'z') {
+                this.pos++;
+            }
+            throw ExceptionFactory.createException(WrongArgumentException.class,
+                    Messages.getString("JsonParser.12", new String[] { new String(this.bytes, start, this.pos - start, StandardCharsets.UTF_8) }));
+        }
+        checkEndOfValue();
+        return literal;
+    }
+
+    /**
+     * Skips the value starting at the current position, checking only its structure.
+     *
+     * @param key
+     *            the key of the value, for error messages
+     */
+    private void skipValue(String key) {
+        int depth = 0;
+        do {
+            int b = nextToken();
+            switch (b) {
+                case '"':
+                    this.pos++;
+                    skipString();
+                    break;
+                case '{':
+                case '[':
+                    this.pos++;
+                    depth++;
+                    continue;
+                case '}':
+                case ']':
+                    if (depth == 0) {
+                        throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.0", new String[] { key }));
+                    }
+                    this.pos++;
+                    depth--;
+                    break;
+                case ',':
+                case ':':
+                    if (depth == 0) {
+                        throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.0", new String[] { key }));
+                    }
+                    this.pos++;
+                    continue;
+                case -1:
+                    throw depth == 0 ? ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.5"))
+                            : missing(StructuralToken.RCRBRACKET.CHAR);
+                default:
+                    // number or literal
+                    while (this.pos < this.end && !isStructural(this.bytes[this.pos])) {
+                        this.pos++;
+                    }
+            }
+        } while (depth > 0);
+    }
+
+    private void skipString() {
+        while (this.pos < this.end) {
+            byte b = this.bytes[this.pos++];
+            if (b == '"') {
+                return;
+            } else if (b == '\\') {
+                this.pos++;
+            }
+        }
+        throw missing(EscapeChar.QUOTE.CHAR);
+    }
+
+    private static boolean isStructural(byte b) {
+        return b == ',' || b == ':' || b == '{' || b == '}' || b == '[' || b == ']' || b == '"' || isWhitespace(b);
+    }
+
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /**
+     * Skips whitespace.
+     *
+     * @return the position of the next non-whitespace byte
+     */
+    private int skipWhitespace() {
+        while (this.pos < this.end && isWhitespace(this.bytes[this.pos])) {
+            this.pos++;
+        }
+        return this.pos;
+    }
+
+    /**
+     * Skips whitespace and returns the next byte, without consuming it.
+     *
+     * @return the next byte, or -1 at the end of the input
+     */
+    private int nextToken() {
+        return skipWhitespace() < this.end ? this.bytes[this.pos] & 0xff : -1;
+    }
+
+    private void checkEndOfValue() {
+        if (this.pos < this.end) {
+            byte b = this.bytes[this.pos];
+            if (!isWhitespace(b) && b != StructuralToken.COMMA.CHAR && b != StructuralToken.RCRBRACKET.CHAR && b != StructuralToken.RSQBRACKET.CHAR) {
+                throw unexpected(b);
+            }
+        }
+    }
+
+    private void checkEnd() {
+        int b = nextToken();
+        if (b != -1) {
+            throw unexpected(b);
+        }
+    }
+
+    private static WrongArgumentException unexpected(int b) {
+        return ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.1", new Character[] { (char) (b & 0xff) }));
+    }
+
+    private static WrongArgumentException missing(char ch) {
+        return ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("JsonParser.3", new Character[] { ch }));
+    }
+
+    /**
+     * Cache of decoded object keys, so that the many documents of a result, which mostly share the same keys, don't decode them again and hold the same
+     * {@link String} instances. Lookups and updates are not synchronized; concurrent use may only cause cache misses.
+     */
+    static class KeyCache {
+
+        private static final int SIZE = 256;
+        private static final int MAX_KEY_LENGTH = 64;
+
+        private final Entry[] entries = new Entry[SIZE];
+
+        /**
+         * Returns the key encoded in the given bytes.
+         *
+         * @param bytes
+         *            buffer
+         * @param offset
+         *            offset of the UTF-8 encoded key
+         * @param length
+         *            length of the encoded key
+         * @return the key
+         */
+        String get(byte[] bytes, int offset, int length) {
+            if (length > MAX_KEY_LENGTH) {
+                return new String(bytes, offset, length, StandardCharsets.UTF_8);
+            }
+            int hash = 0;
+            for (int i = offset; i < offset + length; i++) {
+                hash = 31 * hash + bytes[i];
+            }
+            int index = (hash ^ hash >>> 16) & SIZE - 1;
+            Entry entry = this.entries[index];
+            if (entry != null && entry.matches(bytes, offset, length)) {
+                return entry.key;
+            }
+            String key = new String(bytes, offset, length, StandardCharsets.UTF_8);
+            byte[] encoded = new byte[length];
+            System.arraycopy(bytes, offset, encoded, 0, length);
+            this.entries[index] = new Entry(encoded, key);
+            return key;
+        }
+
+        private static class Entry {
+
+            final byte[] encoded;
+            final String key;
+
+            Entry(byte[] encoded, String key) {
+                this.encoded = encoded;
+                this.key = key;
+            }
+
+            boolean matches(byte[] bytes, int offset, int length) {
+                if (this.encoded.length != length) {
+                    return false;
+                }
+                for (int i = 0; i < length; i++) {
+                    if (this.encoded[i] != bytes[offset + i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+        }
+
+    }
+
+}
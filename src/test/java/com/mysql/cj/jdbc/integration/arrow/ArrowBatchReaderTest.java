@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc.integration.arrow;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BaseIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.Decimal256Vector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.DurationVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.NullVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.UInt8Vector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.conf.PropertyKey;
+
+import testsuite.fakeserver.FakeMysqlServer;
+import testsuite.fakeserver.FakeResultSet;
+
+public class ArrowBatchReaderTest {
+
+    private static final String QUERY = "SELECT * FROM all_types";
+    private static final int ROWS = 4;
+
+    private FakeMysqlServer server;
+
+    @BeforeEach
+    public void setUp() {
+        FakeResultSet rs = new FakeResultSet("test", "all_types").addColumn("b", MysqlType.BOOLEAN).addColumn("bit1", MysqlType.BIT, 1, 0)
+                .addColumn("bit16", MysqlType.BIT, 16, 0).addColumn("ti", MysqlType.TINYINT).addColumn("tiu", MysqlType.TINYINT_UNSIGNED)
+                .addColumn("si", MysqlType.SMALLINT).addColumn("siu", MysqlType.SMALLINT_UNSIGNED).addColumn("mi", MysqlType.MEDIUMINT)
+                .addColumn("miu", MysqlType.MEDIUMINT_UNSIGNED).addColumn("i", MysqlType.INT).addColumn("iu", MysqlType.INT_UNSIGNED)
+                .addColumn("bi", MysqlType.BIGINT).addColumn("biu", MysqlType.BIGINT_UNSIGNED).addColumn("f", MysqlType.FLOAT)
+                .addColumn("d", MysqlType.DOUBLE).addColumn("dec", MysqlType.DECIMAL, 14, 2).addColumn("dec256", MysqlType.DECIMAL, 67, 20)
+                .addColumn("dt", MysqlType.DATE).addColumn("tm", MysqlType.TIME, 17, 6).addColumn("dtm", MysqlType.DATETIME, 26, 6)
+                .addColumn("ts", MysqlType.TIMESTAMP, 19, 0).addColumn("y", MysqlType.YEAR).addColumn("vc", MysqlType.VARCHAR)
+                .addColumn("txt", MysqlType.TEXT).addColumn("vb", MysqlType.VARBINARY).addColumn("bl", MysqlType.BLOB).addColumn("js", MysqlType.JSON)
+                .addColumn("en", MysqlType.ENUM).addColumn("st", MysqlType.SET).addColumn("n", MysqlType.NULL);
+        rs.addRow(true, new byte[] { 1 }, new byte[] { 0x12, 0x34 }, -128, 255, -32768, 65535, -8388608, 16777215, Integer.MIN_VALUE, 4294967295L,
+                Long.MIN_VALUE, "18446744073709551615", 1.5f, 1.7976931348623157E308, "-1234567890.12",
+                "-123456789012345678901234567890123456789012345.12345678901234567890", "0001-01-01", "-838:59:59.000000", "2024-02-29 23:59:59.123456",
+                "1969-12-31 23:59:59", 1901, "héllo ☃", "text ü", new byte[] { 0, (byte) 0xff, 0x7f }, new byte[] { 1, 2, 3, 4 }, "{\"a\": [1, \"é\"]}",
+                "red", "a,b", null);
+        rs.addRow(false, new byte[] { 0 }, new byte[] { (byte) 0xff, (byte) 0xff }, 127, 0, 32767, 0, 8388607, 0, Integer.MAX_VALUE, 0, Long.MAX_VALUE,
+                "9223372036854775808", -3.25f, -2.5E-300, "9999999999.99", "0.00000000000000000001", "9999-12-31", "838:59:59.500000",
+                "1970-01-01 00:00:00", "2038-01-19 03:14:07", 2155, "", "", new byte[0], new byte[0], "[]", "", "", null);
+        rs.addRow(null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null);
+        rs.addRow(true, new byte[] { 1 }, new byte[] { 0, 1 }, 0, 1, 0, 1, 0, 1, 0, 1, 0, 1, 0f, 0d, "0.00", "1.00000000000000000000", "1970-01-01",
+                "-00:00:01.123456", "1900-03-01 12:34:56.500000", "2000-02-29 00:00:00", 2000, "x", "y", new byte[] { 0 }, new byte[] { 0 }, "null", "green",
+                "c", null);
+
+        this.server = FakeMysqlServer.start("arrowbatchreadertest");
+        this.server.addResponse(QUERY, rs);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    private Connection getConnection(boolean useServerPrepStmts) throws SQLException {
+        return DriverManager.getConnection(this.server.getUrl("test") + "&" + PropertyKey.useServerPrepStmts.getKeyName() + "=" + useServerPrepStmts);
+    }
+
+    /**
+     * Tests that batches read with {@link ArrowBatchReader} hold the same values, and the same NULLs, as the ResultSet getters, for every column type.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBatchesMatchGetters() throws Exception {
+        checkBatchesMatchGetters(false);
+        checkBatchesMatchGetters(true);
+    }
+
+    private void checkBatchesMatchGetters(boolean useServerPrepStmts) throws Exception {
+        try (BufferAllocator allocator = new RootAllocator(); Connection conn = getConnection(useServerPrepStmts);
+                PreparedStatement expectedPs = conn.prepareStatement(QUERY); PreparedStatement ps = conn.prepareStatement(QUERY);
+                ResultSet expected = expectedPs.executeQuery(); ResultSet rs = ps.executeQuery();
+                ArrowBatchReader reader = ArrowBatchReader.forResultSet(rs, allocator, 3)) {
+            assertEquals(new ArrowType.Duration(TimeUnit.MICROSECOND), reader.getSchema().findField("tm").getType());
+            assertEquals(new ArrowType.Decimal(65, 20, 256), reader.getSchema().findField("dec256").getType());
+
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            int total = 0;
+            while (reader.loadNextBatch()) {
+                if (total == 0) {
+                    // the whole range of TIME values is kept, with their sign, in both protocols
+                    assertEquals(Duration.ofHours(-838).minusMinutes(59).minusSeconds(59), ((DurationVector) root.getVector("tm")).getObject(0));
+                    assertEquals(Duration.ofHours(838).plusMinutes(59).plusSeconds(59).plusMillis(500), ((DurationVector) root.getVector("tm")).getObject(1));
+                } else {
+                    assertEquals(Duration.ofSeconds(-1, -123456000), ((DurationVector) root.getVector("tm")).getObject(0));
+                }
+                for (int i = 0; i < root.getRowCount(); i++) {
+                    assertTrue(expected.next());
+                    for (int c = 0; c < root.getFieldVectors().size(); c++) {
+                        checkValue(expected, c + 1, root.getVector(c), i, "row " + (total + i) + ", column " + root.getVector(c).getName());
+                    }
+                }
+                total += root.getRowCount();
+            }
+            assertEquals(ROWS, total);
+            assertFalse(expected.next());
+            assertFalse(reader.loadNextBatch());
+        }
+    }
+
+    private static void checkValue(ResultSet expected, int columnIndex, FieldVector vector, int index, String message) throws SQLException {
+        expected.getString(columnIndex);
+        assertEquals(expected.wasNull(), vector.isNull(index), message);
+        if (expected.wasNull()) {
+            return;
+        }
+
+        if (vector instanceof BitVector) {
+            assertEquals(expected.getBoolean(columnIndex), ((BitVector) vector).get(index) != 0, message);
+        } else if (vector instanceof UInt8Vector) {
+            assertEquals(expected.getObject(columnIndex, BigInteger.class), ((UInt8Vector) vector).getObjectNoOverflow(index), message);
+        } else if (vector instanceof BaseIntVector) {
+            assertEquals(expected.getLong(columnIndex), ((BaseIntVector) vector).getValueAsLong(index), message);
+        } else if (vector instanceof Float4Vector) {
+            assertEquals(expected.getFloat(columnIndex), ((Float4Vector) vector).get(index), message);
+        } else if (vector instanceof Float8Vector) {
+            assertEquals(expected.getDouble(columnIndex), ((Float8Vector) vector).get(index), message);
+        } else if (vector instanceof DecimalVector) {
+            assertEquals(expected.getBigDecimal(columnIndex), ((DecimalVector) vector).getObject(index), message);
+        } else if (vector instanceof Decimal256Vector) {
+            assertEquals(expected.getBigDecimal(columnIndex), ((Decimal256Vector) vector).getObject(index), message);
+        } else if (vector instanceof DateDayVector) {
+            assertEquals(expected.getObject(columnIndex, LocalDate.class).toEpochDay(), ((DateDayVector) vector).get(index), message);
+        } else if (vector instanceof DurationVector) {
+            assertEquals(expected.getObject(columnIndex, Duration.class), ((DurationVector) vector).getObject(index), message);
+        } else if (vector instanceof TimeStampMicroVector) {
+            assertEquals(expected.getObject(columnIndex, LocalDateTime.class), ((TimeStampMicroVector) vector).getObject(index), message);
+        } else if (vector instanceof VarCharVector) {
+            assertEquals(expected.getString(columnIndex), ((VarCharVector) vector).getObject(index).toString(), message);
+        } else if (vector instanceof VarBinaryVector) {
+            assertArrayEquals(expected.getBytes(columnIndex), ((VarBinaryVector) vector).get(index), message);
+        } else {
+            assertTrue(vector instanceof NullVector, message);
+        }
+    }
+
+}
@@ -25,11 +25,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.time.Duration;
 
 import org.junit.jupiter.api.Test;
 
 import com.mysql.cj.Constants;
 import com.mysql.cj.conf.DefaultPropertySet;
+import com.mysql.cj.result.DurationValueFactory;
 import com.mysql.cj.result.StringValueFactory;
 import com.mysql.cj.result.ValueFactory;
 
@@ -97,4 +99,27 @@ public class MysqlBinaryValueDecoderTest {
         assertEquals("18446744073709551615", decoded);
     }
 
+    @Test
+    public void testTimeSign() {
+        ValueFactory<Duration> vf = new DurationValueFactory(new DefaultPropertySet());
+        MysqlTextValueDecoder textValueDecoder = new MysqlTextValueDecoder();
+
+        // the sign applies to days and hours alike: -838:59:59 is sent as 34 days and 22 hours
+        byte[] minTime = new byte[] { 1, 34, 0, 0, 0, 22, 59, 59 };
+        assertEquals(Duration.ofHours(-838).minusMinutes(59).minusSeconds(59), this.valueDecoder.decodeTime(minTime, 0, 8, 0, vf));
+        byte[] minText = "-838:59:59".getBytes();
+        assertEquals(textValueDecoder.decodeTime(minText, 0, minText.length, 0, vf), this.valueDecoder.decodeTime(minTime, 0, 8, 0, vf));
+
+        byte[] maxTime = new byte[] { 0, 34, 0, 0, 0, 22, 59, 59, 0x20, (byte) 0xa1, 0x07, 0 };
+        assertEquals(Duration.ofHours(838).plusMinutes(59).plusSeconds(59).plusMillis(500), this.valueDecoder.decodeTime(maxTime, 0, 12, 6, vf));
+
+        byte[] negativeSecond = new byte[] { 1, 0, 0, 0, 0, 0, 0, 1 };
+        assertEquals(Duration.ofSeconds(-1), this.valueDecoder.decodeTime(negativeSecond, 0, 8, 0, vf));
+        byte[] negativeSecondText = "-00:00:01".getBytes();
+        assertEquals(Duration.ofSeconds(-1), textValueDecoder.decodeTime(negativeSecondText, 0, negativeSecondText.length, 0, vf));
+
+        byte[] oneMicro = new byte[] { 1, 0, 0, 0, 0, 0, 0, 0, 1, 0, 0, 0 };
+        assertEquals(Duration.ofNanos(-1000), this.valueDecoder.decodeTime(oneMicro, 0, 12, 6, vf));
+    }
+
 }
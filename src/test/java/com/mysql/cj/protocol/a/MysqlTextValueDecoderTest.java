@@ -25,6 +25,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigDecimal;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 import com.mysql.cj.Constants;
@@ -187,4 +190,46 @@ public class MysqlTextValueDecoderTest {
         assertFalse(MysqlTextValueDecoder.isTimestamp("2004-01-01 10:00:00+01:00"));
     }
 
+    @Test
+    public void testDoubleValues() {
+        String[] values = { "0", "-0", "0.0", "-0.00", "1", "-1", "+1", "1.", ".5", "3.14", "-3.14", "0.1", "0.3", "100.25", "123456789012345",
+                "1234567890123456", "12345678901234567890", "0.000123", "1e10", "1E-10", "-2.5e+3", "1.7976931348623157E308", "4.9E-324", "2.2250738585072014E-308",
+                "9007199254740993", "1e22", "1e23", "1e-22", "1e-23", "0.1e-21", "123.456e5", "000000000000000000001.5", "1.000000000000000000001" };
+        for (String v : values) {
+            byte[] bytes = ("xx" + v + "yy").getBytes();
+            assertEquals(Double.parseDouble(v), MysqlTextValueDecoder.getDouble(bytes, 2, v.length()), v);
+            assertEquals(Double.doubleToLongBits(Double.parseDouble(v)), Double.doubleToLongBits(MysqlTextValueDecoder.getDouble(bytes, 2, v.length())), v);
+        }
+
+        Random random = new Random(2024);
+        for (int i = 0; i < 10000; i++) {
+            String v = BigDecimal.valueOf(random.nextLong() % 1000000000000L, random.nextInt(30) - 10).toString();
+            assertEquals(Double.parseDouble(v), MysqlTextValueDecoder.getDouble(v.getBytes(), 0, v.length()), v);
+            v = Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+            assertEquals(Double.parseDouble(v), MysqlTextValueDecoder.getDouble(v.getBytes(), 0, v.length()), v);
+        }
+
+        for (String v : new String[] { "", "-", ".", "e5", "1e", "1e+", "1.2.3", "abc", "1x" }) {
+            assertThrows(NumberFormatException.class, () -> MysqlTextValueDecoder.getDouble(v.getBytes(), 0, v.length()), v);
+        }
+    }
+
+    @Test
+    public void testDecimalValues() {
+        String[] values = { "0", "-0", "0.00", "-0.00", "1", "-1", "+1", "1.", ".5", "3.14", "-3.14", "100.25", "999999999999999999", "-999999999999999999",
+                "9999999999999999999", "0.000000000000000001", "-12345678901234567.8", "123456789012345678901234567890.123456789",
+                "000000000000000000001.5" };
+        for (String v : values) {
+            byte[] bytes = ("xx" + v + "yy").getBytes();
+            BigDecimal expected = new BigDecimal(v);
+            BigDecimal actual = MysqlTextValueDecoder.getBigDecimal(bytes, 2, v.length());
+            assertEquals(expected, actual, v);
+            assertEquals(expected.scale(), actual.scale(), v);
+        }
+
+        for (String v : new String[] { "", "-", ".", "1.2.3", "abc", "1x" }) {
+            assertThrows(NumberFormatException.class, () -> MysqlTextValueDecoder.getBigDecimal(v.getBytes(), 0, v.length()), v);
+        }
+    }
+
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.exceptions.WrongArgumentException;
+import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
+
+/**
+ * Tests for {@link NativePacketPayload}.
+ */
+public class NativePacketPayloadTest {
+
+    private static final String[] ENCODINGS = { "UTF-8", "US-ASCII", "ISO-8859-1", "Cp1252", "UTF-16", "SJIS", "EUC_KR", "GB18030", "Big5" };
+
+    private static final String[] STRINGS = { "", "SELECT 1", "SELECT 'café', '€', '\u0080\u009fÿ'", "INSERT INTO t VALUES ('日本語')",
+            "😀 emoji at start", "unpaired \ud83d surrogate", "unmappable 一 Ж in single byte charsets" };
+
+    private static void assertWriteString(String s, String encoding, int initialCapacity) throws Exception {
+        byte[] expected = encoding == null ? s.getBytes() : s.getBytes(encoding);
+        // Strings and other char sequences are encoded differently.
+        for (CharSequence cs : new CharSequence[] { s, new StringBuilder(s) }) {
+            NativePacketPayload payload = new NativePacketPayload(initialCapacity);
+            payload.setPosition(0);
+            payload.writeInteger(IntegerDataType.INT1, 3);
+            payload.writeString(cs, encoding);
+
+            assertEquals(1 + expected.length, payload.getPosition(), s + " / " + encoding);
+            assertEquals(3, payload.getByteBuffer()[0]);
+            assertArrayEquals(expected, Arrays.copyOfRange(payload.getByteBuffer(), 1, payload.getPosition()), s + " / " + encoding);
+        }
+    }
+
+    /**
+     * Tests that {@link NativePacketPayload#writeString(CharSequence, String)} produces the same bytes as {@link String#getBytes(String)}, including
+     * replacement of unmappable chars, and grows the buffer as needed.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testWriteString() throws Exception {
+        for (String encoding : ENCODINGS) {
+            if (!Charset.isSupported(encoding)) {
+                continue;
+            }
+            for (String s : STRINGS) {
+                assertWriteString(s, encoding, 1);
+                assertWriteString(s, encoding, 1024);
+            }
+        }
+        for (String s : STRINGS) {
+            assertWriteString(s, null, 1);
+        }
+
+        StringBuilder large = new StringBuilder("INSERT INTO t VALUES ");
+        for (int i = 0; i < 100000; i++) {
+            large.append(i == 0 ? "" : ",").append("(").append(i).append(i % 1000 == 0 ? ", 'é日')" : ", 'abc')");
+        }
+        assertWriteString(large.toString(), "UTF-8", 16);
+        assertWriteString(large.toString(), "Cp1252", 16);
+
+        assertThrows(WrongArgumentException.class, () -> new NativePacketPayload(16).writeString("SELECT 1", "no-such-encoding"));
+    }
+
+    /**
+     * Tests that a payload writing strings and other char sequences in alternating encodings uses the right encoding each time.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testWriteStringSwitchingEncodings() throws Exception {
+        String s = "SELECT 'café', '€', '日本語'";
+        NativePacketPayload payload = new NativePacketPayload(16);
+        payload.setPosition(0);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int i = 0; i < 3; i++) {
+            for (String encoding : new String[] { "UTF-8", "ISO-8859-1", "UTF-8", "US-ASCII", null, "Cp1252" }) {
+                payload.writeString(i % 2 == 0 ? s : new StringBuilder(s), encoding);
+                expected.write(encoding == null ? s.getBytes() : s.getBytes(encoding));
+            }
+        }
+        assertArrayEquals(expected.toByteArray(), Arrays.copyOfRange(payload.getByteBuffer(), 0, payload.getPosition()));
+
+        assertThrows(WrongArgumentException.class, () -> payload.writeString("SELECT 1", "no-such-encoding"));
+    }
+
+}
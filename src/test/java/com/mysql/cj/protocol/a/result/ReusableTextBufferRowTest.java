@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a.result;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.conf.DefaultPropertySet;
+import com.mysql.cj.protocol.a.MysqlTextValueDecoder;
+import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+import com.mysql.cj.result.DefaultColumnDefinition;
+import com.mysql.cj.result.Field;
+import com.mysql.cj.result.IntegerValueFactory;
+
+/**
+ * Tests for {@link ReusableTextBufferRow}.
+ */
+public class ReusableTextBufferRowTest {
+
+    private DefaultColumnDefinition columnDefinition = new DefaultColumnDefinition(new Field[] { new Field("t", "c1", 63, "ISO8859_1", MysqlType.INT, 11),
+            new Field("t", "c2", 63, "ISO8859_1", MysqlType.VARBINARY, 255), new Field("t", "c3", 63, "ISO8859_1", MysqlType.INT, 11) });
+
+    private NativePacketPayload buildRowPacket(NativePacketPayload packet, String... values) {
+        packet.setPosition(0);
+        for (String v : values) {
+            if (v == null) {
+                packet.writeInteger(IntegerDataType.INT1, 251);
+            } else {
+                packet.writeBytes(StringSelfDataType.STRING_LENENC, v.getBytes());
+            }
+        }
+        packet.setPosition(0);
+        return packet;
+    }
+
+    /**
+     * Tests that one row object reads the values of successive row packets, with columns accessed in any order.
+     */
+    @Test
+    public void testReuseAcrossPackets() {
+        NativePacketPayload packet = new NativePacketPayload(1024);
+        IntegerValueFactory vf = new IntegerValueFactory(new DefaultPropertySet());
+
+        ReusableTextBufferRow row = new ReusableTextBufferRow(buildRowPacket(packet, "1", "first", "10"), this.columnDefinition, null,
+                new MysqlTextValueDecoder());
+        assertEquals(10, row.getValue(2, vf));
+        assertArrayEquals("first".getBytes(), row.getBytes(1));
+        assertEquals(1, row.getValue(0, vf));
+        assertEquals(10, row.getValue(2, vf));
+        assertFalse(row.wasNull());
+
+        assertSame(row, row.reset(buildRowPacket(packet, "22", null, "-3")));
+        assertTrue(row.getNull(1));
+        assertNull(row.getBytes(1));
+        assertEquals(-3, row.getValue(2, vf));
+        assertEquals(22, row.getValue(0, vf));
+        assertFalse(row.getNull(2));
+
+        // longer values than the previous row, so offsets must be recomputed
+        row.reset(buildRowPacket(packet, "333333", "a much longer value than before", "4444"));
+        assertArrayEquals("a much longer value than before".getBytes(), row.getBytes(1));
+        assertEquals(4444, row.getValue(2, vf));
+        assertEquals(333333, row.getValue(0, vf));
+    }
+
+}
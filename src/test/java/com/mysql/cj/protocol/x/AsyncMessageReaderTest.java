@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2015, 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.x;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.AsynchronousByteChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.Message;
+import com.mysql.cj.Messages;
+import com.mysql.cj.exceptions.CJCommunicationsException;
+import com.mysql.cj.protocol.FullReadInputStream;
+import com.mysql.cj.protocol.MessageListener;
+import com.mysql.cj.x.protobuf.Mysqlx.Ok;
+import com.mysql.cj.x.protobuf.Mysqlx.ServerMessages;
+
+/**
+ * Tests for {@link AsyncMessageReader}.
+ */
+public class AsyncMessageReaderTest {
+
+    private final ChunkedChannel channel = new ChunkedChannel();
+    private final AsyncChannelInputStream channelInput = new AsyncChannelInputStream(this.channel, 0);
+    /** Tasks submitted to the dispatch executor, run by the tests. */
+    private final List<Runnable> dispatchTasks = new ArrayList<>();
+    private final AsyncMessageReader reader = new AsyncMessageReader(new FullReadInputStream(this.channelInput), this.channelInput,
+            this.dispatchTasks::add, null);
+    private final List<String> received = new ArrayList<>();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+    private static byte[] serializeMessage(Message msg, int type) {
+        int packetLen = msg.getSerializedSize() + 1;
+        return ByteBuffer.allocate(packetLen + 4).order(ByteOrder.LITTLE_ENDIAN).putInt(packetLen).put((byte) type).put(msg.toByteArray()).array();
+    }
+
+    private static byte[] okMessage(String msg) {
+        return serializeMessage(Ok.newBuilder().setMsg(msg).build(), ServerMessages.Type.OK_VALUE);
+    }
+
+    private MessageListener<XMessage> newListener(int messages) {
+        return new MessageListener<XMessage>() {
+
+            private int count = 0;
+
+            @Override
+            public boolean processMessage(XMessage message) {
+                AsyncMessageReaderTest.this.received.add(((Ok) message.getMessage()).getMsg());
+                return ++this.count == messages;
+            }
+
+            @Override
+            public void error(Throwable ex) {
+                AsyncMessageReaderTest.this.error.set(ex);
+            }
+
+        };
+    }
+
+    private void runDispatchTasks() {
+        while (!this.dispatchTasks.isEmpty()) {
+            this.dispatchTasks.remove(0).run();
+        }
+    }
+
+    /**
+     * Tests that messages received a few bytes at a time, with headers split across reads, are dispatched once complete and only by the dispatch executor.
+     * The number of bytes needed is checked between the completion of a read and the dispatching, when the received bytes are readable.
+     */
+    @Test
+    public void testFrameReassembly() {
+        byte[] first = okMessage("first");
+        byte[] second = okMessage("second");
+
+        assertEquals(XMessageHeader.HEADER_LENGTH, this.reader.bytesNeeded());
+        this.reader.pushMessageListener(newListener(2));
+        assertTrue(this.channel.hasPendingRead());
+
+        // size field split in the middle
+        this.channel.deliver(Arrays.copyOfRange(first, 0, 2));
+        assertEquals(XMessageHeader.HEADER_LENGTH, this.reader.bytesNeeded());
+        runDispatchTasks();
+
+        // the rest of the first message and the beginning of the second one, one byte at a time
+        for (int i = 2; i < first.length + 3; i++) {
+            int before = this.received.size();
+            this.channel.deliver(new byte[] { i < first.length ? first[i] : second[i - first.length] });
+            assertEquals(before, this.received.size(), "Listeners must not run in the thread completing the read");
+            if (i == XMessageHeader.MESSAGE_SIZE_LENGTH - 1) {
+                assertEquals(first.length, this.reader.bytesNeeded());
+            }
+            runDispatchTasks();
+            assertEquals(i < first.length - 1 ? 0 : 1, this.received.size());
+        }
+        assertEquals(Arrays.asList("first"), this.received);
+
+        this.channel.deliver(Arrays.copyOfRange(second, 3, second.length));
+        assertEquals(second.length, this.reader.bytesNeeded());
+        runDispatchTasks();
+        assertEquals(Arrays.asList("first", "second"), this.received);
+        assertNull(this.error.get());
+        assertFalse(this.channel.hasPendingRead());
+    }
+
+    /**
+     * Tests that a message larger than the stream buffer is received in several partial reads before being dispatched.
+     */
+    @Test
+    public void testPartialReadsOfLargeMessage() {
+        char[] chars = new char[100000];
+        Arrays.fill(chars, 'x');
+        String payload = new String(chars);
+        byte[] large = okMessage(payload);
+
+        this.reader.pushMessageListener(newListener(1));
+        this.channel.deliver(Arrays.copyOfRange(large, 0, 1000));
+        assertEquals(large.length, this.reader.bytesNeeded());
+        runDispatchTasks();
+
+        for (int off = 1000; off < large.length; off += 7000) {
+            assertTrue(this.received.isEmpty());
+            assertTrue(this.channel.hasPendingRead());
+            this.channel.deliver(Arrays.copyOfRange(large, off, Math.min(off + 7000, large.length)));
+            runDispatchTasks();
+        }
+        assertEquals(Arrays.asList(payload), this.received);
+
+        // bytes received by a read completed right away are dispatched by the dispatch executor too
+        this.channel.deliver(okMessage("small"));
+        this.reader.pushMessageListener(newListener(1));
+        assertEquals(1, this.received.size());
+        runDispatchTasks();
+        assertEquals(Arrays.asList(payload, "small"), this.received);
+        assertNull(this.error.get());
+    }
+
+    /**
+     * Tests that listeners still waiting for messages are failed, in the dispatch executor, when the channel reaches its end.
+     */
+    @Test
+    public void testEndOfStream() {
+        this.reader.pushMessageListener(newListener(1));
+        this.channel.deliver(Arrays.copyOfRange(okMessage("truncated"), 0, 6));
+        runDispatchTasks();
+
+        this.channel.deliverEndOfStream();
+        assertNull(this.error.get());
+        runDispatchTasks();
+        assertTrue(this.error.get() instanceof CJCommunicationsException);
+        assertTrue(this.received.isEmpty());
+    }
+
+    /**
+     * Tests that synchronous operations are refused in event loop threads.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSyncOperationRefusedInEventLoopThread() throws Exception {
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread t = new XAsyncSocketConnection.EventLoopThread(() -> {
+            try {
+                this.reader.readHeader();
+            } catch (Throwable e) {
+                thrown.set(e);
+            }
+        });
+        t.start();
+        t.join();
+        assertTrue(thrown.get() instanceof XProtocolError);
+        assertEquals(Messages.getString("Protocol.AsyncEventLoop.0"), thrown.get().getMessage());
+    }
+
+    /**
+     * Channel handing over the bytes given by the test, completing reads in the calling thread when bytes are available and in the delivering thread
+     * otherwise, as an event loop thread would.
+     */
+    private static class ChunkedChannel implements AsynchronousByteChannel {
+
+        private final Deque<byte[]> chunks = new ArrayDeque<>();
+        private boolean endOfStream = false;
+        private ByteBuffer pendingBuffer;
+        private CompletionHandler<Integer, Object> pendingHandler;
+        private Object pendingAttachment;
+
+        boolean hasPendingRead() {
+            return this.pendingHandler != null;
+        }
+
+        void deliver(byte[] bytes) {
+            this.chunks.add(bytes);
+            completePendingRead();
+        }
+
+        void deliverEndOfStream() {
+            this.endOfStream = true;
+            completePendingRead();
+        }
+
+        private void completePendingRead() {
+            if (this.pendingHandler != null) {
+                CompletionHandler<Integer, Object> handler = this.pendingHandler;
+                Object attachment = this.pendingAttachment;
+                this.pendingHandler = null;
+                handler.completed(transferTo(this.pendingBuffer), attachment);
+            }
+        }
+
+        private int transferTo(ByteBuffer dst) {
+            if (this.chunks.isEmpty()) {
+                return this.endOfStream ? -1 : 0;
+            }
+            byte[] chunk = this.chunks.poll();
+            int n = Math.min(chunk.length, dst.remaining());
+            dst.put(chunk, 0, n);
+            if (n < chunk.length) {
+                this.chunks.addFirst(Arrays.copyOfRange(chunk, n, chunk.length));
+            }
+            return n;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <A> void read(ByteBuffer dst, A attachment, CompletionHandler<Integer, ? super A> handler) {
+            if (!this.chunks.isEmpty() || this.endOfStream) {
+                handler.completed(transferTo(dst), attachment);
+            } else {
+                this.pendingBuffer = dst;
+                this.pendingAttachment = attachment;
+                this.pendingHandler = (CompletionHandler<Integer, Object>) handler;
+            }
+        }
+
+        @Override
+        public Future<Integer> read(ByteBuffer dst) {
+            CompletableFuture<Integer> future = new CompletableFuture<>();
+            read(dst, null, new CompletionHandler<Integer, Void>() {
+
+                @Override
+                public void completed(Integer result, Void attachment) {
+                    future.complete(result);
+                }
+
+                @Override
+                public void failed(Throwable exc, Void attachment) {
+                    future.completeExceptionally(exc);
+                }
+
+            });
+            return future;
+        }
+
+        @Override
+        public <A> void write(ByteBuffer src, A attachment, CompletionHandler<Integer, ? super A> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Integer> write(ByteBuffer src) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
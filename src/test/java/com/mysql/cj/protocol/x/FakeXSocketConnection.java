@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.x;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.protobuf.Message;
+import com.mysql.cj.conf.DefaultPropertySet;
+import com.mysql.cj.protocol.FullReadInputStream;
+import com.mysql.cj.protocol.a.NativeSocketConnection;
+import com.mysql.cj.x.protobuf.Mysqlx.Error;
+
+/**
+ * A socket connection that replays a script of X Protocol server messages and records the messages sent by the client, so that an {@link XProtocol} can be
+ * exercised without a server.
+ */
+public class FakeXSocketConnection extends NativeSocketConnection {
+
+    private final ByteArrayOutputStream clientBytes = new ByteArrayOutputStream();
+
+    /**
+     * Creates a connection that replies with the given messages, in order, and then reaches the end of stream.
+     *
+     * @param serverMessages
+     *            messages sent by the server
+     */
+    public FakeXSocketConnection(Message... serverMessages) {
+        ByteArrayOutputStream serverBytes = new ByteArrayOutputStream();
+        for (Message msg : serverMessages) {
+            byte[] payload = msg.toByteArray();
+            serverBytes.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(payload.length + 1).array(), 0, 4);
+            serverBytes.write(MessageConstants.MESSAGE_CLASS_TO_TYPE.get(msg.getClass()));
+            serverBytes.write(payload, 0, payload.length);
+        }
+        this.mysqlInput = new FullReadInputStream(new ByteArrayInputStream(serverBytes.toByteArray()));
+        this.mysqlOutput = new BufferedOutputStream(this.clientBytes);
+    }
+
+    /**
+     * Creates a protocol instance reading from and writing to this connection, as it is once connected and authenticated.
+     *
+     * @return the protocol
+     * @throws Exception
+     *             if the protocol could not be created
+     */
+    public XProtocol createProtocol() throws Exception {
+        XProtocol protocol = new XProtocol(null, null);
+        protocol.init(null, this, new DefaultPropertySet(), null);
+        Method createMessageSenderAndReader = XProtocol.class.getDeclaredMethod("createMessageSenderAndReader");
+        createMessageSenderAndReader.setAccessible(true);
+        createMessageSenderAndReader.invoke(protocol);
+        return protocol;
+    }
+
+    /**
+     * Returns the types of the messages that reached this connection, i.e. those written by the client and flushed, in order.
+     *
+     * @return the client message types
+     */
+    public List<Integer> getClientMessageTypes() {
+        ByteBuffer buf = ByteBuffer.wrap(this.clientBytes.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        List<Integer> types = new ArrayList<>();
+        while (buf.hasRemaining()) {
+            int length = buf.getInt();
+            types.add((int) buf.get());
+            buf.position(buf.position() + length - 1);
+        }
+        return types;
+    }
+
+    /**
+     * Creates an error message, as sent by the server.
+     *
+     * @param code
+     *            error code
+     * @return the message
+     */
+    public static Error error(int code) {
+        return Error.newBuilder().setCode(code).setSqlState("HY000").setMsg("Error " + code).build();
+    }
+
+    @Override
+    public boolean isSSLEstablished() {
+        return false;
+    }
+
+    @Override
+    public void forceClose() {
+        try {
+            this.mysqlInput.close();
+        } catch (IOException e) {
+            // can't happen with in-memory streams
+        }
+    }
+
+}
@@ -21,7 +21,10 @@
 package com.mysql.cj.protocol.x;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -30,18 +33,31 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.google.protobuf.Parser;
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.conf.DefaultPropertySet;
 import com.mysql.cj.exceptions.WrongArgumentException;
 import com.mysql.cj.protocol.FullReadInputStream;
+import com.mysql.cj.protocol.x.Notice.XWarning;
+import com.mysql.cj.result.DefaultColumnDefinition;
+import com.mysql.cj.result.Field;
+import com.mysql.cj.result.StringValueFactory;
+import com.mysql.cj.util.LazyString;
 import com.mysql.cj.x.protobuf.Mysqlx.Error;
 import com.mysql.cj.x.protobuf.Mysqlx.Ok;
 import com.mysql.cj.x.protobuf.Mysqlx.ServerMessages;
+import com.mysql.cj.x.protobuf.MysqlxNotice.Frame;
+import com.mysql.cj.x.protobuf.MysqlxNotice.Warning;
+import com.mysql.cj.x.protobuf.MysqlxResultset.Row;
 
 /**
  * Tests for {@link SyncMessageReader}.
@@ -160,6 +176,57 @@ public class SyncMessageReaderTest {
         }
     }
 
+    /**
+     * Tests reading rows straight from their serialized payload, with preceding notices, NULL values and unknown fields.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadRow() throws IOException {
+        byte[] noticePacket = serializeMessage(Frame.newBuilder().setScope(Frame.Scope.LOCAL).setType(Frame.Type.WARNING_VALUE)
+                .setPayload(Warning.newBuilder().setCode(1234).setMsg("careful").build().toByteString()).build(), ServerMessages.Type.NOTICE_VALUE);
+        Row row = Row.newBuilder().addField(ByteString.copyFrom(new byte[] { (byte) 0x54 })).addField(ByteString.copyFromUtf8("abc\0"))
+                .addField(ByteString.EMPTY).build();
+        ByteArrayOutputStream rowPayload = new ByteArrayOutputStream();
+        rowPayload.write(row.toByteArray());
+        rowPayload.write(new byte[] { (byte) 0x78, (byte) 0x96, 0x01 }); // unknown field 15, varint 150
+        int packetLen = rowPayload.size() + 1;
+        byte[] rowPacket = ByteBuffer.allocate(packetLen + 4).order(ByteOrder.LITTLE_ENDIAN).putInt(packetLen).put((byte) ServerMessages.Type.RESULTSET_ROW_VALUE)
+                .put(rowPayload.toByteArray()).array();
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(noticePacket);
+        stream.write(rowPacket);
+        stream.write(okMsgPacket);
+        this.reader = new SyncMessageReader(new FullReadInputStream(new ByteArrayInputStream(stream.toByteArray())), null);
+
+        List<Notice> notices = new ArrayList<>();
+        XProtocolRow xrow = this.reader.readRow(3, notices::add);
+        assertEquals(1, notices.size());
+        assertEquals(1234, ((XWarning) notices.get(0)).getCode());
+
+        xrow.setMetadata(new DefaultColumnDefinition(new Field[] { newField("n", MysqlType.FIELD_TYPE_LONGLONG, MysqlType.BIGINT),
+                newField("s", MysqlType.FIELD_TYPE_VAR_STRING, MysqlType.VARCHAR), newField("z", MysqlType.FIELD_TYPE_VAR_STRING, MysqlType.VARCHAR) }));
+        StringValueFactory vf = new StringValueFactory(new DefaultPropertySet());
+        assertFalse(xrow.getNull(0));
+        assertEquals("42", xrow.getValue(0, vf));
+        assertFalse(xrow.getNull(1));
+        assertEquals("abc", xrow.getValue(1, vf));
+        assertTrue(xrow.getNull(2));
+        assertNull(xrow.getValue(2, vf));
+        assertTrue(xrow.wasNull());
+
+        assertEquals(Ok.class, MessageConstants.getMessageClassForType(this.reader.readHeader().getMessageType()));
+
+        this.reader = new SyncMessageReader(new FullReadInputStream(new ByteArrayInputStream(okMsgPacket)), null);
+        assertThrows(WrongArgumentException.class, () -> this.reader.readRow(3, null));
+    }
+
+    private static Field newField(String name, int mysqlTypeId, MysqlType mysqlType) {
+        return new Field(new LazyString(null), new LazyString("t"), new LazyString("t"), new LazyString(name), new LazyString(name), 255, mysqlTypeId,
+                (short) 0, 0, 255, "UTF-8", mysqlType);
+    }
+
     /**
      * Verification test to help prevent bugs in the typecode/class/parser mapping tables. We check that all classes that are mapped have a parser.
      *
@@ -20,6 +20,7 @@
 
 package com.mysql.cj.protocol.x;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -27,11 +28,15 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.MessageLite;
 import com.mysql.cj.exceptions.WrongArgumentException;
 import com.mysql.cj.x.protobuf.Mysqlx.ClientMessages;
 import com.mysql.cj.x.protobuf.Mysqlx.Ok;
@@ -77,6 +82,34 @@ public class SyncMessageWriterTest {
         assertEquals(payloadSize + 4, sentBytes.length, "Entire packet size should be header bytes + serialized message");
     }
 
+    /**
+     * Test that written messages are only sent on flush, all together and in order, including messages too big to be buffered.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testWriteAndFlush() throws IOException {
+        AuthenticateStart small = AuthenticateStart.newBuilder().setMechName("Unit-Test").build();
+        char[] chars = new char[100000];
+        Arrays.fill(chars, 'x');
+        AuthenticateStart big = AuthenticateStart.newBuilder().setMechName("Unit-Test").setAuthData(ByteString.copyFromUtf8(new String(chars))).build();
+
+        this.writer.write(new XMessage(small));
+        this.writer.write(new XMessage(Reset.getDefaultInstance()));
+        assertEquals(0, this.outputStream.size());
+        this.writer.write(new XMessage(big));
+        this.writer.send(new XMessage(small));
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (MessageLite msg : new MessageLite[] { small, Reset.getDefaultInstance(), big, small }) {
+            int payloadSize = msg.getSerializedSize() + 1;
+            expected.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(payloadSize).array());
+            expected.write(MessageConstants.getTypeForMessageClass(msg.getClass()));
+            msg.writeTo(expected);
+        }
+        assertArrayEquals(expected.toByteArray(), this.outputStream.toByteArray());
+    }
+
     @Test
     public void testBadMessageClass() {
         assertThrows(WrongArgumentException.class, () -> {
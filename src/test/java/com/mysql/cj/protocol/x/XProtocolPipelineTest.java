@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.x;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.exceptions.CJCommunicationsException;
+import com.mysql.cj.exceptions.MysqlErrorNumbers;
+import com.mysql.cj.x.protobuf.Mysqlx;
+import com.mysql.cj.x.protobuf.Mysqlx.ClientMessages;
+import com.mysql.cj.x.protobuf.MysqlxSession.Reset;
+import com.mysql.cj.x.protobuf.MysqlxSql.StmtExecuteOk;
+
+/**
+ * Tests for {@link XProtocol#queryPipelined(com.google.protobuf.Message, com.mysql.cj.protocol.ResultBuilder)}.
+ */
+public class XProtocolPipelineTest {
+
+    private static final XMessage RESET = new XMessage(Reset.getDefaultInstance());
+    private static final XMessage SQL = new XMessageBuilder().buildSqlStatement("DO 1");
+
+    /**
+     * Tests that a pipelined query is only sent with the next query, and that its result is read before the result of that query.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPipelinedQuerySentWithNextQuery() throws Exception {
+        FakeXSocketConnection conn = new FakeXSocketConnection(Mysqlx.Ok.getDefaultInstance(), StmtExecuteOk.getDefaultInstance());
+        XProtocol protocol = conn.createProtocol();
+
+        CompletableFuture<Ok> pipelined = protocol.queryPipelined(RESET, new OkBuilder());
+        assertEquals(Collections.emptyList(), conn.getClientMessageTypes());
+        assertFalse(pipelined.isDone());
+
+        StatementExecuteOk result = protocol.query(SQL, new StatementExecuteOkBuilder());
+        assertTrue(result != null);
+        assertEquals(Arrays.asList(ClientMessages.Type.SESS_RESET_VALUE, ClientMessages.Type.SQL_STMT_EXECUTE_VALUE), conn.getClientMessageTypes());
+        assertTrue(pipelined.isDone());
+        assertFalse(pipelined.isCompletedExceptionally());
+    }
+
+    /**
+     * Tests that a server error in a pipelined query completes its future exceptionally, without preventing reading the result of the next query.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPipelinedQueryError() throws Exception {
+        FakeXSocketConnection conn = new FakeXSocketConnection(FakeXSocketConnection.error(MysqlErrorNumbers.ER_MAX_PREPARED_STMT_COUNT_REACHED),
+                StmtExecuteOk.getDefaultInstance());
+        XProtocol protocol = conn.createProtocol();
+
+        CompletableFuture<Ok> pipelined = protocol.queryPipelined(RESET, new OkBuilder());
+        protocol.query(SQL, new StatementExecuteOkBuilder());
+
+        assertTrue(pipelined.isCompletedExceptionally());
+        CompletionException e = assertThrows(CompletionException.class, pipelined::join);
+        assertTrue(e.getCause() instanceof XProtocolError);
+        assertEquals(MysqlErrorNumbers.ER_MAX_PREPARED_STMT_COUNT_REACHED, ((XProtocolError) e.getCause()).getErrorCode());
+    }
+
+    /**
+     * Tests that pending pipelined queries are flushed and their results read on demand, in order.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReadPipelinedResults() throws Exception {
+        FakeXSocketConnection conn = new FakeXSocketConnection(Mysqlx.Ok.getDefaultInstance(),
+                FakeXSocketConnection.error(MysqlErrorNumbers.ER_UNKNOWN_COM_ERROR), Mysqlx.Ok.getDefaultInstance());
+        XProtocol protocol = conn.createProtocol();
+
+        CompletableFuture<Ok> first = protocol.queryPipelined(RESET, new OkBuilder());
+        CompletableFuture<Ok> second = protocol.queryPipelined(RESET, new OkBuilder());
+        CompletableFuture<Ok> third = protocol.queryPipelined(RESET, new OkBuilder());
+        protocol.readPipelinedResults();
+
+        assertEquals(Arrays.asList(ClientMessages.Type.SESS_RESET_VALUE, ClientMessages.Type.SESS_RESET_VALUE, ClientMessages.Type.SESS_RESET_VALUE),
+                conn.getClientMessageTypes());
+        assertFalse(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertTrue(third.isDone());
+        assertFalse(third.isCompletedExceptionally());
+
+        // nothing left to read
+        protocol.readPipelinedResults();
+        assertEquals(3, conn.getClientMessageTypes().size());
+    }
+
+    /**
+     * Tests that pipelined queries fail along with the next query when the connection fails.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPipelinedQueryConnectionFailure() throws Exception {
+        FakeXSocketConnection conn = new FakeXSocketConnection();
+        XProtocol protocol = conn.createProtocol();
+
+        CompletableFuture<Ok> first = protocol.queryPipelined(RESET, new OkBuilder());
+        CompletableFuture<Ok> second = protocol.queryPipelined(RESET, new OkBuilder());
+        assertThrows(CJCommunicationsException.class, () -> protocol.query(SQL, new StatementExecuteOkBuilder()));
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertThrows(CompletionException.class, second::join);
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.util.LazyString;
+
+/**
+ * Tests for {@link ColumnLabelIndex} and its use in {@link DefaultColumnDefinition}.
+ */
+public class ColumnLabelIndexTest {
+
+    private static Field field(String tableName, String label, String originalName) {
+        return new Field(new LazyString("db"), new LazyString(tableName), new LazyString(tableName), new LazyString(label), new LazyString(originalName), 10,
+                MysqlType.FIELD_TYPE_VARCHAR, (short) 0, 0, 255, "UTF-8", MysqlType.VARCHAR);
+    }
+
+    private static Field[] fields() {
+        return new Field[] { field("t1", "id", "id"), field("t1", "Name", "name"), field("t2", "NAME", "name"), field("t2", "Ärger", "a"),
+                field("t2", "alias", "original") };
+    }
+
+    @Test
+    public void testFindColumn() {
+        ColumnLabelIndex index = new ColumnLabelIndex(fields());
+
+        assertEquals(0, index.findColumn("id", false));
+        assertEquals(0, index.findColumn("ID", false));
+        assertEquals(1, index.findColumn("name", false)); // First matching column wins.
+        assertEquals(1, index.findColumn("nAmE", true));
+        assertEquals(3, index.findColumn("äRGER", false));
+        assertEquals(4, index.findColumn("ALIAS", false));
+        assertEquals(-1, index.findColumn("original", false));
+        assertEquals(4, index.findColumn("Original", true));
+        assertEquals(2, index.findColumn("t2.name", false));
+        assertEquals(0, index.findColumn("T1.ID", true));
+        assertEquals(-1, index.findColumn("t3.id", true));
+        assertEquals(-1, index.findColumn("", true));
+        assertEquals(-1, index.findColumn("missing", true));
+    }
+
+    @Test
+    public void testManyColumns() {
+        Field[] fields = new Field[300];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = field("t", "col" + i, "c" + i);
+        }
+        ColumnLabelIndex index = new ColumnLabelIndex(fields);
+        for (int i = 0; i < fields.length; i++) {
+            assertEquals(i, index.findColumn("COL" + i, false));
+            assertEquals(i, index.findColumn("c" + i, true));
+            assertEquals(i, index.findColumn("T.Col" + i, false));
+        }
+        assertEquals(-1, index.findColumn("col300", true));
+    }
+
+    @Test
+    public void testHashIgnoresCase() {
+        assertEquals(ColumnLabelIndex.hash("abcXYZ_09"), ColumnLabelIndex.hash("ABCxyz_09"));
+        assertEquals(ColumnLabelIndex.hash("ärger"), ColumnLabelIndex.hash("ÄRGER"));
+    }
+
+    @Test
+    public void testIsIndexOf() {
+        ColumnLabelIndex index = new ColumnLabelIndex(fields());
+        assertTrue(index.isIndexOf(fields()));
+
+        Field[] renamed = fields();
+        renamed[4] = field("t2", "other", "original");
+        assertFalse(index.isIndexOf(renamed));
+
+        Field[] fewer = new Field[] { field("t1", "id", "id") };
+        assertFalse(index.isIndexOf(fewer));
+    }
+
+    @Test
+    public void testShareIndexWithColumnDefinition() {
+        DefaultColumnDefinition prepared = new DefaultColumnDefinition(fields());
+        assertNull(prepared.getColumnLabelIndex());
+
+        // The first execution builds the index and hands it to the prepared statement metadata.
+        DefaultColumnDefinition first = new DefaultColumnDefinition(fields(), prepared);
+        assertEquals(2, first.findColumn("NAME", false, 1));
+        assertSame(first.getColumnLabelIndex(), prepared.getColumnLabelIndex());
+
+        // Later executions reuse it.
+        DefaultColumnDefinition second = new DefaultColumnDefinition(fields(), prepared);
+        assertEquals(5, second.findColumn("alias", false, 1));
+        assertSame(prepared.getColumnLabelIndex(), second.getColumnLabelIndex());
+
+        // Unless the column labels changed.
+        Field[] swapped = fields();
+        swapped[0] = fields()[4];
+        swapped[4] = fields()[0];
+        DefaultColumnDefinition third = new DefaultColumnDefinition(swapped, prepared);
+        assertEquals(1, third.findColumn("alias", false, 1));
+        assertEquals(5, third.findColumn("id", false, 1));
+        assertNotSame(first.getColumnLabelIndex(), third.getColumnLabelIndex());
+        assertSame(third.getColumnLabelIndex(), prepared.getColumnLabelIndex());
+    }
+
+    @Test
+    public void testExportAndInitializeFrom() {
+        DefaultColumnDefinition original = new DefaultColumnDefinition(fields());
+        original.buildIndexMapping();
+        DefaultColumnDefinition cached = new DefaultColumnDefinition();
+        original.exportTo(cached);
+
+        DefaultColumnDefinition fromCache = new DefaultColumnDefinition();
+        fromCache.initializeFrom(cached);
+        assertTrue(fromCache.hasBuiltIndexMapping());
+        assertSame(original.getColumnLabelIndex(), fromCache.getColumnLabelIndex());
+        assertEquals(5, fromCache.findColumn("ORIGINAL", true, 1));
+        assertEquals(-1, fromCache.findColumn("original", false, 1));
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ClockCache}.
+ */
+public class ClockCacheTest {
+
+    @Test
+    public void testGetPutAndCounters() {
+        ClockCache<String, Integer> cache = new ClockCache<>(3);
+        assertNull(cache.get("a"));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("a", 10);
+        assertEquals(2, cache.size());
+        assertEquals(10, cache.get("a"));
+        assertEquals(2, cache.get("b"));
+        assertNull(cache.get("c"));
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+
+        cache.remove("a");
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    public void testEviction() {
+        ClockCache<String, Integer> cache = new ClockCache<>(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        // "a" and "c" get a second chance, so "b" is evicted
+        cache.get("a");
+        cache.get("c");
+        cache.put("d", 4);
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.get("a"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(4, cache.get("d"));
+
+        // all referenced, so the hand goes full circle and evicts the next entry
+        cache.put("e", 5);
+        assertEquals(3, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+
+        // removals keep the clock consistent
+        cache.remove("e");
+        cache.remove("d");
+        cache.put("f", 6);
+        cache.put("g", 7);
+        cache.put("h", 8);
+        assertEquals(3, cache.size());
+
+        // conditional removals only remove the value given
+        Integer value = cache.get("h");
+        cache.remove("h", Integer.valueOf(-1));
+        assertEquals(3, cache.size());
+        cache.remove("h", value);
+        assertEquals(2, cache.size());
+        assertNull(cache.get("h"));
+        cache.put("i", 9);
+        assertEquals(3, cache.size());
+
+        ClockCache<String, Integer> noCache = new ClockCache<>(0);
+        noCache.put("a", 1);
+        assertNull(noCache.get("a"));
+        assertEquals(0, noCache.size());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        ClockCache<Integer, Integer> cache = new ClockCache<>(50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20000; i++) {
+                        int key = ThreadLocalRandom.current().nextInt(100);
+                        Integer value = cache.get(key);
+                        if (value == null) {
+                            cache.put(key, key * 2);
+                        } else {
+                            assertEquals(key * 2, value.intValue());
+                        }
+                        if (i % 1000 == 0) {
+                            cache.remove(key);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(cache.size() <= 50);
+        assertEquals(8 * 20000, cache.getHitCount() + cache.getMissCount());
+    }
+
+}
@@ -27,6 +27,8 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.StringReader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 
 import org.junit.jupiter.api.Test;
@@ -658,6 +660,80 @@ public class JsonDocTest {
                 + "\"field7\" : [\"arr1\", 3, true, false, null, [], {}]\n}", doc.toFormattedString());
     }
 
+    @Test
+    public void testParseUtf8Bytes() throws Exception {
+        String[] jsons = new String[] { "{}", " { } ", "{\"a\":1}", "{\"_id\": \"00005ccbee6c0000000000000001\", \"n\": -12, \"z\": -0, \"l\": 0012}",
+                "{\"d\": [1.50, -0.0000001, 12345.44E22, 1e-3, 2E+2, 0], \"t\": true, \"f\": false, \"u\": null}",
+                "{\"s\": \"\u00d1and\u00fa \u00e9 \ud83d\udc2c\", \"\u00e7l\u00e9\": \"\\u005C\\\"\\/\\b\\f\\n\\r\\t\\uD83D\\uDC2C\"}",
+                "{\"o\": {\"a\": [[], {}, [{\"b\": [null]}]], \"c\": {\"d\": {}}}, \"a\": 2}",
+                "{\n\t\"x\" :\r\n[ 1 , \"2\" ] ,\"y\":\"\"}" };
+        for (String json : jsons) {
+            byte[] bytes = ("##" + json + "##").getBytes(StandardCharsets.UTF_8);
+            DbDoc expected = JsonParser.parseDoc(json);
+            DbDoc doc = JsonParser.parseDoc(bytes, 2, bytes.length - 4);
+            assertEquals(expected.toString(), doc.toString(), json);
+            DbDoc lazy = new LazyDbDoc(Arrays.copyOfRange(bytes, 2, bytes.length - 2), new Utf8JsonParser.KeyCache());
+            assertEquals(expected.size(), lazy.size(), json);
+            for (String key : expected.keySet()) {
+                assertTrue(lazy.containsKey(key), json);
+                assertEquals(expected.get(key).toString(), lazy.get(key).toString(), json);
+            }
+            assertEquals(expected.toString(), lazy.toString(), json);
+        }
+
+        // Numbers keep the canonical BigDecimal representation.
+        byte[] bytes = "{\"a\": -0, \"b\": 0012, \"c\": 1e2, \"d\": 120}".getBytes(StandardCharsets.UTF_8);
+        DbDoc doc = JsonParser.parseDoc(bytes, 0, bytes.length);
+        assertEquals("{\"a\":0,\"b\":12,\"c\":1E+2,\"d\":120}", doc.toString());
+
+        // Keys are shared through the cache.
+        Utf8JsonParser.KeyCache keyCache = new Utf8JsonParser.KeyCache();
+        bytes = "{\"field\": 1}".getBytes(StandardCharsets.UTF_8);
+        String key1 = new Utf8JsonParser(bytes, 0, bytes.length, keyCache).parseDoc().keySet().iterator().next();
+        String key2 = new Utf8JsonParser(bytes, 0, bytes.length, keyCache).parseDoc().keySet().iterator().next();
+        assertTrue(key1 == key2);
+
+        DbDoc lazyDoc;
+
+        // Duplicate keys: the last one wins when parsing, the first one is found by lazy lookups.
+        bytes = "{\"a\": 2, \"a\": 3}".getBytes(StandardCharsets.UTF_8);
+        assertEquals("{\"a\":3}", JsonParser.parseDoc(bytes, 0, bytes.length).toString());
+        assertEquals("2", new LazyDbDoc(bytes, null).get("a").toString());
+        assertEquals("{\"a\":3}", new LazyDbDoc(bytes, null).toString());
+
+        // Nested objects of lazy documents are lazy too, over the same bytes.
+        bytes = "##{\"a\": {\"b\": {\"c\": 1}, \"d\": [2]}, \"e\": 3}##".getBytes(StandardCharsets.UTF_8);
+        lazyDoc = new LazyDbDoc(bytes, 2, bytes.length - 4, null);
+        DbDoc nested = (DbDoc) lazyDoc.get("a");
+        assertTrue(nested instanceof LazyDbDoc);
+        assertTrue(nested.get("b") instanceof LazyDbDoc);
+        assertEquals("1", ((DbDoc) nested.get("b")).get("c").toString());
+        assertEquals(2, nested.size());
+        assertEquals("3", lazyDoc.get("e").toString());
+        assertEquals("{\"a\":{\"b\":{\"c\":1},\"d\":[2]},\"e\":3}", lazyDoc.toString());
+
+        // Lookups scan the document only as far as needed.
+        bytes = "{\"a\": 1, \"b\": tru}".getBytes(StandardCharsets.UTF_8);
+        assertEquals("1", new LazyDbDoc(bytes, null).get("a").toString());
+        byte[] badBytes = bytes;
+        assertThrows(WrongArgumentException.class, () -> new LazyDbDoc(badBytes, null).get("b"));
+
+        // Lazy documents keep the values already returned when fully parsed.
+        bytes = "{\"arr\": [1], \"doc\": {\"x\": 1}, \"s\": \"v\"}".getBytes(StandardCharsets.UTF_8);
+        lazyDoc = new LazyDbDoc(bytes, null);
+        ((JsonArray) lazyDoc.get("arr")).add(JsonLiteral.TRUE);
+        assertNull(lazyDoc.get("missing"));
+        lazyDoc.add("new", new JsonString().setValue("n"));
+        assertEquals("{\"arr\":[1,true],\"doc\":{\"x\":1},\"new\":\"n\",\"s\":\"v\"}", lazyDoc.toString());
+
+        for (String json : new String[] { "", "[]", "{", "{\"a\"}", "{\"a\":}", "{\"a\":1,}", "{\"a\":1} x", "{\"a\":tru}", "{\"a\":1.}", "{\"a\":-}",
+                "{\"a\":\"b}", "{\"a\":\"\\x\"}", "{\"a\":\"\\u12\"}", "{\"a\":[1}", "{a:1}", "{\"a\":1 2}" }) {
+            byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+            assertThrows(WrongArgumentException.class, () -> JsonParser.parseDoc(jsonBytes, 0, jsonBytes.length));
+            assertThrows(WrongArgumentException.class, () -> new LazyDbDoc(jsonBytes, null).toString());
+        }
+    }
+
     @Test
     public void testJsonNumberAtEnd() throws Exception {
         JsonParser.parseDoc(new StringReader("{\"x\":2}"));
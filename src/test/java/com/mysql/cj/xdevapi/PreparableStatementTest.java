@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.xdevapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.Message;
+import com.mysql.cj.MysqlxSession;
+import com.mysql.cj.exceptions.MysqlErrorNumbers;
+import com.mysql.cj.exceptions.WrongArgumentException;
+import com.mysql.cj.protocol.x.FakeXSocketConnection;
+import com.mysql.cj.protocol.x.XProtocolError;
+import com.mysql.cj.x.protobuf.Mysqlx;
+import com.mysql.cj.x.protobuf.Mysqlx.ClientMessages;
+import com.mysql.cj.x.protobuf.MysqlxSql.StmtExecuteOk;
+
+/**
+ * Tests for the preparing of {@link PreparableStatement}s, which is pipelined with their first prepared execution.
+ */
+public class PreparableStatementTest {
+
+    private static final Message EXECUTE_OK = StmtExecuteOk.getDefaultInstance();
+    private static final Message PREPARE_OK = Mysqlx.Ok.getDefaultInstance();
+
+    private static final int DELETE = ClientMessages.Type.CRUD_DELETE_VALUE;
+    private static final int PREPARE = ClientMessages.Type.PREPARE_PREPARE_VALUE;
+    private static final int EXECUTE = ClientMessages.Type.PREPARE_EXECUTE_VALUE;
+
+    /**
+     * A statement whose prepared execution can be made to fail before being sent.
+     */
+    private static class TestStatement extends DeleteStatementImpl {
+
+        RuntimeException executionFailure = null;
+
+        TestStatement(MysqlxSession mysqlxSession) {
+            super(mysqlxSession, "test", "t");
+        }
+
+        @Override
+        protected Result executePreparedStatement() {
+            if (this.executionFailure != null) {
+                throw this.executionFailure;
+            }
+            return super.executePreparedStatement();
+        }
+
+    }
+
+    /**
+     * Executes a statement unprepared and then once more, so that it is prepared along with its second execution.
+     *
+     * @param conn
+     *            the connection replaying the server side
+     * @param executionFailure
+     *            the error to fail the prepared execution with before sending it, if any
+     * @return the statement
+     * @throws Exception
+     */
+    private static TestStatement executeTwice(FakeXSocketConnection conn, RuntimeException executionFailure) throws Exception {
+        TestStatement stmt = new TestStatement(new MysqlxSession(conn.createProtocol()));
+        stmt.execute();
+        assertEquals(PreparableStatement.PreparedState.PREPARE, stmt.preparedState);
+        stmt.executionFailure = executionFailure;
+        stmt.execute();
+        return stmt;
+    }
+
+    /**
+     * Tests that a statement is prepared and executed in a single round-trip.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPrepareAndExecute() throws Exception {
+        FakeXSocketConnection conn = new FakeXSocketConnection(EXECUTE_OK, PREPARE_OK, EXECUTE_OK, EXECUTE_OK);
+        TestStatement stmt = executeTwice(conn, null);
+        assertEquals(PreparableStatement.PreparedState.PREPARED, stmt.preparedState);
+        assertTrue(stmt.preparedStatementId != 0);
+        assertEquals(Arrays.asList(DELETE, PREPARE, EXECUTE), conn.getClientMessageTypes());
+
+        stmt.execute();
+        assertEquals(Arrays.asList(DELETE, PREPARE, EXECUTE, EXECUTE), conn.getClientMessageTypes());
+    }
+
+    /**
+     * Tests that the execution falls back to a non-prepared one when the prepare fails with an error that suspends prepares.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFallbackWhenPrepareFails() throws Exception {
+        FakeXSocketConnection conn = new FakeXSocketConnection(EXECUTE_OK, FakeXSocketConnection.error(MysqlErrorNumbers.ER_MAX_PREPARED_STMT_COUNT_REACHED),
+                FakeXSocketConnection.error(MysqlErrorNumbers.ER_X_BAD_STATEMENT_ID), EXECUTE_OK);
+        TestStatement stmt = executeTwice(conn, null);
+        assertEquals(PreparableStatement.PreparedState.SUSPENDED, stmt.preparedState);
+        assertEquals(0, stmt.preparedStatementId);
+        assertEquals(Arrays.asList(DELETE, PREPARE, EXECUTE, DELETE), conn.getClientMessageTypes());
+    }
+
+    /**
+     * Tests that the error of a prepare that fails and can't be handled is reported, and that the statement is prepared again on next execution.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testUnhandledPrepareError() throws Exception {
+        FakeXSocketConnection conn = new FakeXSocketConnection(EXECUTE_OK, FakeXSocketConnection.error(MysqlErrorNumbers.ER_PARSE_ERROR),
+                FakeXSocketConnection.error(MysqlErrorNumbers.ER_X_BAD_STATEMENT_ID));
+        XProtocolError e = assertThrows(XProtocolError.class, () -> executeTwice(conn, null));
+        assertEquals(MysqlErrorNumbers.ER_PARSE_ERROR, e.getErrorCode());
+        assertEquals(Arrays.asList(DELETE, PREPARE, EXECUTE), conn.getClientMessageTypes());
+    }
+
+    /**
+     * Tests that a statement stays prepared when only its execution fails.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testExecutionFailsAfterPrepare() throws Exception {
+        FakeXSocketConnection conn = new FakeXSocketConnection(EXECUTE_OK, PREPARE_OK, FakeXSocketConnection.error(MysqlErrorNumbers.ER_DUP_ENTRY));
+        TestStatement[] stmt = new TestStatement[1];
+        XProtocolError e = assertThrows(XProtocolError.class, () -> {
+            stmt[0] = new TestStatement(new MysqlxSession(conn.createProtocol()));
+            stmt[0].execute();
+            stmt[0].execute();
+        });
+        assertEquals(MysqlErrorNumbers.ER_DUP_ENTRY, e.getErrorCode());
+        assertEquals(PreparableStatement.PreparedState.PREPARED, stmt[0].preparedState);
+        assertTrue(stmt[0].preparedStatementId != 0);
+    }
+
+    /**
+     * Tests that a statement is not taken as prepared when its execution fails before being sent and the pending prepare fails too.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testExecutionFailsBeforeSendingAndPrepareFails() throws Exception {
+        FakeXSocketConnection conn = new FakeXSocketConnection(EXECUTE_OK, FakeXSocketConnection.error(MysqlErrorNumbers.ER_MAX_PREPARED_STMT_COUNT_REACHED));
+        WrongArgumentException failure = new WrongArgumentException("Test failure");
+        TestStatement[] stmt = new TestStatement[1];
+        assertEquals(failure, assertThrows(WrongArgumentException.class, () -> {
+            stmt[0] = new TestStatement(new MysqlxSession(conn.createProtocol()));
+            stmt[0].execute();
+            stmt[0].executionFailure = failure;
+            stmt[0].execute();
+        }));
+        assertEquals(PreparableStatement.PreparedState.SUSPENDED, stmt[0].preparedState);
+        assertEquals(0, stmt[0].preparedStatementId);
+        // the pending prepare was sent on its own to read its result
+        assertEquals(Arrays.asList(DELETE, PREPARE), conn.getClientMessageTypes());
+    }
+
+    /**
+     * Tests that a statement is taken as prepared when its execution fails before being sent but the pending prepare succeeds.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testExecutionFailsBeforeSendingAndPrepareSucceeds() throws Exception {
+        FakeXSocketConnection conn = new FakeXSocketConnection(EXECUTE_OK, PREPARE_OK, EXECUTE_OK);
+        WrongArgumentException failure = new WrongArgumentException("Test failure");
+        TestStatement[] stmt = new TestStatement[1];
+        assertThrows(WrongArgumentException.class, () -> {
+            stmt[0] = new TestStatement(new MysqlxSession(conn.createProtocol()));
+            stmt[0].execute();
+            stmt[0].executionFailure = failure;
+            stmt[0].execute();
+        });
+        assertEquals(PreparableStatement.PreparedState.PREPARED, stmt[0].preparedState);
+        assertTrue(stmt[0].preparedStatementId != 0);
+
+        stmt[0].executionFailure = null;
+        stmt[0].execute();
+        assertEquals(Arrays.asList(DELETE, PREPARE, EXECUTE), conn.getClientMessageTypes());
+    }
+
+}
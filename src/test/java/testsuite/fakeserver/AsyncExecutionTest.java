@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+import javax.sql.PooledConnection;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.NativeSession;
+import com.mysql.cj.exceptions.MysqlErrorNumbers;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.jdbc.MysqlConnectionPoolDataSource;
+import com.mysql.cj.jdbc.StatementWrapper;
+
+public class AsyncExecutionTest {
+
+    private static final int OPERATIONS = 50;
+
+    private FakeMysqlServer server;
+    /** Threads that issued the queries, by connection database. */
+    private final Map<String, Set<Thread>> threads = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        this.server = FakeMysqlServer.start("asyncexecutiontest");
+        this.server.setQueryHandler((sql, params) -> {
+            if (!sql.startsWith("SELECT '")) {
+                return null;
+            }
+            String connection = sql.substring(8, sql.indexOf(':'));
+            this.threads.computeIfAbsent(connection, k -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread());
+            return new FakeResultSet().addColumn("v", MysqlType.VARCHAR).addRow(sql.substring(8, sql.length() - 1));
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    /**
+     * Tests that the asynchronous operations submitted without an executor run in submission order, in a single thread per connection.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testOneThreadPerConnection() throws Exception {
+        try (JdbcConnection conn1 = DriverManager.getConnection(this.server.getUrl("test")).unwrap(JdbcConnection.class);
+                JdbcConnection conn2 = DriverManager.getConnection(this.server.getUrl("test")).unwrap(JdbcConnection.class)) {
+            List<CompletableFuture<ResultSet>> results1 = new ArrayList<>();
+            List<CompletableFuture<ResultSet>> results2 = new ArrayList<>();
+            for (int i = 0; i < OPERATIONS; i++) {
+                results1.add(conn1.executeQueryAsync("SELECT 'c1:" + i + "'"));
+                results2.add(conn2.executeQueryAsync("SELECT 'c2:" + i + "'"));
+            }
+            for (int i = 0; i < OPERATIONS; i++) {
+                ResultSet rs = results1.get(i).get(10, TimeUnit.SECONDS);
+                assertTrue(rs.next());
+                assertEquals("c1:" + i, rs.getString(1));
+                rs = results2.get(i).get(10, TimeUnit.SECONDS);
+                assertTrue(rs.next());
+                assertEquals("c2:" + i, rs.getString(1));
+            }
+
+            assertEquals(1, this.threads.get("c1").size());
+            assertEquals(1, this.threads.get("c2").size());
+            assertTrue(Collections.disjoint(this.threads.get("c1"), this.threads.get("c2")));
+            List<String> queries = this.server.getReceivedQueries();
+            assertTrue(queries.indexOf("SELECT 'c1:0'") < queries.indexOf("SELECT 'c1:" + (OPERATIONS - 1) + "'"));
+        }
+    }
+
+    /**
+     * Tests that the asynchronous operations of pooled connections return results of wrapped statements and report connection errors to the pooled
+     * connection listeners.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPooledConnection() throws Exception {
+        this.server.addResponse("UPDATE t SET v = 'lost'", FakeResponse.error(MysqlErrorNumbers.ER_UNKNOWN_ERROR,
+                MysqlErrorNumbers.SQLSTATE_MYSQL_COMMUNICATION_LINK_FAILURE, "Communications link failure"));
+        MysqlConnectionPoolDataSource ds = new MysqlConnectionPoolDataSource();
+        ds.setURL(this.server.getUrl("test"));
+        PooledConnection pooledConnection = ds.getPooledConnection();
+        List<SQLException> connectionErrors = new CopyOnWriteArrayList<>();
+        pooledConnection.addConnectionEventListener(new ConnectionEventListener() {
+
+            @Override
+            public void connectionClosed(ConnectionEvent event) {
+            }
+
+            @Override
+            public void connectionErrorOccurred(ConnectionEvent event) {
+                connectionErrors.add(event.getSQLException());
+            }
+
+        });
+
+        try (JdbcConnection conn = (JdbcConnection) pooledConnection.getConnection()) {
+            ResultSet rs = conn.executeQueryAsync("SELECT 'p:1'").get(10, TimeUnit.SECONDS);
+            assertTrue(rs.getStatement() instanceof StatementWrapper);
+            assertTrue(rs.next());
+            assertEquals("p:1", rs.getString(1));
+            assertTrue(connectionErrors.isEmpty());
+
+            CompletableFuture<Long> result = conn.executeUpdateAsync("UPDATE t SET v = 'lost'");
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof SQLException);
+            assertEquals(1, connectionErrors.size());
+        } finally {
+            pooledConnection.close();
+        }
+    }
+
+    /**
+     * Tests that the asynchronous operations submitted without an executor after the session is closed are rejected.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRejectedAfterClose() throws Exception {
+        JdbcConnection conn = DriverManager.getConnection(this.server.getUrl("test")).unwrap(JdbcConnection.class);
+        NativeSession session = (NativeSession) conn.getSession();
+        ResultSet rs = conn.executeQueryAsync("SELECT 'r:1'").get(10, TimeUnit.SECONDS);
+        assertTrue(rs.next());
+        conn.close();
+
+        CompletableFuture<Integer> result = session.executeAsync(() -> 1, null);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+
+}
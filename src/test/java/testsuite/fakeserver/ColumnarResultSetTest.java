@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.exceptions.WrongArgumentException;
+import com.mysql.cj.jdbc.result.BytesColumnVector;
+import com.mysql.cj.jdbc.result.ColumnarResultSet;
+import com.mysql.cj.jdbc.result.DoubleColumnVector;
+import com.mysql.cj.jdbc.result.IntColumnVector;
+import com.mysql.cj.jdbc.result.LongColumnVector;
+
+public class ColumnarResultSetTest {
+
+    private static final String QUERY = "SELECT id, qty, score, price, name, flag FROM t";
+    private static final int ROWS = 20;
+
+    private FakeMysqlServer server;
+
+    @BeforeEach
+    public void setUp() {
+        FakeResultSet rs = new FakeResultSet("test", "t").addColumn("id", MysqlType.BIGINT).addColumn("qty", MysqlType.INT)
+                .addColumn("score", MysqlType.DOUBLE).addColumn("price", MysqlType.DECIMAL, 10, 2).addColumn("name", MysqlType.VARCHAR)
+                .addColumn("flag", MysqlType.TINYINT);
+        for (int i = 0; i < ROWS; i++) {
+            rs.addRow(i % 7 == 3 ? null : Long.MAX_VALUE - i, i % 5 == 1 ? null : -i * 1000, i % 4 == 2 ? null : i * 0.25, i % 6 == 0 ? null : i + ".50",
+                    i % 3 == 2 ? null : (i % 2 == 0 ? "" : "name é " + i), i % 2);
+        }
+        this.server = FakeMysqlServer.start("columnarresultsettest");
+        this.server.addResponse(QUERY, rs);
+        this.server.addResponse("SELECT name FROM t", new FakeResultSet().addColumn("name", MysqlType.VARCHAR).addRow("1").addRow("x"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    private Connection getConnection(boolean useServerPrepStmts) throws SQLException {
+        return DriverManager.getConnection(this.server.getUrl("test") + "&" + PropertyKey.useServerPrepStmts.getKeyName() + "=" + useServerPrepStmts);
+    }
+
+    /**
+     * Tests that batches read with {@link ColumnarResultSet#fetchColumns} hold the same values, and the same NULLs, as the ResultSet getters.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFetchColumnsMatchesGetters() throws Exception {
+        checkFetchColumnsMatchesGetters(false);
+        checkFetchColumnsMatchesGetters(true);
+    }
+
+    private void checkFetchColumnsMatchesGetters(boolean useServerPrepStmts) throws Exception {
+        try (Connection conn = getConnection(useServerPrepStmts); PreparedStatement expectedPs = conn.prepareStatement(QUERY);
+                PreparedStatement ps = conn.prepareStatement(QUERY)) {
+            int capacity = 8;
+            long[] ids = new long[capacity];
+            int[] qtys = new int[capacity];
+            double[] scores = new double[capacity];
+            double[] prices = new double[capacity];
+            LongColumnVector idVector = new LongColumnVector(1, ids, new byte[1]);
+            IntColumnVector qtyVector = new IntColumnVector(2, qtys, new byte[1]);
+            DoubleColumnVector scoreVector = new DoubleColumnVector(3, scores, new byte[1]);
+            DoubleColumnVector priceVector = new DoubleColumnVector(4, prices, new byte[1]);
+            BytesColumnVector nameVector = new BytesColumnVector(5, new byte[4], new int[capacity + 1], new byte[1]);
+            LongColumnVector flagVector = new LongColumnVector(6, new long[capacity], new byte[1]);
+
+            try (ResultSet expected = expectedPs.executeQuery(); ResultSet rs = ps.executeQuery()) {
+                ColumnarResultSet columnar = rs.unwrap(ColumnarResultSet.class);
+                int total = 0;
+                int rows;
+                while ((rows = columnar.fetchColumns(idVector, qtyVector, scoreVector, priceVector, nameVector, flagVector)) > 0) {
+                    for (int i = 0; i < rows; i++) {
+                        assertTrue(expected.next());
+                        String row = "row " + (total + i);
+
+                        assertEquals(expected.getLong(1), expected.wasNull() ? 0 : ids[i], row);
+                        assertEquals(expected.wasNull(), idVector.isNull(i), row);
+                        assertEquals(expected.getInt(2), expected.wasNull() ? 0 : qtys[i], row);
+                        assertEquals(expected.wasNull(), qtyVector.isNull(i), row);
+                        assertEquals(expected.getDouble(3), expected.wasNull() ? 0 : scores[i], row);
+                        assertEquals(expected.wasNull(), scoreVector.isNull(i), row);
+                        assertEquals(expected.getDouble(4), expected.wasNull() ? 0 : prices[i], row);
+                        assertEquals(expected.wasNull(), priceVector.isNull(i), row);
+                        assertEquals(expected.getLong(6), flagVector.getValues()[i], row);
+                        assertFalse(flagVector.isNull(i), row);
+
+                        byte[] name = expected.getBytes(5);
+                        assertEquals(name == null, nameVector.isNull(i), row);
+                        int start = nameVector.getOffsets()[i];
+                        assertArrayEquals(name == null ? new byte[0] : name, Arrays.copyOfRange(nameVector.getData(), start, start + nameVector.getLength(i)), row);
+                    }
+                    total += rows;
+                    assertEquals(rows == capacity ? total : 0, rs.getRow());
+                }
+                assertEquals(ROWS, total);
+                assertFalse(expected.next());
+                assertTrue(rs.isAfterLast());
+                assertEquals(0, columnar.fetchColumns(idVector));
+            }
+        }
+    }
+
+    /**
+     * Tests that invalid arguments and values that can't be converted are reported as SQLExceptions.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFetchColumnsErrors() throws Exception {
+        checkFetchColumnsErrors(false);
+        checkFetchColumnsErrors(true);
+        assertThrows(WrongArgumentException.class, () -> new IntColumnVector(1, new int[9], new byte[1]));
+        assertThrows(WrongArgumentException.class, () -> new BytesColumnVector(1, new byte[0], new int[0], new byte[0]));
+    }
+
+    private void checkFetchColumnsErrors(boolean useServerPrepStmts) throws Exception {
+        try (Connection conn = getConnection(useServerPrepStmts); PreparedStatement ps = conn.prepareStatement("SELECT name FROM t")) {
+            try (ResultSet rs = ps.executeQuery()) {
+                ColumnarResultSet columnar = rs.unwrap(ColumnarResultSet.class);
+                assertThrows(SQLException.class, () -> columnar.fetchColumns());
+                assertThrows(SQLException.class, () -> columnar.fetchColumns(new LongColumnVector(2, new long[4], new byte[1])));
+
+                long[] values = new long[4];
+                LongColumnVector vector = new LongColumnVector(1, values, new byte[1]);
+                assertThrows(SQLException.class, () -> columnar.fetchColumns(vector));
+                assertEquals(1, values[0]);
+            }
+        }
+    }
+
+}
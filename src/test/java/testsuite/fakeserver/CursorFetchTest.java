@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2002, 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.conf.PropertyKey;
+
+public class CursorFetchTest {
+
+    private static final String QUERY = "SELECT id, name FROM t";
+    private static final int ROWS = 1000;
+
+    private FakeMysqlServer server;
+
+    @BeforeEach
+    public void setUp() {
+        FakeResultSet rs = new FakeResultSet("test", "t").addColumn("id", MysqlType.BIGINT).addColumn("name", MysqlType.VARCHAR);
+        for (int i = 0; i < ROWS; i++) {
+            rs.addRow(i, i % 10 == 0 ? null : "name " + i);
+        }
+        this.server = FakeMysqlServer.start("cursorfetchtest");
+        this.server.addResponse(QUERY, rs);
+        this.server.addResponse("SELECT 1", new FakeResultSet().addColumn("1", MysqlType.INT).addRow(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    private Connection getConnection(String targetSize) throws SQLException {
+        return DriverManager.getConnection(this.server.getUrl("test") + "&" + PropertyKey.useCursorFetch.getKeyName() + "=true&"
+                + PropertyKey.cursorFetchTargetSize.getKeyName() + "=" + targetSize);
+    }
+
+    private PreparedStatement prepareCursor(Connection conn, String sql, int fetchSize) throws SQLException {
+        PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(fetchSize);
+        return ps;
+    }
+
+    private static void assertRow(ResultSet rs, int i, String testCase) throws SQLException {
+        assertTrue(rs.next(), testCase);
+        assertEquals(i, rs.getLong(1), testCase);
+        if (i % 10 == 0) {
+            assertNull(rs.getString(2), testCase);
+        } else {
+            assertEquals("name " + i, rs.getString(2), testCase);
+        }
+    }
+
+    /**
+     * Tests that cursor-based result sets with adaptive fetch sizes return all rows with the same values as with fixed fetch sizes.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testAdaptiveFetchReturnsAllRows() throws Exception {
+        for (String targetSize : new String[] { "0", "1", "256", "64k" }) {
+            for (int fetchSize : new int[] { 1, 10, 5000 }) {
+                try (Connection conn = getConnection(targetSize); PreparedStatement ps = prepareCursor(conn, QUERY, fetchSize);
+                        ResultSet rs = ps.executeQuery()) {
+                    String testCase = "cursorFetchTargetSize=" + targetSize + ", fetchSize=" + fetchSize;
+                    for (int i = 0; i < ROWS; i++) {
+                        assertRow(rs, i, testCase);
+                    }
+                    assertFalse(rs.next(), testCase);
+                    assertTrue(rs.isAfterLast(), testCase);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that other statements can be executed on the connection between the rows of a cursor-based result set fetching in the background.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testInterleavedStatements() throws Exception {
+        try (Connection conn = getConnection("1k"); PreparedStatement ps = prepareCursor(conn, QUERY, 10); ResultSet rs = ps.executeQuery();
+                PreparedStatement other = conn.prepareStatement("SELECT 1")) {
+            for (int i = 0; i < ROWS; i++) {
+                assertRow(rs, i, "row " + i);
+                if (i % 50 == 0) {
+                    try (ResultSet otherRs = other.executeQuery()) {
+                        assertTrue(otherRs.next());
+                        assertEquals(1, otherRs.getInt(1));
+                    }
+                }
+            }
+            assertFalse(rs.next());
+        }
+    }
+
+    /**
+     * Tests that closing a cursor-based result set before its end, while a fetch may be pending or complete, leaves the connection usable.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCloseBeforeEnd() throws Exception {
+        try (Connection conn = getConnection("1k")) {
+            try (PreparedStatement ps = prepareCursor(conn, QUERY, 10)) {
+                for (int rows = 0; rows < 30; rows++) {
+                    try (ResultSet rs = ps.executeQuery()) {
+                        for (int i = 0; i < rows; i++) {
+                            assertRow(rs, i, "closed after " + rows + " rows");
+                        }
+                    }
+                }
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement("SELECT 1"); ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An in-process stand-in for a MySQL server speaking the classic protocol, for running the driver deterministically without a network or a database.
+ *
+ * Servers are registered by host name and connections reach them through {@link FakeMysqlServerSocketFactory}, e.g.:
+ *
+ * <pre>
+ * FakeMysqlServer server = FakeMysqlServer.start("fakehost");
+ * server.addResponse("SELECT id, name FROM t", new FakeResultSet().addColumn("id", MysqlType.INT).addColumn("name", MysqlType.VARCHAR).addRow(1, "a"));
+ * Connection conn = DriverManager.getConnection(server.getUrl("test"), "root", "");
+ * </pre>
+ *
+ * The server answers the handshake with the configured authentication plugin, 'mysql_native_password' or 'caching_sha2_password' (fast authentication path
+ * only), COM_QUERY, COM_STMT_PREPARE, COM_STMT_EXECUTE, COM_STMT_SEND_LONG_DATA, COM_STMT_RESET, COM_STMT_CLOSE, COM_PING, COM_INIT_DB, COM_SET_OPTION,
+ * COM_RESET_CONNECTION and COM_QUIT. Queries and prepared statements are answered with the scripted responses, or with the ones returned by the
+ * {@link QueryHandler}, if any. The queries issued by the driver while setting up connections, as well as 'SET', 'SHOW VARIABLES', 'SHOW WARNINGS' and
+ * transaction statements, get default answers when not scripted. Anything else results in an error.
+ *
+ * TLS, compression, query attributes, cursors and multiple result sets aren't supported.
+ */
+public class FakeMysqlServer {
+
+    public static final String NATIVE_PASSWORD_PLUGIN = "mysql_native_password";
+    public static final String CACHING_SHA2_PASSWORD_PLUGIN = "caching_sha2_password";
+
+    private static final Map<String, FakeMysqlServer> SERVERS = new ConcurrentHashMap<>();
+
+    /**
+     * Dynamically computes responses for queries and prepared statements that have no scripted response.
+     */
+    @FunctionalInterface
+    public interface QueryHandler {
+
+        /**
+         * Returns the response for the given query.
+         *
+         * @param sql
+         *            the query, without leading comments nor trailing semicolons
+         * @param parameters
+         *            the parameter values of a prepared statement execution, empty for plain queries. Integers are given as Longs, temporal values as
+         *            strings in the MySQL format, BLOB values as byte arrays and other values as UTF-8 decoded strings
+         * @return the response or null if this handler doesn't handle this query
+         */
+        FakeResponse handle(String sql, List<Object> parameters);
+
+    }
+
+    private final String hostName;
+    private volatile String serverVersion = "8.4.0";
+    private volatile String authenticationPlugin = CACHING_SHA2_PASSWORD_PLUGIN;
+    private final Map<String, String> users = new ConcurrentHashMap<>();
+    private final Map<String, String> variables = new ConcurrentHashMap<>();
+    private final Map<String, FakeResponse> responses = new ConcurrentHashMap<>();
+    private volatile QueryHandler queryHandler = null;
+    private volatile long responseLatency = 0;
+
+    private volatile boolean recordQueries = true;
+    private final List<String> receivedQueries = new CopyOnWriteArrayList<>();
+    private final LongAdder commandCount = new LongAdder();
+    private final LongAdder pipelinedCommandCount = new LongAdder();
+    private final AtomicLong connectionIds = new AtomicLong();
+
+    private FakeMysqlServer(String hostName) {
+        this.hostName = hostName;
+        this.variables.put("auto_increment_increment", "1");
+        this.variables.put("character_set_client", "utf8mb4");
+        this.variables.put("character_set_connection", "utf8mb4");
+        this.variables.put("character_set_results", "utf8mb4");
+        this.variables.put("character_set_server", "utf8mb4");
+        this.variables.put("collation_server", "utf8mb4_0900_ai_ci");
+        this.variables.put("collation_connection", "utf8mb4_0900_ai_ci");
+        this.variables.put("init_connect", "");
+        this.variables.put("interactive_timeout", "28800");
+        this.variables.put("license", "GPL");
+        this.variables.put("lower_case_table_names", "0");
+        this.variables.put("max_allowed_packet", "67108864");
+        this.variables.put("net_write_timeout", "60");
+        this.variables.put("performance_schema", "0");
+        this.variables.put("sql_mode",
+                "ONLY_FULL_GROUP_BY,STRICT_TRANS_TABLES,NO_ZERO_IN_DATE,NO_ZERO_DATE,ERROR_FOR_DIVISION_BY_ZERO,NO_ENGINE_SUBSTITUTION");
+        this.variables.put("system_time_zone", "UTC");
+        this.variables.put("time_zone", "SYSTEM");
+        this.variables.put("transaction_isolation", "REPEATABLE-READ");
+        this.variables.put("transaction_read_only", "0");
+        this.variables.put("wait_timeout", "28800");
+    }
+
+    /**
+     * Creates a new server and makes it reachable, through {@link FakeMysqlServerSocketFactory}, at the given host name.
+     *
+     * @param hostName
+     *            the host name to use in connection strings
+     * @return the new server
+     */
+    public static FakeMysqlServer start(String hostName) {
+        FakeMysqlServer server = new FakeMysqlServer(hostName);
+        if (SERVERS.putIfAbsent(hostName, server) != null) {
+            throw new IllegalStateException("A fake server is already running at '" + hostName + "'.");
+        }
+        return server;
+    }
+
+    static FakeMysqlServer getServer(String hostName) {
+        return SERVERS.get(hostName);
+    }
+
+    /**
+     * Makes this server unreachable. Existing connections keep working.
+     */
+    public void stop() {
+        SERVERS.remove(this.hostName, this);
+    }
+
+    public String getHostName() {
+        return this.hostName;
+    }
+
+    /**
+     * Returns a connection string for this server, with the connection property 'socketFactory' set to {@link FakeMysqlServerSocketFactory}.
+     *
+     * @param database
+     *            the default database
+     * @return a connection string
+     */
+    public String getUrl(String database) {
+        return "jdbc:mysql://" + this.hostName + "/" + database + "?socketFactory=" + FakeMysqlServerSocketFactory.class.getName();
+    }
+
+    FakeMysqlSession openSession() {
+        return new FakeMysqlSession(this, this.connectionIds.incrementAndGet());
+    }
+
+    public String getServerVersion() {
+        return this.serverVersion;
+    }
+
+    public FakeMysqlServer setServerVersion(String serverVersion) {
+        this.serverVersion = serverVersion;
+        return this;
+    }
+
+    public String getAuthenticationPlugin() {
+        return this.authenticationPlugin;
+    }
+
+    /**
+     * Sets the authentication plugin this server announces and requires.
+     *
+     * @param authenticationPlugin
+     *            {@link #NATIVE_PASSWORD_PLUGIN} or {@link #CACHING_SHA2_PASSWORD_PLUGIN}
+     * @return this server
+     */
+    public FakeMysqlServer setAuthenticationPlugin(String authenticationPlugin) {
+        if (!NATIVE_PASSWORD_PLUGIN.equals(authenticationPlugin) && !CACHING_SHA2_PASSWORD_PLUGIN.equals(authenticationPlugin)) {
+            throw new IllegalArgumentException("Unsupported authentication plugin '" + authenticationPlugin + "'.");
+        }
+        this.authenticationPlugin = authenticationPlugin;
+        return this;
+    }
+
+    /**
+     * Adds a user account. As long as no user accounts are added, any user name and password are accepted.
+     *
+     * @param user
+     *            user name
+     * @param password
+     *            password
+     * @return this server
+     */
+    public FakeMysqlServer addUser(String user, String password) {
+        this.users.put(user, password == null ? "" : password);
+        return this;
+    }
+
+    boolean isAuthenticationRequired() {
+        return !this.users.isEmpty();
+    }
+
+    String getPassword(String user) {
+        return this.users.get(user);
+    }
+
+    public FakeMysqlServer setVariable(String name, String value) {
+        this.variables.put(name.toLowerCase(), value);
+        return this;
+    }
+
+    Map<String, String> getVariables() {
+        return this.variables;
+    }
+
+    /**
+     * Scripts the response to a query or prepared statement.
+     *
+     * @param sql
+     *            the query; leading comments and trailing semicolons are ignored
+     * @param response
+     *            the response
+     * @return this server
+     */
+    public FakeMysqlServer addResponse(String sql, FakeResponse response) {
+        this.responses.put(FakeMysqlSession.normalizeQuery(sql), response);
+        return this;
+    }
+
+    FakeResponse getResponse(String normalizedSql) {
+        return this.responses.get(normalizedSql);
+    }
+
+    public FakeMysqlServer setQueryHandler(QueryHandler queryHandler) {
+        this.queryHandler = queryHandler;
+        return this;
+    }
+
+    QueryHandler getQueryHandler() {
+        return this.queryHandler;
+    }
+
+    /**
+     * Delays the responses to client requests, simulating network round trips. Clients block in socket reads while waiting for the responses, as they would
+     * with a real server.
+     *
+     * @param millis
+     *            the delay in milliseconds; 0, the default, answers immediately
+     * @return this server
+     */
+    public FakeMysqlServer setResponseLatency(long millis) {
+        this.responseLatency = millis;
+        return this;
+    }
+
+    long getResponseLatency() {
+        return this.responseLatency;
+    }
+
+    /**
+     * Enables or disables keeping a list of the received queries. Enabled by default; should be disabled for long running benchmarks.
+     *
+     * @param recordQueries
+     *            whether to keep the received queries
+     * @return this server
+     */
+    public FakeMysqlServer setRecordQueries(boolean recordQueries) {
+        this.recordQueries = recordQueries;
+        return this;
+    }
+
+    void commandReceived(String sql) {
+        this.commandCount.increment();
+        if (sql != null && this.recordQueries) {
+            this.receivedQueries.add(sql);
+        }
+    }
+
+    void pipelinedCommandReceived() {
+        this.pipelinedCommandCount.increment();
+    }
+
+    /**
+     * Returns the queries and prepared statements received so far, in the order they were executed.
+     *
+     * @return a copy of the list of received queries
+     */
+    public List<String> getReceivedQueries() {
+        return new ArrayList<>(this.receivedQueries);
+    }
+
+    public void clearReceivedQueries() {
+        this.receivedQueries.clear();
+    }
+
+    /**
+     * Returns the number of commands received, by all connections, after the handshake.
+     *
+     * @return the number of commands
+     */
+    public long getCommandCount() {
+        return this.commandCount.sum();
+    }
+
+    /**
+     * Returns the number of commands received, by all connections, while the client had not yet read the whole response to the previous command, i.e., the
+     * number of commands that were pipelined.
+     *
+     * @return the number of pipelined commands
+     */
+    public long getPipelinedCommandCount() {
+        return this.pipelinedCommandCount.sum();
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.protocol.SocketConnection;
+import com.mysql.cj.protocol.SocketFactory;
+
+/**
+ * Configure "socketFactory" to use this class in your JDBC URL to connect to the {@link FakeMysqlServer} started with the host name used in the URL. No
+ * network connections are made, sockets are replaced by in-memory buffers.
+ */
+public class FakeMysqlServerSocketFactory implements SocketFactory {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends Closeable> T connect(String host, int portNumber, PropertySet props, int loginTimeout) throws IOException {
+        FakeMysqlServer server = FakeMysqlServer.getServer(host);
+        if (server == null) {
+            throw new ConnectException("No fake server running at '" + host + "'.");
+        }
+        return (T) new FakeSocket(server, server.openSession(), host, portNumber);
+    }
+
+    @Override
+    public <T extends Closeable> T performTlsHandshake(SocketConnection socketConnection, ServerSession serverSession) throws IOException {
+        throw new IOException("The fake server doesn't support TLS.");
+    }
+
+    /**
+     * A {@link Socket} backed by a {@link FakeMysqlSession}.
+     */
+    static class FakeSocket extends Socket {
+
+        private final FakeMysqlServer server;
+        private final FakeMysqlSession session;
+        private final SocketAddress remoteAddress;
+        private int soTimeout = 0;
+        private volatile boolean awaitingResponse = false;
+
+        private final InputStream inputStream = new InputStream() {
+
+            @Override
+            public int read() throws IOException {
+                byte[] b = new byte[1];
+                return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0) {
+                    return 0;
+                }
+                if (FakeSocket.this.awaitingResponse) {
+                    FakeSocket.this.awaitingResponse = false;
+                    long latency = FakeSocket.this.server.getResponseLatency();
+                    if (latency > 0) {
+                        try {
+                            Thread.sleep(latency);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new InterruptedIOException();
+                        }
+                    }
+                }
+                return FakeSocket.this.session.read(b, off, len);
+            }
+
+            @Override
+            public int available() throws IOException {
+                return FakeSocket.this.session.available();
+            }
+
+        };
+
+        private final OutputStream outputStream = new OutputStream() {
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (FakeSocket.this.session.isClosed()) {
+                    throw new SocketException("Socket is closed");
+                }
+                FakeSocket.this.awaitingResponse = true;
+                FakeSocket.this.session.write(b, off, len);
+            }
+
+        };
+
+        FakeSocket(FakeMysqlServer server, FakeMysqlSession session, String host, int port) {
+            this.server = server;
+            this.session = session;
+            this.remoteAddress = InetSocketAddress.createUnresolved(host, port);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return this.inputStream;
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            return this.outputStream;
+        }
+
+        @Override
+        public SocketAddress getRemoteSocketAddress() {
+            return this.remoteAddress;
+        }
+
+        @Override
+        public int getSoTimeout() {
+            return this.soTimeout;
+        }
+
+        @Override
+        public void setSoTimeout(int timeout) {
+            this.soTimeout = timeout;
+        }
+
+        @Override
+        public void setTcpNoDelay(boolean on) {
+        }
+
+        @Override
+        public void setKeepAlive(boolean on) {
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return this.session.isClosed();
+        }
+
+        @Override
+        public void shutdownInput() {
+        }
+
+        @Override
+        public void shutdownOutput() {
+        }
+
+        @Override
+        public void close() {
+            this.session.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.conf.PropertyKey;
+
+public class FakeMysqlServerTest {
+
+    private FakeMysqlServer server;
+
+    @BeforeEach
+    public void setUp() {
+        this.server = FakeMysqlServer.start("fakemysqlservertest");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    private FakeResultSet ordersResultSet() {
+        return new FakeResultSet("test", "orders").addColumn("id", MysqlType.INT).addColumn("customer", MysqlType.VARCHAR)
+                .addColumn("total", MysqlType.DECIMAL, 12, 2).addColumn("created", MysqlType.DATETIME, 26, 6).addColumn("ratio", MysqlType.DOUBLE)
+                .addRow(1, "Alice", "1234.50", "2024-01-15 10:30:00.123456", 0.125).addRow(2, null, "0.01", "2024-02-29 23:59:59", null);
+    }
+
+    private void assertOrders(ResultSet rs) throws SQLException {
+        assertTrue(rs.next());
+        assertEquals(1, rs.getInt("id"));
+        assertEquals("Alice", rs.getString("customer"));
+        assertEquals(new BigDecimal("1234.50"), rs.getBigDecimal("total"));
+        assertEquals(Timestamp.valueOf("2024-01-15 10:30:00.123456"), rs.getTimestamp("created"));
+        assertEquals(0.125, rs.getDouble("ratio"));
+        assertTrue(rs.next());
+        assertEquals(2, rs.getInt(1));
+        assertNull(rs.getString(2));
+        assertEquals(Timestamp.valueOf("2024-02-29 23:59:59"), rs.getTimestamp(4));
+        assertNull(rs.getObject(5));
+        assertFalse(rs.next());
+    }
+
+    /**
+     * Tests scripted responses to plain queries, through the 'caching_sha2_password' fast authentication path.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testQueries() throws Exception {
+        this.server.addUser("fakeuser", "fakepwd");
+        this.server.addResponse("SELECT * FROM orders", ordersResultSet());
+        this.server.addResponse("UPDATE orders SET total = 0", FakeResponse.ok(2, 0));
+        this.server.addResponse("DELETE FROM missing", FakeResponse.error(1146, "42S02", "Table 'test.missing' doesn't exist"));
+
+        try (Connection conn = DriverManager.getConnection(this.server.getUrl("test"), "fakeuser", "fakepwd"); Statement stmt = conn.createStatement()) {
+            assertEquals("test", conn.getCatalog());
+            assertOrders(stmt.executeQuery("SELECT * FROM orders"));
+            assertEquals(2, stmt.executeUpdate("UPDATE orders SET total = 0"));
+            SQLException ex = assertThrows(SQLException.class, () -> stmt.executeUpdate("DELETE FROM missing"));
+            assertEquals(1146, ex.getErrorCode());
+            assertEquals("42S02", ex.getSQLState());
+            assertThrows(SQLException.class, () -> stmt.executeQuery("SELECT * FROM unscripted"));
+
+            conn.setAutoCommit(false);
+            stmt.executeUpdate("UPDATE orders SET total = 0");
+            conn.commit();
+            conn.setAutoCommit(true);
+            assertTrue(conn.isValid(5));
+        }
+
+        List<String> queries = this.server.getReceivedQueries();
+        assertTrue(queries.contains("SELECT * FROM orders"));
+        assertTrue(queries.contains("DELETE FROM missing"));
+        assertTrue(queries.indexOf("SELECT * FROM unscripted") < queries.lastIndexOf("UPDATE orders SET total = 0"));
+    }
+
+    /**
+     * Tests 'mysql_native_password' authentication and rejection of wrong credentials.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testAuthentication() throws Exception {
+        this.server.setAuthenticationPlugin(FakeMysqlServer.NATIVE_PASSWORD_PLUGIN).addUser("fakeuser", "fakepwd");
+
+        try (Connection conn = DriverManager.getConnection(this.server.getUrl("test"), "fakeuser", "fakepwd")) {
+            assertTrue(conn.isValid(5));
+        }
+        SQLException ex = assertThrows(SQLException.class, () -> DriverManager.getConnection(this.server.getUrl("test"), "fakeuser", "wrong"));
+        assertEquals(1045, ex.getErrorCode());
+        ex = assertThrows(SQLException.class, () -> DriverManager.getConnection(this.server.getUrl("test"), "nobody", "fakepwd"));
+        assertEquals(1045, ex.getErrorCode());
+
+        // The server asks the client to switch to its own authentication plugin.
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.USER.getKeyName(), "fakeuser");
+        props.setProperty(PropertyKey.PASSWORD.getKeyName(), "fakepwd");
+        props.setProperty(PropertyKey.defaultAuthenticationPlugin.getKeyName(), "caching_sha2_password");
+        this.server.setAuthenticationPlugin(FakeMysqlServer.CACHING_SHA2_PASSWORD_PLUGIN);
+        try (Connection conn = DriverManager.getConnection(this.server.getUrl("test"), props)) {
+            assertTrue(conn.isValid(5));
+        }
+    }
+
+    /**
+     * Tests client and server prepared statements, with parameters passed to the query handler.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPreparedStatements() throws Exception {
+        FakeResultSet orders = ordersResultSet();
+        List<List<Object>> parameters = new ArrayList<>();
+        this.server.addResponse("SELECT * FROM orders WHERE id > ?", orders); // Server-side prepared statement.
+        this.server.addResponse("SELECT * FROM orders WHERE id > 0", orders); // Client-side prepared statement.
+        this.server.setQueryHandler((sql, params) -> {
+            if (sql.startsWith("INSERT INTO orders")) {
+                parameters.add(params);
+                return FakeResponse.ok(1, 10 + parameters.size());
+            }
+            return null;
+        });
+
+        for (boolean useSPS : new boolean[] { false, true }) {
+            parameters.clear();
+            try (Connection conn = DriverManager.getConnection(this.server.getUrl("test") + "&useServerPrepStmts=" + useSPS)) {
+                try (PreparedStatement ps = conn.prepareStatement("SELECT * FROM orders WHERE id > ?")) {
+                    ps.setInt(1, 0);
+                    assertOrders(ps.executeQuery());
+                    assertOrders(ps.executeQuery());
+                }
+                try (PreparedStatement ps = conn.prepareStatement("INSERT INTO orders (id, customer, created, picture) VALUES (?, ?, ?, ?)",
+                        Statement.RETURN_GENERATED_KEYS)) {
+                    ps.setLong(1, 3);
+                    ps.setString(2, "Carol");
+                    ps.setTimestamp(3, Timestamp.valueOf("2024-03-01 08:00:00"));
+                    ps.setBinaryStream(4, new ByteArrayInputStream(new byte[] { 1, 2, 3 }));
+                    assertEquals(1, ps.executeUpdate());
+                    ResultSet keys = ps.getGeneratedKeys();
+                    assertTrue(keys.next());
+                    assertEquals(11, keys.getLong(1));
+                }
+            }
+            assertEquals(1, parameters.size());
+            if (useSPS) {
+                List<Object> params = parameters.get(0);
+                assertEquals(3L, params.get(0));
+                assertEquals("Carol", params.get(1));
+                assertEquals("2024-03-01 08:00:00", params.get(2));
+                assertArrayEquals(new byte[] { 1, 2, 3 }, (byte[]) params.get(3));
+            }
+        }
+    }
+
+    /**
+     * Tests recording a result set and replaying it.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRecordedResultSet() throws Exception {
+        this.server.addResponse("SELECT * FROM orders", ordersResultSet());
+        try (Connection conn = DriverManager.getConnection(this.server.getUrl("test"))) {
+            FakeResultSet recorded = FakeResultSet.copyOf(conn.createStatement().executeQuery("SELECT * FROM orders"));
+            assertEquals(5, recorded.getColumnCount());
+            assertEquals(2, recorded.getRowCount());
+            this.server.addResponse("SELECT * FROM recorded_orders", recorded);
+            assertOrders(conn.createStatement().executeQuery("SELECT * FROM recorded_orders"));
+        }
+    }
+
+}
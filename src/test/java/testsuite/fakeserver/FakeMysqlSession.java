@@ -0,0 +1,849 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.ServerPreparedQuery;
+import com.mysql.cj.protocol.Security;
+import com.mysql.cj.protocol.a.NativeConstants;
+import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+import com.mysql.cj.protocol.a.NativeServerSession;
+
+/**
+ * The server side of one connection to a {@link FakeMysqlServer}. Bytes written by the client are parsed into packets and answered synchronously, so the
+ * responses are already buffered when the client reads them.
+ */
+class FakeMysqlSession {
+
+    private static final int MAX_PACKET_SIZE = 0xffffff;
+    private static final int CLIENT_PROTOCOL_41 = 0x00000200;
+    private static final int SERVER_CAPABILITIES = NativeServerSession.CLIENT_LONG_PASSWORD | NativeServerSession.CLIENT_FOUND_ROWS
+            | NativeServerSession.CLIENT_LONG_FLAG | NativeServerSession.CLIENT_CONNECT_WITH_DB | CLIENT_PROTOCOL_41 | NativeServerSession.CLIENT_TRANSACTIONS
+            | NativeServerSession.CLIENT_SECURE_CONNECTION | NativeServerSession.CLIENT_MULTI_STATEMENTS | NativeServerSession.CLIENT_MULTI_RESULTS
+            | NativeServerSession.CLIENT_PS_MULTI_RESULTS | NativeServerSession.CLIENT_PLUGIN_AUTH | NativeServerSession.CLIENT_CONNECT_ATTRS
+            | NativeServerSession.CLIENT_PLUGIN_AUTH_LENENC_CLIENT_DATA | NativeServerSession.CLIENT_DEPRECATE_EOF;
+
+    private static final int ER_UNKNOWN_ERROR = 1105;
+    private static final int ER_ACCESS_DENIED_ERROR = 1045;
+    private static final int ER_UNKNOWN_COM_ERROR = 1047;
+    private static final int ER_UNKNOWN_STMT_HANDLER = 1243;
+    private static final int ER_STMT_HAS_NO_OPEN_CURSOR = 1421;
+
+    private static final Pattern LEADING_COMMENTS = Pattern.compile("^(\\s*(/\\*.*?\\*/|(--\\s|#)[^\\n]*\\n?))*\\s*", Pattern.DOTALL);
+    private static final Pattern AUTOCOMMIT = Pattern.compile("SET\\s+(@@(SESSION\\.)?|SESSION\\s+)?AUTOCOMMIT\\s*=\\s*(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SHOW_VARIABLES = Pattern.compile("SHOW\\s+(SESSION\\s+|GLOBAL\\s+)?VARIABLES(\\s+LIKE\\s+'([^']*)')?",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern SELECT_ITEM_ALIAS = Pattern.compile("(.*?)\\s+AS\\s+`?(\\w+)`?", Pattern.CASE_INSENSITIVE);
+
+    private enum State {
+        HANDSHAKE, AUTH_SWITCH, COMMAND, CLOSED;
+    }
+
+    private final FakeMysqlServer server;
+    private final long connectionId;
+    private final byte[] seed = new byte[20];
+    private final Lock lock = new ReentrantLock();
+
+    private State state = State.HANDSHAKE;
+    private int clientCapabilities = 0;
+    private boolean deprecateEof = false;
+    private String user = null;
+    private String database = null;
+    private boolean autoCommit = true;
+    private boolean inTransaction = false;
+
+    private byte[] request = new byte[16384];
+    private int requestLength = 0;
+    private ByteArrayOutputStream splitPayload = null;
+    private byte[] response = new byte[16384];
+    private int responseStart = 0;
+    private int responseEnd = 0;
+    private byte sequence = 0;
+
+    private List<Object[]> warnings = Collections.emptyList();
+
+    private int lastStatementId = 0;
+    private final Map<Integer, PreparedStatement> preparedStatements = new HashMap<>();
+
+    private static class PreparedStatement {
+
+        final String sql;
+        final int parameterCount;
+        int[] parameterTypes;
+        final Map<Integer, ByteArrayOutputStream> longData = new HashMap<>();
+        byte[][] cursorRows = null;
+        int cursorPosition = 0;
+
+        PreparedStatement(String sql, int parameterCount) {
+            this.sql = sql;
+            this.parameterCount = parameterCount;
+            this.parameterTypes = new int[parameterCount];
+        }
+
+    }
+
+    FakeMysqlSession(FakeMysqlServer server, long connectionId) {
+        this.server = server;
+        this.connectionId = connectionId;
+        Random random = new Random(connectionId);
+        for (int i = 0; i < this.seed.length; i++) {
+            this.seed[i] = (byte) (0x21 + random.nextInt(0x7f - 0x21));
+        }
+        writeGreeting();
+    }
+
+    /**
+     * Strips leading comments and trailing semicolons and white space from a query.
+     *
+     * @param sql
+     *            the query
+     * @return the normalized query
+     */
+    static String normalizeQuery(String sql) {
+        String normalized = LEADING_COMMENTS.matcher(sql).replaceFirst("");
+        int end = normalized.length();
+        while (end > 0 && (normalized.charAt(end - 1) == ';' || Character.isWhitespace(normalized.charAt(end - 1)))) {
+            end--;
+        }
+        return normalized.substring(0, end);
+    }
+
+    static byte[] toByteArray(NativePacketPayload payload) {
+        return Arrays.copyOf(payload.getByteBuffer(), payload.getPosition());
+    }
+
+    // Client side stream operations.
+
+    int read(byte[] b, int off, int len) {
+        this.lock.lock();
+        try {
+            if (this.responseStart == this.responseEnd) {
+                return -1;
+            }
+            int count = Math.min(len, this.responseEnd - this.responseStart);
+            System.arraycopy(this.response, this.responseStart, b, off, count);
+            this.responseStart += count;
+            if (this.responseStart == this.responseEnd) {
+                this.responseStart = this.responseEnd = 0;
+            }
+            return count;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    int available() {
+        this.lock.lock();
+        try {
+            return this.responseEnd - this.responseStart;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    void write(byte[] b, int off, int len) {
+        this.lock.lock();
+        try {
+            if (this.state == State.CLOSED) {
+                return;
+            }
+            if (this.requestLength + len > this.request.length) {
+                this.request = Arrays.copyOf(this.request, Math.max(this.request.length * 2, this.requestLength + len));
+            }
+            System.arraycopy(b, off, this.request, this.requestLength, len);
+            this.requestLength += len;
+            processRequests();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    void close() {
+        this.lock.lock();
+        try {
+            this.state = State.CLOSED;
+            this.responseStart = this.responseEnd = 0;
+            this.preparedStatements.clear();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    boolean isClosed() {
+        return this.state == State.CLOSED;
+    }
+
+    // Packets framing.
+
+    private void processRequests() {
+        int position = 0;
+        while (this.state != State.CLOSED && this.requestLength - position >= 4) {
+            int length = (this.request[position] & 0xff) | (this.request[position + 1] & 0xff) << 8 | (this.request[position + 2] & 0xff) << 16;
+            if (this.requestLength - position < 4 + length) {
+                break;
+            }
+            this.sequence = (byte) (this.request[position + 3] + 1);
+            byte[] payload = Arrays.copyOfRange(this.request, position + 4, position + 4 + length);
+            position += 4 + length;
+
+            if (length == MAX_PACKET_SIZE || this.splitPayload != null) {
+                if (this.splitPayload == null) {
+                    this.splitPayload = new ByteArrayOutputStream();
+                }
+                this.splitPayload.write(payload, 0, length);
+                if (length == MAX_PACKET_SIZE) {
+                    continue;
+                }
+                payload = this.splitPayload.toByteArray();
+                this.splitPayload = null;
+            }
+
+            NativePacketPayload packet = new NativePacketPayload(payload);
+            switch (this.state) {
+                case HANDSHAKE:
+                    handleHandshakeResponse(packet);
+                    break;
+                case AUTH_SWITCH:
+                    authenticate(payload);
+                    break;
+                default:
+                    handleCommand(packet);
+            }
+        }
+        System.arraycopy(this.request, position, this.request, 0, this.requestLength - position);
+        this.requestLength -= position;
+    }
+
+    private void writePacket(byte[] payload, int length) {
+        int offset = 0;
+        do {
+            int chunk = Math.min(MAX_PACKET_SIZE, length - offset);
+            if (this.responseEnd + 4 + chunk > this.response.length) {
+                this.response = Arrays.copyOf(this.response, Math.max(this.response.length * 2, this.responseEnd + 4 + chunk));
+            }
+            this.response[this.responseEnd++] = (byte) chunk;
+            this.response[this.responseEnd++] = (byte) (chunk >>> 8);
+            this.response[this.responseEnd++] = (byte) (chunk >>> 16);
+            this.response[this.responseEnd++] = this.sequence++;
+            System.arraycopy(payload, offset, this.response, this.responseEnd, chunk);
+            this.responseEnd += chunk;
+            offset += chunk;
+            if (chunk == MAX_PACKET_SIZE && offset == length) {
+                // Payloads that are exact multiples of the maximum size end with an empty packet.
+                writePacket(payload, 0);
+            }
+        } while (offset < length);
+    }
+
+    private void writePacket(NativePacketPayload payload) {
+        writePacket(payload.getByteBuffer(), payload.getPosition());
+    }
+
+    private int getStatusFlags() {
+        return (this.autoCommit ? NativeServerSession.SERVER_STATUS_AUTOCOMMIT : 0) | (this.inTransaction ? NativeServerSession.SERVER_STATUS_IN_TRANS : 0);
+    }
+
+    void writeOk(long affectedRows, long lastInsertId) {
+        NativePacketPayload packet = new NativePacketPayload(16);
+        packet.writeInteger(IntegerDataType.INT1, 0);
+        packet.writeInteger(IntegerDataType.INT_LENENC, affectedRows);
+        packet.writeInteger(IntegerDataType.INT_LENENC, lastInsertId);
+        packet.writeInteger(IntegerDataType.INT2, getStatusFlags());
+        packet.writeInteger(IntegerDataType.INT2, this.warnings.size());
+        writePacket(packet);
+    }
+
+    private void writeEof() {
+        writeEof(0);
+    }
+
+    private void writeEof(int extraStatusFlags) {
+        NativePacketPayload packet = new NativePacketPayload(5);
+        packet.writeInteger(IntegerDataType.INT1, 0xfe);
+        packet.writeInteger(IntegerDataType.INT2, this.warnings.size());
+        packet.writeInteger(IntegerDataType.INT2, getStatusFlags() | extraStatusFlags);
+        writePacket(packet);
+    }
+
+    private void writeResultSetEnd() {
+        writeResultSetEnd(0);
+    }
+
+    private void writeResultSetEnd(int extraStatusFlags) {
+        if (this.deprecateEof) {
+            NativePacketPayload packet = new NativePacketPayload(7);
+            packet.writeInteger(IntegerDataType.INT1, 0xfe);
+            packet.writeInteger(IntegerDataType.INT_LENENC, 0);
+            packet.writeInteger(IntegerDataType.INT_LENENC, 0);
+            packet.writeInteger(IntegerDataType.INT2, getStatusFlags() | extraStatusFlags);
+            packet.writeInteger(IntegerDataType.INT2, this.warnings.size());
+            writePacket(packet);
+        } else {
+            writeEof(extraStatusFlags);
+        }
+    }
+
+    void writeError(int errorCode, String sqlState, String message) {
+        NativePacketPayload packet = new NativePacketPayload(64);
+        packet.writeInteger(IntegerDataType.INT1, 0xff);
+        packet.writeInteger(IntegerDataType.INT2, errorCode);
+        packet.writeBytes(StringLengthDataType.STRING_FIXED, ("#" + sqlState).getBytes(StandardCharsets.US_ASCII));
+        packet.writeBytes(StringLengthDataType.STRING_FIXED, message.getBytes(StandardCharsets.UTF_8));
+        writePacket(packet);
+    }
+
+    void setWarnings(List<Object[]> warnings) {
+        this.warnings = warnings;
+    }
+
+    void writeResultSet(byte[][] columnDefinitions, byte[][] rows, FakeResponse trailingError) {
+        NativePacketPayload packet = new NativePacketPayload(9);
+        packet.writeInteger(IntegerDataType.INT_LENENC, columnDefinitions.length);
+        writePacket(packet);
+        for (byte[] def : columnDefinitions) {
+            writePacket(def, def.length);
+        }
+        if (!this.deprecateEof) {
+            writeEof();
+        }
+        for (byte[] row : rows) {
+            writePacket(row, row.length);
+        }
+        if (trailingError != null) {
+            trailingError.writeTo(this, false);
+        } else {
+            writeResultSetEnd();
+        }
+    }
+
+    // Connection phase.
+
+    private void writeGreeting() {
+        this.sequence = 0;
+        NativePacketPayload packet = new NativePacketPayload(128);
+        packet.writeInteger(IntegerDataType.INT1, 10);
+        packet.writeBytes(StringSelfDataType.STRING_TERM, this.server.getServerVersion().getBytes(StandardCharsets.US_ASCII));
+        packet.writeInteger(IntegerDataType.INT4, this.connectionId);
+        packet.writeBytes(StringLengthDataType.STRING_FIXED, Arrays.copyOf(this.seed, 8));
+        packet.writeInteger(IntegerDataType.INT1, 0);
+        packet.writeInteger(IntegerDataType.INT2, SERVER_CAPABILITIES & 0xffff);
+        packet.writeInteger(IntegerDataType.INT1, 255); // utf8mb4_0900_ai_ci
+        packet.writeInteger(IntegerDataType.INT2, getStatusFlags());
+        packet.writeInteger(IntegerDataType.INT2, SERVER_CAPABILITIES >>> 16);
+        packet.writeInteger(IntegerDataType.INT1, this.seed.length + 1);
+        packet.writeBytes(StringLengthDataType.STRING_FIXED, new byte[10]);
+        packet.writeBytes(StringSelfDataType.STRING_TERM, Arrays.copyOfRange(this.seed, 8, this.seed.length));
+        packet.writeBytes(StringSelfDataType.STRING_TERM, this.server.getAuthenticationPlugin().getBytes(StandardCharsets.US_ASCII));
+        writePacket(packet);
+    }
+
+    private void handleHandshakeResponse(NativePacketPayload packet) {
+        this.clientCapabilities = (int) packet.readInteger(IntegerDataType.INT4) & SERVER_CAPABILITIES;
+        this.deprecateEof = (this.clientCapabilities & NativeServerSession.CLIENT_DEPRECATE_EOF) != 0;
+        packet.readInteger(IntegerDataType.INT4); // max packet size
+        packet.readInteger(IntegerDataType.INT1); // collation
+        packet.setPosition(packet.getPosition() + 23);
+        this.user = packet.readString(StringSelfDataType.STRING_TERM, "UTF-8");
+        byte[] authResponse;
+        if ((this.clientCapabilities & NativeServerSession.CLIENT_PLUGIN_AUTH_LENENC_CLIENT_DATA) != 0) {
+            authResponse = packet.readBytes(StringSelfDataType.STRING_LENENC);
+        } else {
+            authResponse = packet.readBytes(StringLengthDataType.STRING_FIXED, (int) packet.readInteger(IntegerDataType.INT1));
+        }
+        if ((this.clientCapabilities & NativeServerSession.CLIENT_CONNECT_WITH_DB) != 0) {
+            this.database = packet.readString(StringSelfDataType.STRING_TERM, "UTF-8");
+        }
+        String plugin = (this.clientCapabilities & NativeServerSession.CLIENT_PLUGIN_AUTH) != 0 ? packet.readString(StringSelfDataType.STRING_TERM, "ASCII")
+                : FakeMysqlServer.NATIVE_PASSWORD_PLUGIN;
+
+        if (this.server.getAuthenticationPlugin().equals(plugin)) {
+            authenticate(authResponse);
+        } else {
+            // Ask the client to use this server's authentication plugin.
+            NativePacketPayload authSwitch = new NativePacketPayload(64);
+            authSwitch.writeInteger(IntegerDataType.INT1, 0xfe);
+            authSwitch.writeBytes(StringSelfDataType.STRING_TERM, this.server.getAuthenticationPlugin().getBytes(StandardCharsets.US_ASCII));
+            authSwitch.writeBytes(StringSelfDataType.STRING_TERM, this.seed);
+            writePacket(authSwitch);
+            this.state = State.AUTH_SWITCH;
+        }
+    }
+
+    private void authenticate(byte[] authResponse) {
+        boolean cachingSha2 = FakeMysqlServer.CACHING_SHA2_PASSWORD_PLUGIN.equals(this.server.getAuthenticationPlugin());
+        if (this.server.isAuthenticationRequired()) {
+            String password = this.server.getPassword(this.user);
+            if (password == null || !Arrays.equals(authResponse, scramble(password, cachingSha2))) {
+                writeError(ER_ACCESS_DENIED_ERROR, "28000", "Access denied for user '" + this.user + "'@'localhost' (using password: "
+                        + (authResponse.length > 0 ? "YES" : "NO") + ")");
+                this.state = State.CLOSED;
+                return;
+            }
+        }
+        if (cachingSha2 && authResponse.length > 0) {
+            // AuthMoreData: fast_auth_success.
+            writePacket(new byte[] { 0x01, 0x03 }, 2);
+        }
+        writeOk(0, 0);
+        this.state = State.COMMAND;
+    }
+
+    private byte[] scramble(String password, boolean cachingSha2) {
+        if (password.isEmpty()) {
+            return new byte[0];
+        }
+        byte[] passwordBytes = password.getBytes(StandardCharsets.UTF_8);
+        if (!cachingSha2) {
+            return Security.scramble411(passwordBytes, this.seed);
+        }
+        try {
+            return Security.scrambleCachingSha2(passwordBytes, this.seed);
+        } catch (DigestException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // Command phase.
+
+    private void handleCommand(NativePacketPayload packet) {
+        if (this.responseEnd > this.responseStart) {
+            this.server.pipelinedCommandReceived();
+        }
+        int command = (int) packet.readInteger(IntegerDataType.INT1);
+        switch (command) {
+            case NativeConstants.COM_QUIT:
+                this.server.commandReceived(null);
+                close();
+                break;
+            case NativeConstants.COM_INIT_DB:
+                this.server.commandReceived(null);
+                this.database = packet.readString(StringSelfDataType.STRING_EOF, "UTF-8");
+                writeOk(0, 0);
+                break;
+            case NativeConstants.COM_QUERY:
+                handleQuery(packet.readString(StringSelfDataType.STRING_EOF, "UTF-8"));
+                break;
+            case NativeConstants.COM_PING:
+            case NativeConstants.COM_RESET_CONNECTION:
+                this.server.commandReceived(null);
+                if (command == NativeConstants.COM_RESET_CONNECTION) {
+                    this.preparedStatements.clear();
+                    this.inTransaction = false;
+                    this.autoCommit = true;
+                }
+                writeOk(0, 0);
+                break;
+            case NativeConstants.COM_SET_OPTION:
+                this.server.commandReceived(null);
+                writeEof();
+                break;
+            case NativeConstants.COM_STMT_PREPARE:
+                handlePrepare(packet.readString(StringSelfDataType.STRING_EOF, "UTF-8"));
+                break;
+            case NativeConstants.COM_STMT_EXECUTE:
+                handleExecute(packet);
+                break;
+            case NativeConstants.COM_STMT_SEND_LONG_DATA:
+                handleSendLongData(packet);
+                break;
+            case NativeConstants.COM_STMT_FETCH:
+                handleFetch(packet);
+                break;
+            case NativeConstants.COM_STMT_RESET:
+                this.server.commandReceived(null);
+                PreparedStatement ps = this.preparedStatements.get((int) packet.readInteger(IntegerDataType.INT4));
+                if (ps == null) {
+                    writeError(ER_UNKNOWN_STMT_HANDLER, "HY000", "Unknown prepared statement handler given to mysqld_stmt_reset");
+                } else {
+                    ps.longData.clear();
+                    ps.cursorRows = null;
+                    writeOk(0, 0);
+                }
+                break;
+            case NativeConstants.COM_STMT_CLOSE:
+                this.server.commandReceived(null);
+                this.preparedStatements.remove((int) packet.readInteger(IntegerDataType.INT4));
+                break;
+            default:
+                this.server.commandReceived(null);
+                writeError(ER_UNKNOWN_COM_ERROR, "08S01", "Unknown command");
+        }
+    }
+
+    private FakeResponse findResponse(String sql, List<Object> parameters) {
+        FakeResponse scripted = this.server.getResponse(sql);
+        if (scripted != null) {
+            return scripted;
+        }
+        FakeMysqlServer.QueryHandler handler = this.server.getQueryHandler();
+        return handler == null ? null : handler.handle(sql, parameters);
+    }
+
+    private void handleQuery(String query) {
+        this.server.commandReceived(query);
+        String sql = normalizeQuery(query);
+        if (!sql.equalsIgnoreCase("SHOW WARNINGS")) {
+            this.warnings = Collections.emptyList();
+        }
+        FakeResponse response = findResponse(sql, Collections.emptyList());
+        if (response == null) {
+            response = getDefaultResponse(sql);
+        }
+        if (response == null) {
+            writeError(ER_UNKNOWN_ERROR, "HY000", "No scripted response for query: " + sql);
+        } else {
+            response.writeTo(this, false);
+        }
+    }
+
+    private FakeResponse getDefaultResponse(String sql) {
+        String upperSql = sql.toUpperCase(Locale.ROOT);
+        Matcher matcher;
+        if (upperSql.startsWith("SELECT") && upperSql.contains("@@") && !upperSql.contains(" FROM ")) {
+            return selectVariables(sql.substring("SELECT".length()));
+
+        } else if ((matcher = AUTOCOMMIT.matcher(sql)).matches()) {
+            String value = matcher.group(3).toUpperCase(Locale.ROOT);
+            this.autoCommit = value.equals("1") || value.equals("ON") || value.equals("TRUE");
+            if (this.autoCommit) {
+                this.inTransaction = false;
+            }
+            return FakeResponse.ok(0, 0);
+
+        } else if (upperSql.startsWith("SET ") || upperSql.startsWith("USE ")) {
+            return FakeResponse.ok(0, 0);
+
+        } else if (upperSql.startsWith("START TRANSACTION") || upperSql.equals("BEGIN")) {
+            this.inTransaction = true;
+            return FakeResponse.ok(0, 0);
+
+        } else if (upperSql.startsWith("COMMIT") || upperSql.startsWith("ROLLBACK")) {
+            this.inTransaction = false;
+            return FakeResponse.ok(0, 0);
+
+        } else if ((matcher = SHOW_VARIABLES.matcher(sql)).matches()) {
+            Pattern like = matcher.group(3) == null ? null
+                    : Pattern.compile(Pattern.quote(matcher.group(3)).replace("%", "\\E.*\\Q").replace("_", "\\E.\\Q"), Pattern.CASE_INSENSITIVE);
+            FakeResultSet rs = new FakeResultSet().addColumn("Variable_name", MysqlType.VARCHAR).addColumn("Value", MysqlType.VARCHAR);
+            for (Map.Entry<String, String> variable : new TreeMap<>(this.server.getVariables()).entrySet()) {
+                if (like == null || like.matcher(variable.getKey()).matches()) {
+                    rs.addRow(variable.getKey(), variable.getValue());
+                }
+            }
+            return rs;
+
+        } else if (upperSql.equals("SHOW WARNINGS")) {
+            FakeResultSet rs = new FakeResultSet().addColumn("Level", MysqlType.VARCHAR).addColumn("Code", MysqlType.INT_UNSIGNED).addColumn("Message",
+                    MysqlType.VARCHAR);
+            for (Object[] warning : this.warnings) {
+                rs.addRow(warning);
+            }
+            return rs;
+        }
+        return null;
+    }
+
+    private FakeResponse selectVariables(String selectList) {
+        FakeResultSet rs = new FakeResultSet();
+        List<Object> values = new ArrayList<>();
+        for (String item : selectList.split(",")) {
+            item = item.trim();
+            String label = item;
+            Matcher matcher = SELECT_ITEM_ALIAS.matcher(item);
+            if (matcher.matches()) {
+                item = matcher.group(1).trim();
+                label = matcher.group(2);
+            }
+            if (!item.startsWith("@@")) {
+                return null;
+            }
+            String name = item.substring(2).toLowerCase(Locale.ROOT);
+            if (name.startsWith("session.") || name.startsWith("global.") || name.startsWith("local.")) {
+                name = name.substring(name.indexOf('.') + 1);
+            }
+            rs.addColumn(label, MysqlType.VARCHAR);
+            values.add(name.equals("autocommit") ? this.autoCommit ? "1" : "0" : this.server.getVariables().get(name));
+        }
+        return rs.addRow(values.toArray());
+    }
+
+    // Prepared statements.
+
+    private void handlePrepare(String query) {
+        this.server.commandReceived(null);
+        String sql = normalizeQuery(query);
+        PreparedStatement ps = new PreparedStatement(sql, countParameters(sql));
+        int statementId = ++this.lastStatementId;
+        this.preparedStatements.put(statementId, ps);
+
+        FakeResponse scripted = this.server.getResponse(sql);
+        byte[][] columnDefinitions = scripted instanceof FakeResultSet ? ((FakeResultSet) scripted).getColumnDefinitions() : new byte[0][];
+
+        NativePacketPayload packet = new NativePacketPayload(12);
+        packet.writeInteger(IntegerDataType.INT1, 0);
+        packet.writeInteger(IntegerDataType.INT4, statementId);
+        packet.writeInteger(IntegerDataType.INT2, columnDefinitions.length);
+        packet.writeInteger(IntegerDataType.INT2, ps.parameterCount);
+        packet.writeInteger(IntegerDataType.INT1, 0);
+        packet.writeInteger(IntegerDataType.INT2, 0);
+        writePacket(packet);
+        if (ps.parameterCount > 0) {
+            byte[] parameterDefinition = new FakeResultSet().addColumn("?", MysqlType.VARCHAR).getColumnDefinitions()[0];
+            for (int i = 0; i < ps.parameterCount; i++) {
+                writePacket(parameterDefinition, parameterDefinition.length);
+            }
+            if (!this.deprecateEof) {
+                writeEof();
+            }
+        }
+        if (columnDefinitions.length > 0) {
+            for (byte[] def : columnDefinitions) {
+                writePacket(def, def.length);
+            }
+            if (!this.deprecateEof) {
+                writeEof();
+            }
+        }
+    }
+
+    private static int countParameters(String sql) {
+        int count = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void handleSendLongData(NativePacketPayload packet) {
+        this.server.commandReceived(null);
+        PreparedStatement ps = this.preparedStatements.get((int) packet.readInteger(IntegerDataType.INT4));
+        int parameterIndex = (int) packet.readInteger(IntegerDataType.INT2);
+        if (ps != null) {
+            byte[] data = packet.readBytes(StringSelfDataType.STRING_EOF);
+            ps.longData.computeIfAbsent(parameterIndex, i -> new ByteArrayOutputStream()).write(data, 0, data.length);
+        }
+        // No response is sent for COM_STMT_SEND_LONG_DATA.
+    }
+
+    private void handleExecute(NativePacketPayload packet) {
+        int statementId = (int) packet.readInteger(IntegerDataType.INT4);
+        PreparedStatement ps = this.preparedStatements.get(statementId);
+        if (ps == null) {
+            this.server.commandReceived(null);
+            writeError(ER_UNKNOWN_STMT_HANDLER, "HY000", "Unknown prepared statement handler (" + statementId + ") given to mysqld_stmt_execute");
+            return;
+        }
+        this.server.commandReceived(ps.sql);
+        this.warnings = Collections.emptyList();
+        int flags = (int) packet.readInteger(IntegerDataType.INT1);
+        packet.readInteger(IntegerDataType.INT4); // iteration count
+
+        List<Object> parameters = new ArrayList<>(ps.parameterCount);
+        if (ps.parameterCount > 0) {
+            byte[] nullBitmap = packet.readBytes(StringLengthDataType.STRING_FIXED, (ps.parameterCount + 7) / 8);
+            if (packet.readInteger(IntegerDataType.INT1) == 1) {
+                for (int i = 0; i < ps.parameterCount; i++) {
+                    ps.parameterTypes[i] = (int) packet.readInteger(IntegerDataType.INT2);
+                }
+            }
+            for (int i = 0; i < ps.parameterCount; i++) {
+                ByteArrayOutputStream longData = ps.longData.get(i);
+                if ((nullBitmap[i / 8] & 1 << i % 8) != 0) {
+                    parameters.add(null);
+                } else if (longData != null) {
+                    parameters.add(isBinaryType(ps.parameterTypes[i]) ? longData.toByteArray() : new String(longData.toByteArray(), StandardCharsets.UTF_8));
+                } else {
+                    parameters.add(readBinaryValue(packet, ps.parameterTypes[i]));
+                }
+            }
+            ps.longData.clear();
+        }
+
+        FakeResponse response = findResponse(ps.sql, Collections.unmodifiableList(parameters));
+        ps.cursorRows = null;
+        if (response == null) {
+            writeError(ER_UNKNOWN_ERROR, "HY000", "No scripted response for prepared statement: " + ps.sql);
+        } else if ((flags & ServerPreparedQuery.OPEN_CURSOR_FLAG) != 0 && response instanceof FakeResultSet) {
+            // Open a read-only cursor: send the metadata only, rows are sent by COM_STMT_FETCH.
+            FakeResultSet rs = (FakeResultSet) response;
+            byte[][] columnDefinitions = rs.getColumnDefinitions();
+            NativePacketPayload columnCount = new NativePacketPayload(9);
+            columnCount.writeInteger(IntegerDataType.INT_LENENC, columnDefinitions.length);
+            writePacket(columnCount);
+            for (byte[] def : columnDefinitions) {
+                writePacket(def, def.length);
+            }
+            writeResultSetEnd(NativeServerSession.SERVER_STATUS_CURSOR_EXISTS);
+            ps.cursorRows = rs.getBinaryRows();
+            ps.cursorPosition = 0;
+        } else {
+            response.writeTo(this, true);
+        }
+    }
+
+    private void handleFetch(NativePacketPayload packet) {
+        int statementId = (int) packet.readInteger(IntegerDataType.INT4);
+        long numRows = packet.readInteger(IntegerDataType.INT4);
+        PreparedStatement ps = this.preparedStatements.get(statementId);
+        this.server.commandReceived(null);
+        if (ps == null) {
+            writeError(ER_UNKNOWN_STMT_HANDLER, "HY000", "Unknown prepared statement handler (" + statementId + ") given to mysqld_stmt_fetch");
+            return;
+        }
+        if (ps.cursorRows == null) {
+            writeError(ER_STMT_HAS_NO_OPEN_CURSOR, "HY000", "The statement (" + statementId + ") has no open cursor.");
+            return;
+        }
+        int end = (int) Math.min(ps.cursorRows.length, ps.cursorPosition + numRows);
+        for (; ps.cursorPosition < end; ps.cursorPosition++) {
+            byte[] row = ps.cursorRows[ps.cursorPosition];
+            writePacket(row, row.length);
+        }
+        int statusFlags = NativeServerSession.SERVER_STATUS_CURSOR_EXISTS;
+        if (ps.cursorPosition == ps.cursorRows.length) {
+            statusFlags |= NativeServerSession.SERVER_STATUS_LAST_ROW_SENT;
+            ps.cursorRows = null;
+        }
+        writeResultSetEnd(statusFlags);
+    }
+
+    private static boolean isBinaryType(int type) {
+        switch (type & 0xff) {
+            case MysqlType.FIELD_TYPE_TINY_BLOB:
+            case MysqlType.FIELD_TYPE_MEDIUM_BLOB:
+            case MysqlType.FIELD_TYPE_LONG_BLOB:
+            case MysqlType.FIELD_TYPE_BLOB:
+            case MysqlType.FIELD_TYPE_GEOMETRY:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static Object readBinaryValue(NativePacketPayload packet, int type) {
+        boolean unsigned = (type & 0x8000) != 0;
+        switch (type & 0xff) {
+            case MysqlType.FIELD_TYPE_NULL:
+                return null;
+            case MysqlType.FIELD_TYPE_TINY:
+                long tiny = packet.readInteger(IntegerDataType.INT1);
+                return unsigned ? tiny : (long) (byte) tiny;
+            case MysqlType.FIELD_TYPE_SHORT:
+            case MysqlType.FIELD_TYPE_YEAR:
+                long shortValue = packet.readInteger(IntegerDataType.INT2);
+                return unsigned ? shortValue : (long) (short) shortValue;
+            case MysqlType.FIELD_TYPE_LONG:
+            case MysqlType.FIELD_TYPE_INT24:
+                long longValue = packet.readInteger(IntegerDataType.INT4);
+                return unsigned ? longValue : (long) (int) longValue;
+            case MysqlType.FIELD_TYPE_LONGLONG:
+                return packet.readInteger(IntegerDataType.INT8);
+            case MysqlType.FIELD_TYPE_FLOAT:
+                return Float.intBitsToFloat((int) packet.readInteger(IntegerDataType.INT4));
+            case MysqlType.FIELD_TYPE_DOUBLE:
+                return Double.longBitsToDouble(packet.readInteger(IntegerDataType.INT8));
+            case MysqlType.FIELD_TYPE_DATE:
+            case MysqlType.FIELD_TYPE_DATETIME:
+            case MysqlType.FIELD_TYPE_TIMESTAMP:
+                return readBinaryDatetime(packet, (type & 0xff) == MysqlType.FIELD_TYPE_DATE);
+            case MysqlType.FIELD_TYPE_TIME:
+                return readBinaryTime(packet);
+            default:
+                byte[] bytes = packet.readBytes(StringSelfDataType.STRING_LENENC);
+                return isBinaryType(type) ? bytes : new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String readBinaryDatetime(NativePacketPayload packet, boolean dateOnly) {
+        int length = (int) packet.readInteger(IntegerDataType.INT1);
+        int[] fields = new int[7];
+        if (length >= 4) {
+            fields[0] = (int) packet.readInteger(IntegerDataType.INT2);
+            fields[1] = (int) packet.readInteger(IntegerDataType.INT1);
+            fields[2] = (int) packet.readInteger(IntegerDataType.INT1);
+        }
+        if (length >= 7) {
+            fields[3] = (int) packet.readInteger(IntegerDataType.INT1);
+            fields[4] = (int) packet.readInteger(IntegerDataType.INT1);
+            fields[5] = (int) packet.readInteger(IntegerDataType.INT1);
+        }
+        if (length >= 11) {
+            fields[6] = (int) packet.readInteger(IntegerDataType.INT4);
+        }
+        String date = String.format("%04d-%02d-%02d", fields[0], fields[1], fields[2]);
+        if (dateOnly) {
+            return date;
+        }
+        return date + String.format(" %02d:%02d:%02d", fields[3], fields[4], fields[5]) + (fields[6] != 0 ? String.format(".%06d", fields[6]) : "");
+    }
+
+    private static String readBinaryTime(NativePacketPayload packet) {
+        int length = (int) packet.readInteger(IntegerDataType.INT1);
+        boolean negative = false;
+        long hours = 0;
+        int minutes = 0;
+        int seconds = 0;
+        int micros = 0;
+        if (length >= 8) {
+            negative = packet.readInteger(IntegerDataType.INT1) == 1;
+            hours = packet.readInteger(IntegerDataType.INT4) * 24 + packet.readInteger(IntegerDataType.INT1);
+            minutes = (int) packet.readInteger(IntegerDataType.INT1);
+            seconds = (int) packet.readInteger(IntegerDataType.INT1);
+        }
+        if (length >= 12) {
+            micros = (int) packet.readInteger(IntegerDataType.INT4);
+        }
+        return (negative ? "-" : "") + String.format("%02d:%02d:%02d", hours, minutes, seconds) + (micros != 0 ? String.format(".%06d", micros) : "");
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+/**
+ * A scripted server response to a query or prepared statement execution: a result set, an OK packet or an error.
+ */
+public abstract class FakeResponse {
+
+    /**
+     * Writes this response to the client.
+     *
+     * @param session
+     *            the client session
+     * @param binary
+     *            whether result set rows must be encoded using the binary protocol, i.e., whether this responds to a COM_STMT_EXECUTE
+     */
+    abstract void writeTo(FakeMysqlSession session, boolean binary);
+
+    /**
+     * Creates a response consisting of an OK packet.
+     *
+     * @param affectedRows
+     *            the number of affected rows
+     * @param lastInsertId
+     *            the last insert id
+     * @return a new {@link FakeResponse}
+     */
+    public static FakeResponse ok(final long affectedRows, final long lastInsertId) {
+        return new FakeResponse() {
+
+            @Override
+            void writeTo(FakeMysqlSession session, boolean binary) {
+                session.writeOk(affectedRows, lastInsertId);
+            }
+
+        };
+    }
+
+    /**
+     * Creates a response consisting of an error packet.
+     *
+     * @param errorCode
+     *            the server error code
+     * @param sqlState
+     *            the SQL state
+     * @param message
+     *            the error message
+     * @return a new {@link FakeResponse}
+     */
+    public static FakeResponse error(final int errorCode, final String sqlState, final String message) {
+        return new FakeResponse() {
+
+            @Override
+            void writeTo(FakeMysqlSession session, boolean binary) {
+                session.writeError(errorCode, sqlState, message);
+            }
+
+        };
+    }
+
+}
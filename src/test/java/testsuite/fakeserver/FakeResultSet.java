@@ -0,0 +1,514 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+
+/**
+ * A scripted result set. Columns are described with {@link MysqlType}s and row values are given as objects whose string representations are what a MySQL
+ * server would send in the text protocol, byte arrays being sent as they are. The binary protocol encoding is derived from the same values.
+ *
+ * Packets are encoded once and then reused, so the same instance can be returned any number of times with very little overhead. Instances must not be changed
+ * after having been handed to a {@link FakeMysqlServer}.
+ */
+public class FakeResultSet extends FakeResponse {
+
+    private static final int BINARY_COLLATION_INDEX = 63;
+    private static final int UTF8MB4_COLLATION_INDEX = 255;
+    private static final int ENUM_FLAG = 256;
+    private static final int SET_FLAG = 2048;
+    private static final int NOT_FIXED_DEC = 31;
+
+    private final String schemaName;
+    private final String tableName;
+    private final List<Column> columns = new ArrayList<>();
+    private final List<Object[]> rows = new ArrayList<>();
+
+    private volatile byte[][] columnDefinitions = null;
+    private volatile byte[][] textRows = null;
+    private volatile byte[][] binaryRows = null;
+
+    private FakeResponse trailingError = null;
+    private final List<Object[]> warnings = new ArrayList<>();
+
+    public FakeResultSet() {
+        this("", "");
+    }
+
+    public FakeResultSet(String schemaName, String tableName) {
+        this.schemaName = schemaName;
+        this.tableName = tableName;
+    }
+
+    /**
+     * Records the remaining rows of the given result set, and its metadata, into a new {@link FakeResultSet}.
+     *
+     * @param rs
+     *            the result set to record
+     * @return a new {@link FakeResultSet}
+     * @throws SQLException
+     *             if reading the result set fails
+     */
+    public static FakeResultSet copyOf(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        FakeResultSet fakeRs = new FakeResultSet(metaData.getCatalogName(1), metaData.getTableName(1));
+        boolean[] binary = new boolean[columnCount];
+        for (int i = 1; i <= columnCount; i++) {
+            MysqlType type = MysqlType.getByName(metaData.getColumnTypeName(i));
+            fakeRs.addColumn(metaData.getColumnLabel(i), type, metaData.getPrecision(i), metaData.getScale(i));
+            binary[i - 1] = fakeRs.columns.get(i - 1).collationIndex == BINARY_COLLATION_INDEX;
+        }
+        while (rs.next()) {
+            Object[] row = new Object[columnCount];
+            for (int i = 1; i <= columnCount; i++) {
+                row[i - 1] = binary[i - 1] ? rs.getBytes(i) : rs.getString(i);
+            }
+            fakeRs.addRow(row);
+        }
+        return fakeRs;
+    }
+
+    /**
+     * Adds a column with the default length and number of decimals of the given type.
+     *
+     * @param name
+     *            column name
+     * @param type
+     *            column type
+     * @return this {@link FakeResultSet}
+     */
+    public FakeResultSet addColumn(String name, MysqlType type) {
+        long length = type.getPrecision() == null ? 0 : Math.min(type.getPrecision(), 0xffffffffL);
+        int decimals = type == MysqlType.FLOAT || type == MysqlType.FLOAT_UNSIGNED || type == MysqlType.DOUBLE || type == MysqlType.DOUBLE_UNSIGNED
+                ? NOT_FIXED_DEC
+                : 0;
+        return addColumn(name, type, length, decimals);
+    }
+
+    /**
+     * Adds a column.
+     *
+     * @param name
+     *            column name
+     * @param type
+     *            column type
+     * @param length
+     *            column length
+     * @param decimals
+     *            number of decimals or fractional seconds digits
+     * @return this {@link FakeResultSet}
+     */
+    public FakeResultSet addColumn(String name, MysqlType type, long length, int decimals) {
+        this.columns.add(new Column(name, type, length, decimals));
+        this.columnDefinitions = null;
+        this.textRows = null;
+        this.binaryRows = null;
+        return this;
+    }
+
+    /**
+     * Adds a row. Null values are sent as SQL NULLs.
+     *
+     * @param values
+     *            the row values, one per column
+     * @return this {@link FakeResultSet}
+     */
+    public FakeResultSet addRow(Object... values) {
+        if (values.length != this.columns.size()) {
+            throw new IllegalArgumentException("Expected " + this.columns.size() + " values but got " + values.length + ".");
+        }
+        this.rows.add(values.clone());
+        this.textRows = null;
+        this.binaryRows = null;
+        return this;
+    }
+
+    /**
+     * Makes the rows be followed by an error packet instead of the end of the result set, as the server does when a query fails while sending rows.
+     *
+     * @param errorCode
+     *            the server error code
+     * @param sqlState
+     *            the SQL state
+     * @param message
+     *            the error message
+     * @return this {@link FakeResultSet}
+     */
+    public FakeResultSet setTrailingError(int errorCode, String sqlState, String message) {
+        this.trailingError = FakeResponse.error(errorCode, sqlState, message);
+        return this;
+    }
+
+    /**
+     * Adds a warning, reported along with this result set and returned by 'SHOW WARNINGS' until the next statement is executed.
+     *
+     * @param code
+     *            the warning code
+     * @param message
+     *            the warning message
+     * @return this {@link FakeResultSet}
+     */
+    public FakeResultSet addWarning(int code, String message) {
+        this.warnings.add(new Object[] { "Warning", code, message });
+        return this;
+    }
+
+    public int getColumnCount() {
+        return this.columns.size();
+    }
+
+    public int getRowCount() {
+        return this.rows.size();
+    }
+
+    @Override
+    void writeTo(FakeMysqlSession session, boolean binary) {
+        session.setWarnings(this.warnings);
+        session.writeResultSet(getColumnDefinitions(), binary ? getBinaryRows() : getTextRows(), this.trailingError);
+    }
+
+    byte[][] getColumnDefinitions() {
+        byte[][] defs = this.columnDefinitions;
+        if (defs == null) {
+            defs = new byte[this.columns.size()][];
+            for (int i = 0; i < defs.length; i++) {
+                defs[i] = this.columns.get(i).encode(this.schemaName, this.tableName);
+            }
+            this.columnDefinitions = defs;
+        }
+        return defs;
+    }
+
+    private byte[][] getTextRows() {
+        byte[][] encodedRows = this.textRows;
+        if (encodedRows == null) {
+            encodedRows = new byte[this.rows.size()][];
+            for (int r = 0; r < encodedRows.length; r++) {
+                NativePacketPayload row = new NativePacketPayload(64);
+                for (Object value : this.rows.get(r)) {
+                    if (value == null) {
+                        row.writeInteger(IntegerDataType.INT1, 0xfb);
+                    } else {
+                        row.writeBytes(StringSelfDataType.STRING_LENENC, toText(value));
+                    }
+                }
+                encodedRows[r] = FakeMysqlSession.toByteArray(row);
+            }
+            this.textRows = encodedRows;
+        }
+        return encodedRows;
+    }
+
+    byte[][] getBinaryRows() {
+        byte[][] encodedRows = this.binaryRows;
+        if (encodedRows == null) {
+            encodedRows = new byte[this.rows.size()][];
+            for (int r = 0; r < encodedRows.length; r++) {
+                Object[] values = this.rows.get(r);
+                byte[] nullBitmap = new byte[(values.length + 9) / 8];
+                NativePacketPayload row = new NativePacketPayload(64);
+                row.writeInteger(IntegerDataType.INT1, 0);
+                row.writeBytes(StringLengthDataType.STRING_FIXED, nullBitmap);
+                for (int c = 0; c < values.length; c++) {
+                    if (values[c] == null) {
+                        nullBitmap[(c + 2) / 8] |= 1 << (c + 2) % 8;
+                    } else {
+                        this.columns.get(c).writeBinary(row, toText(values[c]));
+                    }
+                }
+                System.arraycopy(nullBitmap, 0, row.getByteBuffer(), 1, nullBitmap.length);
+                encodedRows[r] = FakeMysqlSession.toByteArray(row);
+            }
+            this.binaryRows = encodedRows;
+        }
+        return encodedRows;
+    }
+
+    private static byte[] toText(Object value) {
+        if (value instanceof byte[]) {
+            return (byte[]) value;
+        } else if (value instanceof Boolean) {
+            return new byte[] { (byte) ((Boolean) value ? '1' : '0') };
+        } else if (value instanceof TemporalAccessor) {
+            return value.toString().replace('T', ' ').getBytes(StandardCharsets.UTF_8);
+        }
+        return value.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class Column {
+
+        final String name;
+        final long length;
+        final int decimals;
+        int protocolType;
+        int flags = 0;
+        int collationIndex = BINARY_COLLATION_INDEX;
+
+        Column(String name, MysqlType type, long length, int decimals) {
+            this.name = name;
+            this.length = length;
+            this.decimals = decimals;
+            if (type.getName().endsWith("UNSIGNED")) {
+                this.flags |= MysqlType.FIELD_FLAG_UNSIGNED;
+            }
+            switch (type) {
+                case BIT:
+                    this.protocolType = MysqlType.FIELD_TYPE_BIT;
+                    this.flags |= MysqlType.FIELD_FLAG_UNSIGNED | MysqlType.FIELD_FLAG_BINARY;
+                    break;
+                case BOOLEAN:
+                case TINYINT:
+                case TINYINT_UNSIGNED:
+                    this.protocolType = MysqlType.FIELD_TYPE_TINY;
+                    break;
+                case SMALLINT:
+                case SMALLINT_UNSIGNED:
+                    this.protocolType = MysqlType.FIELD_TYPE_SHORT;
+                    break;
+                case MEDIUMINT:
+                case MEDIUMINT_UNSIGNED:
+                    this.protocolType = MysqlType.FIELD_TYPE_INT24;
+                    break;
+                case INT:
+                case INT_UNSIGNED:
+                    this.protocolType = MysqlType.FIELD_TYPE_LONG;
+                    break;
+                case BIGINT:
+                case BIGINT_UNSIGNED:
+                    this.protocolType = MysqlType.FIELD_TYPE_LONGLONG;
+                    break;
+                case FLOAT:
+                case FLOAT_UNSIGNED:
+                    this.protocolType = MysqlType.FIELD_TYPE_FLOAT;
+                    break;
+                case DOUBLE:
+                case DOUBLE_UNSIGNED:
+                    this.protocolType = MysqlType.FIELD_TYPE_DOUBLE;
+                    break;
+                case DECIMAL:
+                case DECIMAL_UNSIGNED:
+                    this.protocolType = MysqlType.FIELD_TYPE_NEWDECIMAL;
+                    break;
+                case DATE:
+                    this.protocolType = MysqlType.FIELD_TYPE_DATE;
+                    break;
+                case TIME:
+                    this.protocolType = MysqlType.FIELD_TYPE_TIME;
+                    break;
+                case DATETIME:
+                    this.protocolType = MysqlType.FIELD_TYPE_DATETIME;
+                    break;
+                case TIMESTAMP:
+                    this.protocolType = MysqlType.FIELD_TYPE_TIMESTAMP;
+                    break;
+                case YEAR:
+                    this.protocolType = MysqlType.FIELD_TYPE_YEAR;
+                    this.flags |= MysqlType.FIELD_FLAG_UNSIGNED | MysqlType.FIELD_FLAG_ZEROFILL;
+                    break;
+                case CHAR:
+                    this.protocolType = MysqlType.FIELD_TYPE_STRING;
+                    this.collationIndex = UTF8MB4_COLLATION_INDEX;
+                    break;
+                case VARCHAR:
+                    this.protocolType = MysqlType.FIELD_TYPE_VAR_STRING;
+                    this.collationIndex = UTF8MB4_COLLATION_INDEX;
+                    break;
+                case TINYTEXT:
+                case TEXT:
+                case MEDIUMTEXT:
+                case LONGTEXT:
+                    this.protocolType = MysqlType.FIELD_TYPE_BLOB;
+                    this.flags |= MysqlType.FIELD_FLAG_BLOB;
+                    this.collationIndex = UTF8MB4_COLLATION_INDEX;
+                    break;
+                case BINARY:
+                    this.protocolType = MysqlType.FIELD_TYPE_STRING;
+                    this.flags |= MysqlType.FIELD_FLAG_BINARY;
+                    break;
+                case VARBINARY:
+                    this.protocolType = MysqlType.FIELD_TYPE_VAR_STRING;
+                    this.flags |= MysqlType.FIELD_FLAG_BINARY;
+                    break;
+                case TINYBLOB:
+                case BLOB:
+                case MEDIUMBLOB:
+                case LONGBLOB:
+                    this.protocolType = MysqlType.FIELD_TYPE_BLOB;
+                    this.flags |= MysqlType.FIELD_FLAG_BLOB | MysqlType.FIELD_FLAG_BINARY;
+                    break;
+                case JSON:
+                    this.protocolType = MysqlType.FIELD_TYPE_JSON;
+                    this.flags |= MysqlType.FIELD_FLAG_BLOB | MysqlType.FIELD_FLAG_BINARY;
+                    break;
+                case ENUM:
+                    this.protocolType = MysqlType.FIELD_TYPE_STRING;
+                    this.flags |= ENUM_FLAG;
+                    this.collationIndex = UTF8MB4_COLLATION_INDEX;
+                    break;
+                case SET:
+                    this.protocolType = MysqlType.FIELD_TYPE_STRING;
+                    this.flags |= SET_FLAG;
+                    this.collationIndex = UTF8MB4_COLLATION_INDEX;
+                    break;
+                case NULL:
+                    this.protocolType = MysqlType.FIELD_TYPE_NULL;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported column type " + type + ".");
+            }
+        }
+
+        byte[] encode(String schemaName, String tableName) {
+            NativePacketPayload def = new NativePacketPayload(64);
+            def.writeBytes(StringSelfDataType.STRING_LENENC, "def".getBytes(StandardCharsets.UTF_8));
+            def.writeBytes(StringSelfDataType.STRING_LENENC, schemaName.getBytes(StandardCharsets.UTF_8));
+            def.writeBytes(StringSelfDataType.STRING_LENENC, tableName.getBytes(StandardCharsets.UTF_8));
+            def.writeBytes(StringSelfDataType.STRING_LENENC, tableName.getBytes(StandardCharsets.UTF_8));
+            def.writeBytes(StringSelfDataType.STRING_LENENC, this.name.getBytes(StandardCharsets.UTF_8));
+            def.writeBytes(StringSelfDataType.STRING_LENENC, this.name.getBytes(StandardCharsets.UTF_8));
+            def.writeInteger(IntegerDataType.INT_LENENC, 0x0c);
+            def.writeInteger(IntegerDataType.INT2, this.collationIndex);
+            def.writeInteger(IntegerDataType.INT4, this.length);
+            def.writeInteger(IntegerDataType.INT1, this.protocolType);
+            def.writeInteger(IntegerDataType.INT2, this.flags);
+            def.writeInteger(IntegerDataType.INT1, this.decimals);
+            def.writeInteger(IntegerDataType.INT2, 0);
+            return FakeMysqlSession.toByteArray(def);
+        }
+
+        void writeBinary(NativePacketPayload row, byte[] text) {
+            switch (this.protocolType) {
+                case MysqlType.FIELD_TYPE_TINY:
+                    row.writeInteger(IntegerDataType.INT1, Long.parseLong(ascii(text)));
+                    break;
+                case MysqlType.FIELD_TYPE_SHORT:
+                case MysqlType.FIELD_TYPE_YEAR:
+                    row.writeInteger(IntegerDataType.INT2, Long.parseLong(ascii(text)));
+                    break;
+                case MysqlType.FIELD_TYPE_INT24:
+                case MysqlType.FIELD_TYPE_LONG:
+                    row.writeInteger(IntegerDataType.INT4, Long.parseLong(ascii(text)));
+                    break;
+                case MysqlType.FIELD_TYPE_LONGLONG:
+                    row.writeInteger(IntegerDataType.INT8, new BigInteger(ascii(text)).longValue());
+                    break;
+                case MysqlType.FIELD_TYPE_FLOAT:
+                    row.writeInteger(IntegerDataType.INT4, Float.floatToIntBits(Float.parseFloat(ascii(text))));
+                    break;
+                case MysqlType.FIELD_TYPE_DOUBLE:
+                    row.writeInteger(IntegerDataType.INT8, Double.doubleToLongBits(Double.parseDouble(ascii(text))));
+                    break;
+                case MysqlType.FIELD_TYPE_DATE:
+                case MysqlType.FIELD_TYPE_DATETIME:
+                case MysqlType.FIELD_TYPE_TIMESTAMP:
+                    writeBinaryDatetime(row, ascii(text));
+                    break;
+                case MysqlType.FIELD_TYPE_TIME:
+                    writeBinaryTime(row, ascii(text));
+                    break;
+                default:
+                    row.writeBytes(StringSelfDataType.STRING_LENENC, text);
+            }
+        }
+
+        private static String ascii(byte[] text) {
+            return new String(text, StandardCharsets.US_ASCII).trim();
+        }
+
+        private static void writeBinaryDatetime(NativePacketPayload row, String text) {
+            // yyyy-MM-dd[ HH:mm:ss[.ffffff]]
+            int year = Integer.parseInt(text.substring(0, 4));
+            int month = Integer.parseInt(text.substring(5, 7));
+            int day = Integer.parseInt(text.substring(8, 10));
+            int hour = 0;
+            int minute = 0;
+            int second = 0;
+            int micros = 0;
+            if (text.length() >= 19) {
+                hour = Integer.parseInt(text.substring(11, 13));
+                minute = Integer.parseInt(text.substring(14, 16));
+                second = Integer.parseInt(text.substring(17, 19));
+                micros = parseMicros(text, 19);
+            }
+            int length = micros != 0 ? 11 : hour != 0 || minute != 0 || second != 0 ? 7 : year != 0 || month != 0 || day != 0 ? 4 : 0;
+            row.writeInteger(IntegerDataType.INT1, length);
+            if (length >= 4) {
+                row.writeInteger(IntegerDataType.INT2, year);
+                row.writeInteger(IntegerDataType.INT1, month);
+                row.writeInteger(IntegerDataType.INT1, day);
+            }
+            if (length >= 7) {
+                row.writeInteger(IntegerDataType.INT1, hour);
+                row.writeInteger(IntegerDataType.INT1, minute);
+                row.writeInteger(IntegerDataType.INT1, second);
+            }
+            if (length == 11) {
+                row.writeInteger(IntegerDataType.INT4, micros);
+            }
+        }
+
+        private static void writeBinaryTime(NativePacketPayload row, String text) {
+            // [-]H+:mm:ss[.ffffff]
+            boolean negative = text.startsWith("-");
+            int hoursEnd = text.indexOf(':');
+            int hours = Integer.parseInt(text.substring(negative ? 1 : 0, hoursEnd));
+            int minute = Integer.parseInt(text.substring(hoursEnd + 1, hoursEnd + 3));
+            int second = Integer.parseInt(text.substring(hoursEnd + 4, hoursEnd + 6));
+            int micros = parseMicros(text, hoursEnd + 6);
+            int length = micros != 0 ? 12 : hours != 0 || minute != 0 || second != 0 ? 8 : 0;
+            row.writeInteger(IntegerDataType.INT1, length);
+            if (length >= 8) {
+                row.writeInteger(IntegerDataType.INT1, negative ? 1 : 0);
+                row.writeInteger(IntegerDataType.INT4, hours / 24);
+                row.writeInteger(IntegerDataType.INT1, hours % 24);
+                row.writeInteger(IntegerDataType.INT1, minute);
+                row.writeInteger(IntegerDataType.INT1, second);
+            }
+            if (length == 12) {
+                row.writeInteger(IntegerDataType.INT4, micros);
+            }
+        }
+
+        private static int parseMicros(String text, int dotIndex) {
+            if (text.length() <= dotIndex + 1 || text.charAt(dotIndex) != '.') {
+                return 0;
+            }
+            String fraction = text.substring(dotIndex + 1);
+            return Integer.parseInt((fraction + "000000").substring(0, 6));
+        }
+
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.CacheAdapter;
+import com.mysql.cj.PerVmQueryInfoCacheFactory;
+import com.mysql.cj.QueryInfo;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.jdbc.ClientPreparedStatement;
+import com.mysql.cj.util.ClockCache;
+
+public class PerVmQueryInfoCacheTest {
+
+    /** Two placeholders with NO_BACKSLASH_ESCAPES, none otherwise. */
+    private static final String SQL = "SELECT '\\' ? '' ?";
+
+    private FakeMysqlServer server;
+
+    @BeforeEach
+    public void setUp() {
+        this.server = FakeMysqlServer.start("pervmqueryinfocachetest");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    private Connection getConnection(String url, Properties props) throws SQLException {
+        props.setProperty(PropertyKey.cachePrepStmts.getKeyName(), "true");
+        props.setProperty(PropertyKey.queryInfoCacheFactory.getKeyName(), PerVmQueryInfoCacheFactory.class.getName());
+        return DriverManager.getConnection(url, props);
+    }
+
+    private QueryInfo prepare(Connection conn, String sql) throws SQLException {
+        return conn.prepareStatement(sql).unwrap(ClientPreparedStatement.class).getQueryInfo();
+    }
+
+    /**
+     * Tests that connections with the same URL and settings share parsed statements.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSharedAmongConnections() throws Exception {
+        String url = this.server.getUrl("shared");
+        try (Connection conn1 = getConnection(url, new Properties()); Connection conn2 = getConnection(url, new Properties())) {
+            QueryInfo queryInfo = prepare(conn1, SQL);
+            assertSame(queryInfo, prepare(conn2, SQL));
+            assertEquals(1, PerVmQueryInfoCacheFactory.getCaches(url).size());
+        }
+    }
+
+    /**
+     * Tests that connections with the same URL but different parser settings don't share parsed statements.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testNotSharedAmongSettings() throws Exception {
+        String url = this.server.getUrl("settings");
+        this.server.setVariable("sql_mode", "");
+        try (Connection conn = getConnection(url, new Properties())) {
+            assertEquals(1, prepare(conn, SQL).getStaticSqlParts().length);
+        }
+        this.server.setVariable("sql_mode", "NO_BACKSLASH_ESCAPES");
+        try (Connection conn = getConnection(url, new Properties())) {
+            assertEquals(3, prepare(conn, SQL).getStaticSqlParts().length);
+        }
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.characterEncoding.getKeyName(), "ISO-8859-1");
+        String sql = "SELECT ?";
+        try (Connection conn1 = getConnection(url, new Properties()); Connection conn2 = getConnection(url, props)) {
+            assertNotSame(prepare(conn1, sql), prepare(conn2, sql));
+        }
+        assertEquals(3, PerVmQueryInfoCacheFactory.getCaches(url).size());
+    }
+
+    /**
+     * Tests that invalidating all the entries of a connection keeps the entries of the other connections sharing the cache.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testInvalidateAllOwnEntries() throws Exception {
+        String url = this.server.getUrl("invalidate");
+        try (Connection conn = getConnection(url, new Properties())) {
+            QueryInfo queryInfo1 = prepare(conn, "SELECT 1, ?");
+            QueryInfo queryInfo2 = prepare(conn, "SELECT 2, ?");
+
+            PerVmQueryInfoCacheFactory factory = new PerVmQueryInfoCacheFactory();
+            CacheAdapter<String, QueryInfo> cache1 = factory.getInstance(new ReentrantLock(), url, 10, 100);
+            CacheAdapter<String, QueryInfo> cache2 = factory.getInstance(new ReentrantLock(), url, 10, 100);
+            cache1.put("1", queryInfo1);
+            cache2.put("2", queryInfo2);
+            cache1.invalidateAll();
+            assertNull(cache2.get("1"));
+            assertSame(queryInfo2, cache1.get("2"));
+        }
+    }
+
+    /**
+     * Tests that connections with the same URL but different 'prepStmtCacheSize' get caches of their own size.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testNotSharedAmongCacheSizes() throws Exception {
+        String url = this.server.getUrl("sizes");
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.prepStmtCacheSize.getKeyName(), "10");
+        try (Connection conn1 = getConnection(url, new Properties()); Connection conn2 = getConnection(url, props)) {
+            assertNotSame(prepare(conn1, SQL), prepare(conn2, SQL));
+        }
+        Set<Integer> maxSizes = PerVmQueryInfoCacheFactory.getCaches(url).stream().map(ClockCache::getMaxSize).collect(Collectors.toSet());
+        assertEquals(2, maxSizes.size());
+        assertTrue(maxSizes.contains(10));
+    }
+
+    /**
+     * Tests that the caches of the URLs not used recently are dropped, while connections already using them keep doing so.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBoundedUrls() throws Exception {
+        String url = this.server.getUrl("bounded");
+        try (Connection conn = getConnection(url, new Properties())) {
+            QueryInfo queryInfo = prepare(conn, SQL);
+
+            PerVmQueryInfoCacheFactory factory = new PerVmQueryInfoCacheFactory();
+            CacheAdapter<String, QueryInfo> firstCache = factory.getInstance(new ReentrantLock(), "bounded:0", 10, 100);
+            firstCache.put(SQL, queryInfo);
+            int urls = 1000;
+            int urlsKept = 0;
+            for (int i = 1; i < urls; i++) {
+                factory.getInstance(new ReentrantLock(), "bounded:" + i, 10, 100).put(SQL, queryInfo);
+            }
+            for (int i = 0; i < urls; i++) {
+                if (!PerVmQueryInfoCacheFactory.getCaches("bounded:" + i).isEmpty()) {
+                    urlsKept++;
+                }
+            }
+            assertTrue(urlsKept < urls);
+            assertTrue(PerVmQueryInfoCacheFactory.getCaches("bounded:0").isEmpty());
+            assertSame(queryInfo, firstCache.get(SQL));
+        }
+    }
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DataTruncation;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.exceptions.MysqlErrorNumbers;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.jdbc.JdbcPreparedStatement;
+import com.mysql.cj.jdbc.exceptions.MySQLPipelinedQueryException;
+
+public class PipelinedQueryBatchTest {
+
+    private static final int QUERIES = 2000;
+    private static final String PADDING = String.format("%1000s", "");
+
+    private FakeMysqlServer server;
+
+    @BeforeEach
+    public void setUp() {
+        this.server = FakeMysqlServer.start("pipelinedquerybatchtest");
+        this.server.setQueryHandler((sql, params) -> {
+            if (!sql.startsWith("SELECT ") || !Character.isDigit(sql.charAt(7))) {
+                return null;
+            }
+            int id = Integer.parseInt(sql.substring(7, sql.indexOf(',')));
+            if (id % 7 == 0) {
+                return FakeResponse.error(MysqlErrorNumbers.ER_LOCK_DEADLOCK, "40001", "Deadlock found");
+            }
+            return new FakeResultSet().addColumn("id", MysqlType.INT).addColumn("padding", MysqlType.VARCHAR).addRow(id, PADDING);
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    private MySQLPipelinedQueryException executeBatch(Connection conn) throws SQLException {
+        JdbcPreparedStatement ps = conn.prepareStatement("SELECT ?, ?").unwrap(JdbcPreparedStatement.class);
+        for (int i = 1; i <= QUERIES; i++) {
+            ps.setInt(1, i);
+            ps.setString(2, PADDING);
+            ps.addBatch();
+        }
+        return assertThrows(MySQLPipelinedQueryException.class, ps::executeQueryBatch);
+    }
+
+    private ResultSet[] executeBatch(Connection conn, int queries, String padding) throws SQLException {
+        JdbcPreparedStatement ps = conn.prepareStatement("SELECT ?, ?").unwrap(JdbcPreparedStatement.class);
+        for (int i = 1; i <= queries; i++) {
+            ps.setInt(1, i);
+            ps.setString(2, padding);
+            ps.addBatch();
+        }
+        return ps.executeQueryBatch();
+    }
+
+    private void assertResults(MySQLPipelinedQueryException e) throws SQLException {
+        for (int i = 1; i <= QUERIES; i++) {
+            if (i % 7 == 0) {
+                assertNull(e.getResultSets()[i - 1]);
+                assertEquals(MysqlErrorNumbers.ER_LOCK_DEADLOCK, e.getExceptions()[i - 1].getErrorCode());
+            } else {
+                assertNull(e.getExceptions()[i - 1]);
+                ResultSet rs = e.getResultSets()[i - 1];
+                assertTrue(rs.next());
+                assertEquals(i, rs.getInt(1));
+            }
+        }
+    }
+
+    /**
+     * Tests that a batch much larger than a pipeline window returns every result, in order, with failures attributed to their queries.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLargeBatch() throws Exception {
+        try (Connection conn = DriverManager.getConnection(this.server.getUrl("test"))) {
+            long pipelined = this.server.getPipelinedCommandCount();
+            assertResults(executeBatch(conn));
+            // each window of about 16 queries is written before reading any of its results
+            assertTrue(this.server.getPipelinedCommandCount() - pipelined > QUERIES * 9 / 10);
+
+            // The connection remains usable.
+            assertResults(executeBatch(conn));
+        }
+    }
+
+    /**
+     * Tests that the deadlock diagnostics requested by 'includeInnodbStatusInDeadlockExceptions' are attached to each failed query of a batch.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDeadlockDiagnostics() throws Exception {
+        try (Connection conn = DriverManager.getConnection(
+                this.server.getUrl("test") + "&" + PropertyKey.includeInnodbStatusInDeadlockExceptions.getKeyName() + "=true")) {
+            MySQLPipelinedQueryException e = executeBatch(conn);
+            assertResults(e);
+            for (int i = 7; i <= QUERIES; i += 7) {
+                assertTrue(e.getExceptions()[i - 1].getMessage().contains(Messages.getString("MysqlIO.InnoDBStatusFailed")));
+            }
+        }
+    }
+
+    /**
+     * Tests that all the queries of a batch that fits in a pipeline window are written before reading any result, and that larger batches are written one
+     * window at a time.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPipelineWindows() throws Exception {
+        try (Connection conn = DriverManager.getConnection(this.server.getUrl("test") + "&" + PropertyKey.jdbcCompliantTruncation.getKeyName() + "=false")) {
+            long pipelined = this.server.getPipelinedCommandCount();
+            ResultSet[] results = executeBatch(conn, 6, "");
+            assertEquals(5, this.server.getPipelinedCommandCount() - pipelined);
+            for (int i = 1; i <= 6; i++) {
+                assertTrue(results[i - 1].next());
+                assertEquals(i, results[i - 1].getInt(1));
+            }
+
+            // only 3 of these queries fit in a window
+            pipelined = this.server.getPipelinedCommandCount();
+            results = executeBatch(conn, 6, String.format("%5000s", ""));
+            assertEquals(4, this.server.getPipelinedCommandCount() - pipelined);
+            for (int i = 1; i <= 6; i++) {
+                assertTrue(results[i - 1].next());
+                assertEquals(i, results[i - 1].getInt(1));
+            }
+        }
+    }
+
+    /**
+     * Tests that the data truncation checks done when 'jdbcCompliantTruncation' is in effect are pipelined along with the queries and attributed to the query
+     * that caused them.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDataTruncationChecks() throws Exception {
+        this.server.setQueryHandler((sql, params) -> {
+            if (!sql.startsWith("SELECT ") || !Character.isDigit(sql.charAt(7))) {
+                return null;
+            }
+            int id = Integer.parseInt(sql.substring(7, sql.indexOf(',')));
+            FakeResultSet rs = new FakeResultSet().addColumn("id", MysqlType.INT).addRow(id);
+            if (id == 2) {
+                rs.addWarning(MysqlErrorNumbers.WARN_DATA_TRUNCATED, "Data truncated for column 'id' at row 1");
+            } else if (id == 4) {
+                rs.addWarning(MysqlErrorNumbers.ER_TRUNCATED_WRONG_VALUE, "Truncated incorrect INTEGER value: 'x'");
+            }
+            return rs;
+        });
+
+        try (Connection conn = DriverManager.getConnection(this.server.getUrl("test"))) {
+            // the server's sql_mode includes STRICT_TRANS_TABLES, so the driver leaves truncation checks to the server unless told otherwise
+            conn.unwrap(JdbcConnection.class).getPropertySet().getBooleanProperty(PropertyKey.jdbcCompliantTruncation).setValue(true);
+
+            long pipelined = this.server.getPipelinedCommandCount();
+            MySQLPipelinedQueryException e = assertThrows(MySQLPipelinedQueryException.class, () -> executeBatch(conn, 6, ""));
+            // 6 queries, each one followed by SHOW WARNINGS
+            assertEquals(11, this.server.getPipelinedCommandCount() - pipelined);
+            for (int i = 1; i <= 6; i++) {
+                if (i == 2) {
+                    assertNull(e.getResultSets()[i - 1]);
+                    assertTrue(e.getExceptions()[i - 1] instanceof DataTruncation);
+                } else {
+                    assertNull(e.getExceptions()[i - 1]);
+                    assertTrue(e.getResultSets()[i - 1].next());
+                    assertEquals(i, e.getResultSets()[i - 1].getInt(1));
+                }
+            }
+        }
+    }
+
+}
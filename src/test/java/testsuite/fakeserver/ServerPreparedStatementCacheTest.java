@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.PooledConnection;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.jdbc.MysqlConnectionPoolDataSource;
+import com.mysql.cj.jdbc.ServerPreparedStatementCacheStatistics;
+
+public class ServerPreparedStatementCacheTest {
+
+    private FakeMysqlServer server;
+
+    @BeforeEach
+    public void setUp() {
+        this.server = FakeMysqlServer.start("serverpreparedstatementcachetest");
+        this.server.setQueryHandler((sql, params) -> new FakeResultSet().addColumn("v", MysqlType.VARCHAR).addRow(sql + params));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    private PooledConnection getPooledConnection(Boolean resetPooledConnectionState) throws SQLException {
+        MysqlConnectionPoolDataSource ds = new MysqlConnectionPoolDataSource();
+        String url = this.server.getUrl("db") + "&" + PropertyKey.useServerPrepStmts.getKeyName() + "=true&" + PropertyKey.cachePrepStmts.getKeyName()
+                + "=true";
+        if (resetPooledConnectionState != null) {
+            url += "&" + PropertyKey.resetPooledConnectionState.getKeyName() + "=" + resetPooledConnectionState;
+        }
+        ds.setURL(url);
+        return ds.getPooledConnection();
+    }
+
+    private ServerPreparedStatementCacheStatistics checkOutAndQuery(PooledConnection pooledConnection, int value) throws SQLException {
+        Connection conn = pooledConnection.getConnection();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT ?")) {
+            ps.setInt(1, value);
+            try (ResultSet rs = ps.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals("SELECT ?[" + value + "]", rs.getString(1));
+            }
+        }
+        ServerPreparedStatementCacheStatistics stats = conn.unwrap(JdbcConnection.class).getServerPreparedStatementCacheStatistics();
+        conn.close();
+        return stats;
+    }
+
+    /**
+     * Tests that cached server-side prepared statements survive logical connection close and are re-prepared after the session reset done on checkout.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCacheAcrossPooledCheckoutsWithReset() throws Exception {
+        PooledConnection pooledConnection = getPooledConnection(true);
+        try {
+            ServerPreparedStatementCacheStatistics stats = null;
+            for (int i = 0; i < 3; i++) {
+                stats = checkOutAndQuery(pooledConnection, i);
+            }
+            assertNotNull(stats);
+            assertEquals(2, stats.getHits());
+            assertEquals(1, stats.getMisses());
+            assertEquals(3, stats.getPrepares());
+            assertEquals(1, stats.getSize());
+        } finally {
+            pooledConnection.close();
+        }
+    }
+
+    /**
+     * Tests that pooled connections are reset on checkout by default, so that cached server-side prepared statements are re-prepared after each checkout.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCacheAcrossPooledCheckoutsByDefault() throws Exception {
+        PooledConnection pooledConnection = getPooledConnection(null);
+        try {
+            ServerPreparedStatementCacheStatistics stats = null;
+            for (int i = 0; i < 3; i++) {
+                stats = checkOutAndQuery(pooledConnection, i);
+            }
+            assertEquals(2, stats.getHits());
+            assertEquals(1, stats.getMisses());
+            assertEquals(3, stats.getPrepares());
+        } finally {
+            pooledConnection.close();
+        }
+    }
+
+    /**
+     * Tests that a pooled connection that is not reset on checkout never re-prepares cached server-side prepared statements.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCacheAcrossPooledCheckoutsWithoutReset() throws Exception {
+        PooledConnection pooledConnection = getPooledConnection(false);
+        try {
+            ServerPreparedStatementCacheStatistics stats = null;
+            for (int i = 0; i < 5; i++) {
+                stats = checkOutAndQuery(pooledConnection, i);
+            }
+            assertEquals(4, stats.getHits());
+            assertEquals(1, stats.getMisses());
+            assertEquals(1, stats.getPrepares());
+            assertEquals(1, stats.getSize());
+        } finally {
+            pooledConnection.close();
+        }
+    }
+
+    /**
+     * Tests that no statistics are reported when server-side prepared statements are not cached.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testNoStatisticsWithoutCache() throws Exception {
+        MysqlConnectionPoolDataSource ds = new MysqlConnectionPoolDataSource();
+        ds.setURL(this.server.getUrl("db") + "&" + PropertyKey.useServerPrepStmts.getKeyName() + "=true");
+        PooledConnection pooledConnection = ds.getPooledConnection();
+        try {
+            assertNull(checkOutAndQuery(pooledConnection, 1));
+        } finally {
+            pooledConnection.close();
+        }
+    }
+
+}
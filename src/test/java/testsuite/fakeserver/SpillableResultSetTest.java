@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2002, 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.jdbc.result.ResultSetImpl;
+import com.mysql.cj.protocol.a.result.ResultsetRowsSpillable;
+
+public class SpillableResultSetTest {
+
+    private static final String QUERY = "SELECT id, name FROM t";
+    private static final String FAILING_QUERY = "SELECT id, name FROM t WHERE killed";
+    private static final int ROWS = 5000;
+
+    private FakeMysqlServer server;
+
+    @BeforeEach
+    public void setUp() {
+        FakeResultSet rs = new FakeResultSet("test", "t").addColumn("id", MysqlType.BIGINT).addColumn("name", MysqlType.VARCHAR);
+        for (int i = 0; i < ROWS; i++) {
+            rs.addRow(i, i % 10 == 0 ? null : "name " + i);
+        }
+        this.server = FakeMysqlServer.start("spillableresultsettest");
+        this.server.addResponse(QUERY, rs);
+
+        FakeResultSet failingRs = new FakeResultSet("test", "t").addColumn("id", MysqlType.BIGINT).addColumn("name", MysqlType.VARCHAR);
+        for (int i = 0; i < ROWS; i++) {
+            failingRs.addRow(i, "name " + i);
+        }
+        failingRs.setTrailingError(1317, "70100", "Query execution was interrupted");
+        this.server.addResponse(FAILING_QUERY, failingRs);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    private static final String[] STORAGE_PROPERTIES = { //
+            PropertyKey.useOffHeapResultSetRows.getKeyName() + "=true", //
+            PropertyKey.useOffHeapResultSetRows.getKeyName() + "=true&" + PropertyKey.offHeapResultSetSpillThreshold.getKeyName() + "=1", //
+            PropertyKey.useOffHeapResultSetRows.getKeyName() + "=true&" + PropertyKey.offHeapResultSetSpillThreshold.getKeyName() + "=64k", //
+            PropertyKey.resultSetHeapBudget.getKeyName() + "=1", //
+            PropertyKey.resultSetHeapBudget.getKeyName() + "=16k", //
+            PropertyKey.resultSetHeapBudget.getKeyName() + "=1M" };
+
+    private Connection getConnection(boolean useServerPrepStmts, String storageProperties) throws SQLException {
+        return DriverManager.getConnection(
+                this.server.getUrl("test") + "&" + PropertyKey.useServerPrepStmts.getKeyName() + "=" + useServerPrepStmts + "&" + storageProperties);
+    }
+
+    private static Set<String> listSpillFiles() throws Exception {
+        Set<String> files = new HashSet<>();
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(Paths.get(System.getProperty("java.io.tmpdir")), "mysql-cj-rows*.tmp")) {
+            for (Path file : dir) {
+                files.add(file.toString());
+            }
+        }
+        // Some platforms unlink files opened with DELETE_ON_CLOSE right away, so look for open spill files too, where possible.
+        Path fds = Paths.get("/proc/self/fd");
+        if (Files.isDirectory(fds)) {
+            try (DirectoryStream<Path> dir = Files.newDirectoryStream(fds)) {
+                for (Path fd : dir) {
+                    try {
+                        String target = Files.readSymbolicLink(fd).toString();
+                        if (target.contains("mysql-cj-rows")) {
+                            files.add(target);
+                        }
+                    } catch (IOException e) {
+                        // closed in the meantime
+                    }
+                }
+            }
+        }
+        return files;
+    }
+
+    private static void assertRow(ResultSet rs, int i, String testCase) throws SQLException {
+        assertEquals(i + 1, rs.getRow(), testCase);
+        assertEquals(i, rs.getLong(1), testCase);
+        if (i % 10 == 0) {
+            assertNull(rs.getString(2), testCase);
+        } else {
+            assertEquals("name " + i, rs.getString(2), testCase);
+        }
+    }
+
+    /**
+     * Tests that result sets kept off-heap, in a bounded heap or spilled to a file, keep the scrollable result set semantics.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testScrolling() throws Exception {
+        for (boolean useServerPrepStmts : new boolean[] { false, true }) {
+            for (String storageProperties : STORAGE_PROPERTIES) {
+                String testCase = "useServerPrepStmts=" + useServerPrepStmts + ", " + storageProperties;
+                try (Connection conn = getConnection(useServerPrepStmts, storageProperties);
+                        PreparedStatement ps = conn.prepareStatement(QUERY, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+                        ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.unwrap(ResultSetImpl.class).getRows() instanceof ResultsetRowsSpillable, testCase);
+
+                    assertTrue(rs.isBeforeFirst(), testCase);
+                    for (int i = 0; i < ROWS; i++) {
+                        assertTrue(rs.next(), testCase);
+                        assertRow(rs, i, testCase);
+                    }
+                    assertFalse(rs.next(), testCase);
+                    assertTrue(rs.isAfterLast(), testCase);
+
+                    for (int i = ROWS - 1; i >= 0; i--) {
+                        assertTrue(rs.previous(), testCase);
+                        assertRow(rs, i, testCase);
+                    }
+                    assertFalse(rs.previous(), testCase);
+
+                    assertTrue(rs.last(), testCase);
+                    assertTrue(rs.isLast(), testCase);
+                    assertRow(rs, ROWS - 1, testCase);
+                    assertTrue(rs.first(), testCase);
+                    assertRow(rs, 0, testCase);
+                    assertTrue(rs.absolute(1234), testCase);
+                    assertRow(rs, 1233, testCase);
+                    assertTrue(rs.absolute(-2), testCase);
+                    assertRow(rs, ROWS - 2, testCase);
+                    assertTrue(rs.relative(-100), testCase);
+                    assertRow(rs, ROWS - 102, testCase);
+                    assertFalse(rs.absolute(ROWS + 1), testCase);
+                    assertTrue(rs.isAfterLast(), testCase);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that only up to maxRows rows are stored.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testMaxRows() throws Exception {
+        for (String storageProperties : STORAGE_PROPERTIES) {
+            try (Connection conn = getConnection(false, storageProperties)) {
+                try (PreparedStatement ps = conn.prepareStatement(QUERY)) {
+                    ps.setMaxRows(10);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        assertTrue(rs.unwrap(ResultSetImpl.class).getRows() instanceof ResultsetRowsSpillable);
+                        for (int i = 0; i < 10; i++) {
+                            assertTrue(rs.next());
+                            assertRow(rs, i, storageProperties);
+                        }
+                        assertFalse(rs.next());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that spill files are deleted when the result set is closed, and when reading its rows fails.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSpillFileDeleted() throws Exception {
+        Set<String> spillFiles = listSpillFiles();
+        for (boolean useServerPrepStmts : new boolean[] { false, true }) {
+            for (String storageProperties : STORAGE_PROPERTIES) {
+                String testCase = "useServerPrepStmts=" + useServerPrepStmts + ", " + storageProperties;
+                try (Connection conn = getConnection(useServerPrepStmts, storageProperties)) {
+                    try (PreparedStatement ps = conn.prepareStatement(QUERY); ResultSet rs = ps.executeQuery()) {
+                        assertTrue(rs.next(), testCase);
+                    }
+                    assertEquals(spillFiles, listSpillFiles(), testCase);
+
+                    try (PreparedStatement ps = conn.prepareStatement(FAILING_QUERY)) {
+                        assertThrows(SQLException.class, ps::executeQuery, testCase);
+                    }
+                    assertEquals(spillFiles, listSpillFiles(), testCase);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.jdbc.JdbcConnection;
+
+public class StatementCommentTest {
+
+    private FakeMysqlServer server;
+
+    @BeforeEach
+    public void setUp() {
+        this.server = FakeMysqlServer.start("statementcommenttest");
+        this.server.setQueryHandler((sql, params) -> new FakeResultSet().addColumn("v", MysqlType.VARCHAR).addRow(sql));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    private String executeAndGetReceivedQuery(Statement stmt) throws Exception {
+        this.server.clearReceivedQueries();
+        stmt.executeQuery("SELECT 1").close();
+        List<String> queries = this.server.getReceivedQueries();
+        assertEquals(1, queries.size());
+        return queries.get(0);
+    }
+
+    /**
+     * Tests that the cached statement comment follows changes of the statement comment and of the current thread name.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testStatementCommentChanges() throws Exception {
+        String originalName = Thread.currentThread().getName();
+        try (Connection conn = DriverManager
+                .getConnection(this.server.getUrl("db") + "&" + PropertyKey.includeThreadNamesAsStatementComment.getKeyName() + "=true")) {
+            Statement stmt = conn.createStatement();
+
+            Thread.currentThread().setName("first");
+            assertEquals("/* java thread: first */ SELECT 1", executeAndGetReceivedQuery(stmt));
+            assertEquals("/* java thread: first */ SELECT 1", executeAndGetReceivedQuery(stmt));
+
+            Thread.currentThread().setName("second");
+            assertEquals("/* java thread: second */ SELECT 1", executeAndGetReceivedQuery(stmt));
+
+            conn.unwrap(JdbcConnection.class).setStatementComment("app");
+            assertEquals("/* app, java thread: second */ SELECT 1", executeAndGetReceivedQuery(stmt));
+
+            AtomicReference<String> otherQuery = new AtomicReference<>();
+            Thread other = new Thread(() -> {
+                try {
+                    otherQuery.set(executeAndGetReceivedQuery(stmt));
+                } catch (Exception e) {
+                    otherQuery.set(e.toString());
+                }
+            }, "other");
+            other.start();
+            other.join();
+            assertEquals("/* app, java thread: other */ SELECT 1", otherQuery.get());
+            assertEquals("/* app, java thread: second */ SELECT 1", executeAndGetReceivedQuery(stmt));
+        } finally {
+            Thread.currentThread().setName(originalName);
+        }
+
+        try (Connection conn = DriverManager.getConnection(this.server.getUrl("db"))) {
+            Statement stmt = conn.createStatement();
+            assertEquals("SELECT 1", executeAndGetReceivedQuery(stmt));
+
+            conn.unwrap(JdbcConnection.class).setStatementComment("app");
+            assertEquals("/* app */ SELECT 1", executeAndGetReceivedQuery(stmt));
+
+            conn.unwrap(JdbcConnection.class).setStatementComment(null);
+            assertEquals("SELECT 1", executeAndGetReceivedQuery(stmt));
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.conf.PropertyKey;
+
+public class StreamingReadAheadTest {
+
+    private static final String QUERY = "SELECT id, name FROM t";
+    private static final int ROWS = 1000;
+
+    private FakeMysqlServer server;
+
+    @BeforeEach
+    public void setUp() {
+        FakeResultSet rs = new FakeResultSet("test", "t").addColumn("id", MysqlType.BIGINT).addColumn("name", MysqlType.VARCHAR);
+        for (int i = 0; i < ROWS; i++) {
+            rs.addRow(i, i % 10 == 0 ? null : "name " + i);
+        }
+        this.server = FakeMysqlServer.start("streamingreadaheadtest");
+        this.server.addResponse(QUERY, rs);
+        this.server.addResponse("SELECT 1", new FakeResultSet().addColumn("1", MysqlType.INT).addRow(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    private Connection getConnection(boolean useServerPrepStmts, int readAheadRows) throws SQLException {
+        return DriverManager.getConnection(this.server.getUrl("test") + "&" + PropertyKey.useServerPrepStmts.getKeyName() + "=" + useServerPrepStmts + "&"
+                + PropertyKey.streamingReadAheadRows.getKeyName() + "=" + readAheadRows);
+    }
+
+    private PreparedStatement prepareStreaming(Connection conn, String sql) throws SQLException {
+        PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(Integer.MIN_VALUE);
+        return ps;
+    }
+
+    /**
+     * Tests that streaming result sets read ahead return all rows with the same values as regular streaming result sets.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReadAheadReturnsAllRows() throws Exception {
+        for (boolean useServerPrepStmts : new boolean[] { false, true }) {
+            for (int readAheadRows : new int[] { 0, 1, 16, 5000 }) {
+                try (Connection conn = getConnection(useServerPrepStmts, readAheadRows); PreparedStatement ps = prepareStreaming(conn, QUERY);
+                        ResultSet rs = ps.executeQuery()) {
+                    String testCase = "useServerPrepStmts=" + useServerPrepStmts + ", streamingReadAheadRows=" + readAheadRows;
+                    for (int i = 0; i < ROWS; i++) {
+                        assertTrue(rs.next(), testCase);
+                        assertEquals(i, rs.getLong(1), testCase);
+                        if (i % 10 == 0) {
+                            assertNull(rs.getString(2), testCase);
+                        } else {
+                            assertEquals("name " + i, rs.getString(2), testCase);
+                        }
+                    }
+                    assertFalse(rs.next(), testCase);
+                    assertTrue(rs.isAfterLast(), testCase);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that closing a streaming result set read ahead before its end, or before reading any row, leaves the connection usable.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCloseBeforeEnd() throws Exception {
+        for (boolean useServerPrepStmts : new boolean[] { false, true }) {
+            try (Connection conn = getConnection(useServerPrepStmts, 8)) {
+                try (PreparedStatement ps = prepareStreaming(conn, QUERY)) {
+                    ResultSet rs = ps.executeQuery();
+                    for (int i = 0; i < 10; i++) {
+                        assertTrue(rs.next());
+                    }
+                    rs.close();
+
+                    ps.executeQuery().close();
+                }
+
+                try (PreparedStatement ps = conn.prepareStatement("SELECT 1"); ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(1, rs.getInt(1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that aborting a connection stops the thread reading ahead the rows of a streaming result set that is no longer consumed.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testAbortStopsReaderThread() throws Exception {
+        Connection conn = getConnection(false, 8);
+        PreparedStatement ps = prepareStreaming(conn, QUERY);
+        ResultSet rs = ps.executeQuery();
+        assertTrue(rs.next());
+
+        // the reader thread fills the queue and waits for room
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!isReaderThreadRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(isReaderThreadRunning());
+
+        conn.abort(Runnable::run);
+        deadline = System.currentTimeMillis() + 10000;
+        while (isReaderThreadRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(isReaderThreadRunning());
+    }
+
+    private static boolean isReaderThreadRunning() {
+        for (StackTraceElement[] stackTrace : Thread.getAllStackTraces().values()) {
+            for (StackTraceElement element : stackTrace) {
+                if (element.getClassName().endsWith("ResultsetRowsStreaming$RowReadAhead") && element.getMethodName().equals("run")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+}
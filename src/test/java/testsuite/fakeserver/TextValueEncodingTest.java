@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.BindValue;
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.jdbc.ClientPreparedStatement;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+
+/**
+ * Tests that client-side prepared statement parameters written directly into the packet match the bytes produced by their value encoders.
+ */
+public class TextValueEncodingTest {
+
+    private static final String[] STRINGS = { "", "plain", "it's", "back\\slash", "double \"quoted\"", "nul\0byte", "new\nline\rand\032", "日本語 'x' \\",
+            "yen ¥ and won ₩ signs", "quoted '¥' and '₩'", "emoji 😀" };
+
+    private FakeMysqlServer server;
+
+    @BeforeEach
+    public void setUp() {
+        this.server = FakeMysqlServer.start("textvalueencodingtest");
+        this.server.setQueryHandler((sql, params) -> new FakeResultSet().addColumn("q", MysqlType.VARCHAR).addRow(sql));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    private static void assertBindValuesEncoding(ClientPreparedStatement ps) {
+        BindValue[] bindValues = ps.getQueryBindings().getBindValues();
+        for (int i = 0; i < bindValues.length; i++) {
+            byte[] expected = bindValues[i].getByteValue();
+            NativePacketPayload packet = new NativePacketPayload(1);
+            packet.setPosition(0);
+            bindValues[i].writeAsText(packet);
+            assertArrayEquals(expected, Arrays.copyOf(packet.getByteBuffer(), packet.getPosition()),
+                    "Parameter " + (i + 1) + ": " + new String(expected, StandardCharsets.ISO_8859_1));
+        }
+    }
+
+    private void assertEncoding(String properties, String sqlMode) throws Exception {
+        this.server.setVariable("sql_mode", sqlMode);
+        try (Connection conn = DriverManager.getConnection(this.server.getUrl("test") + properties)) {
+            StringBuilder sql = new StringBuilder("SELECT ?");
+            for (int i = 1; i < STRINGS.length * 2 + 17; i++) {
+                sql.append(", ?");
+            }
+            ClientPreparedStatement ps = conn.prepareStatement(sql.toString()).unwrap(ClientPreparedStatement.class);
+            int i = 1;
+            for (String s : STRINGS) {
+                ps.setString(i++, s);
+                ps.setNString(i++, s);
+            }
+            ps.setInt(i++, Integer.MIN_VALUE);
+            ps.setLong(i++, Long.MIN_VALUE);
+            ps.setLong(i++, Long.MAX_VALUE);
+            ps.setShort(i++, (short) 0);
+            ps.setBigDecimal(i++, new BigDecimal("-1234.5678"));
+            ps.setObject(i++, new BigDecimal("2.5"), Types.INTEGER, 0);
+            ps.setDouble(i++, 1.5e-10);
+            ps.setBoolean(i++, true);
+            ps.setNull(i++, Types.VARCHAR);
+            ps.setBytes(i++, new byte[] { 0, 1, '\'', '\\', '"', '\n', '\r', 26, (byte) 0xff });
+            ps.setDate(i++, Date.valueOf("2024-02-29"));
+            ps.setTime(i++, Time.valueOf("23:59:59"));
+            ps.setTimestamp(i++, Timestamp.valueOf("2024-01-15 10:30:00.123456"));
+            ps.setObject(i++, LocalDate.of(2024, 1, 15));
+            ps.setObject(i++, LocalTime.of(10, 30, 15));
+            ps.setObject(i++, LocalDateTime.of(2024, 1, 15, 10, 30, 15, 123000000));
+            ps.setObject(i++, "42", MysqlType.INT);
+            assertEquals(STRINGS.length * 2 + 17, i - 1);
+            assertBindValuesEncoding(ps);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+            }
+
+            // Readers can only be consumed once.
+            ps.setCharacterStream(1, new StringReader(STRINGS[7]));
+            byte[] expected = ps.getQueryBindings().getBindValues()[0].getByteValue();
+            ps.setCharacterStream(1, new StringReader(STRINGS[7]));
+            NativePacketPayload packet = new NativePacketPayload(1);
+            packet.setPosition(0);
+            ps.getQueryBindings().getBindValues()[0].writeAsText(packet);
+            assertArrayEquals(expected, Arrays.copyOf(packet.getByteBuffer(), packet.getPosition()));
+        }
+    }
+
+    /**
+     * Tests text encoding of parameters with backslash escaping.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBackslashEscapes() throws Exception {
+        assertEncoding("", "STRICT_TRANS_TABLES");
+        assertEncoding("&characterEncoding=Cp1252", "STRICT_TRANS_TABLES");
+        assertEncoding("&characterEncoding=SJIS", "STRICT_TRANS_TABLES");
+        assertEncoding("", "ANSI_QUOTES");
+    }
+
+    /**
+     * Tests text encoding of parameters with 'NO_BACKSLASH_ESCAPES' set, which forces hex literals for strings and bytes that need escaping.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testNoBackslashEscapes() throws Exception {
+        assertEncoding("", "NO_BACKSLASH_ESCAPES");
+        assertEncoding("&characterEncoding=SJIS", "NO_BACKSLASH_ESCAPES,ANSI_QUOTES");
+    }
+
+}
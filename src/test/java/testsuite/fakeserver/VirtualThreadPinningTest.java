@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2024, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package testsuite.fakeserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.jdbc.CommentClientInfoProvider;
+import com.mysql.cj.jdbc.JdbcConnection;
+
+/**
+ * Runs the driver on virtual threads against a {@link FakeMysqlServer} that delays its responses, so that the virtual threads block in socket reads, and
+ * checks that none of them gets pinned to its carrier thread.
+ *
+ * Pinned virtual threads are reported by the JVM option <code>-Djdk.tracePinnedThreads=short</code>, which the build sets for all test runs. It only has
+ * effect if set before the first virtual thread is created. Requires Java 21 or later; skipped otherwise.
+ */
+public class VirtualThreadPinningTest {
+
+    static {
+        if (System.getProperty("jdk.tracePinnedThreads") == null) {
+            System.setProperty("jdk.tracePinnedThreads", "short");
+        }
+    }
+
+    private static final int THREADS = 200;
+    private static final int QUERIES = 10;
+
+    private FakeMysqlServer server;
+
+    @BeforeEach
+    public void setUp() {
+        this.server = FakeMysqlServer.start("virtualthreadpinningtest").setRecordQueries(false).setResponseLatency(5);
+        this.server.setQueryHandler((sql, params) -> new FakeResultSet().addColumn("value", MysqlType.VARCHAR).addRow(sql + params));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.server.stop();
+    }
+
+    @Test
+    public void testNoPinnedVirtualThreads() throws Exception {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        assumeTrue(executor != null, "Virtual threads require Java 21 or later.");
+
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream traces = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(traces, true, "UTF-8"));
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                boolean useServerPrepStmts = i % 2 == 0;
+                results.add(executor.submit(() -> runQueries(useServerPrepStmts, executor)));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(QUERIES + 2, result.get().intValue());
+            }
+        } finally {
+            System.setOut(originalOut);
+            executor.shutdown();
+        }
+
+        String output = traces.toString("UTF-8");
+        assertFalse(output.contains("<== monitors"), "Virtual threads were pinned:\n" + output);
+    }
+
+    private int runQueries(boolean useServerPrepStmts, ExecutorService executor) throws Exception {
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), Boolean.toString(useServerPrepStmts));
+        props.setProperty(PropertyKey.clientInfoProvider.getKeyName(), CommentClientInfoProvider.class.getName());
+
+        int count = 0;
+        try (Connection testConn = DriverManager.getConnection(this.server.getUrl("test"), props)) {
+            testConn.setClientInfo("ApplicationName", "VirtualThreadPinningTest");
+
+            try (Statement testStmt = testConn.createStatement(); ResultSet testRs = testStmt.executeQuery("SELECT 1")) {
+                count += testRs.next() ? 1 : 0;
+            }
+
+            testConn.setAutoCommit(false);
+            try (PreparedStatement testPstmt = testConn.prepareStatement("SELECT ?")) {
+                for (int i = 0; i < QUERIES; i++) {
+                    testPstmt.setInt(1, i);
+                    try (ResultSet testRs = testPstmt.executeQuery()) {
+                        count += testRs.next() ? 1 : 0;
+                    }
+                }
+            }
+            testConn.commit();
+
+            try (ResultSet testRs = testConn.unwrap(JdbcConnection.class).executeQueryAsync("SELECT 2", executor).get()) {
+                count += testRs.next() ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates an executor that runs each task in a new virtual thread, through reflection as the test suite is compiled for Java 8.
+     *
+     * @return a new executor or <code>null</code> if virtual threads are not supported
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+}
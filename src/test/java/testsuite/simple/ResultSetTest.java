@@ -1165,4 +1165,45 @@ public class ResultSetTest extends BaseTestCase {
         assertEquals(vectorHexString.toUpperCase(), StringUtils.toHexString(vectorBlobToBytes, vectorBlobToBytes.length).toUpperCase());
     }
 
+    /**
+     * Tests that streaming result sets read with 'reuseStreamingResultRows=true' return the same values as regular streaming result sets.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testReuseStreamingResultRows() throws Exception {
+        createTable("testReuseStreamingResultRows", "(id INT PRIMARY KEY, s VARCHAR(100), n INT)");
+        StringBuilder sb = new StringBuilder("INSERT INTO testReuseStreamingResultRows VALUES ");
+        for (int i = 1; i <= 500; i++) {
+            sb.append(i > 1 ? "," : "").append("(").append(i).append(", ").append(i % 7 == 0 ? "NULL" : "REPEAT('x', " + i % 100 + ")").append(", ")
+                    .append(i * 3).append(")");
+        }
+        this.stmt.executeUpdate(sb.toString());
+
+        for (boolean reuseRows : new boolean[] { false, true }) {
+            Properties props = new Properties();
+            props.setProperty(PropertyKey.reuseStreamingResultRows.getKeyName(), Boolean.toString(reuseRows));
+            Connection testConn = getConnectionWithProps(props);
+            Statement testStmt = testConn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            testStmt.setFetchSize(Integer.MIN_VALUE);
+            ResultSet testRs = testStmt.executeQuery("SELECT id, s, n FROM testReuseStreamingResultRows ORDER BY id");
+            int i = 0;
+            while (testRs.next()) {
+                i++;
+                // read columns out of order
+                assertEquals(i * 3, testRs.getInt(3));
+                if (i % 7 == 0) {
+                    assertNull(testRs.getString(2));
+                    assertTrue(testRs.wasNull());
+                } else {
+                    assertEquals(StringUtils.padString("", i % 100).replace(' ', 'x'), testRs.getString(2));
+                }
+                assertEquals(i, testRs.getInt(1));
+                assertEquals(i * 3, testRs.getInt("n"));
+            }
+            assertEquals(500, i);
+            testConn.close();
+        }
+    }
+
 }
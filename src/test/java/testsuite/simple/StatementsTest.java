@@ -24,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -65,6 +66,10 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.ToIntFunction;
@@ -81,8 +86,10 @@ import com.mysql.cj.exceptions.MysqlErrorNumbers;
 import com.mysql.cj.jdbc.ClientPreparedStatement;
 import com.mysql.cj.jdbc.ConnectionImpl;
 import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.jdbc.JdbcPreparedStatement;
 import com.mysql.cj.jdbc.ParameterBindings;
 import com.mysql.cj.jdbc.ServerPreparedStatement;
+import com.mysql.cj.jdbc.exceptions.MySQLPipelinedQueryException;
 import com.mysql.cj.jdbc.exceptions.MySQLStatementCancelledException;
 import com.mysql.cj.jdbc.exceptions.MySQLTimeoutException;
 import com.mysql.cj.jdbc.interceptors.ServerStatusDiffInterceptor;
@@ -5489,6 +5496,167 @@ public class StatementsTest extends BaseTestCase {
         } while ((useSPS = !useSPS) || (rwBS = !rwBS));
     }
 
+    /**
+     * Tests pipelined execution of batched queries through JdbcPreparedStatement.executeQueryBatch().
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testExecuteQueryBatch() throws Exception {
+        createTable("testExecuteQueryBatch", "(id INT PRIMARY KEY, val VARCHAR(10))");
+        for (int i = 1; i <= 10; i++) {
+            this.stmt.executeUpdate("INSERT INTO testExecuteQueryBatch VALUES (" + i + ", 'val" + i + "')");
+        }
+
+        boolean useSPS = false;
+        do {
+            Properties props = new Properties();
+            props.setProperty(PropertyKey.sslMode.getKeyName(), SslMode.DISABLED.name());
+            props.setProperty(PropertyKey.allowPublicKeyRetrieval.getKeyName(), "true");
+            props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), Boolean.toString(useSPS));
+            String testCase = "useSPS: " + useSPS;
+
+            Connection testConn = getConnectionWithProps(props);
+
+            JdbcPreparedStatement testPstmt = testConn.prepareStatement("SELECT val FROM testExecuteQueryBatch WHERE id = ?")
+                    .unwrap(JdbcPreparedStatement.class);
+            assertEquals(0, testPstmt.executeQueryBatch().length, testCase);
+            for (int i = 1; i <= 10; i++) {
+                testPstmt.setInt(1, i);
+                testPstmt.addBatch();
+            }
+            ResultSet[] results = testPstmt.executeQueryBatch();
+            assertEquals(10, results.length, testCase);
+            for (int i = 1; i <= 10; i++) {
+                assertTrue(results[i - 1].next(), testCase);
+                assertEquals("val" + i, results[i - 1].getString(1), testCase);
+                assertFalse(results[i - 1].next(), testCase);
+            }
+            assertEquals(0, testPstmt.executeQueryBatch().length, testCase); // Batch was cleared.
+            assertTrue(results[0].isClosed(), testCase); // Previous results were implicitly closed.
+
+            // Failing queries don't affect the others.
+            testPstmt = testConn.prepareStatement("SELECT val FROM testExecuteQueryBatch WHERE id = ? AND 1 = (SELECT 1 FROM testExecuteQueryBatch WHERE id >= ?)")
+                    .unwrap(JdbcPreparedStatement.class);
+            for (int i = 1; i <= 10; i++) {
+                testPstmt.setInt(1, i);
+                testPstmt.setInt(2, i % 3 == 0 ? 1 : 10);
+                testPstmt.addBatch();
+            }
+            try {
+                testPstmt.executeQueryBatch();
+                fail(testCase + ": MySQLPipelinedQueryException expected.");
+            } catch (MySQLPipelinedQueryException e) {
+                assertEquals(MysqlErrorNumbers.ER_SUBQUERY_NO_1_ROW, e.getErrorCode(), testCase);
+                for (int i = 1; i <= 10; i++) {
+                    if (i % 3 == 0) {
+                        assertNull(e.getResultSets()[i - 1], testCase);
+                        assertEquals(MysqlErrorNumbers.ER_SUBQUERY_NO_1_ROW, e.getExceptions()[i - 1].getErrorCode(), testCase);
+                    } else {
+                        assertNull(e.getExceptions()[i - 1], testCase);
+                        assertTrue(e.getResultSets()[i - 1].next(), testCase);
+                        assertEquals("val" + i, e.getResultSets()[i - 1].getString(1), testCase);
+                    }
+                }
+            }
+
+            // The connection remains usable.
+            this.rs = testConn.createStatement().executeQuery("SELECT COUNT(*) FROM testExecuteQueryBatch");
+            assertTrue(this.rs.next(), testCase);
+            assertEquals(10, this.rs.getInt(1), testCase);
+
+            // Only queries that produce result sets are allowed.
+            JdbcPreparedStatement testUpdatePstmt = testConn.prepareStatement("UPDATE testExecuteQueryBatch SET val = ? WHERE id = 1")
+                    .unwrap(JdbcPreparedStatement.class);
+            testUpdatePstmt.setString(1, "x");
+            testUpdatePstmt.addBatch();
+            assertThrows(SQLException.class, "Statement\\.executeQuery\\(\\) cannot issue statements that do not produce result sets\\.",
+                    testUpdatePstmt::executeQueryBatch);
+
+            testConn.close();
+        } while (useSPS = !useSPS);
+    }
+
+    /**
+     * Tests asynchronous execution through JdbcConnection and JdbcPreparedStatement executeQueryAsync() and executeUpdateAsync().
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testExecuteAsync() throws Exception {
+        createTable("testExecuteAsync", "(id INT PRIMARY KEY, val VARCHAR(10))");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        boolean useSPS = false;
+        do {
+            Properties props = new Properties();
+            props.setProperty(PropertyKey.sslMode.getKeyName(), SslMode.DISABLED.name());
+            props.setProperty(PropertyKey.allowPublicKeyRetrieval.getKeyName(), "true");
+            props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), Boolean.toString(useSPS));
+            String testCase = "useSPS: " + useSPS;
+
+            JdbcConnection testConn = (JdbcConnection) getConnectionWithProps(props);
+            assertEquals(0L, testConn.executeUpdateAsync("DELETE FROM testExecuteAsync").get().longValue(), testCase);
+
+            // Parameter values are captured when the execution is submitted.
+            JdbcPreparedStatement testPstmt = testConn.prepareStatement("INSERT INTO testExecuteAsync VALUES (?, ?)").unwrap(JdbcPreparedStatement.class);
+            List<CompletableFuture<Long>> updates = new ArrayList<>();
+            for (int i = 1; i <= 10; i++) {
+                testPstmt.setInt(1, i);
+                if (i % 2 == 0) {
+                    testPstmt.setString(2, "val" + i);
+                } else {
+                    testPstmt.setNull(2, Types.VARCHAR);
+                }
+                updates.add(i % 3 == 0 ? testPstmt.executeUpdateAsync(executor) : testPstmt.executeUpdateAsync());
+            }
+            for (CompletableFuture<Long> update : updates) {
+                assertEquals(1L, update.get().longValue(), testCase);
+            }
+
+            // Operations run in submission order.
+            CompletableFuture<ResultSet> count1 = testConn.executeQueryAsync("SELECT COUNT(*) FROM testExecuteAsync WHERE val IS NULL");
+            CompletableFuture<Long> delete = testConn.executeUpdateAsync("DELETE FROM testExecuteAsync WHERE val IS NULL", executor);
+            CompletableFuture<ResultSet> count2 = testConn.executeQueryAsync("SELECT COUNT(*) FROM testExecuteAsync");
+            assertTrue(count1.get().next(), testCase);
+            assertEquals(5, count1.get().getInt(1), testCase);
+            assertEquals(5L, delete.get().longValue(), testCase);
+            assertTrue(count2.get().next(), testCase);
+            assertEquals(5, count2.get().getInt(1), testCase);
+
+            // The statement is closed along with the result set.
+            Statement testStmt = count2.get().getStatement();
+            count2.get().close();
+            assertTrue(testStmt.isClosed(), testCase);
+
+            testPstmt = testConn.prepareStatement("SELECT val FROM testExecuteAsync WHERE id = ?").unwrap(JdbcPreparedStatement.class);
+            testPstmt.setInt(1, 4);
+            this.rs = testPstmt.executeQueryAsync().get();
+            assertTrue(this.rs.next(), testCase);
+            assertEquals("val4", this.rs.getString(1), testCase);
+            assertFalse(this.rs.next(), testCase);
+
+            // Failures complete the future exceptionally and don't affect the following operations.
+            CompletableFuture<ResultSet> failed = testConn.executeQueryAsync("SELECT * FROM testExecuteAsyncNonExisting");
+            testPstmt.setInt(1, 6);
+            CompletableFuture<ResultSet> succeeded = testPstmt.executeQueryAsync(executor);
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> failed.get());
+            assertTrue(ex.getCause() instanceof SQLException, testCase);
+            assertEquals(MysqlErrorNumbers.ER_NO_SUCH_TABLE, ((SQLException) ex.getCause()).getErrorCode(), testCase);
+            assertTrue(succeeded.get().next(), testCase);
+            assertEquals("val6", succeeded.get().getString(1), testCase);
+
+            // Missing parameter values are reported when submitting.
+            testPstmt.clearParameters();
+            assertThrows(SQLException.class, "No value specified for parameter 1", testPstmt::executeQueryAsync);
+
+            testConn.close();
+            assertThrows(SQLException.class, "No operations allowed after connection closed\\..*",
+                    () -> testConn.executeQueryAsync("SELECT 1"));
+        } while (useSPS = !useSPS);
+        executor.shutdown();
+    }
+
     public static class QueryInfoQueryInterceptor extends BaseQueryInterceptor {
 
         private static boolean enabled = false;
@@ -35,9 +35,14 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import com.mysql.cj.ServerVersion;
+import com.mysql.cj.conf.PropertyDefinitions.Compression;
+import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
+import com.mysql.cj.exceptions.WrongArgumentException;
 import com.mysql.cj.protocol.x.XProtocolError;
 import com.mysql.cj.xdevapi.AddResult;
+import com.mysql.cj.xdevapi.Client;
+import com.mysql.cj.xdevapi.ClientFactory;
 import com.mysql.cj.xdevapi.Collection;
 import com.mysql.cj.xdevapi.DbDoc;
 import com.mysql.cj.xdevapi.DocResult;
@@ -126,6 +131,44 @@ public class AsyncQueryTest extends BaseCollectionTestCase {
         }
     }
 
+    /**
+     * Tests overlapped synchronous and asynchronous queries over the non-blocking X Protocol transport, in pooled and non-pooled sessions.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void overlappedAsyncQueriesOnAsyncProtocol() throws Exception {
+        final int NUMBER_OF_QUERIES = 1000;
+        String url = this.baseUrl + makeParam(PropertyKey.xdevapiUseAsyncProtocol, "true") + makeParam(PropertyKey.xdevapiAsyncEventLoopThreads, "2");
+
+        Client cli = new ClientFactory().getClient(url, "{\"pooling\": {\"enabled\": true}}");
+        try {
+            for (Session sess : new Session[] { cli.getSession(), new SessionFactory().getSession(url) }) {
+                try {
+                    List<CompletableFuture<SqlResult>> futures = new ArrayList<>();
+                    for (int i = 0; i < NUMBER_OF_QUERIES; ++i) {
+                        if (i % 5 == 0) {
+                            futures.add(CompletableFuture.completedFuture(sess.sql("SELECT ?").bind(i).execute()));
+                        } else {
+                            futures.add(sess.sql("SELECT ?").bind(i).executeAsync());
+                        }
+                    }
+
+                    for (int i = 0; i < NUMBER_OF_QUERIES; ++i) {
+                        assertEquals(i, futures.get(i).get().fetchOne().getInt(0), "i = " + i);
+                    }
+                } finally {
+                    sess.close();
+                }
+            }
+        } finally {
+            cli.close();
+        }
+
+        assertThrows(WrongArgumentException.class, "Compression cannot be enabled with asynchronous variant of X Protocol\\.",
+                () -> new SessionFactory().getSession(url + makeParam(PropertyKey.xdevapiCompression, Compression.REQUIRED)));
+    }
+
     @Test
     public void syntaxErrorEntireResult() throws Exception {
         CompletableFuture<DocResult> res = this.collection.find("NON_EXISTING_FUNCTION()").executeAsync();